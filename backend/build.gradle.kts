@@ -2,6 +2,7 @@ plugins {
     id("java")
     id("org.springframework.boot") version "3.2.0"
     id("io.spring.dependency-management") version "1.1.4"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.example"
@@ -19,11 +20,34 @@ repositories {
     mavenCentral()
 }
 
+// Embedded server: Tomcat unless built with -Pserver=undertow or -Pserver=jetty
+val server = providers.gradleProperty("server").getOrElse("tomcat")
+
 dependencies {
     // Spring Boot
-    implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-web") {
+        if (server != "tomcat") {
+            exclude(module = "spring-boot-starter-tomcat")
+        }
+    }
+    when (server) {
+        "tomcat" -> {}
+        "undertow" -> implementation("org.springframework.boot:spring-boot-starter-undertow")
+        "jetty" -> {
+            implementation("org.springframework.boot:spring-boot-starter-jetty")
+            // Cleartext HTTP/2 (h2c) connector
+            implementation("org.eclipse.jetty.http2:jetty-http2-server")
+        }
+        else -> throw GradleException("Unknown server '$server', expected tomcat, undertow or jetty")
+    }
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+    implementation("io.projectreactor:reactor-core")
+
+    // Compressed id sets for the tag index
+    implementation("org.roaringbitmap:RoaringBitmap:1.0.6")
 
     // SQLite
     implementation("org.xerial:sqlite-jdbc:3.43.0.0")
@@ -44,8 +68,30 @@ dependencies {
     testImplementation("org.junit.jupiter:junit-jupiter")
     testImplementation("org.mockito:mockito-core")
     testImplementation("org.mockito:mockito-junit-jupiter")
+    testImplementation("io.projectreactor:reactor-test")
 }
 
 tasks.test {
     useJUnitPlatform()
 }
+
+// Microbenchmarks live in src/jmh/java; run with ./gradlew jmh (add -Pjmh.includes=<regex> to filter)
+jmh {
+    warmupIterations.set(2)
+    iterations.set(5)
+    fork.set(1)
+    profilers.add("gc")
+    providers.gradleProperty("jmh.includes").orNull?.let { includes.add(it) }
+}
+
+// HTTP load comparison against a running backend, e.g.
+// ./gradlew loadTest -Pargs="--url=http://localhost:8080/reactive/todos --concurrency=2000"
+// ./gradlew loadTest -Pargs="--mode=churn --concurrency=200" (also keepalive, h2c)
+// ./gradlew loadTest -Pargs="--body={\"title\":\"load\"} --concurrency=20" (POSTs instead of GETs)
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs HttpLoadHarness against a running backend"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.example.bench.HttpLoadHarness")
+    providers.gradleProperty("args").orNull?.let { args(it.split(" ")) }
+}
@@ -0,0 +1,151 @@
+package org.example.bench;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.audit.AuditEvent;
+import org.example.audit.AuditField;
+import org.example.audit.AuditLog;
+import org.example.audit.AuditOperation;
+import org.example.audit.AuditSegmentStore;
+import org.example.audit.AuditSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-thread cost of auditing one todo update, and what the background writer produces.
+ * <ul>
+ *   <li>{@code record}: {@link AuditLog#record} with its writer thread running, i.e. the diff
+ *   and queue offer a mutation pays;</li>
+ *   <li>{@code sqliteHistoryRows}: the alternative of inserting one history row per changed
+ *   field into SQLite inside the todo's transaction (committed every 1000 updates);</li>
+ *   <li>{@code segmentBlock}: encoding and appending one 1024-event block; the segment bytes
+ *   per event are printed at the end of the trial.</li>
+ * </ul>
+ * {@code ./gradlew jmh -Pjmh.includes=AuditWriteBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuditWriteBenchmark {
+
+	private static final int BLOCK = 1024;
+
+	private Path directory;
+	private AuditLog auditLog;
+	private AuditSegmentStore store;
+	private Connection connection;
+	private PreparedStatement insertHistory;
+	private Map<AuditField, String> before;
+	private Map<AuditField, String> after;
+	private List<AuditEvent> block;
+	private long todoId;
+	private long blocksWritten;
+	private int uncommitted;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException, SQLException {
+		directory = Files.createTempDirectory("audit-bench");
+		auditLog = new AuditLog(true, directory.resolve("log").toString(), 65536, BLOCK, 200,
+			64L * 1024 * 1024, false, Clock.systemUTC(), new SimpleMeterRegistry());
+		store = new AuditSegmentStore(directory.resolve("store"), 64L * 1024 * 1024, false);
+
+		before = snapshot("Write quarterly report", "false", "work,q3");
+		after = snapshot("Write quarterly report (draft sent)", "true", "work,q3");
+		block = new ArrayList<>(BLOCK);
+		for (var i = 0; i < BLOCK; i++) {
+			block.add(new AuditEvent(1_000_000 + i, "default", "user-" + (i % 50), 1_760_000_000_000L + i * 37L,
+				AuditOperation.UPDATE, AuditSnapshot.diff(before, after)));
+		}
+
+		connection = DriverManager.getConnection("jdbc:sqlite:" + directory.resolve("history.db"));
+		try (var statement = connection.createStatement()) {
+			statement.execute("PRAGMA journal_mode=WAL");
+			statement.execute("""
+				CREATE TABLE todo_history (
+					id INTEGER PRIMARY KEY, todo_id INTEGER NOT NULL, tenant_id VARCHAR(64) NOT NULL,
+					actor VARCHAR(128) NOT NULL, changed_at INTEGER NOT NULL, operation VARCHAR(32) NOT NULL,
+					field VARCHAR(32) NOT NULL, before_value TEXT, after_value TEXT
+				)""");
+			statement.execute("CREATE INDEX idx_todo_history_todo ON todo_history (todo_id)");
+		}
+		connection.setAutoCommit(false);
+		insertHistory = connection.prepareStatement("INSERT INTO todo_history VALUES (NULL, ?, ?, ?, ?, ?, ?, ?, ?)");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws Exception {
+		auditLog.stop();
+		final var perEvent = blocksWritten == 0 ? 0 : (double) store.sizeBytes() / (blocksWritten * BLOCK);
+		System.out.printf("segment bytes per event %.1f%n", perEvent);
+		store.close();
+		connection.commit();
+		insertHistory.close();
+		connection.close();
+		try (var files = Files.walk(directory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public void record() {
+		auditLog.record("default", todoId++, AuditOperation.UPDATE, before, after);
+	}
+
+	@Benchmark
+	public void sqliteHistoryRows() throws SQLException {
+		final var id = todoId++;
+		final var now = System.currentTimeMillis();
+		for (final var change : AuditSnapshot.diff(before, after)) {
+			insertHistory.setLong(1, id);
+			insertHistory.setString(2, "default");
+			insertHistory.setString(3, "user-" + (id % 50));
+			insertHistory.setLong(4, now);
+			insertHistory.setString(5, AuditOperation.UPDATE.name());
+			insertHistory.setString(6, change.field().name());
+			insertHistory.setString(7, change.before());
+			insertHistory.setString(8, change.after());
+			insertHistory.executeUpdate();
+		}
+		if (++uncommitted == 1000) {
+			connection.commit();
+			uncommitted = 0;
+		}
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public void segmentBlock() throws IOException {
+		store.append(block);
+		blocksWritten++;
+	}
+
+	private static Map<AuditField, String> snapshot(String title, String completed, String tags) {
+		final var values = new EnumMap<AuditField, String>(AuditField.class);
+		values.put(AuditField.TITLE, title);
+		values.put(AuditField.DESCRIPTION, "Numbers for the board meeting");
+		values.put(AuditField.COMPLETED, completed);
+		values.put(AuditField.TAGS, tags);
+		return values;
+	}
+}
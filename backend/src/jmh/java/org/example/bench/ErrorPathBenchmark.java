@@ -0,0 +1,148 @@
+package org.example.bench;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.example.cache.BloomFilter;
+import org.example.dto.TodoCreateDto;
+import org.example.service.TodoNotFoundException;
+import org.example.validation.RequestValidationException;
+import org.example.validation.TodoRequestValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the two error paths bots hit most, old way against new way:
+ * <ul>
+ *   <li>404: a miss looked up in SQLite and thrown as a {@link ResponseStatusException} with a
+ *   stack trace ({@code notFoundQueried}), against a miss ruled out by the id
+ *   {@link BloomFilter} and thrown stackless ({@code notFoundFiltered});</li>
+ *   <li>400: an invalid {@link TodoCreateDto} checked by Bean Validation
+ *   ({@code invalidBeanValidation}), against {@link TodoRequestValidator}
+ *   ({@code invalidPrecompiled}).</li>
+ * </ul>
+ * The exceptions are thrown from a few frames down, as they are from the service layer.
+ * {@code ./gradlew jmh -Pjmh.includes=ErrorPathBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ErrorPathBenchmark {
+
+	private static final int ROWS = 100_000;
+
+	private Connection connection;
+	private PreparedStatement findById;
+	private BloomFilter filter;
+	private Validator validator;
+	private TodoCreateDto invalid;
+	private long missingId = ROWS;
+
+	@Setup(Level.Trial)
+	public void setup() throws SQLException {
+		connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+		try (var statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE todos (id INTEGER PRIMARY KEY, tenant_id VARCHAR(64) NOT NULL, title VARCHAR(255) NOT NULL)");
+		}
+		filter = BloomFilter.create(ROWS, 0.01);
+		connection.setAutoCommit(false);
+		try (var insert = connection.prepareStatement("INSERT INTO todos VALUES (?, 'default', 'Todo')")) {
+			for (long id = 1; id <= ROWS; id++) {
+				insert.setLong(1, id);
+				insert.addBatch();
+				filter.add(id);
+			}
+			insert.executeBatch();
+		}
+		connection.commit();
+		connection.setAutoCommit(true);
+		findById = connection.prepareStatement("SELECT id, title FROM todos WHERE id = ? AND tenant_id = ?");
+
+		validator = Validation.buildDefaultValidatorFactory().getValidator();
+		invalid = new TodoCreateDto("", "Scanner payload", null, Set.of("x"), null, null);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		findById.close();
+		connection.close();
+	}
+
+	@Benchmark
+	public int notFoundQueried() throws SQLException {
+		try {
+			return service(nextMissingId(), false);
+		} catch (ResponseStatusException e) {
+			return e.getStatusCode().value();
+		}
+	}
+
+	@Benchmark
+	public int notFoundFiltered() throws SQLException {
+		try {
+			return service(nextMissingId(), true);
+		} catch (ResponseStatusException e) {
+			return e.getStatusCode().value();
+		}
+	}
+
+	@Benchmark
+	public int invalidBeanValidation() {
+		final var violations = validator.validate(invalid);
+		try {
+			if (!violations.isEmpty()) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, violations.iterator().next().getMessage());
+			}
+			return 200;
+		} catch (ResponseStatusException e) {
+			return e.getStatusCode().value();
+		}
+	}
+
+	@Benchmark
+	public int invalidPrecompiled() {
+		try {
+			TodoRequestValidator.validate(invalid);
+			return 200;
+		} catch (RequestValidationException e) {
+			return e.getViolations().size();
+		}
+	}
+
+	private long nextMissingId() {
+		return ++missingId;
+	}
+
+	private int service(long id, boolean filtered) throws SQLException {
+		return repository(id, filtered);
+	}
+
+	private int repository(long id, boolean filtered) throws SQLException {
+		if (filtered && !filter.mightContain(id)) {
+			throw new TodoNotFoundException(id);
+		}
+		findById.setLong(1, id);
+		findById.setString(2, "default");
+		try (var rows = findById.executeQuery()) {
+			if (rows.next()) {
+				return 200;
+			}
+		}
+		throw filtered ? new TodoNotFoundException(id) : new ResponseStatusException(HttpStatus.NOT_FOUND, "Entity not found");
+	}
+}
@@ -0,0 +1,65 @@
+package org.example.bench;
+
+import org.example.async.FileRingBuffer;
+import org.example.async.QueuedCreate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingest throughput of the durable async queue with and without fsync per append. Each
+ * invocation appends one encoded create and releases it once a drain-sized batch has
+ * accumulated, which keeps the buffer at steady state instead of filling it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FileRingBufferBenchmark {
+
+	private static final int DRAIN_BATCH = 500;
+
+	@Param({"false", "true"})
+	private boolean fsync;
+
+	private Path directory;
+	private FileRingBuffer buffer;
+	private byte[] record;
+	private int sinceDrain;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("ring-bench");
+		buffer = new FileRingBuffer(directory.resolve("queue.dat"), 64L * 1024 * 1024, fsync);
+		record = new QueuedCreate(UUID.randomUUID().toString(), "default", "Import row", "Imported by a bulk producer").encode();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		buffer.close();
+		Files.deleteIfExists(directory.resolve("queue.dat"));
+		Files.deleteIfExists(directory);
+	}
+
+	@Benchmark
+	public boolean append() throws IOException {
+		final var accepted = buffer.offer(record);
+		if (++sinceDrain == DRAIN_BATCH) {
+			buffer.commit(buffer.peek(DRAIN_BATCH));
+			sinceDrain = 0;
+		}
+		return accepted;
+	}
+}
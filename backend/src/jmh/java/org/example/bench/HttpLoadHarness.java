@@ -0,0 +1,254 @@
+package org.example.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load generator for comparing endpoint variants against a running backend,
+ * e.g. {@code /todos} (MVC) with {@code /reactive/todos} at high concurrency.
+ * <p>
+ * Each of {@code --concurrency} virtual threads sends requests back to back for
+ * {@code --duration-seconds} after a warmup. Besides throughput and latency percentiles it
+ * samples the server's {@code jvm.memory.used} (heap), {@code jvm.threads.live} and, on
+ * Tomcat, {@code tomcat.connections.current} from the actuator ({@code --management-url},
+ * port 9091 of the target host by default) while the load is applied, and reports the heap
+ * growth per concurrent connection.
+ * <p>
+ * {@code --mode} selects how requests reach the server:
+ * <ul>
+ *   <li>{@code keepalive} (default): HTTP/1.1 over pooled persistent connections;</li>
+ *   <li>{@code churn}: a new TCP connection per request, closed after the response, like a
+ *   client without a connection pool;</li>
+ *   <li>{@code h2c}: cleartext HTTP/2, all requests multiplexed over one upgraded connection.
+ *   Responses that came back over HTTP/1.1 are reported, as they mean the upgrade failed.</li>
+ * </ul>
+ * With {@code --body} the requests are POSTs of that JSON instead of GETs, e.g. to load the
+ * write path (not in {@code churn} mode).
+ * <pre>
+ * ./gradlew loadTest -Pargs="--url=http://localhost:8080/reactive/todos --concurrency=2000"
+ * ./gradlew loadTest -Pargs="--mode=churn --concurrency=200"
+ * ./gradlew loadTest -Pargs="--body={\"title\":\"load\"} --concurrency=50"
+ * </pre>
+ */
+public final class HttpLoadHarness {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private enum Mode { KEEPALIVE, CHURN, H2C }
+
+	private final URI target;
+	private final URI actuator;
+	private final Mode mode;
+	private final int concurrency;
+	private final Duration warmup;
+	private final Duration duration;
+	private final String body;
+	private final HttpClient client;
+
+	private final LongAdder completed = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	private final LongAdder downgraded = new LongAdder();
+	private final AtomicLong[] latencyBuckets = new AtomicLong[64];
+
+	private volatile boolean measuring;
+	private volatile boolean running = true;
+
+	HttpLoadHarness(Map<String, String> options) {
+		this.target = URI.create(options.getOrDefault("url", "http://localhost:8080/todos"));
+		final var management = options.getOrDefault("management-url", target.getScheme() + "://" + target.getHost() + ":9091");
+		this.actuator = URI.create(management).resolve("/actuator/metrics/");
+		this.mode = Mode.valueOf(options.getOrDefault("mode", "keepalive").toUpperCase(Locale.ROOT));
+		this.concurrency = Integer.parseInt(options.getOrDefault("concurrency", "500"));
+		this.warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "10")));
+		this.duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration-seconds", "30")));
+		this.body = options.get("body");
+		if (body != null && mode == Mode.CHURN) {
+			throw new IllegalArgumentException("--body is not supported in churn mode");
+		}
+		this.client = HttpClient.newBuilder()
+			.version(mode == Mode.H2C ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(10))
+			.executor(Executors.newVirtualThreadPerTaskExecutor())
+			.build();
+		Arrays.setAll(latencyBuckets, i -> new AtomicLong());
+	}
+
+	public static void main(String[] args) throws Exception {
+		final var options = new HashMap<String, String>();
+		for (final var arg : args) {
+			final var separator = arg.indexOf('=');
+			if (!arg.startsWith("--") || separator < 0) {
+				throw new IllegalArgumentException("Expected --name=value, got " + arg);
+			}
+			options.put(arg.substring(2, separator), arg.substring(separator + 1));
+		}
+
+		new HttpLoadHarness(options).run();
+	}
+
+	void run() throws Exception {
+		final var idleHeap = metric("jvm.memory.used?tag=area:heap");
+		final var idleThreads = metric("jvm.threads.live");
+		final var idleConnections = metric("tomcat.connections.current");
+
+		try (var workers = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (var i = 0; i < concurrency; i++) {
+				workers.submit(this::loop);
+			}
+
+			TimeUnit.MILLISECONDS.sleep(warmup.toMillis());
+			measuring = true;
+			final var start = System.nanoTime();
+			TimeUnit.MILLISECONDS.sleep(duration.toMillis() / 2);
+			final var loadedHeap = metric("jvm.memory.used?tag=area:heap");
+			final var loadedThreads = metric("jvm.threads.live");
+			final var loadedConnections = metric("tomcat.connections.current");
+			TimeUnit.MILLISECONDS.sleep(duration.toMillis() - duration.toMillis() / 2);
+			measuring = false;
+			final var elapsedSeconds = (System.nanoTime() - start) / 1e9;
+			running = false;
+
+			System.out.printf("target            %s%n", target);
+			System.out.printf("mode              %s%n", mode.name().toLowerCase(Locale.ROOT));
+			System.out.printf("concurrency       %d%n", concurrency);
+			System.out.printf("throughput        %.1f req/s%n", completed.sum() / elapsedSeconds);
+			System.out.printf("errors            %d%n", failed.sum());
+			if (mode == Mode.H2C) {
+				System.out.printf("http/1.1 replies  %d%n", downgraded.sum());
+			}
+			System.out.printf("latency p50/p99   %.1f / %.1f ms%n", percentile(0.50), percentile(0.99));
+			System.out.printf("server threads    %.0f idle, %.0f under load%n", idleThreads, loadedThreads);
+			System.out.printf("server conns      %.0f idle, %.0f under load%n", idleConnections, loadedConnections);
+			System.out.printf("server heap       %.1f MiB idle, %.1f MiB under load%n", idleHeap / 1_048_576, loadedHeap / 1_048_576);
+			System.out.printf("heap/connection   %.1f KiB%n", (loadedHeap - idleHeap) / 1024 / concurrency);
+		}
+	}
+
+	private void loop() {
+		final var builder = HttpRequest.newBuilder(target)
+			.timeout(Duration.ofSeconds(30))
+			.header("Accept", "application/json");
+		final var request = body == null
+			? builder.GET().build()
+			: builder.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body)).build();
+
+		while (running) {
+			final var start = System.nanoTime();
+			try {
+				final int status;
+				if (mode == Mode.CHURN) {
+					status = sendOnNewConnection();
+				} else {
+					final var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+					status = response.statusCode();
+					if (mode == Mode.H2C && response.version() != HttpClient.Version.HTTP_2 && measuring) {
+						downgraded.increment();
+					}
+				}
+				if (measuring) {
+					if (status < 400) {
+						completed.increment();
+						record(System.nanoTime() - start);
+					} else {
+						failed.increment();
+					}
+				}
+			} catch (IOException e) {
+				if (measuring) {
+					failed.increment();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * One HTTP/1.1 request on a fresh socket with {@code Connection: close}; {@link HttpClient}
+	 * does not allow that header and always pools connections.
+	 *
+	 * @return the response status
+	 */
+	private int sendOnNewConnection() throws IOException {
+		final var port = target.getPort() < 0 ? 80 : target.getPort();
+		final var path = target.getRawQuery() == null ? target.getRawPath() : target.getRawPath() + "?" + target.getRawQuery();
+		try (var socket = new Socket()) {
+			socket.connect(new InetSocketAddress(target.getHost(), port), 10_000);
+			socket.setSoTimeout(30_000);
+			socket.getOutputStream().write(("GET " + path + " HTTP/1.1\r\n"
+				+ "Host: " + target.getHost() + ":" + port + "\r\n"
+				+ "Accept: application/json\r\n"
+				+ "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+
+			final var in = socket.getInputStream();
+			final var statusLine = readLine(in);
+			// Read to EOF: the response is complete when the server closes the connection
+			in.transferTo(OutputStream.nullOutputStream());
+			if (!statusLine.startsWith("HTTP/1.") || statusLine.length() < 12) {
+				throw new IOException("Malformed status line: " + statusLine);
+			}
+			return Integer.parseInt(statusLine.substring(9, 12));
+		}
+	}
+
+	private static String readLine(InputStream in) throws IOException {
+		final var line = new StringBuilder();
+		int b;
+		while ((b = in.read()) >= 0 && b != '\n') {
+			if (b != '\r') {
+				line.append((char) b);
+			}
+		}
+		return line.toString();
+	}
+
+	/**
+	 * Log2 buckets of microseconds: cheap to update from thousands of threads, and precise
+	 * enough to compare variants.
+	 */
+	private void record(long nanos) {
+		final var micros = Math.max(1, nanos / 1_000);
+		latencyBuckets[63 - Long.numberOfLeadingZeros(micros)].incrementAndGet();
+	}
+
+	private double percentile(double quantile) {
+		final var total = Arrays.stream(latencyBuckets).mapToLong(AtomicLong::get).sum();
+		var seen = 0L;
+		for (var i = 0; i < latencyBuckets.length; i++) {
+			seen += latencyBuckets[i].get();
+			if (seen >= total * quantile) {
+				return (1L << (i + 1)) / 1_000d;
+			}
+		}
+		return Double.NaN;
+	}
+
+	private double metric(String name) throws IOException, InterruptedException {
+		final var response = client.send(HttpRequest.newBuilder(actuator.resolve(name)).GET().build(),
+			HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() != 200) {
+			return Double.NaN;
+		}
+		return MAPPER.readTree(response.body()).path("measurements").path(0).path("value").asDouble(Double.NaN);
+	}
+}
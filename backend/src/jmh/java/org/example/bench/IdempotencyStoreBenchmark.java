@@ -0,0 +1,56 @@
+package org.example.bench;
+
+import org.example.cache.ExpiringLruCache;
+import org.example.dto.TodoResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the in-memory idempotency store under concurrent load: replay lookups of
+ * known keys, and inserts of fresh keys that force LRU eviction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class IdempotencyStoreBenchmark {
+
+	@Param({"10000", "100000"})
+	private int entries;
+
+	private ExpiringLruCache<String, TodoResponseDto> cache;
+	private String[] keys;
+	private TodoResponseDto response;
+
+	@Setup
+	public void setup() {
+		cache = new ExpiringLruCache<>(entries, TimeUnit.HOURS.toMillis(1));
+		response = new TodoResponseDto(1L, "Title", "Description", false, LocalDateTime.now(), LocalDateTime.now());
+		keys = new String[entries];
+		for (var i = 0; i < entries; i++) {
+			keys[i] = "default:" + i;
+			cache.put(keys[i], response);
+		}
+	}
+
+	@Benchmark
+	public TodoResponseDto replayHit() {
+		return cache.get(keys[ThreadLocalRandom.current().nextInt(entries)]);
+	}
+
+	@Benchmark
+	public void freshKey() {
+		cache.put("default:" + ThreadLocalRandom.current().nextLong(), response);
+	}
+}
@@ -0,0 +1,148 @@
+package org.example.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.cache.TodoListCache;
+import org.example.dto.TodoResponseDto;
+import org.example.mapper.EpochMillis;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost of answering {@code GET /todos} for one tenant:
+ * <ul>
+ *   <li>{@code uncached}: query, map to DTOs and serialize with Jackson, as every request did
+ *   before {@link TodoListCache};</li>
+ *   <li>{@code uncachedGzip}: the same plus gzip, as server-side compression would add;</li>
+ *   <li>{@code cached}: write the stored bytes, as a {@link TodoListCache} hit does.</li>
+ * </ul>
+ * {@code ./gradlew jmh -Pjmh.includes=ListResponseBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ListResponseBenchmark {
+
+	@Param({"100", "1000"})
+	private int rows;
+
+	private Connection connection;
+	private PreparedStatement findAll;
+	private ObjectMapper objectMapper;
+	private byte[] cachedGzip;
+
+	@Setup(Level.Trial)
+	public void setup() throws SQLException, IOException {
+		connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+		try (var statement = connection.createStatement()) {
+			statement.execute("""
+				CREATE TABLE todos (id INTEGER PRIMARY KEY, tenant_id VARCHAR(64) NOT NULL, title VARCHAR(255) NOT NULL,
+				description VARCHAR(1000), completed BOOLEAN NOT NULL, created_at INTEGER NOT NULL, updated_at INTEGER NOT NULL)
+				""");
+			statement.execute("CREATE INDEX idx_todos_tenant ON todos (tenant_id)");
+		}
+		connection.setAutoCommit(false);
+		try (var insert = connection.prepareStatement("INSERT INTO todos VALUES (?, 'default', ?, ?, ?, ?, ?)")) {
+			final var now = System.currentTimeMillis();
+			for (var id = 1; id <= rows; id++) {
+				insert.setLong(1, id);
+				insert.setString(2, "Todo " + id);
+				insert.setString(3, "Description of todo " + id);
+				insert.setBoolean(4, id % 3 == 0);
+				insert.setLong(5, now - id * 60_000L);
+				insert.setLong(6, now);
+				insert.addBatch();
+			}
+			insert.executeBatch();
+		}
+		connection.commit();
+		connection.setAutoCommit(true);
+		findAll = connection.prepareStatement(
+			"SELECT id, title, description, completed, created_at, updated_at FROM todos WHERE tenant_id = ?");
+		objectMapper = new ObjectMapper().findAndRegisterModules();
+		cachedGzip = gzip(objectMapper.writeValueAsBytes(query()));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		connection.close();
+	}
+
+	@Benchmark
+	public void uncached(Blackhole blackhole) throws SQLException, IOException {
+		objectMapper.writeValue(sink(blackhole), query());
+	}
+
+	@Benchmark
+	public void uncachedGzip(Blackhole blackhole) throws SQLException, IOException {
+		try (var gzip = new GZIPOutputStream(sink(blackhole))) {
+			objectMapper.writeValue(gzip, query());
+		}
+	}
+
+	@Benchmark
+	public void cached(Blackhole blackhole) throws IOException {
+		sink(blackhole).write(cachedGzip);
+	}
+
+	private List<TodoResponseDto> query() throws SQLException {
+		findAll.setString(1, "default");
+		final var todos = new ArrayList<TodoResponseDto>(rows);
+		try (var rs = findAll.executeQuery()) {
+			while (rs.next()) {
+				todos.add(new TodoResponseDto(
+					rs.getLong(1),
+					rs.getString(2),
+					rs.getString(3),
+					rs.getBoolean(4),
+					EpochMillis.toLocalDateTime(rs.getLong(5)),
+					EpochMillis.toLocalDateTime(rs.getLong(6))
+				));
+			}
+		}
+		return todos;
+	}
+
+	private static byte[] gzip(byte[] json) throws IOException {
+		final var out = new ByteArrayOutputStream();
+		try (var gzip = new GZIPOutputStream(out)) {
+			gzip.write(json);
+		}
+		return out.toByteArray();
+	}
+
+	private static OutputStream sink(Blackhole blackhole) {
+		return new OutputStream() {
+			@Override
+			public void write(int b) {
+				blackhole.consume(b);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				blackhole.consume(b);
+				blackhole.consume(len);
+			}
+		};
+	}
+}
@@ -0,0 +1,152 @@
+package org.example.bench;
+
+import org.example.dto.TodoCreateDto;
+import org.example.dto.TodoResponseDto;
+import org.example.mapper.EpochMillis;
+import org.example.mapper.TodoMapper;
+import org.example.model.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation per request on the create and list paths, comparing the epoch-millis entity
+ * with the previous {@code LocalDateTime}/boxed-field shape (kept here as {@link LegacyTodo}).
+ * <p>
+ * Run with the gc profiler (enabled in the {@code jmh} block) and compare
+ * {@code gc.alloc.rate.norm}, the bytes allocated per operation:
+ * {@code ./gradlew jmh -Pjmh.includes=MappingAllocationBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MappingAllocationBenchmark {
+
+	@Param({"100"})
+	private int listSize;
+
+	private TodoCreateDto createDto;
+	private List<Todo> todos;
+	private List<LegacyTodo> legacyTodos;
+	private String[] textTimestamps;
+	private long[] epochTimestamps;
+	private Method onCreate;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		onCreate = Todo.class.getDeclaredMethod("onCreate");
+		onCreate.setAccessible(true);
+
+		createDto = new TodoCreateDto();
+		createDto.setTitle("Bake cookies");
+		createDto.setDescription("We need to bake cookies for the party tonight");
+
+		final var now = System.currentTimeMillis();
+		todos = new ArrayList<>(listSize);
+		legacyTodos = new ArrayList<>(listSize);
+		textTimestamps = new String[listSize];
+		epochTimestamps = new long[listSize];
+		for (var i = 0; i < listSize; i++) {
+			final var todo = new Todo("Todo " + i, "Description " + i, i % 2 == 0);
+			todo.setId((long) i);
+			onCreate.invoke(todo);
+			todos.add(todo);
+
+			final var legacy = new LegacyTodo(todo.getTitle(), todo.getDescription(), todo.isCompleted());
+			legacy.id = (long) i;
+			legacy.onCreate();
+			legacyTodos.add(legacy);
+
+			textTimestamps[i] = new Timestamp(now - i).toString();
+			epochTimestamps[i] = now - i;
+		}
+	}
+
+	@Benchmark
+	public TodoResponseDto createPath() throws ReflectiveOperationException {
+		final var todo = TodoMapper.toEntity(createDto);
+		onCreate.invoke(todo);
+		return TodoMapper.toResponse(todo);
+	}
+
+	@Benchmark
+	public TodoResponseDto createPathLegacy() {
+		final var todo = new LegacyTodo(createDto.getTitle(), createDto.getDescription(), false);
+		todo.onCreate();
+		return todo.toResponse();
+	}
+
+	@Benchmark
+	public List<TodoResponseDto> listPath() {
+		return todos.stream().map(TodoMapper::toResponse).toList();
+	}
+
+	@Benchmark
+	public List<TodoResponseDto> listPathLegacy() {
+		return legacyTodos.stream().map(LegacyTodo::toResponse).toList();
+	}
+
+	/**
+	 * Row decoding cost of the timestamp columns alone: parsing SQLite text versus reading an integer.
+	 */
+	@Benchmark
+	public void decodeTextTimestamps(Blackhole blackhole) {
+		for (final var text : textTimestamps) {
+			blackhole.consume(Timestamp.valueOf(text).toLocalDateTime());
+		}
+	}
+
+	@Benchmark
+	public void decodeEpochTimestamps(Blackhole blackhole) {
+		for (final var millis : epochTimestamps) {
+			blackhole.consume(millis);
+		}
+	}
+
+	@Benchmark
+	public LocalDateTime convertEpochForResponse() {
+		return EpochMillis.toLocalDateTime(epochTimestamps[0]);
+	}
+
+	/**
+	 * The entity shape before epoch-millis timestamps: boxed fields and two clock reads per callback.
+	 */
+	private static final class LegacyTodo {
+
+		private Long id;
+		private final String title;
+		private final String description;
+		private final Boolean completed;
+		private LocalDateTime createdAt;
+		private LocalDateTime updatedAt;
+
+		private LegacyTodo(String title, String description, Boolean completed) {
+			this.title = title;
+			this.description = description;
+			this.completed = completed;
+		}
+
+		private void onCreate() {
+			createdAt = LocalDateTime.now(ZoneOffset.UTC);
+			updatedAt = LocalDateTime.now(ZoneOffset.UTC);
+		}
+
+		private TodoResponseDto toResponse() {
+			return new TodoResponseDto(id, title, description, completed, createdAt, updatedAt);
+		}
+	}
+}
@@ -0,0 +1,106 @@
+package org.example.bench;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.example.jdbc.ObservedDataSource;
+import org.example.jdbc.StatementListener;
+import org.example.profiling.JfrStatementListener;
+import org.example.profiling.RequestProfilingListener;
+import org.example.profiling.SqlStatementEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.sqlite.SQLiteDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of continuous profiling on the SQL path: a primary-key lookup against SQLite through
+ * the raw driver, and through {@link ObservedDataSource} with the profiling listeners while
+ * the continuous recording (default settings) is running.
+ * <p>
+ * Budget: {@code profiled} must stay within 2% of {@code baseline}.
+ * {@code ./gradlew jmh -Pjmh.includes=ProfilingOverheadBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProfilingOverheadBenchmark {
+
+	@Param({"true"})
+	private boolean recording;
+
+	private Recording jfr;
+	private Connection rawConnection;
+	private Connection observedConnection;
+	private PreparedStatement rawLookup;
+	private PreparedStatement observedLookup;
+	private long id;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		final var target = new SQLiteDataSource();
+		target.setUrl("jdbc:sqlite:file:profiling-bench?mode=memory&cache=shared");
+		final List<StatementListener> listeners = List.of(new JfrStatementListener(), new RequestProfilingListener());
+
+		rawConnection = target.getConnection();
+		try (var statement = rawConnection.createStatement()) {
+			statement.execute("create table if not exists todos (id integer primary key, title text, completed integer)");
+			statement.execute("delete from todos");
+			for (var i = 0; i < 1_000; i++) {
+				statement.execute("insert into todos values (" + i + ", 'Todo " + i + "', 0)");
+			}
+		}
+		observedConnection = new ObservedDataSource(target, () -> listeners).getConnection();
+
+		rawLookup = rawConnection.prepareStatement("select id, title, completed from todos where id = ?");
+		observedLookup = observedConnection.prepareStatement("select id, title, completed from todos where id = ?");
+
+		if (recording) {
+			jfr = new Recording(Configuration.getConfiguration("default"));
+			jfr.enable(SqlStatementEvent.class).withThreshold(Duration.ZERO);
+			jfr.setToDisk(true);
+			jfr.setMaxAge(Duration.ofMinutes(1));
+			jfr.start();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		if (jfr != null) {
+			jfr.close();
+		}
+		observedConnection.close();
+		rawConnection.close();
+	}
+
+	@Benchmark
+	public String baseline() throws SQLException {
+		return lookup(rawLookup);
+	}
+
+	@Benchmark
+	public String profiled() throws SQLException {
+		return lookup(observedLookup);
+	}
+
+	private String lookup(PreparedStatement statement) throws SQLException {
+		id = (id + 1) % 1_000;
+		statement.setLong(1, id);
+		try (var rows = statement.executeQuery()) {
+			return rows.next() ? rows.getString(2) : null;
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package org.example.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subtree reads on a 100k-node tree with the {@code todos} tree columns and
+ * {@code idx_todos_tenant_path} index, using the same range predicate as
+ * {@code TodoRepository.findDescendants}.
+ * <p>
+ * The tree has a fan-out of {@code fanOut} per node; {@code shallow} reads a mid-level node's
+ * children and grandchildren, {@code deep} a top-level node's full subtree capped at 1000 rows.
+ * {@code ./gradlew jmh -Pjmh.includes=SubtreeQueryBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SubtreeQueryBenchmark {
+
+	private static final String TENANT = "default";
+	private static final String SUBTREE_SQL = """
+		SELECT id, parent_id, depth, title, completed, subtree_size, subtree_completed
+		FROM todos
+		WHERE tenant_id = ? AND path >= ? AND path < ? AND depth <= ?
+		ORDER BY path, id
+		LIMIT ?
+		""";
+
+	@Param({"100000"})
+	private int nodes;
+
+	@Param({"10"})
+	private int fanOut;
+
+	private Connection connection;
+	private PreparedStatement subtree;
+	private final List<Node> topLevel = new ArrayList<>();
+	private final List<Node> midLevel = new ArrayList<>();
+	private int cursor;
+
+	private record Node(long id, String path, int depth) {
+
+		String prefix() {
+			return path + id + "/";
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws SQLException {
+		connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+		try (var statement = connection.createStatement()) {
+			statement.execute("""
+				CREATE TABLE todos (
+					id INTEGER PRIMARY KEY, tenant_id VARCHAR(64) NOT NULL, title VARCHAR(255) NOT NULL,
+					completed BOOLEAN NOT NULL, parent_id INTEGER, path VARCHAR(1024) NOT NULL,
+					depth INTEGER NOT NULL, subtree_size INTEGER NOT NULL, subtree_completed INTEGER NOT NULL
+				)""");
+			statement.execute("CREATE INDEX idx_todos_tenant_path ON todos (tenant_id, path)");
+		}
+
+		connection.setAutoCommit(false);
+		try (var insert = connection.prepareStatement("INSERT INTO todos VALUES (?, ?, ?, 0, ?, ?, ?, 1, 0)")) {
+			// Breadth-first: node i's parent is (i - 1) / fanOut
+			final var all = new ArrayList<Node>(nodes);
+			for (var i = 0; i < nodes; i++) {
+				final var parent = i == 0 ? null : all.get((i - 1) / fanOut);
+				final var node = parent == null
+					? new Node(i + 1, "/", 0)
+					: new Node(i + 1, parent.prefix(), parent.depth() + 1);
+				all.add(node);
+				if (node.depth() == 1) {
+					topLevel.add(node);
+				} else if (node.depth() == 3) {
+					midLevel.add(node);
+				}
+
+				insert.setLong(1, node.id());
+				insert.setString(2, TENANT);
+				insert.setString(3, "Node " + node.id());
+				if (parent == null) {
+					insert.setNull(4, Types.INTEGER);
+				} else {
+					insert.setLong(4, parent.id());
+				}
+				insert.setString(5, node.path());
+				insert.setInt(6, node.depth());
+				insert.addBatch();
+			}
+			insert.executeBatch();
+		}
+		connection.commit();
+		connection.setAutoCommit(true);
+
+		try (var statement = connection.createStatement()) {
+			statement.execute("ANALYZE");
+		}
+		subtree = connection.prepareStatement(SUBTREE_SQL);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		subtree.close();
+		connection.close();
+	}
+
+	@Benchmark
+	public void shallow(Blackhole blackhole) throws SQLException {
+		final var node = midLevel.get(cursor++ % midLevel.size());
+		read(node, 2, 1000, blackhole);
+	}
+
+	@Benchmark
+	public void deep(Blackhole blackhole) throws SQLException {
+		final var node = topLevel.get(cursor++ % topLevel.size());
+		read(node, 64, 1000, blackhole);
+	}
+
+	private void read(Node node, int depth, int limit, Blackhole blackhole) throws SQLException {
+		final var prefix = node.prefix();
+		subtree.setString(1, TENANT);
+		subtree.setString(2, prefix);
+		subtree.setString(3, prefix.substring(0, prefix.length() - 1) + '0');
+		subtree.setInt(4, node.depth() + depth);
+		subtree.setInt(5, limit);
+		try (var rows = subtree.executeQuery()) {
+			while (rows.next()) {
+				blackhole.consume(rows.getLong(1));
+				blackhole.consume(rows.getString(4));
+			}
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package org.example.bench;
+
+import org.example.tag.TagBitmapIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multi-tag filtering over {@code todos} todos and {@code tags} tags, three tags per todo
+ * drawn from a skewed distribution (a few tags are on tens of thousands of todos, most on a
+ * handful). Compares {@link TagBitmapIndex} intersections with the equivalent self-join on
+ * {@code todo_tags} and its {@code (tag_id, todo_id)} index in SQLite.
+ * <p>
+ * Both sides return the match count and the newest 100 ids, like {@code GET /todos/search}.
+ * The index's memory footprint is printed during setup.
+ * {@code ./gradlew jmh -Pjmh.includes=TagIndexBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TagIndexBenchmark {
+
+	private static final int TAGS_PER_TODO = 3;
+	private static final int LIMIT = 100;
+
+	private static final String TWO_TAGS_SQL = """
+		SELECT a.todo_id FROM todo_tags a
+		JOIN todo_tags b ON b.todo_id = a.todo_id AND b.tag_id = ?
+		WHERE a.tag_id = ?
+		ORDER BY a.todo_id DESC
+		""";
+	private static final String TWO_TAGS_OPEN_SQL = """
+		SELECT a.todo_id FROM todo_tags a
+		JOIN todo_tags b ON b.todo_id = a.todo_id AND b.tag_id = ?
+		JOIN todos t ON t.id = a.todo_id AND t.completed = 0
+		WHERE a.tag_id = ?
+		ORDER BY a.todo_id DESC
+		""";
+
+	@Param({"1000000"})
+	private int todos;
+
+	@Param({"10000"})
+	private int tags;
+
+	private TagBitmapIndex index;
+	private Connection connection;
+	private PreparedStatement twoTags;
+	private PreparedStatement twoTagsOpen;
+
+	@Setup(Level.Trial)
+	public void setup() throws SQLException {
+		final var random = new Random(42);
+		final var assignments = new int[todos * TAGS_PER_TODO];
+		for (var i = 0; i < assignments.length; i++) {
+			// Squaring a uniform value skews towards low tag numbers
+			final var u = random.nextDouble();
+			assignments[i] = (int) (u * u * tags);
+		}
+
+		index = new TagBitmapIndex();
+		index.load(target -> {
+			for (var todo = 0; todo < todos; todo++) {
+				for (var j = 0; j < TAGS_PER_TODO; j++) {
+					target.add(todo + 1, tag(assignments[todo * TAGS_PER_TODO + j]));
+				}
+				if (todo % 3 == 0) {
+					target.markCompleted(todo + 1);
+				}
+			}
+		}, false);
+		System.out.printf("%nTag index: %d tags, %d KiB%n", index.tagCount(), index.sizeInBytes() / 1024);
+
+		connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+		try (var statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE todos (id INTEGER PRIMARY KEY, completed BOOLEAN NOT NULL)");
+			statement.execute("CREATE TABLE todo_tags (todo_id INTEGER NOT NULL, tag_id INTEGER NOT NULL, PRIMARY KEY (todo_id, tag_id))");
+		}
+		connection.setAutoCommit(false);
+		try (var todoInsert = connection.prepareStatement("INSERT INTO todos VALUES (?, ?)");
+			 var linkInsert = connection.prepareStatement("INSERT OR IGNORE INTO todo_tags VALUES (?, ?)")) {
+			for (var todo = 0; todo < todos; todo++) {
+				todoInsert.setLong(1, todo + 1);
+				todoInsert.setBoolean(2, todo % 3 == 0);
+				todoInsert.addBatch();
+				for (var j = 0; j < TAGS_PER_TODO; j++) {
+					linkInsert.setLong(1, todo + 1);
+					linkInsert.setLong(2, assignments[todo * TAGS_PER_TODO + j]);
+					linkInsert.addBatch();
+				}
+				if (todo % 10_000 == 0) {
+					todoInsert.executeBatch();
+					linkInsert.executeBatch();
+				}
+			}
+			todoInsert.executeBatch();
+			linkInsert.executeBatch();
+		}
+		connection.commit();
+		connection.setAutoCommit(true);
+
+		try (var statement = connection.createStatement()) {
+			statement.execute("CREATE INDEX idx_todo_tags_tag_todo ON todo_tags (tag_id, todo_id)");
+			statement.execute("ANALYZE");
+		}
+		twoTags = connection.prepareStatement(TWO_TAGS_SQL);
+		twoTagsOpen = connection.prepareStatement(TWO_TAGS_OPEN_SQL);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		twoTags.close();
+		twoTagsOpen.close();
+		connection.close();
+	}
+
+	// Two popular tags: large bitmaps, large join inputs
+
+	@Benchmark
+	public TagBitmapIndex.Hits bitmapPopularPair() {
+		return index.search(List.of(tag(0), tag(1)), null, LIMIT);
+	}
+
+	@Benchmark
+	public void sqlPopularPair(Blackhole blackhole) throws SQLException {
+		query(twoTags, 0, 1, blackhole);
+	}
+
+	// A popular and a rare tag: cost should follow the rare one
+
+	@Benchmark
+	public TagBitmapIndex.Hits bitmapPopularRarePair() {
+		return index.search(List.of(tag(0), tag(tags / 2)), null, LIMIT);
+	}
+
+	@Benchmark
+	public void sqlPopularRarePair(Blackhole blackhole) throws SQLException {
+		query(twoTags, 0, tags / 2, blackhole);
+	}
+
+	// Two popular tags restricted to open todos
+
+	@Benchmark
+	public TagBitmapIndex.Hits bitmapPopularPairOpen() {
+		return index.search(List.of(tag(0), tag(1)), false, LIMIT);
+	}
+
+	@Benchmark
+	public void sqlPopularPairOpen(Blackhole blackhole) throws SQLException {
+		query(twoTagsOpen, 0, 1, blackhole);
+	}
+
+	/**
+	 * Reads every match to count it and keeps the first {@link #LIMIT}, which is what the
+	 * bitmap side reports via its cardinality.
+	 */
+	private static void query(PreparedStatement statement, int first, int second, Blackhole blackhole) throws SQLException {
+		statement.setInt(1, second);
+		statement.setInt(2, first);
+		var total = 0L;
+		try (var rows = statement.executeQuery()) {
+			while (rows.next()) {
+				if (total++ < LIMIT) {
+					blackhole.consume(rows.getLong(1));
+				}
+			}
+		}
+		blackhole.consume(total);
+	}
+
+	private static String tag(int number) {
+		return "tag-" + number;
+	}
+}
@@ -0,0 +1,91 @@
+package org.example.async;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Durable queue of accepted-but-not-yet-written creates, backed by a {@link FileRingBuffer}.
+ * Tracks which operations are still pending so their status can be reported.
+ */
+@Slf4j
+@Component
+public class AsyncTodoQueue {
+
+	private final FileRingBuffer buffer;
+	private final Map<String, String> pendingTenants = new ConcurrentHashMap<>();
+
+	public AsyncTodoQueue(
+		@Value("${app.async.queue-file:async-queue.dat}") String queueFile,
+		@Value("${app.async.queue-capacity-bytes:67108864}") long capacityBytes,
+		@Value("${app.async.fsync:true}") boolean fsync,
+		ObjectProvider<MeterRegistry> meterRegistry
+	) {
+		try {
+			this.buffer = new FileRingBuffer(Path.of(queueFile), capacityBytes, fsync);
+			for (final var record : buffer.peek(Integer.MAX_VALUE).records()) {
+				final var create = QueuedCreate.decode(record);
+				pendingTenants.put(create.operationId(), create.tenantId());
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to open async queue " + queueFile, e);
+		}
+
+		if (!pendingTenants.isEmpty()) {
+			log.info("Recovered {} pending async creates from {}", pendingTenants.size(), queueFile);
+		}
+
+		meterRegistry.ifAvailable(registry -> {
+			Gauge.builder("todo.async.queue.bytes", buffer, FileRingBuffer::usedBytes)
+				.baseUnit("bytes").register(registry);
+			Gauge.builder("todo.async.queue.pending", pendingTenants, Map::size)
+				.register(registry);
+		});
+	}
+
+	/**
+	 * @return {@code false} if the queue is full and the caller should back off
+	 */
+	public boolean offer(QueuedCreate create) {
+		pendingTenants.put(create.operationId(), create.tenantId());
+		try {
+			if (buffer.offer(create.encode())) {
+				return true;
+			}
+		} catch (IOException e) {
+			log.error("Failed to append to async queue", e);
+		}
+
+		pendingTenants.remove(create.operationId());
+		return false;
+	}
+
+	public boolean isPending(String operationId, String tenantId) {
+		return tenantId.equals(pendingTenants.get(operationId));
+	}
+
+	FileRingBuffer.Batch peek(int maxRecords) throws IOException {
+		return buffer.peek(maxRecords);
+	}
+
+	void commit(FileRingBuffer.Batch batch, List<QueuedCreate> written) throws IOException {
+		buffer.commit(batch);
+		written.forEach(create -> pendingTenants.remove(create.operationId()));
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		buffer.close();
+	}
+}
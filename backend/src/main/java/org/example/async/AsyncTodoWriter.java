@@ -0,0 +1,198 @@
+package org.example.async;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ValidationException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.audit.AuditLog;
+import org.example.audit.AuditOperation;
+import org.example.audit.AuditSnapshot;
+import org.example.cache.TodoListCache;
+import org.example.model.AsyncOperation;
+import org.example.model.OperationStatus;
+import org.example.model.Todo;
+import org.example.repository.AsyncOperationRepository;
+import org.example.repository.TodoRepository;
+import org.example.service.TodoStatsService;
+import org.example.tenant.TenantLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains {@link AsyncTodoQueue} into SQLite, one transaction per batch.
+ * <p>
+ * Records are released from the queue only after their transaction commits. Each write
+ * first checks for an existing {@link AsyncOperation}, so a batch replayed after a crash
+ * between commit and release is not inserted twice.
+ * <p>
+ * Drains run on their own thread, since a busy queue keeps a pass going far longer than the
+ * shared scheduler should be held. A failed pass leaves its batch queued and the next one is
+ * delayed with exponential backoff. Only records rejected as invalid or violating a
+ * constraint are marked {@link OperationStatus#FAILED}; anything else, such as a busy
+ * database, is retried.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AsyncTodoWriter {
+
+	private final AsyncTodoQueue queue;
+	private final TodoRepository todoRepository;
+	private final AsyncOperationRepository operationRepository;
+	private final TenantLimiter tenantLimiter;
+	private final TodoStatsService statsService;
+	private final AuditLog auditLog;
+	private final TodoListCache todoListCache;
+	private final TransactionTemplate transactionTemplate;
+
+	@Value("${app.async.batch-size:500}")
+	private int batchSize;
+
+	@Value("${app.async.drain-interval-ms:50}")
+	private long drainIntervalMs;
+
+	@Value("${app.async.max-backoff-ms:5000}")
+	private long maxBackoffMs;
+
+	private ScheduledExecutorService executor;
+
+	// Guarded by this
+	private long backoffMs;
+	private long retryAt;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("async-todo-writer").daemon().factory());
+		executor.scheduleWithFixedDelay(this::drain, drainIntervalMs, drainIntervalMs, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	public synchronized void drain() {
+		if (System.currentTimeMillis() < retryAt) {
+			return;
+		}
+
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				final var batch = queue.peek(batchSize);
+				if (batch.records().isEmpty()) {
+					break;
+				}
+
+				final var creates = decode(batch.records());
+				writeBatch(creates);
+				queue.commit(batch, creates);
+			}
+			backoffMs = 0;
+		} catch (IOException e) {
+			log.error("Failed to read async queue", e);
+			backOff();
+		} catch (RuntimeException e) {
+			backOff();
+			log.warn("Async write failed, retrying in {} ms", backoffMs, e);
+		}
+	}
+
+	private void backOff() {
+		backoffMs = backoffMs == 0 ? Math.max(drainIntervalMs, 1) : Math.min(backoffMs * 2, maxBackoffMs);
+		retryAt = System.currentTimeMillis() + backoffMs;
+	}
+
+	private void writeBatch(List<QueuedCreate> creates) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				creates.forEach(this::write);
+			});
+		} catch (RuntimeException e) {
+			if (!isRejected(e)) {
+				throw e;
+			}
+			// Isolate the rejected record so it cannot block the rest of the queue
+			log.warn("Batch of {} queued creates failed, retrying individually", creates.size(), e);
+			for (final var create : creates) {
+				try {
+					transactionTemplate.executeWithoutResult(status -> write(create));
+				} catch (RuntimeException single) {
+					// Records written before a retryable failure are skipped on replay
+					if (!isRejected(single)) {
+						throw single;
+					}
+					log.warn("Queued create {} rejected", create.operationId(), single);
+					transactionTemplate.executeWithoutResult(status ->
+						operationRepository.save(operation(create, OperationStatus.FAILED, null, "Write rejected")));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Whether the record itself is at fault, so writing it again cannot succeed.
+	 */
+	private static boolean isRejected(Throwable e) {
+		for (var cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof DataIntegrityViolationException || cause instanceof ValidationException) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void write(QueuedCreate create) {
+		if (operationRepository.existsById(create.operationId())) {
+			return;
+		}
+
+		final var tenant = create.tenantId();
+		try {
+			tenantLimiter.reserveRow(tenant);
+		} catch (ResponseStatusException e) {
+			operationRepository.save(operation(create, OperationStatus.FAILED, null, e.getReason()));
+			return;
+		}
+
+		final var todo = new Todo(create.title(), create.description(), false);
+		todo.setTenantId(tenant);
+		final var saved = todoRepository.save(todo);
+		statsService.onCreated(tenant, saved.getCreatedAt());
+		// The accepting request's actor is not queued, so these are recorded as anonymous
+		auditLog.record(tenant, saved.getId(), AuditOperation.CREATE, Map.of(), AuditSnapshot.of(saved));
+		todoListCache.invalidate(tenant);
+
+		operationRepository.save(operation(create, OperationStatus.COMPLETED, saved.getId(), null));
+	}
+
+	private static AsyncOperation operation(QueuedCreate create, OperationStatus status, Long todoId, String error) {
+		return new AsyncOperation(create.operationId(), create.tenantId(), status, todoId, error, System.currentTimeMillis());
+	}
+
+	private static List<QueuedCreate> decode(List<byte[]> records) {
+		final var creates = new ArrayList<QueuedCreate>(records.size());
+		for (final var record : records) {
+			try {
+				creates.add(QueuedCreate.decode(record));
+			} catch (IOException e) {
+				log.error("Dropping undecodable queued create", e);
+			}
+		}
+		return creates;
+	}
+}
@@ -0,0 +1,231 @@
+package org.example.async;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Durable FIFO of byte records stored in a fixed-size file used as a ring.
+ * <p>
+ * Layout: a 32 byte header ({@code magic:int, unused:int, capacity:long, head:long, tail:long})
+ * followed by {@code capacity} bytes of record data. {@code head} and {@code tail} are logical
+ * offsets that only grow; the physical position is the offset modulo the capacity. Each record
+ * is {@code length:int, crc32:int, payload}, so a record torn by a crash is detected on read
+ * and dropped together with everything after it.
+ * <p>
+ * Consumers {@link #peek(int)} a batch, process it, then {@link #commit(Batch)} to release
+ * the space; records are never lost between those two calls.
+ * <p>
+ * With {@code fsync} an {@link #offer(byte[])} returns once its record is on disk. The sync
+ * happens outside the append lock and is shared: appends that arrive while one {@code force}
+ * is running are all covered by the next one, so concurrent producers pay for one sync per
+ * group rather than one each.
+ */
+public class FileRingBuffer implements Closeable {
+
+	private static final int MAGIC = 0x54445152;
+	private static final int HEADER_SIZE = 32;
+	private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+	private final FileChannel channel;
+	private final long capacity;
+	private final boolean fsync;
+	private final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+	private final Object syncLock = new Object();
+
+	private long head;
+	private long tail;
+	// Appends so far, and how many of them a completed force covers
+	private volatile long appended;
+	private long synced;
+
+	public record Batch(List<byte[]> records, long endPosition) {}
+
+	public FileRingBuffer(Path file, long capacity, boolean fsync) throws IOException {
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		this.fsync = fsync;
+
+		if (channel.size() >= HEADER_SIZE && readHeader()) {
+			// An existing file keeps the capacity it was created with
+			this.capacity = header.getLong(8);
+			this.head = header.getLong(16);
+			this.tail = header.getLong(24);
+		} else {
+			this.capacity = capacity;
+			channel.write(ByteBuffer.allocate(1), HEADER_SIZE + capacity - 1);
+			writeHeader();
+			channel.force(true);
+		}
+	}
+
+	/**
+	 * Appends a record and, with {@code fsync}, waits until it is durable.
+	 *
+	 * @return {@code false} if the buffer does not have room for the record
+	 */
+	public boolean offer(byte[] record) throws IOException {
+		final var ticket = append(record);
+		if (ticket < 0) {
+			return false;
+		}
+		if (fsync) {
+			syncThrough(ticket);
+		}
+		return true;
+	}
+
+	private synchronized long append(byte[] record) throws IOException {
+		final var required = RECORD_HEADER_SIZE + (long) record.length;
+		if (required > capacity - (tail - head)) {
+			return -1;
+		}
+
+		final var crc = new CRC32();
+		crc.update(record);
+		final var buffer = ByteBuffer.allocate((int) required)
+			.putInt(record.length)
+			.putInt((int) crc.getValue())
+			.put(record)
+			.flip();
+
+		writeWrapped(tail, buffer);
+		tail += required;
+		writeHeader();
+		return ++appended;
+	}
+
+	/**
+	 * Forces the file unless a force that started after append {@code ticket} has already
+	 * completed. Whoever gets the lock next syncs everything appended by then.
+	 */
+	private void syncThrough(long ticket) throws IOException {
+		synchronized (syncLock) {
+			if (synced >= ticket) {
+				return;
+			}
+			final var target = appended;
+			channel.force(false);
+			synced = target;
+		}
+	}
+
+	/**
+	 * Reads up to {@code maxRecords} records from the head without removing them.
+	 */
+	public synchronized Batch peek(int maxRecords) throws IOException {
+		final var records = new ArrayList<byte[]>();
+		var position = head;
+
+		while (records.size() < maxRecords && position < tail) {
+			final var recordHeader = readWrapped(position, RECORD_HEADER_SIZE);
+			final var length = recordHeader.getInt();
+			final var expectedCrc = recordHeader.getInt();
+
+			if (length < 0 || position + RECORD_HEADER_SIZE + length > tail) {
+				truncateAt(position);
+				break;
+			}
+
+			final var payload = readWrapped(position + RECORD_HEADER_SIZE, length).array();
+			final var crc = new CRC32();
+			crc.update(payload);
+			if ((int) crc.getValue() != expectedCrc) {
+				truncateAt(position);
+				break;
+			}
+
+			records.add(payload);
+			position += RECORD_HEADER_SIZE + length;
+		}
+
+		return new Batch(records, position);
+	}
+
+	/**
+	 * Releases the records of a batch previously returned by {@link #peek(int)}.
+	 */
+	public synchronized void commit(Batch batch) throws IOException {
+		head = Math.max(head, Math.min(batch.endPosition(), tail));
+		writeHeader();
+		if (fsync) {
+			channel.force(false);
+		}
+	}
+
+	public synchronized long usedBytes() {
+		return tail - head;
+	}
+
+	public long capacity() {
+		return capacity;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		channel.close();
+	}
+
+	private void truncateAt(long position) throws IOException {
+		tail = position;
+		writeHeader();
+	}
+
+	private boolean readHeader() throws IOException {
+		header.clear();
+		channel.read(header, 0);
+		return header.getInt(0) == MAGIC;
+	}
+
+	private void writeHeader() throws IOException {
+		header.clear();
+		header.putInt(MAGIC).putInt(0).putLong(capacity).putLong(head).putLong(tail).flip();
+		writeFully(header, 0);
+	}
+
+	private void writeWrapped(long position, ByteBuffer buffer) throws IOException {
+		final var offset = position % capacity;
+		final var firstPart = (int) Math.min(buffer.remaining(), capacity - offset);
+
+		writeFully(buffer.slice(buffer.position(), firstPart), HEADER_SIZE + offset);
+		if (firstPart < buffer.remaining()) {
+			writeFully(buffer.slice(buffer.position() + firstPart, buffer.remaining() - firstPart), HEADER_SIZE);
+		}
+	}
+
+	private void writeFully(ByteBuffer buffer, long filePosition) throws IOException {
+		var position = filePosition;
+		while (buffer.hasRemaining()) {
+			position += channel.write(buffer, position);
+		}
+	}
+
+	private ByteBuffer readWrapped(long position, int length) throws IOException {
+		final var buffer = ByteBuffer.allocate(length);
+		final var offset = position % capacity;
+		final var firstPart = (int) Math.min(length, capacity - offset);
+
+		readFully(buffer.limit(firstPart), HEADER_SIZE + offset);
+		if (firstPart < length) {
+			readFully(buffer.limit(length), HEADER_SIZE);
+		}
+
+		return buffer.flip();
+	}
+
+	private void readFully(ByteBuffer buffer, long filePosition) throws IOException {
+		var position = filePosition;
+		while (buffer.hasRemaining()) {
+			final var read = channel.read(buffer, position);
+			if (read < 0) {
+				throw new IOException("Unexpected end of ring buffer file");
+			}
+			position += read;
+		}
+	}
+}
@@ -0,0 +1,49 @@
+package org.example.async;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A create request waiting in the durable queue.
+ */
+public record QueuedCreate(String operationId, String tenantId, String title, String description) {
+
+	private static final byte FORMAT_VERSION = 1;
+
+	public byte[] encode() {
+		final var bytes = new ByteArrayOutputStream(64 + title.length() + (description == null ? 0 : description.length()));
+		try (var out = new DataOutputStream(bytes)) {
+			out.writeByte(FORMAT_VERSION);
+			out.writeUTF(operationId);
+			out.writeUTF(tenantId);
+			out.writeUTF(title);
+			out.writeBoolean(description != null);
+			if (description != null) {
+				out.writeUTF(description);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	public static QueuedCreate decode(byte[] record) throws IOException {
+		try (var in = new DataInputStream(new ByteArrayInputStream(record))) {
+			final var version = in.readByte();
+			if (version != FORMAT_VERSION) {
+				throw new IOException("Unsupported queued create format " + version);
+			}
+
+			final var operationId = in.readUTF();
+			final var tenantId = in.readUTF();
+			final var title = in.readUTF();
+			final var description = in.readBoolean() ? in.readUTF() : null;
+
+			return new QueuedCreate(operationId, tenantId, title, description);
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package org.example.audit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Binds the actor header ({@code X-User-Id} by default) to {@link AuditContext} for the
+ * duration of the request. Requests without it are audited as {@link AuditContext#ANONYMOUS}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AuditActorFilter extends OncePerRequestFilter {
+
+	private static final Pattern ACTOR_PATTERN = Pattern.compile("[A-Za-z0-9_.@-]{1,128}");
+
+	@Value("${app.audit.actor-header:X-User-Id}")
+	private String actorHeader;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+		throws ServletException, IOException {
+		final var actor = request.getHeader(actorHeader);
+		if (actor != null && !ACTOR_PATTERN.matcher(actor).matches()) {
+			response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid user id");
+			return;
+		}
+
+		AuditContext.set(actor);
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			AuditContext.clear();
+		}
+	}
+}
@@ -0,0 +1,292 @@
+package org.example.audit;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes a block of {@link AuditEvent}s column by column, then deflates it.
+ * <p>
+ * Uncompressed layout, all integers as unsigned LEB128 varints:
+ * <pre>
+ * version, count
+ * dictionary: size, size x (byteLength, utf8)
+ * todoId column:    count x zigzag(delta to previous id)
+ * timestamp column: count x zigzag(delta to previous timestamp)
+ * tenant column:    count x dictionary index
+ * actor column:     count x dictionary index
+ * operation column: count x operation code
+ * changes column:   count x number of changes
+ * change entries:   total x (field code, before, after)
+ * </pre>
+ * Change values are {@code 0} for {@code null} and {@code dictionary index + 1} otherwise,
+ * so each distinct tenant, actor, title or tag list is stored once per block and unchanged
+ * fields are not stored at all.
+ */
+final class AuditBlockCodec {
+
+	private static final int VERSION = 1;
+
+	private AuditBlockCodec() {
+	}
+
+	static byte[] encode(List<AuditEvent> events) {
+		final var dictionary = new HashMap<String, Integer>();
+		final var strings = new ArrayList<String>();
+		final var columns = new VarintWriter(events.size() * 16);
+
+		var previousId = 0L;
+		for (final var event : events) {
+			columns.writeSigned(event.todoId() - previousId);
+			previousId = event.todoId();
+		}
+		var previousTimestamp = 0L;
+		for (final var event : events) {
+			columns.writeSigned(event.timestamp() - previousTimestamp);
+			previousTimestamp = event.timestamp();
+		}
+		for (final var event : events) {
+			columns.write(intern(event.tenantId(), dictionary, strings));
+		}
+		for (final var event : events) {
+			columns.write(intern(event.actor(), dictionary, strings));
+		}
+		for (final var event : events) {
+			columns.write(event.operation().code);
+		}
+		for (final var event : events) {
+			columns.write(event.changes().size());
+		}
+		for (final var event : events) {
+			for (final var change : event.changes()) {
+				columns.write(change.field().code);
+				columns.write(change.before() == null ? 0 : intern(change.before(), dictionary, strings) + 1);
+				columns.write(change.after() == null ? 0 : intern(change.after(), dictionary, strings) + 1);
+			}
+		}
+
+		final var block = new VarintWriter(columns.size() + strings.size() * 16 + 16);
+		block.write(VERSION);
+		block.write(events.size());
+		block.write(strings.size());
+		for (final var string : strings) {
+			final var bytes = string.getBytes(StandardCharsets.UTF_8);
+			block.write(bytes.length);
+			block.writeBytes(bytes, bytes.length);
+		}
+		block.writeBytes(columns.buffer, columns.size());
+
+		return deflate(block.buffer, block.size());
+	}
+
+	static List<AuditEvent> decode(byte[] compressed) throws IOException {
+		final var in = new VarintReader(inflate(compressed));
+		final var version = in.readInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported audit block version " + version);
+		}
+
+		final var count = in.readInt();
+		final var strings = new String[in.readInt()];
+		for (var i = 0; i < strings.length; i++) {
+			strings[i] = in.readString();
+		}
+
+		final var todoIds = new long[count];
+		var previousId = 0L;
+		for (var i = 0; i < count; i++) {
+			previousId += in.readSigned();
+			todoIds[i] = previousId;
+		}
+		final var timestamps = new long[count];
+		var previousTimestamp = 0L;
+		for (var i = 0; i < count; i++) {
+			previousTimestamp += in.readSigned();
+			timestamps[i] = previousTimestamp;
+		}
+		final var tenants = new String[count];
+		for (var i = 0; i < count; i++) {
+			tenants[i] = strings[in.readInt()];
+		}
+		final var actors = new String[count];
+		for (var i = 0; i < count; i++) {
+			actors[i] = strings[in.readInt()];
+		}
+		final var operations = new AuditOperation[count];
+		for (var i = 0; i < count; i++) {
+			operations[i] = AuditOperation.ofCode(in.readInt());
+		}
+		final var changeCounts = new int[count];
+		for (var i = 0; i < count; i++) {
+			changeCounts[i] = in.readInt();
+		}
+
+		final var events = new ArrayList<AuditEvent>(count);
+		for (var i = 0; i < count; i++) {
+			final var changes = new ArrayList<AuditEvent.Change>(changeCounts[i]);
+			for (var c = 0; c < changeCounts[i]; c++) {
+				final var field = AuditField.ofCode(in.readInt());
+				final var before = in.readInt();
+				final var after = in.readInt();
+				changes.add(new AuditEvent.Change(field,
+					before == 0 ? null : strings[before - 1],
+					after == 0 ? null : strings[after - 1]));
+			}
+			events.add(new AuditEvent(todoIds[i], tenants[i], actors[i], timestamps[i], operations[i], List.copyOf(changes)));
+		}
+
+		return events;
+	}
+
+	private static int intern(String value, Map<String, Integer> dictionary, List<String> strings) {
+		return dictionary.computeIfAbsent(value, key -> {
+			strings.add(key);
+			return strings.size() - 1;
+		});
+	}
+
+	private static byte[] deflate(byte[] input, int length) {
+		final var deflater = new Deflater(Deflater.BEST_SPEED);
+		try {
+			deflater.setInput(input, 0, length);
+			deflater.finish();
+			var output = new byte[Math.max(64, length / 2)];
+			var size = 0;
+			while (!deflater.finished()) {
+				if (size == output.length) {
+					output = Arrays.copyOf(output, output.length * 2);
+				}
+				size += deflater.deflate(output, size, output.length - size);
+			}
+			return Arrays.copyOf(output, size);
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private static byte[] inflate(byte[] input) throws IOException {
+		final var inflater = new Inflater();
+		try {
+			inflater.setInput(input);
+			var output = new byte[Math.max(256, input.length * 4)];
+			var size = 0;
+			while (!inflater.finished()) {
+				if (size == output.length) {
+					output = Arrays.copyOf(output, output.length * 2);
+				}
+				final var read = inflater.inflate(output, size, output.length - size);
+				if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					throw new IOException("Truncated audit block");
+				}
+				size += read;
+			}
+			return Arrays.copyOf(output, size);
+		} catch (DataFormatException e) {
+			throw new IOException("Corrupt audit block", e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	static final class VarintWriter {
+
+		private byte[] buffer;
+		private int size;
+
+		VarintWriter(int initialCapacity) {
+			this.buffer = new byte[Math.max(16, initialCapacity)];
+		}
+
+		void write(long value) {
+			ensure(10);
+			while ((value & ~0x7FL) != 0) {
+				buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			buffer[size++] = (byte) value;
+		}
+
+		void writeSigned(long value) {
+			write((value << 1) ^ (value >> 63));
+		}
+
+		void writeBytes(byte[] bytes, int length) {
+			ensure(length);
+			System.arraycopy(bytes, 0, buffer, size, length);
+			size += length;
+		}
+
+		int size() {
+			return size;
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf(buffer, size);
+		}
+
+		private void ensure(int extra) {
+			if (size + extra > buffer.length) {
+				buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+			}
+		}
+	}
+
+	static final class VarintReader {
+
+		private final byte[] buffer;
+		private int position;
+
+		VarintReader(byte[] buffer) {
+			this.buffer = buffer;
+		}
+
+		long read() throws IOException {
+			var value = 0L;
+			for (var shift = 0; shift < 64; shift += 7) {
+				if (position >= buffer.length) {
+					throw new IOException("Truncated varint");
+				}
+				final var b = buffer[position++];
+				value |= (long) (b & 0x7F) << shift;
+				if (b >= 0) {
+					return value;
+				}
+			}
+			throw new IOException("Malformed varint");
+		}
+
+		int readInt() throws IOException {
+			final var value = read();
+			if (value < 0 || value > Integer.MAX_VALUE) {
+				throw new IOException("Varint out of range: " + value);
+			}
+			return (int) value;
+		}
+
+		long readSigned() throws IOException {
+			final var value = read();
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+		String readString() throws IOException {
+			final var length = readInt();
+			if (position + length > buffer.length) {
+				throw new IOException("Truncated string");
+			}
+			final var value = new String(buffer, position, length, StandardCharsets.UTF_8);
+			position += length;
+			return value;
+		}
+
+		boolean hasRemaining() {
+			return position < buffer.length;
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package org.example.audit;
+
+/**
+ * Holds the actor of the request being served on the current thread, as recorded in the
+ * audit log.
+ */
+public final class AuditContext {
+
+	public static final String ANONYMOUS = "anonymous";
+
+	private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+	private AuditContext() {
+	}
+
+	public static String current() {
+		final var actor = CURRENT.get();
+		return actor == null ? ANONYMOUS : actor;
+	}
+
+	public static void set(String actor) {
+		CURRENT.set(actor);
+	}
+
+	public static void clear() {
+		CURRENT.remove();
+	}
+}
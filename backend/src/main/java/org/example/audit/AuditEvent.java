@@ -0,0 +1,25 @@
+package org.example.audit;
+
+import java.util.List;
+
+/**
+ * One audited mutation of a todo: who made it, when, and the fields it changed.
+ *
+ * @param timestamp epoch milliseconds
+ * @param changes   only the fields whose value changed
+ */
+public record AuditEvent(
+	long todoId,
+	String tenantId,
+	String actor,
+	long timestamp,
+	AuditOperation operation,
+	List<Change> changes
+) {
+
+	/**
+	 * @param before value before the mutation, {@code null} if unset
+	 * @param after  value after the mutation, {@code null} if unset
+	 */
+	public record Change(AuditField field, String before, String after) {}
+}
@@ -0,0 +1,37 @@
+package org.example.audit;
+
+/**
+ * Audited todo fields. The {@link #code} is written to segment files, so codes must never be
+ * reused or renumbered.
+ */
+public enum AuditField {
+
+	TITLE(1),
+	DESCRIPTION(2),
+	COMPLETED(3),
+	PARENT_ID(4),
+	TAGS(5),
+	DUE_AT(6),
+	REMIND_AT(7);
+
+	private static final AuditField[] BY_CODE = new AuditField[8];
+
+	static {
+		for (final var field : values()) {
+			BY_CODE[field.code] = field;
+		}
+	}
+
+	final int code;
+
+	AuditField(int code) {
+		this.code = code;
+	}
+
+	static AuditField ofCode(int code) {
+		if (code <= 0 || code >= BY_CODE.length || BY_CODE[code] == null) {
+			throw new IllegalArgumentException("Unknown audit field code " + code);
+		}
+		return BY_CODE[code];
+	}
+}
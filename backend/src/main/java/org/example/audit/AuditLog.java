@@ -0,0 +1,202 @@
+package org.example.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records todo changes to an {@link AuditSegmentStore} off the request thread.
+ * <p>
+ * {@link #record} diffs the snapshots on the caller's thread and, once the transaction
+ * commits, offers the event to a bounded queue. It never blocks: when the writer falls
+ * {@code app.audit.queue-capacity} events behind, events are dropped and counted in
+ * {@code todo.audit.dropped}. A single writer thread turns the queue into blocks of up to
+ * {@code app.audit.block-records} events, waiting at most {@code app.audit.flush-interval-ms}
+ * for a block to fill, so history lags writes by about that much.
+ */
+@Slf4j
+@Component
+public class AuditLog {
+
+	private final boolean enabled;
+	private final int blockRecords;
+	private final long flushIntervalNanos;
+	private final Clock clock;
+	private final BlockingQueue<AuditEvent> queue;
+	private final Counter written;
+	private final Counter dropped;
+	private final Counter failed;
+
+	private AuditSegmentStore store;
+	private Thread writer;
+	private volatile boolean running;
+
+	public AuditLog(
+		@Value("${app.audit.enabled:true}") boolean enabled,
+		@Value("${app.audit.dir:audit}") String directory,
+		@Value("${app.audit.queue-capacity:65536}") int queueCapacity,
+		@Value("${app.audit.block-records:1024}") int blockRecords,
+		@Value("${app.audit.flush-interval-ms:200}") long flushIntervalMillis,
+		@Value("${app.audit.segment-bytes:67108864}") long segmentBytes,
+		@Value("${app.audit.fsync:false}") boolean fsync,
+		Clock clock,
+		MeterRegistry meterRegistry
+	) {
+		this.enabled = enabled;
+		this.blockRecords = blockRecords;
+		this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+		this.clock = clock;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.written = Counter.builder("todo.audit.written")
+			.description("Audit events written to segments")
+			.register(meterRegistry);
+		this.dropped = Counter.builder("todo.audit.dropped")
+			.description("Audit events dropped because the queue was full")
+			.register(meterRegistry);
+		this.failed = Counter.builder("todo.audit.failed")
+			.description("Audit events lost to write errors")
+			.register(meterRegistry);
+		meterRegistry.gauge("todo.audit.queue", queue, BlockingQueue::size);
+
+		if (!enabled) {
+			return;
+		}
+		try {
+			this.store = new AuditSegmentStore(Path.of(directory), segmentBytes, fsync);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to open audit log " + directory, e);
+		}
+		running = true;
+		writer = Thread.ofPlatform().name("audit-writer").daemon().start(this::writeLoop);
+	}
+
+	/**
+	 * Records a change by the current {@link AuditContext} actor. Updates that change no
+	 * audited field are not recorded.
+	 *
+	 * @param before field values before the change, empty for a create
+	 * @param after  field values after the change, empty for a delete
+	 */
+	public void record(String tenant, long todoId, AuditOperation operation,
+					   Map<AuditField, String> before, Map<AuditField, String> after) {
+		if (!enabled) {
+			return;
+		}
+
+		final var changes = AuditSnapshot.diff(before, after);
+		if (changes.isEmpty() && operation == AuditOperation.UPDATE) {
+			return;
+		}
+		final var event = new AuditEvent(todoId, tenant, AuditContext.current(), clock.millis(), operation, changes);
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					offer(event);
+				}
+			});
+		} else {
+			offer(event);
+		}
+	}
+
+	/**
+	 * @return the todo's recorded changes, oldest first; empty if it belongs to another tenant
+	 */
+	public List<AuditEvent> history(String tenant, long todoId) {
+		if (!enabled) {
+			return List.of();
+		}
+
+		try {
+			return store.history(todoId).stream()
+				.filter(event -> event.tenantId().equals(tenant))
+				.toList();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to read audit history of todo " + todoId, e);
+		}
+	}
+
+	/**
+	 * Stops accepting writes after draining the queue into the store.
+	 */
+	@PreDestroy
+	public void stop() throws InterruptedException, IOException {
+		if (writer == null) {
+			return;
+		}
+
+		running = false;
+		writer.join();
+		store.close();
+	}
+
+	private void offer(AuditEvent event) {
+		if (!queue.offer(event)) {
+			dropped.increment();
+		}
+	}
+
+	private void writeLoop() {
+		final var batch = new ArrayList<AuditEvent>(blockRecords);
+		while (running || !queue.isEmpty()) {
+			try {
+				final var first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+				if (first == null) {
+					continue;
+				}
+
+				// Linger until the block fills or the flush interval passes
+				batch.add(first);
+				final var deadline = System.nanoTime() + flushIntervalNanos;
+				while (batch.size() < blockRecords && running) {
+					queue.drainTo(batch, blockRecords - batch.size());
+					final var remaining = deadline - System.nanoTime();
+					if (batch.size() >= blockRecords || remaining <= 0) {
+						break;
+					}
+					final var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+				queue.drainTo(batch, blockRecords - batch.size());
+
+				write(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void write(List<AuditEvent> batch) {
+		try {
+			store.append(batch);
+			written.increment(batch.size());
+		} catch (IOException | RuntimeException e) {
+			failed.increment(batch.size());
+			log.error("Failed to write {} audit events", batch.size(), e);
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package org.example.audit;
+
+/**
+ * Kind of change recorded in the audit log. As with {@link AuditField}, the code is part of
+ * the segment format.
+ */
+public enum AuditOperation {
+
+	CREATE(1),
+	UPDATE(2),
+	DELETE(3),
+	MOVE(4),
+	COMPLETE_SUBTREE(5);
+
+	private static final AuditOperation[] BY_CODE = new AuditOperation[6];
+
+	static {
+		for (final var operation : values()) {
+			BY_CODE[operation.code] = operation;
+		}
+	}
+
+	final int code;
+
+	AuditOperation(int code) {
+		this.code = code;
+	}
+
+	static AuditOperation ofCode(int code) {
+		if (code <= 0 || code >= BY_CODE.length || BY_CODE[code] == null) {
+			throw new IllegalArgumentException("Unknown audit operation code " + code);
+		}
+		return BY_CODE[code];
+	}
+}
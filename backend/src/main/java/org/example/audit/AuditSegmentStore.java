@@ -0,0 +1,308 @@
+package org.example.audit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only audit segments in a directory.
+ * <p>
+ * Each {@code audit-<sequence>.seg} file is a sequence of blocks, each
+ * {@code length:int, crc32:int, payload} with the payload encoded by {@link AuditBlockCodec}.
+ * Only the newest segment is written to; once it reaches {@code segmentBytes} it is sealed,
+ * its {@link SegmentIndex} is written to {@code audit-<sequence>.idx} and a new segment is
+ * started. On open, sealed segments load their index file and the active segment is
+ * rescanned, truncating a block torn by a crash.
+ */
+@Slf4j
+public class AuditSegmentStore implements Closeable {
+
+	private static final Pattern SEGMENT_NAME = Pattern.compile("audit-(\\d+)\\.seg");
+	private static final int BLOCK_HEADER_SIZE = 2 * Integer.BYTES;
+
+	private final Path directory;
+	private final long segmentBytes;
+	private final boolean fsync;
+	private final List<Segment> segments = new ArrayList<>();
+
+	private FileChannel active;
+	private long activeSize;
+
+	private record Segment(long sequence, Path file, SegmentIndex index) {}
+
+	private record BlockRef(Path file, long offset) {}
+
+	public AuditSegmentStore(Path directory, long segmentBytes, boolean fsync) throws IOException {
+		this.directory = directory;
+		this.segmentBytes = segmentBytes;
+		this.fsync = fsync;
+
+		Files.createDirectories(directory);
+		final var sequences = new ArrayList<Long>();
+		try (var files = Files.list(directory)) {
+			files.forEach(file -> {
+				final var matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+				if (matcher.matches()) {
+					sequences.add(Long.parseLong(matcher.group(1)));
+				}
+			});
+		}
+		sequences.sort(Comparator.naturalOrder());
+
+		for (var i = 0; i < sequences.size() - 1; i++) {
+			segments.add(openSealed(sequences.get(i)));
+		}
+		if (sequences.isEmpty()) {
+			startSegment(1);
+		} else {
+			openActive(sequences.get(sequences.size() - 1));
+		}
+	}
+
+	/**
+	 * Writes the events as one block, sealing the active segment if it is full.
+	 */
+	public synchronized void append(List<AuditEvent> events) throws IOException {
+		if (events.isEmpty()) {
+			return;
+		}
+
+		final var payload = AuditBlockCodec.encode(events);
+		final var crc = new CRC32();
+		crc.update(payload);
+		final var block = ByteBuffer.allocate(BLOCK_HEADER_SIZE + payload.length)
+			.putInt(payload.length)
+			.putInt((int) crc.getValue())
+			.put(payload)
+			.flip();
+
+		final var offset = activeSize;
+		while (block.hasRemaining()) {
+			activeSize += active.write(block, activeSize);
+		}
+		if (fsync) {
+			active.force(false);
+		}
+		activeSegment().index().addBlock(offset, sortedIds(events));
+
+		if (activeSize >= segmentBytes) {
+			roll();
+		}
+	}
+
+	/**
+	 * @return every recorded event of the todo, oldest first
+	 */
+	public List<AuditEvent> history(long todoId) throws IOException {
+		final var refs = new ArrayList<BlockRef>();
+		synchronized (this) {
+			for (final var segment : segments) {
+				for (final var block : segment.index().blocksFor(todoId)) {
+					refs.add(new BlockRef(segment.file(), segment.index().offset(block)));
+				}
+			}
+		}
+
+		final var events = new ArrayList<AuditEvent>();
+		FileChannel channel = null;
+		Path open = null;
+		try {
+			for (final var ref : refs) {
+				if (!ref.file().equals(open)) {
+					if (channel != null) {
+						channel.close();
+					}
+					channel = FileChannel.open(ref.file(), StandardOpenOption.READ);
+					open = ref.file();
+				}
+
+				final var payload = readBlock(channel, ref.offset(), channel.size());
+				if (payload == null) {
+					throw new IOException("Corrupt audit block at " + ref.offset() + " in " + ref.file());
+				}
+				for (final var event : AuditBlockCodec.decode(payload)) {
+					if (event.todoId() == todoId) {
+						events.add(event);
+					}
+				}
+			}
+		} finally {
+			if (channel != null) {
+				channel.close();
+			}
+		}
+
+		return events;
+	}
+
+	public synchronized int segmentCount() {
+		return segments.size();
+	}
+
+	public synchronized long sizeBytes() throws IOException {
+		var size = 0L;
+		for (final var segment : segments) {
+			size += Files.size(segment.file());
+		}
+		return size;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		active.force(true);
+		active.close();
+	}
+
+	private void roll() throws IOException {
+		final var segment = activeSegment();
+		active.force(true);
+		active.close();
+		writeIndex(segment);
+		startSegment(segment.sequence() + 1);
+	}
+
+	private void startSegment(long sequence) throws IOException {
+		final var file = segmentFile(sequence);
+		active = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		activeSize = 0;
+		segments.add(new Segment(sequence, file, new SegmentIndex()));
+	}
+
+	private void openActive(long sequence) throws IOException {
+		final var file = segmentFile(sequence);
+		active = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		final var index = new SegmentIndex();
+		activeSize = scan(active, index);
+		if (activeSize < active.size()) {
+			log.warn("Truncating torn audit block at {} in {}", activeSize, file);
+			active.truncate(activeSize);
+			active.force(true);
+		}
+		segments.add(new Segment(sequence, file, index));
+	}
+
+	private Segment openSealed(long sequence) throws IOException {
+		final var file = segmentFile(sequence);
+		final var indexFile = indexFile(sequence);
+		if (Files.exists(indexFile)) {
+			try {
+				return new Segment(sequence, file, SegmentIndex.decode(Files.readAllBytes(indexFile)));
+			} catch (IOException e) {
+				log.warn("Rebuilding unreadable audit index {}", indexFile, e);
+			}
+		}
+
+		// Crashed between sealing the segment and writing its index
+		final var index = new SegmentIndex();
+		try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			scan(channel, index);
+		}
+		final var segment = new Segment(sequence, file, index);
+		writeIndex(segment);
+		return segment;
+	}
+
+	/**
+	 * Indexes every intact block from the start of the file.
+	 *
+	 * @return the end offset of the last intact block
+	 */
+	private static long scan(FileChannel channel, SegmentIndex index) throws IOException {
+		final var size = channel.size();
+		var position = 0L;
+		while (position < size) {
+			final var payload = readBlock(channel, position, size);
+			if (payload == null) {
+				break;
+			}
+
+			final List<AuditEvent> events;
+			try {
+				events = AuditBlockCodec.decode(payload);
+			} catch (IOException e) {
+				break;
+			}
+			index.addBlock(position, sortedIds(events));
+			position += BLOCK_HEADER_SIZE + payload.length;
+		}
+		return position;
+	}
+
+	/**
+	 * @return the block payload, or {@code null} if the block is incomplete or fails its checksum
+	 */
+	private static byte[] readBlock(FileChannel channel, long position, long size) throws IOException {
+		if (position + BLOCK_HEADER_SIZE > size) {
+			return null;
+		}
+		final var header = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+		readFully(channel, header, position);
+		final var length = header.getInt(0);
+		final var expectedCrc = header.getInt(4);
+		if (length < 0 || position + BLOCK_HEADER_SIZE + length > size) {
+			return null;
+		}
+
+		final var payload = ByteBuffer.allocate(length);
+		readFully(channel, payload, position + BLOCK_HEADER_SIZE);
+		final var crc = new CRC32();
+		crc.update(payload.array());
+		return (int) crc.getValue() == expectedCrc ? payload.array() : null;
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new IOException("Unexpected end of audit segment");
+			}
+		}
+	}
+
+	private void writeIndex(Segment segment) throws IOException {
+		final var target = indexFile(segment.sequence());
+		final var temporary = target.resolveSibling(target.getFileName() + ".tmp");
+		Files.write(temporary, segment.index().encode());
+		Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static long[] sortedIds(List<AuditEvent> events) {
+		final var ids = new long[events.size()];
+		for (var i = 0; i < ids.length; i++) {
+			ids[i] = events.get(i).todoId();
+		}
+		Arrays.sort(ids);
+
+		var distinct = 0;
+		for (var i = 0; i < ids.length; i++) {
+			if (i == 0 || ids[i] != ids[i - 1]) {
+				ids[distinct++] = ids[i];
+			}
+		}
+		return Arrays.copyOf(ids, distinct);
+	}
+
+	private Segment activeSegment() {
+		return segments.get(segments.size() - 1);
+	}
+
+	private Path segmentFile(long sequence) {
+		return directory.resolve("audit-%012d.seg".formatted(sequence));
+	}
+
+	private Path indexFile(long sequence) {
+		return directory.resolve("audit-%012d.idx".formatted(sequence));
+	}
+}
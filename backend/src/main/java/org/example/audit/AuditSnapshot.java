@@ -0,0 +1,59 @@
+package org.example.audit;
+
+import org.example.mapper.EpochMillis;
+import org.example.model.Tag;
+import org.example.model.Todo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Audited field values of a todo, rendered as strings, and the diff between two snapshots.
+ */
+public final class AuditSnapshot {
+
+	private AuditSnapshot() {
+	}
+
+	/**
+	 * Reads the todo's tags, so call it while they can still be loaded.
+	 */
+	public static Map<AuditField, String> of(Todo todo) {
+		final var values = new EnumMap<AuditField, String>(AuditField.class);
+		values.put(AuditField.TITLE, todo.getTitle());
+		values.put(AuditField.DESCRIPTION, todo.getDescription());
+		values.put(AuditField.COMPLETED, Boolean.toString(todo.isCompleted()));
+		values.put(AuditField.PARENT_ID, todo.getParentId() == null ? null : todo.getParentId().toString());
+		values.put(AuditField.TAGS, todo.getTags().isEmpty()
+			? null
+			: todo.getTags().stream().map(Tag::getName).sorted().collect(Collectors.joining(",")));
+		values.put(AuditField.DUE_AT, dateTime(todo.getDueAt()));
+		values.put(AuditField.REMIND_AT, dateTime(todo.getRemindAt()));
+		return values;
+	}
+
+	/**
+	 * @return the fields whose value differs, in field order
+	 */
+	public static List<AuditEvent.Change> diff(Map<AuditField, String> before, Map<AuditField, String> after) {
+		final var changes = new ArrayList<AuditEvent.Change>();
+		for (final var field : AuditField.values()) {
+			final var previous = before.get(field);
+			final var current = after.get(field);
+			if (!Objects.equals(previous, current)) {
+				changes.add(new AuditEvent.Change(field, previous, current));
+			}
+		}
+		return changes;
+	}
+
+	private static String dateTime(long epochMillis) {
+		final LocalDateTime value = EpochMillis.toLocalDateTime(epochMillis);
+		return value == null ? null : value.toString();
+	}
+}
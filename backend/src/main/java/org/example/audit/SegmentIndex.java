@@ -0,0 +1,191 @@
+package org.example.audit;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Todo id to block index of one audit segment.
+ * <p>
+ * While the segment is active it keeps each block's sorted ids and a lookup binary-searches
+ * every block. {@link #seal()} turns that into a compressed sparse row layout: sorted distinct
+ * ids, with {@code starts[i]..starts[i + 1]} delimiting the ordinals of the blocks holding
+ * {@code ids[i]}, so a lookup is a single binary search. Sealed indexes are written next to
+ * their segment with {@link #encode()}.
+ */
+final class SegmentIndex {
+
+	private static final int VERSION = 1;
+	private static final int[] NO_BLOCKS = new int[0];
+
+	private long[] offsets = new long[64];
+	private int blockCount;
+
+	private List<long[]> blockIds = new ArrayList<>();
+
+	private long[] ids;
+	private int[] starts;
+	private int[] blocks;
+
+	void addBlock(long offset, long[] sortedIds) {
+		if (blockIds == null) {
+			throw new IllegalStateException("Segment index is sealed");
+		}
+		if (blockCount == offsets.length) {
+			offsets = Arrays.copyOf(offsets, offsets.length * 2);
+		}
+		offsets[blockCount++] = offset;
+		blockIds.add(sortedIds);
+	}
+
+	int blockCount() {
+		return blockCount;
+	}
+
+	long offset(int block) {
+		return offsets[block];
+	}
+
+	/**
+	 * @return ordinals of the blocks containing events of the todo, ascending
+	 */
+	int[] blocksFor(long todoId) {
+		if (blockIds == null) {
+			final var index = Arrays.binarySearch(ids, todoId);
+			return index < 0 ? NO_BLOCKS : Arrays.copyOfRange(blocks, starts[index], starts[index + 1]);
+		}
+
+		var result = NO_BLOCKS;
+		var size = 0;
+		for (var block = 0; block < blockIds.size(); block++) {
+			if (Arrays.binarySearch(blockIds.get(block), todoId) >= 0) {
+				if (size == result.length) {
+					result = Arrays.copyOf(result, Math.max(4, size * 2));
+				}
+				result[size++] = block;
+			}
+		}
+		return size == result.length ? result : Arrays.copyOf(result, size);
+	}
+
+	void seal() {
+		if (blockIds == null) {
+			return;
+		}
+
+		var pairCount = 0;
+		for (final var block : blockIds) {
+			pairCount += block.length;
+		}
+		// (id, block) pairs sorted by id then block; blocks are appended in order, so a stable
+		// sort by id keeps each id's block ordinals ascending
+		final var pairs = new long[pairCount][];
+		var next = 0;
+		for (var block = 0; block < blockIds.size(); block++) {
+			for (final var id : blockIds.get(block)) {
+				pairs[next++] = new long[] {id, block};
+			}
+		}
+		Arrays.sort(pairs, (left, right) -> Long.compare(left[0], right[0]));
+
+		final var distinct = new long[pairCount];
+		final var rowStarts = new int[pairCount + 1];
+		final var ordinals = new int[pairCount];
+		var idCount = 0;
+		for (var i = 0; i < pairCount; i++) {
+			if (i == 0 || pairs[i][0] != pairs[i - 1][0]) {
+				distinct[idCount] = pairs[i][0];
+				rowStarts[idCount++] = i;
+			}
+			ordinals[i] = (int) pairs[i][1];
+		}
+		rowStarts[idCount] = pairCount;
+
+		ids = Arrays.copyOf(distinct, idCount);
+		starts = Arrays.copyOf(rowStarts, idCount + 1);
+		blocks = ordinals;
+		blockIds = null;
+	}
+
+	/**
+	 * Layout, all varints: version, block count, block offsets as deltas, id count, then per id
+	 * its delta to the previous id, its block count and its block ordinals as deltas.
+	 */
+	byte[] encode() {
+		seal();
+		final var out = new AuditBlockCodec.VarintWriter(16 + blockCount * 3 + ids.length * 4 + blocks.length * 2);
+		out.write(VERSION);
+		out.write(blockCount);
+		var previousOffset = 0L;
+		for (var block = 0; block < blockCount; block++) {
+			out.write(offsets[block] - previousOffset);
+			previousOffset = offsets[block];
+		}
+
+		out.write(ids.length);
+		var previousId = 0L;
+		for (var i = 0; i < ids.length; i++) {
+			out.writeSigned(ids[i] - previousId);
+			previousId = ids[i];
+			out.write(starts[i + 1] - starts[i]);
+			var previousBlock = 0;
+			for (var p = starts[i]; p < starts[i + 1]; p++) {
+				out.write(blocks[p] - previousBlock);
+				previousBlock = blocks[p];
+			}
+		}
+		return out.toByteArray();
+	}
+
+	static SegmentIndex decode(byte[] bytes) throws IOException {
+		final var in = new AuditBlockCodec.VarintReader(bytes);
+		final var version = in.readInt();
+		if (version != VERSION) {
+			throw new IOException("Unsupported audit index version " + version);
+		}
+
+		final var index = new SegmentIndex();
+		index.blockCount = in.readInt();
+		index.offsets = new long[Math.max(1, index.blockCount)];
+		var offset = 0L;
+		for (var block = 0; block < index.blockCount; block++) {
+			offset += in.read();
+			index.offsets[block] = offset;
+		}
+
+		final var idCount = in.readInt();
+		final var ids = new long[idCount];
+		final var starts = new int[idCount + 1];
+		var blocks = new int[Math.max(16, idCount)];
+		var pairCount = 0;
+		var id = 0L;
+		for (var i = 0; i < idCount; i++) {
+			id += in.readSigned();
+			ids[i] = id;
+			starts[i] = pairCount;
+			final var postings = in.readInt();
+			var block = 0;
+			for (var p = 0; p < postings; p++) {
+				block += in.readInt();
+				if (block >= index.blockCount) {
+					throw new IOException("Audit index refers to missing block " + block);
+				}
+				if (pairCount == blocks.length) {
+					blocks = Arrays.copyOf(blocks, blocks.length * 2);
+				}
+				blocks[pairCount++] = block;
+			}
+		}
+		starts[idCount] = pairCount;
+		if (in.hasRemaining()) {
+			throw new IOException("Trailing bytes in audit index");
+		}
+
+		index.ids = ids;
+		index.starts = starts;
+		index.blocks = Arrays.copyOf(blocks, pairCount);
+		index.blockIds = null;
+		return index;
+	}
+}
@@ -0,0 +1,374 @@
+package org.example.backup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.event.DatabaseRestoredEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Online backups of the SQLite database and point-in-time restore from them.
+ * <p>
+ * A backup pins the {@link WalArchiver}, which archives everything committed so far and holds
+ * off checkpoints, and then copies the database file as it is. With no checkpoint running
+ * the file does not change, so the copy takes no lock and writers never wait for it. It is
+ * read in steps of {@code app.backup.copy-chunk-pages} pages with a pause of
+ * {@code app.backup.copy-pause-ms} between them, to leave disk bandwidth to requests. The
+ * copy plus the archived WAL segments up to the pin is the database at that moment; replaying
+ * later segments rolls it forward to any time covered by the archive.
+ * <p>
+ * Backups run every {@code app.backup.interval-ms}. The newest {@code app.backup.retention-count}
+ * are kept, together with the segments needed to roll the oldest of them forward.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.backup", name = "enabled", havingValue = "true")
+public class BackupService {
+
+	private static final Pattern BASE_NAME = Pattern.compile("base-(\\d+)-(\\d+)-(\\d+)\\.db");
+
+	private final WalArchiver archiver;
+	private final DataSource dataSource;
+	private final ApplicationEventPublisher eventPublisher;
+	private final Clock clock;
+	private final Path directory;
+	private final long intervalMillis;
+	private final int copyChunkPages;
+	private final long copyPauseMillis;
+	private final int retentionCount;
+	private final Timer duration;
+	private final Counter failures;
+	private final AtomicLong throughput = new AtomicLong();
+
+	private ScheduledExecutorService executor;
+
+	/**
+	 * A base copy. {@code id} is the time it was started.
+	 *
+	 * @param firstSequence first WAL segment to replay onto the copy
+	 * @param lastSequence  last WAL segment the backup itself covers
+	 */
+	public record Backup(long id, Path file, long bytes, long firstSequence, long lastSequence) {}
+
+	/**
+	 * @param restoredTo archive time of the last replayed segment, or the backup's start
+	 */
+	public record RestoreResult(long backupId, int segments, long restoredTo) {}
+
+	public BackupService(
+		WalArchiver archiver,
+		DataSource dataSource,
+		ApplicationEventPublisher eventPublisher,
+		Clock clock,
+		MeterRegistry meterRegistry,
+		@Value("${app.backup.dir:backups}") String directory,
+		@Value("${app.backup.interval-ms:3600000}") long intervalMillis,
+		@Value("${app.backup.copy-chunk-pages:256}") int copyChunkPages,
+		@Value("${app.backup.copy-pause-ms:5}") long copyPauseMillis,
+		@Value("${app.backup.retention-count:24}") int retentionCount
+	) {
+		this.archiver = archiver;
+		this.dataSource = dataSource;
+		this.eventPublisher = eventPublisher;
+		this.clock = clock;
+		this.directory = Path.of(directory).toAbsolutePath();
+		this.intervalMillis = intervalMillis;
+		this.copyChunkPages = copyChunkPages;
+		this.copyPauseMillis = copyPauseMillis;
+		this.retentionCount = retentionCount;
+		this.duration = Timer.builder("todo.backup.duration")
+			.description("Time to take a backup")
+			.register(meterRegistry);
+		this.failures = Counter.builder("todo.backup.failures")
+			.description("Backups that failed")
+			.register(meterRegistry);
+		Gauge.builder("todo.backup.throughput", throughput, AtomicLong::get)
+			.description("Copy rate of the last backup")
+			.baseUnit("bytes per second")
+			.register(meterRegistry);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("backup").daemon().factory());
+		executor.scheduleWithFixedDelay(this::scheduledBackup, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Takes a backup now and applies retention.
+	 */
+	public synchronized Backup backup() {
+		if (!archiver.isArchiving()) {
+			throw new ResponseStatusException(HttpStatus.CONFLICT, "Backups need a WAL-mode database on the primary");
+		}
+
+		final var id = clock.millis();
+		final var started = System.nanoTime();
+		final Backup backup;
+		try {
+			Files.createDirectories(directory);
+			final var tmp = directory.resolve("base-" + id + ".tmp");
+			final var position = archiver.pin();
+			try {
+				final var bytes = copy(archiver.databaseFile(), tmp);
+				final var file = directory.resolve("base-%d-%d-%d.db".formatted(id, position.firstSequence(), position.lastSequence()));
+				Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+				backup = new Backup(id, file, bytes, position.firstSequence(), position.lastSequence());
+			} finally {
+				archiver.unpin();
+				Files.deleteIfExists(tmp);
+			}
+		} catch (IOException e) {
+			failures.increment();
+			throw new UncheckedIOException("Backup failed", e);
+		}
+
+		final var elapsed = System.nanoTime() - started;
+		duration.record(elapsed, TimeUnit.NANOSECONDS);
+		throughput.set((long) (backup.bytes() * 1e9 / Math.max(elapsed, 1)));
+		log.info("Backup {} took {} ms for {} bytes", backup.file().getFileName(), elapsed / 1_000_000, backup.bytes());
+
+		prune();
+		return backup;
+	}
+
+	/**
+	 * @return the retained backups, newest first
+	 */
+	public List<Backup> list() {
+		final var backups = new ArrayList<Backup>();
+		if (!Files.isDirectory(directory)) {
+			return backups;
+		}
+
+		try (var files = Files.list(directory)) {
+			for (final var file : files.toList()) {
+				final var matcher = BASE_NAME.matcher(file.getFileName().toString());
+				if (matcher.matches()) {
+					backups.add(new Backup(Long.parseLong(matcher.group(1)), file, Files.size(file),
+						Long.parseLong(matcher.group(2)), Long.parseLong(matcher.group(3))));
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to list backups in " + directory, e);
+		}
+		backups.sort(Comparator.comparingLong(Backup::id).reversed());
+		return backups;
+	}
+
+	/**
+	 * Replaces the live database with backup {@code backupId} as it was taken, or, when
+	 * {@code backupId} is {@code null}, with the state at {@code at}: the newest backup started
+	 * by then, rolled forward with the segments archived by then.
+	 */
+	public synchronized RestoreResult restore(Long backupId, long at) {
+		if (!archiver.isArchiving()) {
+			throw new ResponseStatusException(HttpStatus.CONFLICT, "Restores need a WAL-mode database on the primary");
+		}
+
+		final var backups = list();
+		final var base = backups.stream()
+			.filter(backup -> backupId != null ? backup.id() == backupId : backup.id() <= at)
+			.findFirst()
+			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+				backupId != null ? "No backup " + backupId : "No backup taken before the requested time"));
+
+		final var target = directory.resolve("restore-" + clock.millis() + ".db");
+		try {
+			Files.copy(base.file(), target, StandardCopyOption.REPLACE_EXISTING);
+			final var result = rollForward(base, target, backupId != null ? Long.MIN_VALUE : at);
+			verify(target);
+			try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+				statement.executeUpdate("restore from '" + target.toString().replace("'", "''") + "'");
+			}
+			eventPublisher.publishEvent(new DatabaseRestoredEvent(clock.millis()));
+			log.info("Restored backup {} rolled forward with {} WAL segments", base.id(), result.segments());
+			return result;
+		} catch (IOException | SQLException e) {
+			throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+				"Restore of backup " + base.id() + " failed: " + e.getMessage(), e);
+		} finally {
+			deleteQuietly(target);
+			deleteQuietly(Path.of(target + "-wal"));
+			deleteQuietly(Path.of(target + "-shm"));
+		}
+	}
+
+	/**
+	 * Applies the backup's own segments, then later ones archived by {@code until}, stopping
+	 * at the first gap in the chain.
+	 */
+	private RestoreResult rollForward(Backup base, Path target, long until) throws IOException {
+		var segments = 0;
+		var restoredTo = base.id();
+		var pages = 0;
+		var pageSize = 0;
+		try (var channel = FileChannel.open(target, StandardOpenOption.WRITE)) {
+			var expected = base.firstSequence();
+			for (final var segment : archiver.archive().list()) {
+				if (segment.sequence() < expected) {
+					continue;
+				}
+				final var required = segment.sequence() <= base.lastSequence();
+				final var continues = segment.sequence() == expected
+					&& (segment.chained() || segment.sequence() == base.firstSequence());
+				if (!continues && required) {
+					throw new IOException("WAL segment " + expected + " of backup " + base.id() + " is missing");
+				}
+				if (!continues || (!required && segment.archivedAt() > until)) {
+					break;
+				}
+
+				pages = archiver.archive().applyTo(segment, channel);
+				pageSize = segment.pageSize();
+				restoredTo = segment.archivedAt();
+				segments++;
+				expected++;
+			}
+			if (expected <= base.lastSequence()) {
+				throw new IOException("WAL segment " + expected + " of backup " + base.id() + " is missing");
+			}
+			if (pages > 0) {
+				channel.truncate((long) pages * pageSize);
+			}
+			channel.force(true);
+		}
+		return new RestoreResult(base.id(), segments, restoredTo);
+	}
+
+	private static void verify(Path database) throws SQLException {
+		try (var connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+			 var statement = connection.createStatement();
+			 var rs = statement.executeQuery("PRAGMA quick_check")) {
+			final var result = rs.next() ? rs.getString(1) : null;
+			if (!"ok".equals(result)) {
+				throw new SQLException("Restored database failed quick_check: " + result);
+			}
+		}
+	}
+
+	/**
+	 * Copies {@code source} in steps of {@code copyChunkPages} pages, pausing between steps.
+	 *
+	 * @return bytes copied
+	 */
+	private long copy(Path source, Path target) throws IOException {
+		try (var in = FileChannel.open(source, StandardOpenOption.READ);
+			 var out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			final var size = in.size();
+			final var chunk = (long) copyChunkPages * pageSize(in);
+			for (var position = 0L; position < size; ) {
+				final var end = Math.min(position + chunk, size);
+				while (position < end) {
+					position += in.transferTo(position, end - position, out);
+				}
+				if (copyPauseMillis > 0 && position < size) {
+					Thread.sleep(copyPauseMillis);
+				}
+			}
+			out.force(true);
+			return size;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Backup copy interrupted", e);
+		}
+	}
+
+	/**
+	 * Page size from the database header (offset 16, big-endian, 1 meaning 65536).
+	 */
+	private static int pageSize(FileChannel database) throws IOException {
+		final var buffer = ByteBuffer.allocate(2);
+		if (database.read(buffer, 16) < 2) {
+			return 4096;
+		}
+		final var value = buffer.getShort(0) & 0xFFFF;
+		return value == 1 ? 65536 : value;
+	}
+
+	/**
+	 * Deletes all but the newest {@code retentionCount} backups and the segments only older
+	 * backups needed.
+	 */
+	private void prune() {
+		try {
+			final var backups = list();
+			for (final var backup : backups.subList(Math.min(retentionCount, backups.size()), backups.size())) {
+				Files.deleteIfExists(backup.file());
+			}
+			final var kept = backups.subList(0, Math.min(retentionCount, backups.size()));
+			if (kept.isEmpty()) {
+				return;
+			}
+
+			final var oldestNeeded = kept.get(kept.size() - 1).firstSequence();
+			for (final var segment : archiver.archive().list()) {
+				if (segment.sequence() >= oldestNeeded) {
+					break;
+				}
+				archiver.archive().delete(segment);
+			}
+		} catch (IOException e) {
+			log.warn("Failed to apply backup retention", e);
+		}
+	}
+
+	private void scheduledBackup() {
+		// Not a WAL-mode database, or a replica
+		if (!archiver.isArchiving()) {
+			return;
+		}
+
+		try {
+			backup();
+		} catch (RuntimeException e) {
+			log.error("Scheduled backup failed", e);
+		}
+	}
+
+	private static void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.warn("Failed to delete {}", file, e);
+		}
+	}
+}
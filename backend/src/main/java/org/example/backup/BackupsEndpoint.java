@@ -0,0 +1,86 @@
+package org.example.backup;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.BackupDto;
+import org.example.dto.RestoreResultDto;
+import org.example.mapper.EpochMillis;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Backup administration as an actuator endpoint, so it is only served on the management
+ * port: a restore replaces the live database.
+ * <ul>
+ *   <li>{@code GET /actuator/backups} lists the retained backups;</li>
+ *   <li>{@code POST /actuator/backups} takes one now;</li>
+ *   <li>{@code POST /actuator/backups/restore?backup=ID} or {@code ?at=2026-05-01T09:00:00}
+ *   restores one as taken, or the database as of {@code at} (UTC); with neither, the latest
+ *   archived state.</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "backups")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.backup", name = "enabled", havingValue = "true")
+public class BackupsEndpoint {
+
+	private static final String RESTORE = "restore";
+
+	private final BackupService backupService;
+	private final Clock clock;
+
+	@ReadOperation
+	public List<BackupDto> backups() {
+		return backupService.list().stream()
+			.map(BackupsEndpoint::toDto)
+			.toList();
+	}
+
+	@WriteOperation
+	public BackupDto backup() {
+		return toDto(backupService.backup());
+	}
+
+	@WriteOperation
+	public RestoreResultDto restore(@Selector String action, @Nullable Long backup, @Nullable String at) {
+		if (!RESTORE.equals(action)) {
+			throw new InvalidEndpointRequestException("Unknown backup operation " + action, "Unknown operation");
+		}
+		if (backup != null && at != null) {
+			throw new InvalidEndpointRequestException("Pass either backup or at, not both", "Conflicting parameters");
+		}
+
+		final var now = clock.millis();
+		final var target = at == null ? now : parse(at);
+		if (target > now) {
+			throw new InvalidEndpointRequestException("at must not be in the future", "Invalid at");
+		}
+
+		final var result = backupService.restore(backup, target);
+
+		return new RestoreResultDto(result.backupId(), result.segments(), EpochMillis.toLocalDateTime(result.restoredTo()));
+	}
+
+	private static long parse(String at) {
+		try {
+			return EpochMillis.toEpochMillis(LocalDateTime.parse(at));
+		} catch (DateTimeParseException e) {
+			throw new InvalidEndpointRequestException("at must be an ISO date-time such as 2026-05-01T09:00:00", "Invalid at");
+		}
+	}
+
+	private static BackupDto toDto(BackupService.Backup backup) {
+		return new BackupDto(backup.id(), EpochMillis.toLocalDateTime(backup.id()), backup.bytes());
+	}
+}
@@ -0,0 +1,191 @@
+package org.example.backup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Directory of archived WAL segments, each holding the frames of whole transactions copied
+ * by one {@link WalArchiver} pass.
+ * <p>
+ * A segment file {@code %012d.wal} is a plain header followed by the deflated frames (page
+ * number, commit size and page). The header records where in which WAL generation the frames
+ * were read and the checksum reached after them, so archiving can resume after a restart.
+ * Segments are written to a temporary file and moved into place, so a listed segment is
+ * always complete.
+ */
+final class WalArchive {
+
+	private static final int MAGIC = 0x5457414C;
+	private static final int VERSION = 1;
+	private static final Pattern SEGMENT_NAME = Pattern.compile("(\\d{12})\\.wal");
+
+	private final Path directory;
+	private final boolean fsync;
+
+	/**
+	 * @param chained     whether the frames follow those of the previous segment without a gap;
+	 *                    false when the WAL was reset by a checkpoint the archiver did not see
+	 * @param startOffset WAL file offset of the first frame
+	 * @param endOffset   WAL file offset after the last frame
+	 */
+	record Segment(long sequence, Path file, long archivedAt, boolean chained, int salt1, int salt2, int pageSize,
+				   long startOffset, long endOffset, int checksum1, int checksum2, int frames) {}
+
+	interface FrameConsumer {
+		void accept(int pageNumber, int commitSize, byte[] page) throws IOException;
+	}
+
+	WalArchive(Path directory, boolean fsync) throws IOException {
+		this.directory = directory;
+		this.fsync = fsync;
+		Files.createDirectories(directory);
+	}
+
+	/**
+	 * Writes {@code frames} (raw WAL frames, headers included) as segment {@code sequence}.
+	 */
+	Segment write(long sequence, long archivedAt, boolean chained, WalFormat.Header header, long startOffset,
+				  long endOffset, long checksum, ByteBuffer frames) throws IOException {
+		final var count = frames.remaining() / header.frameBytes();
+		final var file = directory.resolve("%012d.wal".formatted(sequence));
+		final var tmp = directory.resolve(file.getFileName() + ".tmp");
+
+		try (var channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+			 var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeLong(archivedAt);
+			out.writeBoolean(chained);
+			out.writeInt(header.salt1());
+			out.writeInt(header.salt2());
+			out.writeInt(header.pageSize());
+			out.writeLong(startOffset);
+			out.writeLong(endOffset);
+			out.writeInt((int) (checksum >>> 32));
+			out.writeInt((int) checksum);
+			out.writeInt(count);
+			out.flush();
+
+			final var deflater = new Deflater(Deflater.BEST_SPEED);
+			try {
+				final var deflated = new DeflaterOutputStream(out, deflater, 64 * 1024);
+				final var body = new DataOutputStream(deflated);
+				final var page = new byte[header.pageSize()];
+				for (var i = 0; i < count; i++) {
+					final var base = frames.position() + i * header.frameBytes();
+					body.writeInt(frames.getInt(base));
+					body.writeInt(frames.getInt(base + 4));
+					frames.get(base + WalFormat.FRAME_HEADER_BYTES, page);
+					body.write(page);
+				}
+				body.flush();
+				deflated.finish();
+				out.flush();
+			} finally {
+				deflater.end();
+			}
+			if (fsync) {
+				channel.force(true);
+			}
+		}
+		Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+
+		return new Segment(sequence, file, archivedAt, chained, header.salt1(), header.salt2(), header.pageSize(),
+			startOffset, endOffset, (int) (checksum >>> 32), (int) checksum, count);
+	}
+
+	/**
+	 * All segments, oldest first.
+	 */
+	List<Segment> list() throws IOException {
+		final var segments = new ArrayList<Segment>();
+		try (var files = Files.list(directory)) {
+			for (final var file : files.toList()) {
+				final var matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+				if (matcher.matches()) {
+					segments.add(readHeader(Long.parseLong(matcher.group(1)), file));
+				}
+			}
+		}
+		segments.sort(Comparator.comparingLong(Segment::sequence));
+		return segments;
+	}
+
+	/**
+	 * Passes the frames of {@code segment} to {@code consumer} in WAL order.
+	 */
+	void replay(Segment segment, FrameConsumer consumer) throws IOException {
+		try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment.file())))) {
+			skipHeader(in);
+			final var body = new DataInputStream(new InflaterInputStream(in));
+			final var page = new byte[segment.pageSize()];
+			for (var i = 0; i < segment.frames(); i++) {
+				final var pageNumber = body.readInt();
+				final var commitSize = body.readInt();
+				body.readFully(page);
+				consumer.accept(pageNumber, commitSize, page);
+			}
+		}
+	}
+
+	/**
+	 * Writes the pages of {@code segment} into the database file {@code target}.
+	 *
+	 * @return database size in pages after the segment's last transaction
+	 */
+	int applyTo(Segment segment, FileChannel target) throws IOException {
+		final var commitSize = new int[1];
+		replay(segment, (pageNumber, size, page) -> {
+			final var buffer = ByteBuffer.wrap(page);
+			final var position = (long) (pageNumber - 1) * segment.pageSize();
+			while (buffer.hasRemaining()) {
+				target.write(buffer, position + buffer.position());
+			}
+			if (size != 0) {
+				commitSize[0] = size;
+			}
+		});
+		return commitSize[0];
+	}
+
+	void delete(Segment segment) throws IOException {
+		Files.deleteIfExists(segment.file());
+	}
+
+	private static Segment readHeader(long sequence, Path file) throws IOException {
+		try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("Not a WAL segment: " + file);
+			}
+			return new Segment(sequence, file, in.readLong(), in.readBoolean(), in.readInt(), in.readInt(), in.readInt(),
+				in.readLong(), in.readLong(), in.readInt(), in.readInt(), in.readInt());
+		} catch (EOFException e) {
+			throw new IOException("Truncated WAL segment: " + file, e);
+		}
+	}
+
+	private static void skipHeader(InputStream in) throws IOException {
+		// magic, version, archivedAt, chained, salts, page size, offsets, checksum, frame count
+		final var headerBytes = 4 + 4 + 8 + 1 + 4 + 4 + 4 + 8 + 8 + 4 + 4 + 4;
+		in.skipNBytes(headerBytes);
+	}
+}
@@ -0,0 +1,367 @@
+package org.example.backup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.replication.ReplicationRole;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copies committed WAL frames into a {@link WalArchive} and owns checkpointing.
+ * <p>
+ * Connections run with {@code wal_autocheckpoint=0}, so frames stay in the WAL until this
+ * class has archived them. Every {@code app.backup.archive-interval-ms} a pass reads the
+ * frames appended since the last one, validates their salts and checksums, and archives
+ * those up to the last commit frame. Once {@code app.backup.checkpoint-bytes} have been
+ * archived it checkpoints: it takes the write lock for a final pass and a {@code PASSIVE}
+ * checkpoint, so no frame can be written, and the WAL reset, between the two. Writers wait
+ * for that lock, which is timed as {@code todo.backup.checkpoint_lock}.
+ * <p>
+ * While a base copy is {@linkplain #pin() pinned} no checkpoint runs, so the database file
+ * does not change under the copy. Replicas and instances with {@code app.backup.enabled=false}
+ * only checkpoint.
+ */
+@Slf4j
+@Component
+public class WalArchiver {
+
+	private final DataSource dataSource;
+	private final Clock clock;
+	private final WalArchive archive;
+	private final long intervalMillis;
+	private final long checkpointBytes;
+	private final Counter archivedBytes;
+	private final Counter checkpoints;
+	private final Timer checkpointLock;
+
+	private Path databaseFile;
+	private volatile Path walFile;
+	private ScheduledExecutorService executor;
+
+	// Position in the current WAL generation, guarded by this
+	private WalFormat.Header header;
+	private long offset;
+	private long checksum;
+	private long nextSequence = 1;
+	private long generationFirstSequence = 1;
+	private boolean generationArchived;
+	private volatile long pendingBytes;
+	private int pins;
+
+	/**
+	 * Where the archive stood when a base copy was pinned: the copy plus segments
+	 * {@code firstSequence..lastSequence} hold the database as of that moment.
+	 */
+	record Position(long firstSequence, long lastSequence) {}
+
+	public WalArchiver(
+		DataSource dataSource,
+		Clock clock,
+		MeterRegistry meterRegistry,
+		@Value("${app.backup.enabled:false}") boolean enabled,
+		@Value("${app.replication.role:standalone}") ReplicationRole replicationRole,
+		@Value("${app.backup.dir:backups}") String directory,
+		@Value("${app.backup.archive-interval-ms:1000}") long intervalMillis,
+		@Value("${app.backup.checkpoint-bytes:4194304}") long checkpointBytes,
+		@Value("${app.backup.fsync:true}") boolean fsync
+	) {
+		this.dataSource = dataSource;
+		this.clock = clock;
+		this.intervalMillis = intervalMillis;
+		this.checkpointBytes = checkpointBytes;
+		this.archivedBytes = Counter.builder("todo.backup.wal_archived")
+			.description("WAL bytes copied to the archive")
+			.baseUnit("bytes")
+			.register(meterRegistry);
+		this.checkpoints = Counter.builder("todo.backup.checkpoints")
+			.description("WAL checkpoints run by the archiver")
+			.register(meterRegistry);
+		this.checkpointLock = Timer.builder("todo.backup.checkpoint_lock")
+			.description("Time writers were held off while the WAL was checkpointed")
+			.publishPercentileHistogram()
+			.register(meterRegistry);
+		meterRegistry.gauge("todo.backup.wal_pending", this, archiver -> archiver.pendingBytes());
+
+		// Replicas are overwritten by snapshots; only the primary's history is worth keeping
+		if (!enabled || replicationRole == ReplicationRole.REPLICA) {
+			this.archive = null;
+			return;
+		}
+		try {
+			this.archive = new WalArchive(Path.of(directory).resolve("wal"), fsync);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to open WAL archive in " + directory, e);
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		try {
+			if (!open()) {
+				return;
+			}
+		} catch (IOException | SQLException e) {
+			log.error("Failed to start WAL archiving", e);
+			return;
+		}
+
+		executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("wal-archiver").daemon().factory());
+		executor.scheduleWithFixedDelay(this::run, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Archives what is left in the WAL before the pool closes, which checkpoints it.
+	 */
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		if (executor == null) {
+			return;
+		}
+
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+		try {
+			pass();
+		} catch (IOException e) {
+			log.warn("Final WAL archiving pass failed", e);
+		}
+	}
+
+	/**
+	 * @return whether frames are archived, so backups can be taken
+	 */
+	public boolean isArchiving() {
+		return archive != null && walFile != null;
+	}
+
+	/**
+	 * Resolves the database and WAL files and resumes after the last archived segment.
+	 *
+	 * @return false when the database is not a file in WAL mode
+	 */
+	synchronized boolean open() throws IOException, SQLException {
+		String journalMode = null;
+		String file = null;
+		try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+			try (var rs = statement.executeQuery("PRAGMA journal_mode")) {
+				if (rs.next()) {
+					journalMode = rs.getString(1);
+				}
+			}
+			try (var rs = statement.executeQuery("PRAGMA database_list")) {
+				while (rs.next()) {
+					if ("main".equals(rs.getString(2))) {
+						file = rs.getString(3);
+					}
+				}
+			}
+		}
+		if (!"wal".equalsIgnoreCase(journalMode) || file == null || file.isEmpty()) {
+			log.info("Database is not a file in WAL mode (journal_mode={}), WAL archiving is off", journalMode);
+			return false;
+		}
+
+		databaseFile = Path.of(file).toAbsolutePath();
+		walFile = Path.of(databaseFile + "-wal");
+		if (archive != null) {
+			resume();
+		}
+		return true;
+	}
+
+	Path databaseFile() {
+		return databaseFile;
+	}
+
+	WalArchive archive() {
+		return archive;
+	}
+
+	/**
+	 * Archives everything committed so far and suspends checkpoints until {@link #unpin()}.
+	 */
+	synchronized Position pin() throws IOException {
+		if (!isArchiving()) {
+			throw new IllegalStateException("WAL archiving is off");
+		}
+
+		pins++;
+		try {
+			pass();
+		} catch (IOException | RuntimeException e) {
+			pins--;
+			throw e;
+		}
+		return new Position(generationFirstSequence, nextSequence - 1);
+	}
+
+	synchronized void unpin() {
+		pins--;
+	}
+
+	long pendingBytes() {
+		return pendingBytes;
+	}
+
+	/**
+	 * One scheduled round: archive new frames, then checkpoint if enough have piled up.
+	 */
+	synchronized void run() {
+		try {
+			pass();
+			if (pendingBytes >= checkpointBytes && pins == 0) {
+				checkpoint();
+			}
+		} catch (IOException | SQLException | RuntimeException e) {
+			log.warn("WAL archiving pass failed: {}", e.getMessage());
+		}
+	}
+
+	private void checkpoint() throws IOException, SQLException {
+		try (var writer = dataSource.getConnection(); var checkpointer = dataSource.getConnection()) {
+			final var started = System.nanoTime();
+			try (var statement = writer.createStatement()) {
+				statement.execute("BEGIN IMMEDIATE");
+			}
+			try {
+				pass();
+				try (var statement = checkpointer.createStatement();
+					 var rs = statement.executeQuery("PRAGMA wal_checkpoint(PASSIVE)")) {
+					// busy, frames in the WAL, frames copied into the database
+					if (rs.next() && rs.getInt(1) == 0 && rs.getInt(2) == rs.getInt(3)) {
+						pendingBytes = 0;
+					}
+				}
+				// Every frame is archived, so the next generation continues this one
+				generationArchived = true;
+			} finally {
+				try (var statement = writer.createStatement()) {
+					statement.execute("ROLLBACK");
+				}
+				checkpointLock.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+			}
+			checkpoints.increment();
+		}
+	}
+
+	/**
+	 * Reads the frames appended since the last pass and archives those up to the last commit.
+	 */
+	private synchronized void pass() throws IOException {
+		if (walFile == null || !Files.exists(walFile)) {
+			return;
+		}
+
+		try (var channel = FileChannel.open(walFile, StandardOpenOption.READ)) {
+			final var current = WalFormat.readHeader(channel);
+			if (current == null) {
+				return;
+			}
+			if (header == null || !current.sameGeneration(header.salt1(), header.salt2())) {
+				// The WAL was reset after a checkpoint and is written from the start again
+				header = current;
+				offset = WalFormat.HEADER_BYTES;
+				checksum = ((long) current.checksum1() << 32) | (current.checksum2() & 0xFFFFFFFFL);
+				generationFirstSequence = nextSequence;
+			}
+
+			final var frameBytes = header.frameBytes();
+			final var frames = (int) Math.min((channel.size() - offset) / frameBytes, Integer.MAX_VALUE / frameBytes);
+			if (frames <= 0) {
+				return;
+			}
+			final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, (long) frames * frameBytes);
+
+			var running = checksum;
+			var committedFrames = 0;
+			var committedChecksum = checksum;
+			for (var i = 0; i < frames; i++) {
+				final var frame = buffer.slice(i * frameBytes, frameBytes);
+				final var next = WalFormat.frameChecksum(frame, header, (int) (running >>> 32), (int) running);
+				if (!WalFormat.isValid(frame, header, next)) {
+					// Left from an earlier generation, or still being written
+					break;
+				}
+				running = next;
+				if (WalFormat.commitSize(frame) != 0) {
+					committedFrames = i + 1;
+					committedChecksum = running;
+				}
+			}
+			if (committedFrames == 0) {
+				return;
+			}
+
+			final var bytes = (long) committedFrames * frameBytes;
+			if (archive != null) {
+				final var chained = offset > WalFormat.HEADER_BYTES || generationArchived;
+				archive.write(nextSequence++, clock.millis(), chained, header, offset, offset + bytes, committedChecksum,
+					buffer.slice(0, (int) bytes));
+				archivedBytes.increment(bytes);
+			}
+			if (offset == WalFormat.HEADER_BYTES) {
+				generationArchived = false;
+			}
+			offset += bytes;
+			checksum = committedChecksum;
+			pendingBytes += bytes;
+		}
+	}
+
+	/**
+	 * Continues after the last segment if the WAL is still in its generation. Otherwise the
+	 * WAL was checkpointed while nothing archived it, and the next segment starts a new chain.
+	 */
+	private void resume() throws IOException {
+		final var segments = archive.list();
+		if (segments.isEmpty()) {
+			return;
+		}
+
+		final var last = segments.get(segments.size() - 1);
+		nextSequence = last.sequence() + 1;
+		generationFirstSequence = nextSequence;
+		if (!Files.exists(walFile)) {
+			return;
+		}
+
+		try (var channel = FileChannel.open(walFile, StandardOpenOption.READ)) {
+			final var current = WalFormat.readHeader(channel);
+			if (current == null || !current.sameGeneration(last.salt1(), last.salt2()) || channel.size() < last.endOffset()) {
+				return;
+			}
+			header = current;
+			offset = last.endOffset();
+			checksum = ((long) last.checksum1() << 32) | (last.checksum2() & 0xFFFFFFFFL);
+		}
+
+		for (var i = segments.size() - 1; i >= 0; i--) {
+			final var segment = segments.get(i);
+			if (!header.sameGeneration(segment.salt1(), segment.salt2())) {
+				break;
+			}
+			generationFirstSequence = segment.sequence();
+			if (segment.startOffset() == WalFormat.HEADER_BYTES) {
+				break;
+			}
+		}
+	}
+}
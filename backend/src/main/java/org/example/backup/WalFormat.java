@@ -0,0 +1,102 @@
+package org.example.backup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reading of SQLite write-ahead log files (https://www.sqlite.org/fileformat.html#the_write_ahead_log).
+ * <p>
+ * A WAL is a 32-byte header followed by frames of a 24-byte header and one page. Header
+ * fields are big-endian. Every frame carries the header's salts and a running checksum over
+ * the WAL header and all frames so far. A frame whose salts or checksum do not match was
+ * left over from an earlier generation of the file or is still being written. A frame with a
+ * non-zero database size ends a transaction.
+ */
+final class WalFormat {
+
+	static final int HEADER_BYTES = 32;
+	static final int FRAME_HEADER_BYTES = 24;
+
+	private static final int MAGIC_LITTLE_ENDIAN = 0x377f0682;
+	private static final int MAGIC_BIG_ENDIAN = 0x377f0683;
+
+	private WalFormat() {
+	}
+
+	/**
+	 * @param bigEndian byte order of the checksummed words
+	 */
+	record Header(int pageSize, int salt1, int salt2, boolean bigEndian, int checksum1, int checksum2) {
+
+		int frameBytes() {
+			return FRAME_HEADER_BYTES + pageSize;
+		}
+
+		boolean sameGeneration(int otherSalt1, int otherSalt2) {
+			return salt1 == otherSalt1 && salt2 == otherSalt2;
+		}
+	}
+
+	/**
+	 * The header of {@code channel}, or {@code null} when the file is empty or not a WAL.
+	 */
+	static Header readHeader(FileChannel channel) throws IOException {
+		final var buffer = ByteBuffer.allocate(HEADER_BYTES);
+		if (channel.read(buffer, 0) < HEADER_BYTES) {
+			return null;
+		}
+		buffer.flip();
+
+		final var magic = buffer.getInt(0);
+		if (magic != MAGIC_LITTLE_ENDIAN && magic != MAGIC_BIG_ENDIAN) {
+			return null;
+		}
+		final var header = new Header(buffer.getInt(8), buffer.getInt(16), buffer.getInt(20),
+			magic == MAGIC_BIG_ENDIAN, buffer.getInt(24), buffer.getInt(28));
+
+		final var checksum = checksum(buffer, 0, 24, header.bigEndian(), 0, 0);
+		return (int) (checksum >>> 32) == header.checksum1() && (int) checksum == header.checksum2() ? header : null;
+	}
+
+	/**
+	 * Continues the running checksum over {@code frame}: its first 8 header bytes and its page.
+	 *
+	 * @return the two checksum words, packed as {@code (s1 << 32) | s2}
+	 */
+	static long frameChecksum(ByteBuffer frame, Header header, int s1, int s2) {
+		final var afterHeader = checksum(frame, 0, 8, header.bigEndian(), s1, s2);
+		return checksum(frame, FRAME_HEADER_BYTES, FRAME_HEADER_BYTES + header.pageSize(), header.bigEndian(),
+			(int) (afterHeader >>> 32), (int) afterHeader);
+	}
+
+	/**
+	 * Whether {@code frame} belongs to the header's generation and continues the checksum.
+	 */
+	static boolean isValid(ByteBuffer frame, Header header, long checksum) {
+		return header.sameGeneration(frame.getInt(8), frame.getInt(12))
+			&& frame.getInt(16) == (int) (checksum >>> 32)
+			&& frame.getInt(20) == (int) checksum;
+	}
+
+	static int pageNumber(ByteBuffer frame) {
+		return frame.getInt(0);
+	}
+
+	/**
+	 * Database size in pages after the transaction this frame commits, or 0 if it commits none.
+	 */
+	static int commitSize(ByteBuffer frame) {
+		return frame.getInt(4);
+	}
+
+	private static long checksum(ByteBuffer buffer, int from, int to, boolean bigEndian, int s1, int s2) {
+		final var words = buffer.duplicate().order(bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+		for (var i = from; i < to; i += 8) {
+			s1 += words.getInt(i) + s2;
+			s2 += words.getInt(i + 4) + s1;
+		}
+		return ((long) s1 << 32) | (s2 & 0xFFFFFFFFL);
+	}
+}
@@ -0,0 +1,81 @@
+package org.example.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter of {@code long} keys: {@link #mightContain} never answers
+ * {@code false} for an added key, and answers {@code true} for a key that was not added with
+ * roughly the configured probability.
+ * <p>
+ * Bit positions use double hashing ({@code h1 + i * h2}) over two SplitMix64 mixes of the key,
+ * which is as good as {@code k} independent hashes for this purpose.
+ */
+public final class BloomFilter {
+
+	private final AtomicLongArray words;
+	private final long bitCount;
+	private final int hashCount;
+
+	private BloomFilter(long bitCount, int hashCount) {
+		final var wordCount = Math.toIntExact((bitCount + 63) >>> 6);
+		this.words = new AtomicLongArray(wordCount);
+		this.bitCount = (long) wordCount << 6;
+		this.hashCount = hashCount;
+	}
+
+	/**
+	 * Sizes the filter for {@code expectedInsertions} keys; adding more keys raises the false
+	 * positive rate above {@code falsePositiveRate}.
+	 */
+	public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+		if (expectedInsertions <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+			throw new IllegalArgumentException("Invalid Bloom filter sizing");
+		}
+
+		final var ln2 = Math.log(2);
+		final var bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+		final var hashes = (int) Math.max(1, Math.round((double) bits / expectedInsertions * ln2));
+		return new BloomFilter(Math.max(64, bits), hashes);
+	}
+
+	public void add(long key) {
+		final var h1 = mix(key);
+		final var h2 = mix(h1) | 1;
+		var combined = h1;
+		for (var i = 0; i < hashCount; i++) {
+			final var bit = (combined & Long.MAX_VALUE) % bitCount;
+			final var index = (int) (bit >>> 6);
+			final var mask = 1L << bit;
+			var word = words.get(index);
+			while ((word & mask) == 0 && !words.compareAndSet(index, word, word | mask)) {
+				word = words.get(index);
+			}
+			combined += h2;
+		}
+	}
+
+	public boolean mightContain(long key) {
+		final var h1 = mix(key);
+		final var h2 = mix(h1) | 1;
+		var combined = h1;
+		for (var i = 0; i < hashCount; i++) {
+			final var bit = (combined & Long.MAX_VALUE) % bitCount;
+			if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+				return false;
+			}
+			combined += h2;
+		}
+		return true;
+	}
+
+	public long sizeInBytes() {
+		return bitCount / 8;
+	}
+
+	private static long mix(long value) {
+		var z = value + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
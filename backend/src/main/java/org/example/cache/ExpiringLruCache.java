@@ -0,0 +1,97 @@
+package org.example.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded LRU cache whose entries also expire after a fixed time-to-live.
+ * <p>
+ * The key space is split over lock-striped segments so concurrent callers rarely
+ * contend on the same monitor; each segment holds an equal share of the capacity.
+ */
+public class ExpiringLruCache<K, V> {
+
+	private static final int SEGMENTS = 16;
+
+	private final Segment<K, V>[] segments;
+	private final long ttlMillis;
+	private final LongSupplier clock;
+
+	public ExpiringLruCache(int maxEntries, long ttlMillis) {
+		this(maxEntries, ttlMillis, System::currentTimeMillis);
+	}
+
+	@SuppressWarnings("unchecked")
+	ExpiringLruCache(int maxEntries, long ttlMillis, LongSupplier clock) {
+		this.ttlMillis = ttlMillis;
+		this.clock = clock;
+		this.segments = new Segment[SEGMENTS];
+		final var perSegment = Math.max(1, maxEntries / SEGMENTS);
+		for (var i = 0; i < SEGMENTS; i++) {
+			segments[i] = new Segment<>(perSegment);
+		}
+	}
+
+	public V get(K key) {
+		final var segment = segmentFor(key);
+		synchronized (segment) {
+			final var entry = segment.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (entry.expiresAt() <= clock.getAsLong()) {
+				segment.remove(key);
+				return null;
+			}
+			return entry.value();
+		}
+	}
+
+	public void put(K key, V value) {
+		final var segment = segmentFor(key);
+		final var expiresAt = clock.getAsLong() + ttlMillis;
+		synchronized (segment) {
+			segment.put(key, new Entry<>(value, expiresAt));
+		}
+	}
+
+	public void remove(K key) {
+		final var segment = segmentFor(key);
+		synchronized (segment) {
+			segment.remove(key);
+		}
+	}
+
+	public int size() {
+		var size = 0;
+		for (final var segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	private Segment<K, V> segmentFor(K key) {
+		final var hash = key.hashCode();
+		return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+	}
+
+	private record Entry<V>(V value, long expiresAt) {}
+
+	private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+
+		private final int maxEntries;
+
+		private Segment(int maxEntries) {
+			super(16, 0.75f, true);
+			this.maxEntries = maxEntries;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+			return size() > maxEntries;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package org.example.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader on its own
+ * thread, and callers arriving while it runs wait for and share its result or exception.
+ * <p>
+ * Nothing is cached. The key is released as soon as the load finishes, so a caller arriving
+ * afterwards starts a new load.
+ */
+public class SingleFlight<K, V> {
+
+	private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final LongAdder coalesced = new LongAdder();
+
+	public V execute(K key, Supplier<V> loader) {
+		final var flight = new CompletableFuture<V>();
+		final var existing = inFlight.putIfAbsent(key, flight);
+		if (existing != null) {
+			coalesced.increment();
+			return join(existing);
+		}
+
+		try {
+			final var value = loader.get();
+			flight.complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			flight.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, flight);
+		}
+	}
+
+	/**
+	 * Number of calls that were served by another caller's load.
+	 */
+	public long coalesced() {
+		return coalesced.sum();
+	}
+
+	private static <V> V join(CompletableFuture<V> flight) {
+		try {
+			return flight.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package org.example.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.event.DatabaseRestoredEvent;
+import org.example.model.TodoInsertListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link BloomFilter} of every todo id, so lookups of ids that never existed are answered
+ * 404 without a query.
+ * <p>
+ * Built at startup, after a database restore and every {@code app.lookup.rebuild-interval-ms}
+ * (which also sheds deleted ids and resizes the filter to the table). Every JPA insert
+ * reports its id through {@link TodoInsertListener}, and it is added once the transaction
+ * commits. While a rebuild scans the table, new ids also go into the filter being built; a
+ * row committed before the scan started is found by the scan. Until the first build finishes
+ * every id is reported as possibly existing.
+ */
+@Slf4j
+@Component
+public class TodoIdFilter {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Counter rejected;
+
+	@Value("${app.lookup.bloom-enabled:true}")
+	private boolean enabled;
+
+	@Value("${app.lookup.expected-ids:1000000}")
+	private long expectedIds;
+
+	@Value("${app.lookup.false-positive-rate:0.01}")
+	private double falsePositiveRate;
+
+	private volatile BloomFilter current;
+	private volatile BloomFilter building;
+
+	public TodoIdFilter(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.rejected = Counter.builder("todo.lookup.bloom_rejected")
+			.description("Lookups answered 404 by the id filter without a query")
+			.register(meterRegistry);
+		meterRegistry.gauge("todo.lookup.bloom_bytes", this, filter -> filter.sizeInBytes());
+		TodoInsertListener.use(this::add);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(initialDelayString = "${app.lookup.rebuild-interval-ms:3600000}", fixedDelayString = "${app.lookup.rebuild-interval-ms:3600000}")
+	public synchronized void rebuild() {
+		if (!enabled) {
+			return;
+		}
+
+		final var started = System.nanoTime();
+		final var rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todos", Long.class);
+		final var target = BloomFilter.create(Math.max(expectedIds, 2 * rows), falsePositiveRate);
+		building = target;
+		try {
+			jdbcTemplate.query("SELECT id FROM todos", (RowCallbackHandler) rs -> target.add(rs.getLong(1)));
+			// Published before building is cleared, so add() always reaches the filter in use
+			current = target;
+		} catch (RuntimeException e) {
+			log.warn("Failed to rebuild the todo id filter", e);
+		} finally {
+			building = null;
+		}
+
+		log.info("Built todo id filter over {} rows ({} KiB) in {} ms",
+			rows, target.sizeInBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+	}
+
+	/**
+	 * The restored database has other ids; everything may exist until the rebuild finishes.
+	 */
+	@EventListener(DatabaseRestoredEvent.class)
+	public void onRestored() {
+		current = null;
+		rebuild();
+	}
+
+	/**
+	 * @return {@code false} only if the id certainly does not exist
+	 */
+	public boolean mightExist(long id) {
+		final var filter = current;
+		if (filter == null || filter.mightContain(id)) {
+			return true;
+		}
+
+		rejected.increment();
+		return false;
+	}
+
+	/**
+	 * Adds an id inserted by the current transaction, once it commits.
+	 */
+	public void add(long id) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					addNow(id);
+				}
+			});
+		} else {
+			addNow(id);
+		}
+	}
+
+	long sizeInBytes() {
+		final var filter = current;
+		return filter == null ? 0 : filter.sizeInBytes();
+	}
+
+	private void addNow(long id) {
+		// building before current: see the order of assignments in rebuild()
+		final var target = building;
+		if (target != null) {
+			target.add(id);
+		}
+		final var filter = current;
+		if (filter != null) {
+			filter.add(id);
+		}
+	}
+}
@@ -0,0 +1,277 @@
+package org.example.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.event.DatabaseRestoredEvent;
+import org.example.mapper.TodoMapper;
+import org.example.repository.TodoRepository;
+import org.example.tenant.TenantContext;
+import org.example.tenant.TenantLimiter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized {@code GET /todos} bodies per tenant, so an unchanged list is answered without
+ * a query, mapping or serialization.
+ * <p>
+ * Each tenant has a version, bumped by {@link #invalidate} after every committed write. A
+ * body is current while its version matches. After a write the stale body is still served
+ * for up to {@code app.list-cache.max-stale-ms} while one background rebuild runs, so a
+ * burst of writes costs one rebuild at a time rather than one per reader. Past that window
+ * readers wait for the rebuild, again shared through a {@link SingleFlight}.
+ * <p>
+ * The version is read before the query, so a body never claims to include a write it may
+ * have missed.
+ */
+@Slf4j
+@Component
+public class TodoListCache {
+
+	private static final int MIN_GZIP_BYTES = 2048;
+
+	private final TodoRepository todoRepository;
+	private final TransactionTemplate readOnlyTransaction;
+	private final TenantLimiter tenantLimiter;
+	private final ObjectMapper objectMapper;
+	private final Clock clock;
+	private final ExecutorService refresher;
+	private final boolean enabled;
+	private final boolean gzip;
+	private final long maxStaleMillis;
+	private final SingleFlight<String, Body> rebuilds = new SingleFlight<>();
+	private final Map<String, State> states;
+	private final Counter hits;
+	private final Counter staleHits;
+	private final Counter misses;
+	private final Timer rebuildTimer;
+
+	@Autowired
+	public TodoListCache(
+		TodoRepository todoRepository,
+		PlatformTransactionManager transactionManager,
+		TenantLimiter tenantLimiter,
+		ObjectMapper objectMapper,
+		Clock clock,
+		MeterRegistry meterRegistry,
+		@Value("${app.list-cache.enabled:false}") boolean enabled,
+		@Value("${app.list-cache.gzip:true}") boolean gzip,
+		@Value("${app.list-cache.max-stale-ms:1000}") long maxStaleMillis,
+		@Value("${app.list-cache.max-tenants:1000}") int maxTenants
+	) {
+		this(todoRepository, transactionManager, tenantLimiter, objectMapper, clock, meterRegistry,
+			enabled, gzip, maxStaleMillis, maxTenants,
+			Executors.newSingleThreadExecutor(Thread.ofPlatform().name("list-cache-refresh").daemon().factory()));
+	}
+
+	TodoListCache(TodoRepository todoRepository, PlatformTransactionManager transactionManager,
+				  TenantLimiter tenantLimiter, ObjectMapper objectMapper, Clock clock, MeterRegistry meterRegistry,
+				  boolean enabled, boolean gzip, long maxStaleMillis, int maxTenants, ExecutorService refresher) {
+		this.todoRepository = todoRepository;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+		this.tenantLimiter = tenantLimiter;
+		this.objectMapper = objectMapper;
+		this.clock = clock;
+		this.refresher = refresher;
+		this.enabled = enabled;
+		this.gzip = gzip;
+		this.maxStaleMillis = maxStaleMillis;
+		this.states = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, State> eldest) {
+				return size() > maxTenants;
+			}
+		};
+		this.hits = requests(meterRegistry, "hit");
+		this.staleHits = requests(meterRegistry, "stale");
+		this.misses = requests(meterRegistry, "miss");
+		this.rebuildTimer = Timer.builder("todo.list_cache.rebuild")
+			.description("Time to query, map and serialize a tenant's list")
+			.register(meterRegistry);
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * The current tenant's list: the up-to-date body, a recently stale one while it is
+	 * rebuilt in the background, or else a freshly built one.
+	 */
+	public Body get() {
+		final var tenant = TenantContext.current();
+		tenantLimiter.acquire(tenant);
+
+		final var state = state(tenant);
+		final var body = state.body;
+		if (body != null && body.version() == state.version) {
+			hits.increment();
+			return body;
+		}
+		if (body != null && clock.millis() - state.staleSince <= maxStaleMillis) {
+			staleHits.increment();
+			refreshInBackground(tenant, state);
+			return body;
+		}
+
+		misses.increment();
+		return rebuilds.execute(tenant, () -> rebuild(tenant, state));
+	}
+
+	/**
+	 * Marks the tenant's list as changed once the current transaction commits.
+	 */
+	public void invalidate(String tenant) {
+		if (!enabled) {
+			return;
+		}
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					state(tenant).bump(clock.millis());
+				}
+			});
+		} else {
+			state(tenant).bump(clock.millis());
+		}
+	}
+
+	// New states draw new ETag prefixes, so clients cannot revalidate against the old data
+	@EventListener(DatabaseRestoredEvent.class)
+	public void clear() {
+		synchronized (states) {
+			states.clear();
+		}
+	}
+
+	@PreDestroy
+	public void stop() {
+		refresher.shutdownNow();
+	}
+
+	private void refreshInBackground(String tenant, State state) {
+		if (!state.refreshing.compareAndSet(false, true)) {
+			return;
+		}
+
+		try {
+			refresher.execute(() -> {
+				try {
+					rebuilds.execute(tenant, () -> rebuild(tenant, state));
+				} catch (RuntimeException e) {
+					log.warn("Failed to rebuild the todo list of tenant {}", tenant, e);
+				} finally {
+					state.refreshing.set(false);
+				}
+			});
+		} catch (RuntimeException e) {
+			state.refreshing.set(false);
+			throw e;
+		}
+	}
+
+	private Body rebuild(String tenant, State state) {
+		final var startedAt = clock.millis();
+		final var version = state.version;
+
+		final var body = rebuildTimer.record(() -> {
+			final var todos = readOnlyTransaction.execute(status ->
+				todoRepository.findAllByTenantId(tenant).stream().map(TodoMapper::toResponse).toList());
+			try {
+				final var json = objectMapper.writeValueAsBytes(todos);
+				final var compressed = gzip && json.length >= MIN_GZIP_BYTES ? gzip(json) : null;
+				return new Body(version, "W/\"" + state.id + "-" + version + "\"", json, compressed);
+			} catch (JsonProcessingException e) {
+				throw new IllegalStateException("Failed to serialize the todo list", e);
+			}
+		});
+
+		return state.publish(body, startedAt);
+	}
+
+	private static byte[] gzip(byte[] json) {
+		final var out = new ByteArrayOutputStream(json.length / 4);
+		try (var gzip = new GZIPOutputStream(out)) {
+			gzip.write(json);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	private State state(String tenant) {
+		synchronized (states) {
+			return states.computeIfAbsent(tenant, key -> new State());
+		}
+	}
+
+	private static Counter requests(MeterRegistry meterRegistry, String result) {
+		return Counter.builder("todo.list_cache.requests")
+			.description("GET /todos requests by cache outcome")
+			.tag("result", result)
+			.register(meterRegistry);
+	}
+
+	/**
+	 * A serialized list.
+	 *
+	 * @param etag weak, since the gzipped and plain bytes share it
+	 * @param gzip the gzipped {@code json}, or {@code null} when it is too small to be worth it
+	 */
+	public record Body(long version, String etag, byte[] json, byte[] gzip) {}
+
+	private static final class State {
+
+		private final String id = Long.toHexString(ThreadLocalRandom.current().nextLong());
+		private final AtomicBoolean refreshing = new AtomicBoolean();
+		private volatile long version;
+		private volatile Body body;
+		private volatile long staleSince;
+
+		synchronized void bump(long now) {
+			if (body != null && body.version() == version) {
+				staleSince = now;
+			}
+			version++;
+		}
+
+		/**
+		 * Keeps the newer of {@code built} and the current body. A body built while writes
+		 * landed is stale from the moment its build started.
+		 */
+		synchronized Body publish(Body built, long startedAt) {
+			if (body == null || built.version() >= body.version()) {
+				body = built;
+				if (built.version() != version) {
+					staleSince = startedAt;
+				}
+			}
+			return body;
+		}
+	}
+}
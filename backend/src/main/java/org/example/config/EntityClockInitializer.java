@@ -0,0 +1,31 @@
+package org.example.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.model.EntityClock;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+
+/**
+ * Hands the application {@link Clock} to {@link EntityClock} once the context's singletons
+ * exist, and puts the system clock back when the context closes, so a later context (e.g.
+ * the next test class) never stamps entities with a clock from one already shut down.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityClockInitializer implements SmartInitializingSingleton, DisposableBean {
+
+	private final Clock clock;
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		EntityClock.use(clock);
+	}
+
+	@Override
+	public void destroy() {
+		EntityClock.use(Clock.systemUTC());
+	}
+}
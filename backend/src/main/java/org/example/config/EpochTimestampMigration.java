@@ -0,0 +1,46 @@
+package org.example.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rewrites timestamps stored as SQLite text by earlier versions into the epoch-millisecond
+ * integers the entities now map, so Hibernate never has to parse dates when reading rows.
+ * <p>
+ * Depends on the entity manager factory so it runs after the Hibernate schema update. Rows that
+ * are already integers are left alone, which makes the migration a no-op after the first run.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class EpochTimestampMigration {
+
+	private static final String TO_EPOCH_MILLIS = "CAST(ROUND((julianday(%1$s) - 2440587.5) * 86400000) AS INTEGER)";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@PostConstruct
+	public void migrate() {
+		final var rows = convert("todos", "created_at")
+			+ convert("todos", "updated_at")
+			+ convert("todos_archive", "created_at")
+			+ convert("todos_archive", "updated_at")
+			+ convert("todos_archive", "archived_at");
+
+		if (rows > 0) {
+			log.info("Converted {} text timestamps to epoch milliseconds", rows);
+		}
+	}
+
+	private int convert(String table, String column) {
+		return jdbcTemplate.update(
+			"UPDATE " + table + " SET " + column + " = " + TO_EPOCH_MILLIS.formatted(column)
+				+ " WHERE typeof(" + column + ") = 'text'"
+		);
+	}
+}
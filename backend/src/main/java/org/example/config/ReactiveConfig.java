@@ -0,0 +1,24 @@
+package org.example.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+public class ReactiveConfig {
+
+	/**
+	 * Bounded scheduler for blocking SQLite work behind the reactive endpoints. Sized like the
+	 * connection pool so queued tasks wait for a worker instead of for a connection.
+	 */
+	@Bean(destroyMethod = "dispose")
+	public Scheduler jdbcScheduler(
+		@Value("${app.reactive.jdbc-threads:10}") int threads,
+		@Value("${app.reactive.queue-capacity:1000}") int queueCapacity
+	) {
+		return Schedulers.newBoundedElastic(threads, queueCapacity, "sqlite");
+	}
+
+}
@@ -0,0 +1,34 @@
+package org.example.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Initializes the completion rollup of todos created before subtasks existed. The tree
+ * columns are added with defaults for a standalone open todo, so only completed ones need
+ * fixing; a completed leaf always has {@code subtree_completed = 1}, which keeps this a
+ * no-op on later runs.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class TodoTreeBackfill {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	@PostConstruct
+	public void backfill() {
+		final var rows = jdbcTemplate.update(
+			"UPDATE todos SET subtree_completed = 1 WHERE completed = 1 AND subtree_size = 1 AND subtree_completed = 0"
+		);
+
+		if (rows > 0) {
+			log.info("Initialized completion rollups of {} todos", rows);
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.AsyncOperationDto;
+import org.example.dto.TodoCreateDto;
+import org.example.service.AsyncTodoService;
+import org.example.validation.TodoRequestValidator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/todos")
+@RequiredArgsConstructor
+public class AsyncTodoController {
+
+    private final AsyncTodoService asyncTodoService;
+
+    @PostMapping("/async")
+    public ResponseEntity<AsyncOperationDto> createTodoAsync(@RequestBody TodoCreateDto request) {
+        TodoRequestValidator.validate(request);
+        return asyncTodoService.accept(request)
+                .map(dto -> ResponseEntity.accepted()
+                        .location(URI.create("/todos/operations/" + dto.id()))
+                        .body(dto))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .build());
+    }
+
+    @GetMapping("/operations/{id}")
+    public ResponseEntity<AsyncOperationDto> getOperation(@PathVariable String id) {
+        final var dto = asyncTodoService.getStatus(id);
+
+        return ResponseEntity.ok(dto);
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.TodoCreateDto;
+import org.example.dto.TodoResponseDto;
+import org.example.dto.TodoUpdateDto;
+import org.example.service.ReactiveTodoService;
+import org.example.validation.TodoRequestValidator;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@code /todos} contract with {@code Mono}/{@code Flux} return types. Ask for
+ * {@code application/x-ndjson} to stream the list one todo per line as it is read.
+ */
+@RestController
+@RequestMapping("/reactive/todos")
+@RequiredArgsConstructor
+public class ReactiveTodoController {
+
+    private final ReactiveTodoService reactiveTodoService;
+
+    @PostMapping
+    public Mono<ResponseEntity<TodoResponseDto>> createTodo(@RequestBody TodoCreateDto request) {
+        TodoRequestValidator.validate(request);
+        return reactiveTodoService.create(request)
+                .map(dto -> new ResponseEntity<>(dto, HttpStatus.CREATED));
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<TodoResponseDto> getAllTodos() {
+        return reactiveTodoService.streamAll();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TodoResponseDto>> getTodoById(@PathVariable Long id) {
+        return reactiveTodoService.getById(id).map(ResponseEntity::ok);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<TodoResponseDto>> updateTodo(@PathVariable Long id, @RequestBody TodoUpdateDto request) {
+        TodoRequestValidator.validate(request);
+        return reactiveTodoService.update(id, request).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTodo(@PathVariable Long id) {
+        return reactiveTodoService.delete(id).thenReturn(ResponseEntity.noContent().<Void>build());
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.reminder.ReminderBroadcaster;
+import org.example.tenant.TenantContext;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/reminders")
+@RequiredArgsConstructor
+public class ReminderController {
+
+    private final ReminderBroadcaster reminderBroadcaster;
+
+    /**
+     * Server-sent {@code reminder} events for the caller's tenant as reminders come due.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return reminderBroadcaster.subscribe(TenantContext.current());
+    }
+}
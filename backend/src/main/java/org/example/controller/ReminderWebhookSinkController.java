@@ -0,0 +1,41 @@
+package org.example.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Local stand-in for a reminder webhook receiver: point {@code app.reminders.webhook-url} at
+ * {@code /admin/reminders/webhook-sink} to see deliveries without an external service.
+ */
+@RestController
+@RequestMapping("/admin/reminders/webhook-sink")
+public class ReminderWebhookSinkController {
+
+    private static final int CAPACITY = 100;
+
+    private final Deque<JsonNode> received = new ArrayDeque<>();
+
+    @PostMapping
+    public ResponseEntity<Void> receive(@RequestBody JsonNode reminder) {
+        synchronized (received) {
+            if (received.size() == CAPACITY) {
+                received.removeFirst();
+            }
+            received.addLast(reminder);
+        }
+
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping
+    public ResponseEntity<List<JsonNode>> getReceived() {
+        synchronized (received) {
+            return ResponseEntity.ok(List.copyOf(received));
+        }
+    }
+}
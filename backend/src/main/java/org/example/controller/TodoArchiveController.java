@@ -0,0 +1,34 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.TodoResponseDto;
+import org.example.service.TodoArchiveService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/todos/archive")
+@RequiredArgsConstructor
+public class TodoArchiveController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final TodoArchiveService todoArchiveService;
+
+    @GetMapping
+    public ResponseEntity<List<TodoResponseDto>> getArchivedTodos(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page or size");
+        }
+
+        final var dtos = todoArchiveService.getArchived(page, size);
+
+        return ResponseEntity.ok(dtos);
+    }
+}
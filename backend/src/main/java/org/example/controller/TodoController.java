@@ -1,14 +1,21 @@
 package org.example.controller;
 
-import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.cache.TodoListCache;
+import org.example.dto.TodoBatchDto;
 import org.example.dto.TodoCreateDto;
+import org.example.dto.TodoQueryDto;
 import org.example.dto.TodoResponseDto;
 import org.example.dto.TodoUpdateDto;
+import org.example.service.IdempotencyService;
 import org.example.service.TodoService;
+import org.example.validation.TodoRequestValidator;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
@@ -17,22 +24,76 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TodoController {
 
+    private static final int MAX_BATCH_IDS = 5000;
+
     private final TodoService todoService;
+    private final IdempotencyService idempotencyService;
+    private final TodoListCache todoListCache;
 
     @PostMapping
-    public ResponseEntity<TodoResponseDto> createTodo(@Valid @RequestBody TodoCreateDto request) {
-        final var dto = todoService.create(request);
+    public ResponseEntity<TodoResponseDto> createTodo(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody TodoCreateDto request) {
+        TodoRequestValidator.validate(request);
+        if (idempotencyKey == null) {
+            final var dto = todoService.create(request);
+
+            return new ResponseEntity<>(dto, HttpStatus.CREATED);
+        }
 
-        return new ResponseEntity<>(dto, HttpStatus.CREATED);
+        final var result = idempotencyService.execute(idempotencyKey, request, () -> todoService.create(request));
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Idempotent-Replayed", Boolean.toString(result.replayed()))
+                .body(result.response());
     }
 
+    /**
+     * With the list cache on, answers with the pre-serialized (and, when accepted, gzipped)
+     * bytes and a weak ETag, so an unchanged list revalidates to a 304.
+     */
     @GetMapping
-    public ResponseEntity<List<TodoResponseDto>> getAllTodos() {
+    public ResponseEntity<?> getAllTodos(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (todoListCache.isEnabled()) {
+            final var body = todoListCache.get();
+            final var gzip = body.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+            final var response = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(body.etag())
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING);
+
+            return gzip
+                    ? response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip())
+                    : response.body(body.json());
+        }
+
         final var dtos = todoService.getAll();
 
         return ResponseEntity.ok(dtos);
     }
 
+    /**
+     * Todos for {@code ids} (comma-separated or repeated) in request order; see
+     * {@link TodoBatchDto}.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<TodoBatchDto> getTodosByIds(@RequestParam List<Long> ids) {
+        final var dto = todoService.getByIds(checkBatchIds(ids));
+
+        return ResponseEntity.ok(dto);
+    }
+
+    /**
+     * Same as {@code GET /todos?ids=}, for id lists too long for a URL.
+     */
+    @PostMapping("/query")
+    public ResponseEntity<TodoBatchDto> queryTodos(@RequestBody TodoQueryDto request) {
+        final var dto = todoService.getByIds(checkBatchIds(request.getIds()));
+
+        return ResponseEntity.ok(dto);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TodoResponseDto> getTodoById(@PathVariable Long id) {
         final var dto = todoService.getById(id);
@@ -41,7 +102,8 @@ public class TodoController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<TodoResponseDto> updateTodo(@PathVariable Long id, @Valid @RequestBody TodoUpdateDto request) {
+    public ResponseEntity<TodoResponseDto> updateTodo(@PathVariable Long id, @RequestBody TodoUpdateDto request) {
+        TodoRequestValidator.validate(request);
         final var dto = todoService.update(id, request);
 
         return ResponseEntity.ok(dto);
@@ -53,4 +115,18 @@ public class TodoController {
 
         return ResponseEntity.noContent().build();
     }
+
+    private static List<Long> checkBatchIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one id is required");
+        }
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH_IDS + " ids per request");
+        }
+        if (ids.contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must not contain empty values");
+        }
+
+        return ids;
+    }
 }
@@ -0,0 +1,24 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.TodoHistoryEntryDto;
+import org.example.service.TodoHistoryService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/todos/{id}/history")
+@RequiredArgsConstructor
+public class TodoHistoryController {
+
+    private final TodoHistoryService todoHistoryService;
+
+    @GetMapping
+    public ResponseEntity<List<TodoHistoryEntryDto>> getHistory(@PathVariable Long id) {
+        final var dto = todoHistoryService.getHistory(id);
+
+        return ResponseEntity.ok(dto);
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.TodoSearchResultDto;
+import org.example.service.TodoSearchService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/todos/search")
+@RequiredArgsConstructor
+public class TodoSearchController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final TodoSearchService todoSearchService;
+
+    /**
+     * Todos carrying all of {@code tags} (comma-separated or repeated), optionally filtered
+     * by completion.
+     */
+    @GetMapping
+    public ResponseEntity<TodoSearchResultDto> search(
+            @RequestParam List<String> tags,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(defaultValue = "100") int limit) {
+        if (tags.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one tag is required");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        final var dto = todoSearchService.search(tags, completed, limit);
+
+        return ResponseEntity.ok(dto);
+    }
+}
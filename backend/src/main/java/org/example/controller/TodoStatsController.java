@@ -0,0 +1,30 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.TodoStatsDto;
+import org.example.service.TodoStatsService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/todos/stats")
+@RequiredArgsConstructor
+public class TodoStatsController {
+
+    private static final int MAX_DAYS = 366;
+
+    private final TodoStatsService todoStatsService;
+
+    @GetMapping
+    public ResponseEntity<TodoStatsDto> getStats(@RequestParam(defaultValue = "30") int days) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "days must be between 1 and " + MAX_DAYS);
+        }
+
+        final var dto = todoStatsService.getStats(days);
+
+        return ResponseEntity.ok(dto);
+    }
+}
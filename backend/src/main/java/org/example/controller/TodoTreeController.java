@@ -0,0 +1,53 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.TodoMoveDto;
+import org.example.dto.TodoNodeDto;
+import org.example.dto.TodoSubtreeDto;
+import org.example.service.TodoTreeService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/todos/{id}")
+@RequiredArgsConstructor
+public class TodoTreeController {
+
+    private static final int MAX_SUBTREE_DEPTH = 64;
+    private static final int MAX_SUBTREE_NODES = 10_000;
+
+    private final TodoTreeService todoTreeService;
+
+    @GetMapping("/subtree")
+    public ResponseEntity<TodoSubtreeDto> getSubtree(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "1") int depth,
+            @RequestParam(defaultValue = "1000") int limit) {
+        if (depth < 0 || depth > MAX_SUBTREE_DEPTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "depth must be between 0 and " + MAX_SUBTREE_DEPTH);
+        }
+        if (limit < 1 || limit > MAX_SUBTREE_NODES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_SUBTREE_NODES);
+        }
+
+        final var dto = todoTreeService.getSubtree(id, depth, limit);
+
+        return ResponseEntity.ok(dto);
+    }
+
+    @PostMapping("/move")
+    public ResponseEntity<TodoNodeDto> moveTodo(@PathVariable Long id, @RequestBody TodoMoveDto request) {
+        final var dto = todoTreeService.move(id, request.getParentId());
+
+        return ResponseEntity.ok(dto);
+    }
+
+    @PostMapping("/complete")
+    public ResponseEntity<TodoNodeDto> completeSubtree(@PathVariable Long id, @RequestParam(defaultValue = "true") boolean completed) {
+        final var dto = todoTreeService.complete(id, completed);
+
+        return ResponseEntity.ok(dto);
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.dto;
+
+import org.example.model.OperationStatus;
+
+public record AsyncOperationDto(
+    String id,
+    OperationStatus status,
+    Long todoId,
+    String error
+) {}
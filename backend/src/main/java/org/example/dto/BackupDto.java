@@ -0,0 +1,15 @@
+package org.example.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A retained backup.
+ *
+ * @param id        pass as {@code backup} to restore it
+ * @param startedAt UTC time the copy was started
+ */
+public record BackupDto(
+    long id,
+    LocalDateTime startedAt,
+    long sizeBytes
+) {}
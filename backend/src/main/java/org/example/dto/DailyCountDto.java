@@ -0,0 +1,9 @@
+package org.example.dto;
+
+import java.time.LocalDate;
+
+public record DailyCountDto(
+    LocalDate date,
+    long created,
+    long completed
+) {}
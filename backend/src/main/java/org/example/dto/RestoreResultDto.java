@@ -0,0 +1,13 @@
+package org.example.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * @param walSegments archived WAL segments replayed onto the backup
+ * @param restoredTo  UTC time the live database now reflects, to the WAL archive interval
+ */
+public record RestoreResultDto(
+    long backupId,
+    int walSegments,
+    LocalDateTime restoredTo
+) {}
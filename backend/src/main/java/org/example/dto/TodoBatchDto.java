@@ -0,0 +1,14 @@
+package org.example.dto;
+
+import java.util.List;
+
+/**
+ * Todos looked up by id. {@code todos} follows the order of the requested ids, with
+ * {@code null} where an id was not found.
+ *
+ * @param missing requested ids that were not found, each listed once
+ */
+public record TodoBatchDto(
+    List<TodoResponseDto> todos,
+    List<Long> missing
+) {}
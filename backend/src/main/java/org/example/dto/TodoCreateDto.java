@@ -4,6 +4,9 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
+import java.time.LocalDateTime;
+import java.util.Set;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,4 +21,15 @@ public class TodoCreateDto {
     @Size(max = 1000, message = "Description must be less than 1000 characters")
     private String description;
 
+    // Optional: creates the todo as a subtask of this todo
+    private Long parentId;
+
+    @Size(max = 20, message = "A todo can have at most 20 tags")
+    private Set<@NotBlank(message = "Tags cannot be blank") @Size(max = 50, message = "Tags must be less than 50 characters") String> tags;
+
+    // UTC, like the timestamps in responses
+    private LocalDateTime dueAt;
+
+    private LocalDateTime remindAt;
+
 }
\ No newline at end of file
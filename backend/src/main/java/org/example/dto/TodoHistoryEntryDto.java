@@ -0,0 +1,21 @@
+package org.example.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One recorded change of a todo.
+ *
+ * @param operation {@code CREATE}, {@code UPDATE}, {@code DELETE}, {@code MOVE} or
+ *                  {@code COMPLETE_SUBTREE}
+ * @param changes   the fields that changed, by their API name
+ */
+public record TodoHistoryEntryDto(
+    String operation,
+    String actor,
+    LocalDateTime timestamp,
+    List<FieldChange> changes
+) {
+
+    public record FieldChange(String field, String before, String after) {}
+}
@@ -0,0 +1,15 @@
+package org.example.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TodoMoveDto {
+
+    // New parent, or null to make the todo a root
+    private Long parentId;
+
+}
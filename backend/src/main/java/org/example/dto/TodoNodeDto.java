@@ -0,0 +1,19 @@
+package org.example.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A todo as part of a tree, with completion rolled up over its subtree (including itself).
+ */
+public record TodoNodeDto(
+    Long id,
+    Long parentId,
+    int depth,
+    String title,
+    String description,
+    boolean completed,
+    long subtreeSize,
+    long subtreeCompleted,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {}
@@ -0,0 +1,16 @@
+package org.example.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class TodoQueryDto {
+
+    private List<Long> ids;
+
+}
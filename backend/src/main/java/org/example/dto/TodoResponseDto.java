@@ -1,12 +1,28 @@
 package org.example.dto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public record TodoResponseDto(
     Long id,
     String title,
     String description,
-    Boolean completed,
+    boolean completed,
     LocalDateTime createdAt,
-    LocalDateTime updatedAt
-) {}
+    LocalDateTime updatedAt,
+    Long parentId,
+    List<String> tags,
+    LocalDateTime dueAt,
+    LocalDateTime remindAt
+) {
+
+    public TodoResponseDto {
+        tags = tags == null ? List.of() : List.copyOf(tags);
+    }
+
+    public TodoResponseDto(Long id, String title, String description, boolean completed,
+                           LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, description, completed, createdAt, updatedAt, null, List.of(), null, null);
+    }
+
+}
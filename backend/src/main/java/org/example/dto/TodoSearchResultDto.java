@@ -0,0 +1,13 @@
+package org.example.dto;
+
+import java.util.List;
+
+/**
+ * Todos matching a tag search, newest first.
+ *
+ * @param total number of matching todos, which may exceed the returned page
+ */
+public record TodoSearchResultDto(
+    long total,
+    List<TodoResponseDto> todos
+) {}
@@ -0,0 +1,11 @@
+package org.example.dto;
+
+import java.util.List;
+
+public record TodoStatsDto(
+    long total,
+    long completed,
+    long open,
+    Double averageCompletionSeconds,
+    List<DailyCountDto> days
+) {}
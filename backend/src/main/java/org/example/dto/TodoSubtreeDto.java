@@ -0,0 +1,15 @@
+package org.example.dto;
+
+import java.util.List;
+
+/**
+ * A todo and its descendants down to the requested depth, ordered by path. Each node
+ * carries its {@code parentId}, so clients can assemble the tree in one pass.
+ *
+ * @param truncated whether more descendants exist than the requested limit
+ */
+public record TodoSubtreeDto(
+    TodoNodeDto root,
+    List<TodoNodeDto> descendants,
+    boolean truncated
+) {}
@@ -2,12 +2,16 @@ package org.example.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
+import java.time.LocalDateTime;
+import java.util.Set;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,4 +28,43 @@ public class TodoUpdateDto {
 
     private boolean completed;
 
+    // Replaces the todo's tags when present; null leaves them unchanged
+    @Size(max = 20, message = "A todo can have at most 20 tags")
+    private Set<@NotBlank(message = "Tags cannot be blank") @Size(max = 50, message = "Tags must be less than 50 characters") String> tags;
+
+    // Omitted: unchanged; explicit null: cleared. The setters record which was sent.
+    @Setter(AccessLevel.NONE)
+    private LocalDateTime dueAt;
+
+    @Setter(AccessLevel.NONE)
+    private LocalDateTime remindAt;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private boolean dueAtPresent;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private boolean remindAtPresent;
+
+    public void setDueAt(LocalDateTime dueAt) {
+        this.dueAt = dueAt;
+        this.dueAtPresent = true;
+    }
+
+    public void setRemindAt(LocalDateTime remindAt) {
+        this.remindAt = remindAt;
+        this.remindAtPresent = true;
+    }
+
+    public boolean hasDueAt() {
+        return dueAtPresent;
+    }
+
+    public boolean hasRemindAt() {
+        return remindAtPresent;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package org.example.event;
+
+/**
+ * Published after the contents of the SQLite database have been replaced wholesale
+ * (e.g. a replica applying a snapshot), so in-memory caches can drop their state.
+ *
+ * @param version version of the data that is now live
+ */
+public record DatabaseRestoredEvent(long version) {}
@@ -0,0 +1,17 @@
+package org.example.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published once per reminder when it comes due, after it has been claimed in the database.
+ *
+ * @param firedAt when the reminder was claimed; {@code firedAt - remindAt} is its lateness
+ */
+public record ReminderDueEvent(
+	long todoId,
+	String tenantId,
+	String title,
+	LocalDateTime dueAt,
+	LocalDateTime remindAt,
+	LocalDateTime firedAt
+) {}
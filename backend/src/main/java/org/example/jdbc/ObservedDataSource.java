@@ -0,0 +1,172 @@
+package org.example.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * {@link DataSource} wrapper that reports every executed statement to the registered
+ * {@link StatementListener}s.
+ * <p>
+ * Connections and statements are wrapped with JDK proxies; only the {@code execute*} calls
+ * and parameter setters are intercepted, everything else goes straight to the driver.
+ */
+public class ObservedDataSource extends DelegatingDataSource {
+
+	/**
+	 * Reported for {@code executeBatch()} on a plain statement, which has no single SQL text.
+	 */
+	public static final String BATCH_SQL = "<batch>";
+
+	private final Supplier<List<StatementListener>> listeners;
+
+	public ObservedDataSource(DataSource target, Supplier<List<StatementListener>> listeners) {
+		super(target);
+		this.listeners = listeners;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return wrap(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return wrap(super.getConnection(username, password));
+	}
+
+	private Connection wrap(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(
+			ObservedDataSource.class.getClassLoader(),
+			new Class<?>[]{Connection.class},
+			new ConnectionHandler(connection)
+		);
+	}
+
+	private final class ConnectionHandler implements InvocationHandler {
+
+		private final Connection target;
+
+		private ConnectionHandler(Connection target) {
+			this.target = target;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			if (method.getName().equals("equals")) {
+				return proxy == args[0];
+			}
+			if (method.getName().equals("hashCode")) {
+				return System.identityHashCode(proxy);
+			}
+
+			final var result = invokeTarget(target, method, args);
+
+			return switch (method.getName()) {
+				case "createStatement" -> wrapStatement(Statement.class, (Statement) result, null);
+				case "prepareStatement" -> wrapStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+				case "prepareCall" -> wrapStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+				default -> result;
+			};
+		}
+
+		private Object wrapStatement(Class<? extends Statement> type, Statement statement, String sql) {
+			return Proxy.newProxyInstance(
+				ObservedDataSource.class.getClassLoader(),
+				new Class<?>[]{type},
+				new StatementHandler(statement, sql)
+			);
+		}
+	}
+
+	private final class StatementHandler implements InvocationHandler {
+
+		private final Statement target;
+		private final String preparedSql;
+		private final List<Object> parameters;
+
+		private StatementHandler(Statement target, String preparedSql) {
+			this.target = target;
+			this.preparedSql = preparedSql;
+			this.parameters = preparedSql == null ? Collections.emptyList() : new ArrayList<>();
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			final var name = method.getName();
+
+			if (name.startsWith("execute")) {
+				final var sql = args != null && args.length > 0 && args[0] instanceof String text
+					? text
+					: Objects.requireNonNullElse(preparedSql, BATCH_SQL);
+				return observe(sql, method, args);
+			}
+			if (preparedSql != null && name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+				bind(index, name.equals("setNull") ? null : args[1]);
+			} else if (name.equals("clearParameters")) {
+				parameters.clear();
+			}
+
+			return invokeTarget(target, method, args);
+		}
+
+		private Object observe(String sql, Method method, Object[] args) throws Throwable {
+			final var active = listeners.get();
+			if (active.isEmpty()) {
+				return invokeTarget(target, method, args);
+			}
+
+			for (final var listener : active) {
+				listener.beforeExecute(sql);
+			}
+
+			Throwable error = null;
+			final var start = System.nanoTime();
+			try {
+				return invokeTarget(target, method, args);
+			} catch (Throwable e) {
+				error = e;
+				throw e;
+			} finally {
+				final var execution = new StatementExecution(
+					sql,
+					Collections.unmodifiableList(new ArrayList<>(parameters)),
+					System.nanoTime() - start,
+					error
+				);
+				for (final var listener : active) {
+					listener.afterExecute(execution);
+				}
+			}
+		}
+
+		private void bind(int index, Object value) {
+			while (parameters.size() < index) {
+				parameters.add(null);
+			}
+			parameters.set(index - 1, value);
+		}
+	}
+
+	private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+}
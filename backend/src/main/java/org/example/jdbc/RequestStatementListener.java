@@ -0,0 +1,42 @@
+package org.example.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts statements per request and enforces {@code app.jdbc.statement-budget}.
+ * <p>
+ * In {@code log} mode an exceeded budget is logged once per request; in {@code fail} mode
+ * (meant for tests and CI) the offending statement is rejected before it reaches the driver.
+ */
+@Slf4j
+@Component
+public class RequestStatementListener implements StatementListener {
+
+	@Value("${app.jdbc.statement-budget:0}")
+	private int budget;
+
+	@Value("${app.jdbc.budget-mode:log}")
+	private String budgetMode;
+
+	@Override
+	public void beforeExecute(String sql) {
+		final var statements = RequestStatements.current();
+		if (statements == null) {
+			return;
+		}
+
+		final var count = statements.record(SqlFingerprint.of(sql));
+		if (budget <= 0 || count <= budget) {
+			return;
+		}
+
+		if ("fail".equals(budgetMode)) {
+			throw new StatementBudgetExceededException(budget, sql);
+		}
+		if (count == budget + 1) {
+			log.warn("Request exceeded the statement budget of {} with: {}", budget, sql);
+		}
+	}
+}
@@ -0,0 +1,58 @@
+package org.example.jdbc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Statements issued by the request being served on the current thread, grouped by
+ * {@link SqlFingerprint}. Bound by {@link StatementTrackingFilter}.
+ */
+public final class RequestStatements {
+
+	private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+	private final Map<String, Integer> countsByFingerprint = new HashMap<>();
+	private int count;
+
+	/**
+	 * @return the statements of the current request, or {@code null} outside a request
+	 */
+	public static RequestStatements current() {
+		return CURRENT.get();
+	}
+
+	static RequestStatements start() {
+		final var statements = new RequestStatements();
+		CURRENT.set(statements);
+		return statements;
+	}
+
+	static void clear() {
+		CURRENT.remove();
+	}
+
+	/**
+	 * @return the number of statements recorded so far, including this one
+	 */
+	int record(String fingerprint) {
+		countsByFingerprint.merge(fingerprint, 1, Integer::sum);
+		return ++count;
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * @return fingerprints executed at least {@code threshold} times, with their counts
+	 */
+	public Map<String, Integer> repeatedAtLeast(int threshold) {
+		final var repeated = new HashMap<String, Integer>();
+		countsByFingerprint.forEach((fingerprint, times) -> {
+			if (times >= threshold) {
+				repeated.put(fingerprint, times);
+			}
+		});
+		return repeated;
+	}
+}
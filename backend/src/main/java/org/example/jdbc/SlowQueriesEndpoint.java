@@ -0,0 +1,25 @@
+package org.example.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code GET /actuator/slowqueries} lists the latest slow statements with their bound
+ * parameters and plans. Parameters are user data, so this is only served on the management port.
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueriesEndpoint {
+
+	private final SlowQueryListener slowQueryListener;
+
+	@ReadOperation
+	public List<SlowQuery> slowQueries() {
+		return slowQueryListener.getRecent();
+	}
+}
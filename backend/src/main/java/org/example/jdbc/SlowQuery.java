@@ -0,0 +1,20 @@
+package org.example.jdbc;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A statement that exceeded {@code app.jdbc.slow-query-ms}.
+ *
+ * @param plan     {@code EXPLAIN QUERY PLAN} rows, empty until captured or for non-explainable statements
+ * @param fullScan whether the plan contains a full table scan ({@code SCAN <table>} without an index)
+ */
+public record SlowQuery(
+	Instant at,
+	String sql,
+	List<String> parameters,
+	double millis,
+	List<String> plan,
+	boolean fullScan
+) {
+}
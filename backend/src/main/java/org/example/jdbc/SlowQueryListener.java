@@ -0,0 +1,181 @@
+package org.example.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Logs statements slower than {@code app.jdbc.slow-query-ms} with their bound parameters and
+ * the SQLite {@code EXPLAIN QUERY PLAN}, flagging full table scans.
+ * <p>
+ * Plans are captured once per fingerprint on a background thread with a connection from the
+ * unobserved data source, so explaining never slows the request that triggered it.
+ */
+@Slf4j
+@Component
+public class SlowQueryListener implements StatementListener {
+
+	private static final Pattern FULL_SCAN = Pattern.compile("^SCAN (?!CONSTANT ROW)(\\w++)(?! USING)");
+	private static final int MAX_PARAMETER_LENGTH = 100;
+	private static final int MAX_PLANS = 500;
+
+	private final DataSource dataSource;
+	private final MeterRegistry meterRegistry;
+	private final Map<String, List<String>> plans = new ConcurrentHashMap<>();
+	private final Deque<SlowQuery> recent = new ArrayDeque<>();
+	private final ThreadPoolExecutor explainExecutor = new ThreadPoolExecutor(
+		1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(100),
+		runnable -> {
+			final var thread = new Thread(runnable, "slow-query-explain");
+			thread.setDaemon(true);
+			return thread;
+		},
+		new ThreadPoolExecutor.DiscardPolicy()
+	);
+
+	@Value("${app.jdbc.slow-query-ms:100}")
+	private long slowQueryMs;
+
+	@Value("${app.jdbc.explain:true}")
+	private boolean explain;
+
+	@Value("${app.jdbc.slow-query-history:100}")
+	private int history;
+
+	public SlowQueryListener(DataSource dataSource, MeterRegistry meterRegistry) {
+		this.dataSource = dataSource instanceof ObservedDataSource observed ? observed.getTargetDataSource() : dataSource;
+		this.meterRegistry = meterRegistry;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		explainExecutor.shutdownNow();
+	}
+
+	@Override
+	public void afterExecute(StatementExecution execution) {
+		final var millis = execution.elapsedNanos() / 1_000_000d;
+		if (millis < slowQueryMs) {
+			return;
+		}
+
+		final var parameters = execution.parameters().stream().map(SlowQueryListener::format).toList();
+		log.warn("Slow statement ({} ms): {} {}", "%.1f".formatted(millis), execution.sql(), parameters);
+
+		final var fingerprint = SqlFingerprint.of(execution.sql());
+		final var plan = plans.get(fingerprint);
+		remember(new SlowQuery(Instant.now(), execution.sql(), parameters, millis,
+			plan == null ? List.of() : plan, plan != null && fullScanTable(execution.sql(), plan) != null));
+
+		if (plan == null && explain && isExplainable(execution.sql()) && plans.size() < MAX_PLANS) {
+			try {
+				explainExecutor.execute(() -> capturePlan(fingerprint, execution.sql()));
+			} catch (RejectedExecutionException e) {
+				// Shutting down
+			}
+		}
+	}
+
+	/**
+	 * @return the most recent slow statements, newest first
+	 */
+	public List<SlowQuery> getRecent() {
+		synchronized (recent) {
+			return new ArrayList<>(recent);
+		}
+	}
+
+	/**
+	 * SQLite reports aliased tables by alias ({@code SCAN t1_0} for Hibernate queries), so the
+	 * alias is resolved back to the table name through the statement text.
+	 *
+	 * @return the table scanned without an index, or {@code null}
+	 */
+	static String fullScanTable(String sql, List<String> plan) {
+		for (final var step : plan) {
+			final var matcher = FULL_SCAN.matcher(step);
+			if (matcher.find()) {
+				final var name = matcher.group(1);
+				final var alias = Pattern.compile("\\b(?:from|join)\\s+(\\w+)\\s+(?:as\\s+)?" + Pattern.quote(name) + "\\b", Pattern.CASE_INSENSITIVE)
+					.matcher(sql);
+				return alias.find() ? alias.group(1) : name;
+			}
+		}
+		return null;
+	}
+
+	private void capturePlan(String fingerprint, String sql) {
+		if (plans.containsKey(fingerprint)) {
+			return;
+		}
+
+		final var plan = new ArrayList<String>();
+		try (var connection = dataSource.getConnection(); var statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+			try (var rows = statement.executeQuery()) {
+				while (rows.next()) {
+					plan.add(rows.getString("detail"));
+				}
+			}
+		} catch (SQLException e) {
+			log.debug("Could not explain {}: {}", sql, e.getMessage());
+			plans.put(fingerprint, List.of());
+			return;
+		}
+		plans.put(fingerprint, List.copyOf(plan));
+
+		final var table = fullScanTable(sql, plan);
+		if (table != null) {
+			log.warn("Full table scan of {} in slow statement: {} plan={}", table, sql, plan);
+			Counter.builder("todo.jdbc.full_scans")
+				.description("Distinct slow statements whose plan scans a whole table")
+				.tag("table", table)
+				.register(meterRegistry)
+				.increment();
+		} else {
+			log.info("Plan for slow statement {}: {}", sql, plan);
+		}
+	}
+
+	private void remember(SlowQuery query) {
+		synchronized (recent) {
+			recent.addFirst(query);
+			while (recent.size() > history) {
+				recent.removeLast();
+			}
+		}
+	}
+
+	private static boolean isExplainable(String sql) {
+		final var operation = SqlFingerprint.operation(sql);
+		return switch (operation) {
+			case "select", "update", "delete", "insert", "with" -> true;
+			default -> false;
+		};
+	}
+
+	private static String format(Object value) {
+		if (value == null) {
+			return "NULL";
+		}
+		final var text = value instanceof String string ? "'" + string + "'" : String.valueOf(value);
+		return text.length() > MAX_PARAMETER_LENGTH ? text.substring(0, MAX_PARAMETER_LENGTH) + "..." : text;
+	}
+}
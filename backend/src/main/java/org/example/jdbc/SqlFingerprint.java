@@ -0,0 +1,49 @@
+package org.example.jdbc;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL text to a stable shape for grouping: literals become {@code ?}, {@code IN}
+ * lists collapse to one placeholder and whitespace is normalized, so
+ * {@code select ... where id in (1, 2, 3)} and {@code ... in (4)} share a fingerprint.
+ */
+public final class SqlFingerprint {
+
+	private static final int MAX_LENGTH = 200;
+
+	private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+	private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+	private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+	private static final Pattern TABLE = Pattern.compile("\\b(?:from|into|update|join)\\s+([A-Za-z_][\\w]*)", Pattern.CASE_INSENSITIVE);
+
+	private SqlFingerprint() {
+	}
+
+	public static String of(String sql) {
+		var result = STRING_LITERAL.matcher(sql).replaceAll("?");
+		result = NUMBER_LITERAL.matcher(result).replaceAll("?");
+		result = IN_LIST.matcher(result).replaceAll("(?)");
+		result = WHITESPACE.matcher(result).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+
+		return result.length() > MAX_LENGTH ? result.substring(0, MAX_LENGTH) : result;
+	}
+
+	/**
+	 * @return the leading keyword ({@code select}, {@code insert}, ...) in lower case
+	 */
+	public static String operation(String sql) {
+		final var trimmed = sql.stripLeading();
+		final var end = trimmed.indexOf(' ');
+		return (end < 0 ? trimmed : trimmed.substring(0, end)).toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * @return the first table the statement reads or writes, or {@code "none"}
+	 */
+	public static String table(String sql) {
+		final var matcher = TABLE.matcher(sql);
+		return matcher.find() ? matcher.group(1).toLowerCase(Locale.ROOT) : "none";
+	}
+}
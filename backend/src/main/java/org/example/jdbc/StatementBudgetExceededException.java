@@ -0,0 +1,12 @@
+package org.example.jdbc;
+
+/**
+ * Thrown in {@code fail} budget mode when a request issues more statements than
+ * {@code app.jdbc.statement-budget}, so performance regressions break the build.
+ */
+public class StatementBudgetExceededException extends IllegalStateException {
+
+	public StatementBudgetExceededException(int budget, String sql) {
+		super("Request exceeded the statement budget of " + budget + " with: " + sql);
+	}
+}
@@ -0,0 +1,18 @@
+package org.example.jdbc;
+
+import java.util.List;
+
+/**
+ * A finished JDBC statement as seen by {@link StatementListener}s.
+ *
+ * @param sql          the statement text, with {@code ?} placeholders for prepared statements
+ * @param parameters   bound parameter values by position (index 0 is parameter 1); empty for plain statements
+ * @param elapsedNanos wall-clock execution time
+ * @param error        the exception thrown by the driver, or {@code null}
+ */
+public record StatementExecution(String sql, List<Object> parameters, long elapsedNanos, Throwable error) {
+
+	public boolean failed() {
+		return error != null;
+	}
+}
@@ -0,0 +1,17 @@
+package org.example.jdbc;
+
+/**
+ * Callback around every statement executed through {@link ObservedDataSource}.
+ * <p>
+ * Both methods run synchronously on the executing thread, so {@link #beforeExecute} and
+ * {@link #afterExecute} for one statement always pair up on the same thread. Implementations
+ * must be cheap and must not throw unless they intend to fail the statement.
+ */
+public interface StatementListener {
+
+	default void beforeExecute(String sql) {
+	}
+
+	default void afterExecute(StatementExecution execution) {
+	}
+}
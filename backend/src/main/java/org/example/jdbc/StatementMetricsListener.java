@@ -0,0 +1,48 @@
+package org.example.jdbc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a {@code todo.jdbc.statement} timer with a percentile histogram per statement
+ * fingerprint. Fingerprints beyond {@code app.jdbc.max-fingerprints} share the
+ * {@code other} tag to keep the metric cardinality bounded.
+ */
+@Component
+public class StatementMetricsListener implements StatementListener {
+
+	private static final String OTHER = "other";
+
+	private final MeterRegistry meterRegistry;
+	private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+	@Value("${app.jdbc.max-fingerprints:200}")
+	private int maxFingerprints;
+
+	public StatementMetricsListener(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public void afterExecute(StatementExecution execution) {
+		var fingerprint = SqlFingerprint.of(execution.sql());
+		if (!timers.containsKey(fingerprint) && timers.size() >= maxFingerprints) {
+			fingerprint = OTHER;
+		}
+
+		timers.computeIfAbsent(fingerprint, key -> Timer.builder("todo.jdbc.statement")
+				.description("JDBC statement execution time")
+				.tag("operation", key.equals(OTHER) ? OTHER : SqlFingerprint.operation(key))
+				.tag("table", key.equals(OTHER) ? OTHER : SqlFingerprint.table(key))
+				.tag("statement", key)
+				.publishPercentileHistogram()
+				.register(meterRegistry))
+			.record(execution.elapsedNanos(), TimeUnit.NANOSECONDS);
+	}
+}
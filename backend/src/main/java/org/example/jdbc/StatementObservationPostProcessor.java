@@ -0,0 +1,42 @@
+package org.example.jdbc;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Wraps every {@link DataSource} bean in an {@link ObservedDataSource}.
+ * <p>
+ * Listener beans are only looked up once the context has been refreshed: statements run
+ * while the context starts (schema update, migrations) are not observed, which keeps
+ * listeners free to depend on JPA beans without creating a cycle.
+ */
+@Component
+public class StatementObservationPostProcessor implements BeanPostProcessor, ApplicationListener<ContextRefreshedEvent> {
+
+	private final ObjectProvider<StatementListener> listenerProvider;
+	private volatile List<StatementListener> listeners = List.of();
+
+	public StatementObservationPostProcessor(ObjectProvider<StatementListener> listenerProvider) {
+		this.listenerProvider = listenerProvider;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof DataSource dataSource && !(bean instanceof ObservedDataSource)) {
+			return new ObservedDataSource(dataSource, () -> listeners);
+		}
+
+		return bean;
+	}
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		listeners = listenerProvider.orderedStream().toList();
+	}
+}
@@ -0,0 +1,64 @@
+package org.example.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds {@link RequestStatements} for each request and reports N+1 patterns: the same
+ * statement fingerprint issued {@code app.jdbc.n-plus-one-threshold} or more times in one
+ * request is logged and counted in {@code todo.jdbc.n_plus_one}.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class StatementTrackingFilter extends OncePerRequestFilter {
+
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	@Value("${app.jdbc.n-plus-one-threshold:5}")
+	private int nPlusOneThreshold;
+
+	public StatementTrackingFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+		throws ServletException, IOException {
+		final var statements = RequestStatements.start();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			RequestStatements.clear();
+			reportRepeated(request, statements);
+		}
+	}
+
+	private void reportRepeated(HttpServletRequest request, RequestStatements statements) {
+		if (nPlusOneThreshold <= 0) {
+			return;
+		}
+
+		statements.repeatedAtLeast(nPlusOneThreshold).forEach((fingerprint, times) -> {
+			log.warn("Possible N+1 in {} {}: {} executed {} times", request.getMethod(), request.getRequestURI(), fingerprint, times);
+			meterRegistry.ifAvailable(registry -> Counter.builder("todo.jdbc.n_plus_one")
+				.description("Requests repeating one statement at least app.jdbc.n-plus-one-threshold times")
+				.tag("table", SqlFingerprint.table(fingerprint))
+				.register(registry)
+				.increment());
+		});
+	}
+}
@@ -0,0 +1,102 @@
+package org.example.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrency limit that adapts to observed latency (AIMD on a latency gradient).
+ * <p>
+ * Two exponentially weighted averages are kept over the samples: a short-term one that
+ * follows the last few dozen requests, and a long-term one that drifts over several hundred
+ * and serves as the baseline. While the short-term latency stays within
+ * {@code latencyTolerance} of the baseline and the limit is being used, the limit grows by
+ * one; once it exceeds the tolerance the limit is cut by {@code backoffRatio}. Comparing
+ * averages rather than single samples against the best one seen keeps a few fast responses
+ * (cache hits, empty pages) from making normal latency look like congestion. Requests beyond
+ * the limit are rejected rather than queued.
+ * <p>
+ * All state is updated lock-free, since every request releases through here.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+	private static final double SHORT_TERM_WEIGHT = 0.1;
+	private static final double LONG_TERM_WEIGHT = 0.005;
+	private static final long UNSET = Double.doubleToRawLongBits(Double.NaN);
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double latencyTolerance;
+	private final double backoffRatio;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicInteger limit;
+	// Averages in nanoseconds, stored as double bits
+	private final AtomicLong shortTermNanos = new AtomicLong(UNSET);
+	private final AtomicLong longTermNanos = new AtomicLong(UNSET);
+
+	public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double latencyTolerance, double backoffRatio) {
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.latencyTolerance = latencyTolerance;
+		this.backoffRatio = backoffRatio;
+		this.limit = new AtomicInteger(Math.max(minLimit, Math.min(maxLimit, initialLimit)));
+	}
+
+	public boolean tryAcquire() {
+		while (true) {
+			final var current = inFlight.get();
+			if (current >= limit.get()) {
+				return false;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Releases a permit obtained from {@link #tryAcquire()} and feeds its latency into the limit.
+	 */
+	public void release(long latencyNanos) {
+		final var inFlightBefore = inFlight.getAndDecrement();
+		onSample(latencyNanos, inFlightBefore);
+	}
+
+	/**
+	 * Releases a permit without a latency sample, for requests whose latency says nothing
+	 * about load (client errors, or requests turned away further down the chain).
+	 */
+	public void release() {
+		inFlight.decrementAndGet();
+	}
+
+	public int getLimit() {
+		return limit.get();
+	}
+
+	public int getInFlight() {
+		return inFlight.get();
+	}
+
+	private void onSample(long latencyNanos, int inFlightBefore) {
+		final var shortTerm = average(shortTermNanos, latencyNanos, SHORT_TERM_WEIGHT);
+		final var longTerm = average(longTermNanos, latencyNanos, LONG_TERM_WEIGHT);
+
+		if (shortTerm > longTerm * latencyTolerance) {
+			limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+		} else if (inFlightBefore * 2 >= limit.get()) {
+			limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+		}
+	}
+
+	private static double average(AtomicLong average, long sample, double weight) {
+		while (true) {
+			final var bits = average.get();
+			final var current = Double.longBitsToDouble(bits);
+			final var next = Double.isNaN(current) ? sample : current + (sample - current) * weight;
+			if (average.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+				return next;
+			}
+		}
+	}
+}
@@ -0,0 +1,227 @@
+package org.example.limit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Load shedding in front of the todo APIs ({@code /todos} and {@code /reactive/todos}).
+ * <p>
+ * Each client gets a token bucket and is answered with 429 once it is drained. Clients are
+ * keyed by remote address; the {@code X-Client-Id} header is only honoured on requests from a
+ * configured trusted proxy, since anyone else could rotate it to get a fresh bucket. Once
+ * {@code max-clients} buckets exist, further clients share one overflow bucket. Reads and writes then share separate adaptive
+ * concurrency limits; requests beyond the current limit get an immediate 503 instead of
+ * queueing in the servlet container. Both responses carry {@code Retry-After}.
+ * <p>
+ * Reactive handlers return from the filter chain as soon as async processing starts, so
+ * their permit is held until the async request completes, times out or fails.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+	private static final List<String> LIMITED_PATHS = List.of("/todos", "/reactive/todos");
+
+	// Keys are never blank, so this cannot collide with a client
+	private static final String OVERFLOW_KEY = "";
+
+	private final AdaptiveConcurrencyLimiter readLimiter;
+	private final AdaptiveConcurrencyLimiter writeLimiter;
+	private final Map<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+
+	@Value("${app.limit.enabled:true}")
+	private boolean enabled;
+
+	@Value("${app.limit.client-header:X-Client-Id}")
+	private String clientHeader;
+
+	@Value("${app.limit.trusted-proxies:}")
+	private Set<String> trustedProxies;
+
+	@Value("${app.limit.client.requests-per-second:100}")
+	private double clientRequestsPerSecond;
+
+	@Value("${app.limit.client.burst:200}")
+	private double clientBurst;
+
+	@Value("${app.limit.client.max-clients:10000}")
+	private int maxClients;
+
+	public ConcurrencyLimitFilter(
+		@Value("${app.limit.read.initial:20}") int readInitial,
+		@Value("${app.limit.read.min:4}") int readMin,
+		@Value("${app.limit.read.max:200}") int readMax,
+		@Value("${app.limit.write.initial:4}") int writeInitial,
+		@Value("${app.limit.write.min:1}") int writeMin,
+		@Value("${app.limit.write.max:32}") int writeMax,
+		@Value("${app.limit.latency-tolerance:2.0}") double latencyTolerance,
+		@Value("${app.limit.backoff-ratio:0.9}") double backoffRatio,
+		ObjectProvider<MeterRegistry> meterRegistry
+	) {
+		this.readLimiter = new AdaptiveConcurrencyLimiter(readInitial, readMin, readMax, latencyTolerance, backoffRatio);
+		this.writeLimiter = new AdaptiveConcurrencyLimiter(writeInitial, writeMin, writeMax, latencyTolerance, backoffRatio);
+
+		meterRegistry.ifAvailable(registry -> {
+			Gauge.builder("todo.limit.concurrency", readLimiter, AdaptiveConcurrencyLimiter::getLimit)
+				.tag("budget", "read").register(registry);
+			Gauge.builder("todo.limit.concurrency", writeLimiter, AdaptiveConcurrencyLimiter::getLimit)
+				.tag("budget", "write").register(registry);
+		});
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		final var uri = request.getRequestURI();
+		return !enabled || LIMITED_PATHS.stream().noneMatch(path -> uri.equals(path) || uri.startsWith(path + "/"));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+		throws ServletException, IOException {
+		final var bucket = clientBucket(clientKey(request));
+		if (!bucket.tryConsume()) {
+			reject(response, HttpStatus.TOO_MANY_REQUESTS, TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilAvailable()) + 1);
+			return;
+		}
+
+		final var limiter = isRead(request) ? readLimiter : writeLimiter;
+		if (!limiter.tryAcquire()) {
+			reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1);
+			return;
+		}
+
+		final var permit = new Permit(limiter, response, System.nanoTime());
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			if (request.isAsyncStarted()) {
+				request.getAsyncContext().addListener(permit);
+			} else {
+				permit.release(true);
+			}
+		}
+	}
+
+	/**
+	 * Drops buckets that have refilled completely; their clients have been idle long enough
+	 * that a fresh bucket is equivalent.
+	 */
+	@Scheduled(fixedDelayString = "${app.limit.client.cleanup-interval-ms:60000}")
+	public void evictIdleClients() {
+		clientBuckets.values().removeIf(TokenBucket::isFull);
+	}
+
+	private TokenBucket clientBucket(String key) {
+		final var bucket = clientBuckets.get(key);
+		if (bucket != null) {
+			return bucket;
+		}
+		return clientBuckets.computeIfAbsent(clientBuckets.size() < maxClients ? key : OVERFLOW_KEY,
+			ignored -> new TokenBucket(clientBurst, clientRequestsPerSecond));
+	}
+
+	private String clientKey(HttpServletRequest request) {
+		final var remoteAddr = request.getRemoteAddr();
+		if (trustedProxies.contains(remoteAddr)) {
+			final var clientId = request.getHeader(clientHeader);
+			if (StringUtils.hasText(clientId)) {
+				return clientId;
+			}
+		}
+		return remoteAddr;
+	}
+
+	private static boolean isRead(HttpServletRequest request) {
+		final var method = request.getMethod();
+		return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+	}
+
+	/**
+	 * Redirects, client errors and requests shed further down the chain (tenant limits,
+	 * replica writes) return without doing the work, so their latency would drag the
+	 * baseline down.
+	 */
+	private static boolean isLoadSample(int status) {
+		return status < 300 || status >= 500 && status != HttpStatus.SERVICE_UNAVAILABLE.value();
+	}
+
+	/**
+	 * Releases its permit exactly once: directly for a synchronous request, or from the async
+	 * callbacks. Timeouts and errors release without a latency sample, since the response
+	 * status at that point does not describe the work done.
+	 */
+	private static final class Permit implements AsyncListener {
+
+		private final AdaptiveConcurrencyLimiter limiter;
+		private final HttpServletResponse response;
+		private final long start;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		Permit(AdaptiveConcurrencyLimiter limiter, HttpServletResponse response, long start) {
+			this.limiter = limiter;
+			this.response = response;
+			this.start = start;
+		}
+
+		void release(boolean sample) {
+			if (!released.compareAndSet(false, true)) {
+				return;
+			}
+			if (sample && isLoadSample(response.getStatus())) {
+				limiter.release(System.nanoTime() - start);
+			} else {
+				limiter.release();
+			}
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			release(true);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			release(false);
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			release(false);
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			// A restarted async cycle drops its listeners
+			event.getAsyncContext().addListener(this);
+		}
+	}
+
+	private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) throws IOException {
+		response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+		response.sendError(status.value(), status.getReasonPhrase());
+	}
+}
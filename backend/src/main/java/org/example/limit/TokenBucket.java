@@ -0,0 +1,63 @@
+package org.example.limit;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe token bucket: holds up to {@code capacity} tokens and refills continuously
+ * at {@code refillPerSecond}.
+ */
+public class TokenBucket {
+
+	private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+	private final double capacity;
+	private final double refillPerNano;
+	private final LongSupplier nanoTime;
+
+	private double tokens;
+	private long lastRefill;
+
+	public TokenBucket(double capacity, double refillPerSecond) {
+		this(capacity, refillPerSecond, System::nanoTime);
+	}
+
+	TokenBucket(double capacity, double refillPerSecond, LongSupplier nanoTime) {
+		this.capacity = capacity;
+		this.refillPerNano = refillPerSecond / NANOS_PER_SECOND;
+		this.nanoTime = nanoTime;
+		this.tokens = capacity;
+		this.lastRefill = nanoTime.getAsLong();
+	}
+
+	public synchronized boolean tryConsume() {
+		refill();
+		if (tokens < 1d) {
+			return false;
+		}
+
+		tokens -= 1d;
+		return true;
+	}
+
+	/**
+	 * @return nanoseconds until a token becomes available, or zero if one is available now
+	 */
+	public synchronized long nanosUntilAvailable() {
+		refill();
+		return tokens >= 1d ? 0L : (long) Math.ceil((1d - tokens) / refillPerNano);
+	}
+
+	/**
+	 * @return whether the bucket has refilled to capacity, i.e. has been idle
+	 */
+	public synchronized boolean isFull() {
+		refill();
+		return tokens >= capacity;
+	}
+
+	private void refill() {
+		final var now = nanoTime.getAsLong();
+		tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+		lastRefill = now;
+	}
+}
@@ -0,0 +1,43 @@
+package org.example.mapper;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Converts the epoch-millisecond timestamps stored on entities to the UTC
+ * {@link LocalDateTime} values exposed by the API.
+ */
+public final class EpochMillis {
+
+	private EpochMillis() {
+	}
+
+	/**
+	 * @return the UTC date-time, or {@code null} for {@code 0} (not yet set)
+	 */
+	public static LocalDateTime toLocalDateTime(long epochMillis) {
+		if (epochMillis == 0L) {
+			return null;
+		}
+
+		final var seconds = Math.floorDiv(epochMillis, 1000L);
+		final var nanos = (int) Math.floorMod(epochMillis, 1000L) * 1_000_000;
+		return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+	}
+
+	/**
+	 * @return epoch milliseconds of a UTC date-time, or {@code 0} for {@code null}
+	 */
+	public static long toEpochMillis(LocalDateTime dateTime) {
+		if (dateTime == null) {
+			return 0L;
+		}
+
+		return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+	}
+
+	public static long toEpochDay(long epochMillis) {
+		return Math.floorDiv(epochMillis, 86_400_000L);
+	}
+
+}
@@ -1,17 +1,23 @@
 package org.example.mapper;
 
 import org.example.dto.TodoCreateDto;
+import org.example.dto.TodoNodeDto;
 import org.example.dto.TodoResponseDto;
+import org.example.model.Tag;
 import org.example.model.Todo;
+import org.example.model.TodoArchive;
 
 public class TodoMapper {
 
 	public static Todo toEntity(TodoCreateDto todoCreateDto) {
-		return new Todo(
+		final var todo = new Todo(
 			todoCreateDto.getTitle(),
 			todoCreateDto.getDescription(),
 			false
 		);
+		todo.setDueAt(EpochMillis.toEpochMillis(todoCreateDto.getDueAt()));
+		todo.setRemindAt(EpochMillis.toEpochMillis(todoCreateDto.getRemindAt()));
+		return todo;
 	}
 
 	public static TodoResponseDto toResponse(Todo todo) {
@@ -19,10 +25,54 @@ public class TodoMapper {
 			todo.getId(),
 			todo.getTitle(),
 			todo.getDescription(),
-			todo.getCompleted(),
-			todo.getCreatedAt(),
-			todo.getUpdatedAt()
+			todo.isCompleted(),
+			EpochMillis.toLocalDateTime(todo.getCreatedAt()),
+			EpochMillis.toLocalDateTime(todo.getUpdatedAt()),
+			todo.getParentId(),
+			todo.getTags().stream().map(Tag::getName).sorted().toList(),
+			EpochMillis.toLocalDateTime(todo.getDueAt()),
+			EpochMillis.toLocalDateTime(todo.getRemindAt())
 		);
 	}
 
+	public static TodoNodeDto toNode(Todo todo) {
+		return new TodoNodeDto(
+			todo.getId(),
+			todo.getParentId(),
+			todo.getDepth(),
+			todo.getTitle(),
+			todo.getDescription(),
+			todo.isCompleted(),
+			todo.getSubtreeSize(),
+			todo.getSubtreeCompleted(),
+			EpochMillis.toLocalDateTime(todo.getCreatedAt()),
+			EpochMillis.toLocalDateTime(todo.getUpdatedAt())
+		);
+	}
+
+	public static TodoResponseDto toResponse(TodoArchive todo) {
+		return new TodoResponseDto(
+			todo.getId(),
+			todo.getTitle(),
+			todo.getDescription(),
+			todo.isCompleted(),
+			EpochMillis.toLocalDateTime(todo.getCreatedAt()),
+			EpochMillis.toLocalDateTime(todo.getUpdatedAt())
+		);
+	}
+
+	public static TodoArchive toArchive(Todo todo, long archivedAt) {
+		final var archive = new TodoArchive();
+		archive.setId(todo.getId());
+		archive.setTenantId(todo.getTenantId());
+		archive.setTitle(todo.getTitle());
+		archive.setDescription(todo.getDescription());
+		archive.setCompleted(todo.isCompleted());
+		archive.setCreatedAt(todo.getCreatedAt());
+		archive.setUpdatedAt(todo.getUpdatedAt());
+		archive.setCompletedAt(todo.getCompletedAt());
+		archive.setArchivedAt(archivedAt);
+		return archive;
+	}
+
 }
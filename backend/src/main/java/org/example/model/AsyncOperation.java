@@ -0,0 +1,37 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Outcome of a queued create, written in the same transaction as the todo it produced.
+ */
+@Entity
+@Table(name = "async_operations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AsyncOperation {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OperationStatus status;
+
+    @Column(name = "todo_id")
+    private Long todoId;
+
+    @Column(length = 255)
+    private String error;
+
+    @Column(name = "completed_at", nullable = false)
+    private long completedAt;
+
+}
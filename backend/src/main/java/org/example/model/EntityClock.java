@@ -0,0 +1,24 @@
+package org.example.model;
+
+import java.time.Clock;
+
+/**
+ * Clock read by entity lifecycle callbacks, which JPA instantiates outside the Spring
+ * context. {@link org.example.config.EntityClockInitializer} installs the application {@link Clock}.
+ */
+public final class EntityClock {
+
+    private static volatile Clock clock = Clock.systemUTC();
+
+    private EntityClock() {
+    }
+
+    public static long millis() {
+        return clock.millis();
+    }
+
+    public static void use(Clock clock) {
+        EntityClock.clock = clock;
+    }
+
+}
@@ -0,0 +1,7 @@
+package org.example.model;
+
+public enum OperationStatus {
+    PENDING,
+    COMPLETED,
+    FAILED
+}
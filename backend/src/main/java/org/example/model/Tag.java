@@ -0,0 +1,34 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.example.tag.TagNames;
+
+/**
+ * A tenant-scoped label. Names are stored normalized, see {@link TagNames}.
+ */
+@Entity
+@Table(name = "tags", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_tags_tenant_name", columnNames = {"tenant_id", "name"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class Tag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Column(nullable = false, length = TagNames.MAX_LENGTH)
+    private String name;
+
+    public Tag(String tenantId, String name) {
+        this.tenantId = tenantId;
+        this.name = name;
+    }
+
+}
@@ -2,12 +2,19 @@ package org.example.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.example.tenant.TenantContext;
+import org.hibernate.annotations.BatchSize;
 
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "todos")
+@Table(name = "todos", indexes = {
+    @Index(name = "idx_todos_tenant_id", columnList = "tenant_id, id"),
+    @Index(name = "idx_todos_completed_updated_at", columnList = "completed, updated_at"),
+    @Index(name = "idx_todos_tenant_path", columnList = "tenant_id, path"),
+    @Index(name = "idx_todos_reminder", columnList = "reminded_at, remind_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,6 +24,9 @@ public class Todo {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "tenant_id", nullable = false, length = 64, columnDefinition = "varchar(64) default 'default'")
+    private String tenantId = TenantContext.DEFAULT_TENANT;
+
     @Column(nullable = false)
     private String title;
 
@@ -24,25 +34,94 @@ public class Todo {
     private String description;
 
     @Column(nullable = false)
-    private Boolean completed = false;
+    private boolean completed;
 
+    // Epoch milliseconds (UTC); see EpochMillis for the API representation
     @Column(name = "created_at", nullable = false, updatable = false)
     @Setter(lombok.AccessLevel.NONE)
-    private LocalDateTime createdAt;
+    private long createdAt;
 
     @Column(name = "updated_at")
     @Setter(lombok.AccessLevel.NONE)
-    private LocalDateTime updatedAt;
+    private long updatedAt;
+
+    // When the todo was last completed, 0 while open or if it was created completed
+    @Column(name = "completed_at", nullable = false, columnDefinition = "integer default 0")
+    private long completedAt;
+
+    // Epoch milliseconds, 0 when not set
+    @Column(name = "due_at", nullable = false, columnDefinition = "integer default 0")
+    private long dueAt;
+
+    @Column(name = "remind_at", nullable = false, columnDefinition = "integer default 0")
+    private long remindAt;
+
+    // Set when the reminder fired; claimed and re-armed with set-based updates, see ReminderScheduler
+    @Column(name = "reminded_at", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    @Setter(lombok.AccessLevel.NONE)
+    private long remindedAt;
+
+    // Tree columns are only written on insert; moves and rollups go through set-based
+    // updates in TodoRepository, so Hibernate must never overwrite them from a stale entity
+    @Column(name = "parent_id", updatable = false)
+    @Setter(lombok.AccessLevel.NONE)
+    private Long parentId;
+
+    // Ancestor ids, see TodoPath
+    @Column(nullable = false, updatable = false, length = 1024, columnDefinition = "varchar(1024) default '/'")
+    @Setter(lombok.AccessLevel.NONE)
+    private String path = TodoPath.ROOT;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "integer default 0")
+    @Setter(lombok.AccessLevel.NONE)
+    private int depth;
+
+    // Rollups over the subtree rooted at this todo, including itself
+    @Column(name = "subtree_size", nullable = false, updatable = false, columnDefinition = "integer default 1")
+    @Setter(lombok.AccessLevel.NONE)
+    private long subtreeSize = 1;
+
+    @Column(name = "subtree_completed", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    @Setter(lombok.AccessLevel.NONE)
+    private long subtreeCompleted;
+
+    // Loaded in batches so mapping a list of todos costs one extra query per batch, not per todo.
+    // The (tag_id, todo_id) index serves lookups by tag; the primary key serves lookups by todo.
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+        name = "todo_tags",
+        joinColumns = @JoinColumn(name = "todo_id"),
+        inverseJoinColumns = @JoinColumn(name = "tag_id"),
+        indexes = @Index(name = "idx_todo_tags_tag_todo", columnList = "tag_id, todo_id")
+    )
+    @BatchSize(size = 256)
+    private Set<Tag> tags = new HashSet<>();
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now(ZoneOffset.UTC);
-        updatedAt = LocalDateTime.now(ZoneOffset.UTC);
+        final var now = EntityClock.millis();
+        createdAt = now;
+        updatedAt = now;
+        subtreeCompleted = completed ? 1 : 0;
+    }
+
+    /**
+     * Places this (not yet persisted) todo under {@code parent}.
+     */
+    public void attachTo(Todo parent) {
+        parentId = parent.getId();
+        path = TodoPath.subtreePrefix(parent);
+        depth = parent.getDepth() + 1;
+    }
+
+    @PostPersist
+    protected void onInserted() {
+        TodoInsertListener.inserted(id);
     }
 
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now(ZoneOffset.UTC);
+        updatedAt = EntityClock.millis();
     }
 
     public Todo(String title, String description, boolean completed) {
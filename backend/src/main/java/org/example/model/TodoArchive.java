@@ -0,0 +1,64 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * A completed todo moved out of the hot {@code todos} table by the retention job.
+ */
+@Entity
+@Table(name = "todos_archive", indexes = {
+    @Index(name = "idx_todos_archive_tenant_id", columnList = "tenant_id, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoArchive implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(name = "created_at", nullable = false)
+    private long createdAt;
+
+    @Column(name = "updated_at")
+    private long updatedAt;
+
+    @Column(name = "completed_at", nullable = false, columnDefinition = "integer default 0")
+    private long completedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private long archivedAt;
+
+    // Ids are copied from todos, so tell Spring Data to insert instead of merge
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markPersisted() {
+        persisted = true;
+    }
+
+}
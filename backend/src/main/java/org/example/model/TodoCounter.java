@@ -0,0 +1,33 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Running per-tenant totals maintained incrementally by todo mutations.
+ */
+@Entity
+@Table(name = "todo_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoCounter {
+
+    @Id
+    @Column(name = "tenant_id", length = 64)
+    private String tenantId;
+
+    @Column(nullable = false)
+    private long total;
+
+    @Column(nullable = false)
+    private long completed;
+
+    @Column(name = "completion_count", nullable = false)
+    private long completionCount;
+
+    @Column(name = "completion_time_sum_ms", nullable = false)
+    private long completionTimeSumMs;
+
+}
@@ -0,0 +1,44 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Per-tenant, per-day rollup of todos created and completed.
+ */
+@Entity
+@Table(name = "todo_daily_stats")
+@IdClass(TodoDailyStat.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TodoDailyStat {
+
+    @Id
+    @Column(name = "tenant_id", length = 64)
+    private String tenantId;
+
+    @Id
+    @Column(name = "epoch_day")
+    private long epochDay;
+
+    @Column(nullable = false)
+    private long created;
+
+    @Column(nullable = false)
+    private long completed;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String tenantId;
+        private long epochDay;
+    }
+
+}
@@ -0,0 +1,25 @@
+package org.example.model;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Receives the id of every todo inserted through JPA, from {@link Todo}'s lifecycle callback.
+ * Like {@link EntityClock} it is a static hook because JPA creates entities outside the
+ * Spring context; {@link org.example.cache.TodoIdFilter} installs itself here.
+ */
+public final class TodoInsertListener {
+
+    private static volatile LongConsumer listener = id -> {};
+
+    private TodoInsertListener() {
+    }
+
+    public static void use(LongConsumer listener) {
+        TodoInsertListener.listener = listener;
+    }
+
+    static void inserted(long id) {
+        listener.accept(id);
+    }
+
+}
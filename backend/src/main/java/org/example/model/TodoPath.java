@@ -0,0 +1,54 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Materialized paths of the todo tree.
+ * <p>
+ * A todo's {@code path} lists its ancestor ids from the root, e.g. {@code /1/5/} for a child
+ * of 5 under root 1, and {@code /} for roots. Every descendant of a node therefore has a path
+ * starting with {@link #subtreePrefix}, which is queried as the index range
+ * {@code [prefix, upperBound(prefix))} instead of a {@code LIKE}.
+ */
+public final class TodoPath {
+
+	public static final String ROOT = "/";
+
+	private TodoPath() {
+	}
+
+	/**
+	 * @return the path of the children of {@code todo}
+	 */
+	public static String subtreePrefix(Todo todo) {
+		return todo.getPath() + todo.getId() + "/";
+	}
+
+	/**
+	 * {@code '0'} is the character right after {@code '/'}, so every string that starts with
+	 * {@code prefix} (which ends in {@code '/'}) sorts before the returned bound.
+	 */
+	public static String upperBound(String prefix) {
+		return prefix.substring(0, prefix.length() - 1) + '0';
+	}
+
+	public static List<Long> ancestorIds(String path) {
+		final var ids = new ArrayList<Long>();
+		var start = 1;
+		for (var end = path.indexOf('/', start); end > 0; end = path.indexOf('/', start)) {
+			ids.add(Long.parseLong(path, start, end, 10));
+			start = end + 1;
+		}
+		return ids;
+	}
+
+	/**
+	 * @return the ids of {@code todo} and all of its ancestors
+	 */
+	public static List<Long> selfAndAncestorIds(Todo todo) {
+		final var ids = ancestorIds(todo.getPath());
+		ids.add(todo.getId());
+		return ids;
+	}
+}
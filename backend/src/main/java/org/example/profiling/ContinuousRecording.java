@@ -0,0 +1,106 @@
+package org.example.profiling;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Always-on JFR recording with bounded retention.
+ * <p>
+ * Uses the JDK {@code default} settings (designed for production, ~1% overhead) plus the
+ * application events, and keeps the last {@code app.profiling.max-age-minutes} on disk.
+ * {@link #dump(Duration)} extracts a window of it without stopping the recording.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.profiling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ContinuousRecording {
+
+	@Value("${app.profiling.settings:default}")
+	private String settings;
+
+	@Value("${app.profiling.max-age-minutes:30}")
+	private long maxAgeMinutes;
+
+	@Value("${app.profiling.max-size-mb:100}")
+	private long maxSizeMb;
+
+	@Value("${app.profiling.event-threshold-ms:0}")
+	private long eventThresholdMs;
+
+	private Recording recording;
+
+	@PostConstruct
+	public void start() throws IOException, ParseException {
+		if (!FlightRecorder.isAvailable()) {
+			log.warn("Flight Recorder is not available, continuous profiling is disabled");
+			return;
+		}
+
+		recording = new Recording(Configuration.getConfiguration(settings));
+		recording.setName("todo-continuous");
+		recording.setToDisk(true);
+		recording.setMaxAge(Duration.ofMinutes(maxAgeMinutes));
+		recording.setMaxSize(maxSizeMb * 1024 * 1024);
+
+		final var threshold = Duration.ofMillis(eventThresholdMs);
+		recording.enable(TodoServiceEvent.class).withThreshold(threshold);
+		recording.enable(SqlStatementEvent.class).withThreshold(threshold);
+		recording.enable(SlowRequestEvent.class).withThreshold(Duration.ZERO);
+
+		recording.start();
+		log.info("Started continuous JFR recording ({} settings, {} min retention)", settings, maxAgeMinutes);
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (recording != null) {
+			recording.close();
+		}
+	}
+
+	public Duration getMaxAge() {
+		return Duration.ofMinutes(maxAgeMinutes);
+	}
+
+	/**
+	 * Writes the events of the last {@code window} to a temporary {@code .jfr} file. The
+	 * caller owns the returned file and must delete it.
+	 */
+	public Path dump(Duration window) throws IOException {
+		if (recording == null) {
+			throw new IllegalStateException("Continuous recording is not running");
+		}
+
+		final var snapshotFile = Files.createTempFile("todo-snapshot-", ".jfr");
+		final var windowFile = Files.createTempFile("todo-recording-", ".jfr");
+		try (var snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+			snapshot.dump(snapshotFile);
+
+			final var cutoff = Instant.now().minus(window);
+			try (var file = new RecordingFile(snapshotFile)) {
+				file.write(windowFile, event -> !event.getEndTime().isBefore(cutoff));
+			}
+			return windowFile;
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(windowFile);
+			throw e;
+		} finally {
+			Files.deleteIfExists(snapshotFile);
+		}
+	}
+}
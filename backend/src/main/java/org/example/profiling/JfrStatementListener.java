@@ -0,0 +1,42 @@
+package org.example.profiling;
+
+import org.example.jdbc.StatementExecution;
+import org.example.jdbc.StatementListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits a {@link SqlStatementEvent} per statement. The event is begun in
+ * {@link #beforeExecute} so its JFR duration covers the driver call itself.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.profiling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JfrStatementListener implements StatementListener {
+
+	private static final ThreadLocal<SqlStatementEvent> CURRENT = new ThreadLocal<>();
+
+	@Override
+	public void beforeExecute(String sql) {
+		final var event = new SqlStatementEvent();
+		if (event.isEnabled()) {
+			event.begin();
+			CURRENT.set(event);
+		}
+	}
+
+	@Override
+	public void afterExecute(StatementExecution execution) {
+		final var event = CURRENT.get();
+		if (event == null) {
+			return;
+		}
+
+		CURRENT.remove();
+		event.end();
+		if (event.shouldCommit()) {
+			event.sql = execution.sql();
+			event.failed = execution.failed();
+			event.commit();
+		}
+	}
+}
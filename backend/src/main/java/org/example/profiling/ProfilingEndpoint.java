@@ -0,0 +1,123 @@
+package org.example.profiling;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * {@code GET /actuator/profiling?minutes=N} downloads the last {@code N} minutes of the
+ * continuous recording as a {@code .jfr} file.
+ * <p>
+ * Recordings contain SQL text with bound parameters, so this is an actuator endpoint and is
+ * only reachable on the management port, not the public API port.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "profiling")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.profiling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ProfilingEndpoint {
+
+	private static final long DEFAULT_MINUTES = 5;
+
+	private final ContinuousRecording continuousRecording;
+
+	@ReadOperation(produces = "application/octet-stream")
+	public WebEndpointResponse<Resource> recording(@Nullable Long minutes) {
+		final var window = minutes != null ? minutes : DEFAULT_MINUTES;
+		final var maxMinutes = continuousRecording.getMaxAge().toMinutes();
+		if (window < 1 || window > maxMinutes) {
+			throw new InvalidEndpointRequestException("minutes must be between 1 and " + maxMinutes, "Invalid minutes");
+		}
+
+		try {
+			return new WebEndpointResponse<>(new TemporaryFileResource(continuousRecording.dump(Duration.ofMinutes(window))));
+		} catch (IOException | IllegalStateException e) {
+			log.warn("Recording unavailable: {}", e.getMessage());
+			return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+		}
+	}
+
+	/**
+	 * A dump that is deleted once it has been streamed to the client.
+	 */
+	private static final class TemporaryFileResource extends FileSystemResource {
+
+		private final Path file;
+
+		TemporaryFileResource(Path file) {
+			super(file);
+			this.file = file;
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return new FilterInputStream(super.getInputStream()) {
+				@Override
+				public void close() throws IOException {
+					try {
+						super.close();
+					} finally {
+						deleteFile();
+					}
+				}
+			};
+		}
+
+		@Override
+		public ReadableByteChannel readableChannel() throws IOException {
+			final var channel = super.readableChannel();
+			return new ReadableByteChannel() {
+				@Override
+				public int read(ByteBuffer dst) throws IOException {
+					return channel.read(dst);
+				}
+
+				@Override
+				public boolean isOpen() {
+					return channel.isOpen();
+				}
+
+				@Override
+				public void close() throws IOException {
+					try {
+						channel.close();
+					} finally {
+						deleteFile();
+					}
+				}
+			};
+		}
+
+		@Override
+		public boolean isFile() {
+			// Keeps the server from sending the file zero-copy, which would bypass the delete on close
+			return false;
+		}
+
+		private void deleteFile() {
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				log.warn("Failed to delete recording dump {}", file, e);
+			}
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package org.example.profiling;
+
+import org.example.jdbc.StatementExecution;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * SQL timings of the request being served on the current thread, collected by
+ * {@link RequestProfilingListener} and reported by {@link SlowRequestFilter}.
+ */
+public final class RequestProfile {
+
+	private static final int MAX_RECORDED_STATEMENTS = 50;
+
+	private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+	private final List<StatementExecution> statements = new ArrayList<>();
+	private int statementCount;
+	private long sqlNanos;
+
+	/**
+	 * @return the profile of the current request, or {@code null} outside a profiled request
+	 */
+	public static RequestProfile current() {
+		return CURRENT.get();
+	}
+
+	static RequestProfile start() {
+		final var profile = new RequestProfile();
+		CURRENT.set(profile);
+		return profile;
+	}
+
+	static void clear() {
+		CURRENT.remove();
+	}
+
+	void record(StatementExecution execution) {
+		statementCount++;
+		sqlNanos += execution.elapsedNanos();
+		if (statements.size() < MAX_RECORDED_STATEMENTS) {
+			statements.add(execution);
+		}
+	}
+
+	public int getStatementCount() {
+		return statementCount;
+	}
+
+	public long getSqlNanos() {
+		return sqlNanos;
+	}
+
+	/**
+	 * @return up to {@code limit} recorded statements, slowest first, formatted as {@code <ms> ms  <sql>}
+	 */
+	String describeSlowest(int limit) {
+		return statements.stream()
+			.sorted(Comparator.comparingLong(StatementExecution::elapsedNanos).reversed())
+			.limit(limit)
+			.map(execution -> "%.3f ms  %s".formatted(execution.elapsedNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1), execution.sql()))
+			.collect(Collectors.joining("\n"));
+	}
+}
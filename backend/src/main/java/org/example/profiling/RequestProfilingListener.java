@@ -0,0 +1,22 @@
+package org.example.profiling;
+
+import org.example.jdbc.StatementExecution;
+import org.example.jdbc.StatementListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds every statement to the {@link RequestProfile} of the current request, if any.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.profiling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestProfilingListener implements StatementListener {
+
+	@Override
+	public void afterExecute(StatementExecution execution) {
+		final var profile = RequestProfile.current();
+		if (profile != null) {
+			profile.record(execution);
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("org.example.SlowRequest")
+@Label("Slow Request")
+@Description("An HTTP request that exceeded app.profiling.slow-request-ms")
+@Category({"Todo App", "HTTP"})
+@StackTrace(false)
+public class SlowRequestEvent extends Event {
+
+	@Label("Method")
+	String method;
+
+	@Label("URI")
+	String uri;
+
+	@Label("Status")
+	int status;
+
+	@Label("SQL Statements")
+	int sqlCount;
+
+	@Label("SQL Time")
+	@Timespan(Timespan.NANOSECONDS)
+	long sqlTime;
+
+	@Label("SQL Timings")
+	@Description("Slowest statements of the request, one per line")
+	String sqlTimings;
+}
@@ -0,0 +1,77 @@
+package org.example.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records requests slower than {@code app.profiling.slow-request-ms} together with the SQL
+ * they ran: as a {@link SlowRequestEvent} in the rolling recording, and as a warning log.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "app.profiling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowRequestFilter extends OncePerRequestFilter {
+
+	private static final int LOGGED_STATEMENTS = 10;
+
+	@Value("${app.profiling.slow-request-ms:500}")
+	private long slowRequestMs;
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+		throws ServletException, IOException {
+		final var event = new SlowRequestEvent();
+		event.begin();
+		final var profile = RequestProfile.start();
+		final var start = System.nanoTime();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			RequestProfile.clear();
+			event.end();
+
+			final var elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			if (elapsedMs >= slowRequestMs) {
+				report(request, response, profile, event, elapsedMs);
+			}
+		}
+	}
+
+	private void report(HttpServletRequest request, HttpServletResponse response, RequestProfile profile,
+						SlowRequestEvent event, long elapsedMs) {
+		final var timings = profile.describeSlowest(LOGGED_STATEMENTS);
+
+		if (event.shouldCommit()) {
+			event.method = request.getMethod();
+			event.uri = request.getRequestURI();
+			event.status = response.getStatus();
+			event.sqlCount = profile.getStatementCount();
+			event.sqlTime = profile.getSqlNanos();
+			event.sqlTimings = timings;
+			event.commit();
+		}
+
+		log.warn("Slow request {} {} -> {} took {} ms ({} statements, {} ms in SQL){}{}",
+			request.getMethod(),
+			request.getRequestURI(),
+			response.getStatus(),
+			elapsedMs,
+			profile.getStatementCount(),
+			TimeUnit.NANOSECONDS.toMillis(profile.getSqlNanos()),
+			timings.isEmpty() ? "" : "\n",
+			timings);
+	}
+}
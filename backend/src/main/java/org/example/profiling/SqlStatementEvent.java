@@ -0,0 +1,22 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.SqlStatement")
+@Label("SQL Statement")
+@Description("One JDBC statement executed against SQLite")
+@Category({"Todo App", "JDBC"})
+@StackTrace(false)
+public class SqlStatementEvent extends Event {
+
+	@Label("SQL")
+	String sql;
+
+	@Label("Failed")
+	boolean failed;
+}
@@ -0,0 +1,25 @@
+package org.example.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.example.TodoService")
+@Label("TodoService Call")
+@Description("One call into TodoService")
+@Category({"Todo App", "Service"})
+@StackTrace(false)
+public class TodoServiceEvent extends Event {
+
+	@Label("Method")
+	String method;
+
+	@Label("Tenant")
+	String tenant;
+
+	@Label("Failed")
+	boolean failed;
+}
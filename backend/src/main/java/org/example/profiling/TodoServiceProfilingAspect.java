@@ -0,0 +1,42 @@
+package org.example.profiling;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.example.tenant.TenantContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps each {@link org.example.service.TodoService} call in a {@link TodoServiceEvent}.
+ * When no recording has the event enabled this costs one {@code isEnabled()} check.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "app.profiling", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TodoServiceProfilingAspect {
+
+	@Around("execution(* org.example.service.TodoService.*(..))")
+	public Object profile(ProceedingJoinPoint joinPoint) throws Throwable {
+		final var event = new TodoServiceEvent();
+		if (!event.isEnabled()) {
+			return joinPoint.proceed();
+		}
+
+		event.begin();
+		var failed = true;
+		try {
+			final var result = joinPoint.proceed();
+			failed = false;
+			return result;
+		} finally {
+			event.end();
+			if (event.shouldCommit()) {
+				event.method = joinPoint.getSignature().getName();
+				event.tenant = TenantContext.current();
+				event.failed = failed;
+				event.commit();
+			}
+		}
+	}
+}
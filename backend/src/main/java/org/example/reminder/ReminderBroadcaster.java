@@ -0,0 +1,56 @@
+package org.example.reminder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.event.ReminderDueEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Pushes due reminders to the tenant's open {@code /reminders/stream} connections.
+ */
+@Slf4j
+@Component
+public class ReminderBroadcaster {
+
+	private final ConcurrentMap<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+	@Value("${app.reminders.sse-timeout-ms:1800000}")
+	private long timeoutMillis;
+
+	public SseEmitter subscribe(String tenant) {
+		final var emitter = new SseEmitter(timeoutMillis);
+		final var emitters = subscribers.computeIfAbsent(tenant, key -> new CopyOnWriteArrayList<>());
+		emitters.add(emitter);
+
+		emitter.onCompletion(() -> emitters.remove(emitter));
+		emitter.onTimeout(emitter::complete);
+		emitter.onError(e -> emitters.remove(emitter));
+
+		return emitter;
+	}
+
+	@EventListener
+	public void onReminderDue(ReminderDueEvent event) {
+		final var emitters = subscribers.get(event.tenantId());
+		if (emitters == null) {
+			return;
+		}
+
+		for (final var emitter : emitters) {
+			try {
+				emitter.send(SseEmitter.event().name("reminder").id(Long.toString(event.todoId())).data(event));
+			} catch (IOException | IllegalStateException e) {
+				log.debug("Dropping reminder subscriber: {}", e.getMessage());
+				emitters.remove(emitter);
+			}
+		}
+	}
+}
@@ -0,0 +1,312 @@
+package org.example.reminder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.event.DatabaseRestoredEvent;
+import org.example.event.ReminderDueEvent;
+import org.example.mapper.EpochMillis;
+import org.example.replication.ReplicationRole;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires todo reminders from a {@link TimerWheel} instead of polling for due rows.
+ * <p>
+ * Only reminders due within {@code app.reminders.horizon-ms} are held in memory. They are
+ * read page by page from the {@code (reminded_at, remind_at)} index, and the window is
+ * extended every half horizon; {@link #loadedUntil} marks how far it reaches. A reminder set
+ * by a write goes straight into the wheel when it falls inside the window, and is left for
+ * the loader otherwise.
+ * <p>
+ * The wheel is never searched or edited in place. A reminder fires only if the claim
+ * {@code UPDATE ... WHERE remind_at = <deadline> AND reminded_at = 0} still matches. So
+ * changed, cleared, completed and deleted reminders drop out when their old deadline comes
+ * round, and a reminder is delivered at most once. Claims live in the database, so a restart
+ * picks up where it left off: the first load starts at the beginning of time and fires what
+ * came due while the service was down.
+ * <p>
+ * Loads run on their own thread, so a slow page read never delays the ticks, and each batch
+ * of claims is a single transaction rather than one commit per reminder.
+ */
+@Slf4j
+@Component
+public class ReminderScheduler {
+
+	private static final String CLAIM_SQL =
+		"UPDATE todos SET reminded_at = ? WHERE id = ? AND remind_at = ? AND reminded_at = 0 AND completed = 0";
+	private static final String LOAD_SQL = """
+		SELECT id, remind_at FROM todos
+		WHERE reminded_at = 0 AND remind_at < ? AND (remind_at, id) > (?, ?) AND completed = 0
+		ORDER BY remind_at, id
+		LIMIT ?
+		""";
+	private static final int FETCH_CHUNK = 500;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ApplicationEventPublisher eventPublisher;
+	private final Clock clock;
+	private final Counter fired;
+	private final Timer lateness;
+
+	@Value("${app.reminders.enabled:true}")
+	private boolean enabled;
+
+	@Value("${app.replication.role:standalone}")
+	private ReplicationRole replicationRole;
+
+	@Value("${app.reminders.tick-ms:100}")
+	private long tickMillis;
+
+	@Value("${app.reminders.horizon-ms:120000}")
+	private long horizonMillis;
+
+	@Value("${app.reminders.load-batch-size:5000}")
+	private int loadBatchSize;
+
+	private TimerWheel wheel;
+	private volatile long loadedUntil;
+	private ScheduledExecutorService ticker;
+	private ScheduledExecutorService loader;
+	private ExecutorService delivery;
+
+	public ReminderScheduler(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+							 ApplicationEventPublisher eventPublisher, Clock clock, MeterRegistry meterRegistry) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = transactionTemplate;
+		this.eventPublisher = eventPublisher;
+		this.clock = clock;
+		this.fired = Counter.builder("todo.reminders.fired")
+			.description("Reminders delivered")
+			.register(meterRegistry);
+		this.lateness = Timer.builder("todo.reminders.lateness")
+			.description("Delay between a reminder's time and its delivery")
+			.publishPercentileHistogram()
+			.register(meterRegistry);
+		meterRegistry.gauge("todo.reminders.pending", this, scheduler -> scheduler.pending());
+	}
+
+	// Replicas are read-only; the primary fires
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (!enabled || replicationRole == ReplicationRole.REPLICA) {
+			return;
+		}
+
+		synchronized (this) {
+			wheel = new TimerWheel(tickMillis, clock.millis());
+		}
+		load(1);
+
+		ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("reminder-ticker").daemon().factory());
+		loader = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("reminder-loader").daemon().factory());
+		delivery = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("reminder-delivery").daemon().factory());
+		ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+		loader.scheduleWithFixedDelay(() -> load(loadedUntil), horizonMillis / 2, horizonMillis / 2, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (ticker != null) {
+			ticker.shutdownNow();
+			loader.shutdownNow();
+			delivery.shutdown();
+		}
+	}
+
+	/**
+	 * The restored database has its own reminder state, so the wheel is rebuilt from it.
+	 */
+	@EventListener(DatabaseRestoredEvent.class)
+	public void reload() {
+		if (loader == null) {
+			return;
+		}
+
+		loader.execute(() -> {
+			synchronized (this) {
+				wheel = new TimerWheel(tickMillis, clock.millis());
+				loadedUntil = 0;
+			}
+			load(1);
+		});
+	}
+
+	/**
+	 * Schedules a reminder set by the current transaction, once it commits.
+	 */
+	public void schedule(long todoId, long remindAt) {
+		if (remindAt <= 0) {
+			return;
+		}
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					add(todoId, remindAt);
+				}
+			});
+		} else {
+			add(todoId, remindAt);
+		}
+	}
+
+	synchronized int pending() {
+		return wheel == null ? 0 : wheel.size();
+	}
+
+	private synchronized void add(long todoId, long remindAt) {
+		// Beyond the window the loader will find it; a duplicate from both is dropped by the claim
+		if (wheel != null && remindAt < loadedUntil) {
+			wheel.add(todoId, remindAt);
+		}
+	}
+
+	/**
+	 * Loads reminders from {@code from} up to the end of the new window. The window is
+	 * extended before reading, so writes committed meanwhile are either seen by the query or
+	 * added by {@link #add}.
+	 */
+	private void load(long from) {
+		final var until = clock.millis() + horizonMillis;
+		synchronized (this) {
+			loadedUntil = until;
+		}
+
+		var afterRemindAt = from;
+		var afterId = 0L;
+		var loaded = 0;
+		try {
+			while (true) {
+				final var ids = new ArrayList<Long>(loadBatchSize);
+				final var deadlines = new ArrayList<Long>(loadBatchSize);
+				jdbcTemplate.query(LOAD_SQL, (RowCallbackHandler) rs -> {
+					ids.add(rs.getLong(1));
+					deadlines.add(rs.getLong(2));
+				}, until, afterRemindAt, afterId, loadBatchSize);
+
+				synchronized (this) {
+					for (var i = 0; i < ids.size(); i++) {
+						wheel.add(ids.get(i), deadlines.get(i));
+					}
+				}
+				loaded += ids.size();
+				if (ids.size() < loadBatchSize) {
+					break;
+				}
+				afterRemindAt = deadlines.get(deadlines.size() - 1);
+				afterId = ids.get(ids.size() - 1);
+			}
+		} catch (RuntimeException e) {
+			// Resume from the last complete page on the next run
+			synchronized (this) {
+				loadedUntil = Math.min(loadedUntil, afterRemindAt);
+			}
+			log.warn("Failed to load reminders up to {}", until, e);
+		}
+
+		if (loaded > 0) {
+			log.debug("Loaded {} reminders due before {}", loaded, until);
+		}
+	}
+
+	private void tick() {
+		final var ids = new ArrayList<Long>();
+		final var deadlines = new ArrayList<Long>();
+		try {
+			synchronized (this) {
+				wheel.advance(clock.millis(), (id, deadline) -> {
+					ids.add(id);
+					deadlines.add(deadline);
+				});
+			}
+		} catch (RuntimeException e) {
+			log.warn("Reminder tick failed", e);
+			return;
+		}
+
+		if (!ids.isEmpty()) {
+			delivery.execute(() -> fire(ids, deadlines));
+		}
+	}
+
+	private void fire(List<Long> ids, List<Long> deadlines) {
+		try {
+			final var now = clock.millis();
+			// Published only after the claims commit, so a rolled back claim is never delivered
+			final var counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(CLAIM_SQL, new BatchPreparedStatementSetter() {
+				@Override
+				public void setValues(PreparedStatement ps, int i) throws SQLException {
+					ps.setLong(1, now);
+					ps.setLong(2, ids.get(i));
+					ps.setLong(3, deadlines.get(i));
+				}
+
+				@Override
+				public int getBatchSize() {
+					return ids.size();
+				}
+			}));
+
+			final var claimed = new ArrayList<Long>();
+			for (var i = 0; i < counts.length; i++) {
+				if (counts[i] > 0) {
+					claimed.add(ids.get(i));
+				}
+			}
+			for (var start = 0; start < claimed.size(); start += FETCH_CHUNK) {
+				publish(claimed.subList(start, Math.min(start + FETCH_CHUNK, claimed.size())), now);
+			}
+		} catch (RuntimeException e) {
+			log.warn("Failed to fire {} reminders", ids.size(), e);
+		}
+	}
+
+	private void publish(List<Long> ids, long firedAt) {
+		final var placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+		final var events = jdbcTemplate.query(
+			"SELECT id, tenant_id, title, due_at, remind_at FROM todos WHERE id IN (" + placeholders + ")",
+			(rs, rowNum) -> new ReminderDueEvent(
+				rs.getLong(1),
+				rs.getString(2),
+				rs.getString(3),
+				EpochMillis.toLocalDateTime(rs.getLong(4)),
+				EpochMillis.toLocalDateTime(rs.getLong(5)),
+				EpochMillis.toLocalDateTime(firedAt)
+			),
+			ids.toArray()
+		);
+
+		for (final var event : events) {
+			if (event.remindAt() != null) {
+				lateness.record(Math.max(0, firedAt - EpochMillis.toEpochMillis(event.remindAt())), TimeUnit.MILLISECONDS);
+			}
+			fired.increment();
+			eventPublisher.publishEvent(event);
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package org.example.reminder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.event.ReminderDueEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * POSTs each due reminder as JSON to {@code app.reminders.webhook-url}, when set. Delivery is
+ * fire-and-forget: failures are logged, not retried.
+ */
+@Slf4j
+@Component
+public class ReminderWebhook {
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+	private final ObjectMapper objectMapper;
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+
+	@Value("${app.reminders.webhook-url:}")
+	private String webhookUrl;
+
+	public ReminderWebhook(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	@EventListener
+	public void onReminderDue(ReminderDueEvent event) {
+		if (webhookUrl == null || webhookUrl.isBlank()) {
+			return;
+		}
+
+		final String body;
+		try {
+			body = objectMapper.writeValueAsString(event);
+		} catch (JsonProcessingException e) {
+			log.warn("Failed to serialize reminder for todo {}", event.todoId(), e);
+			return;
+		}
+
+		final var request = HttpRequest.newBuilder(URI.create(webhookUrl))
+			.timeout(TIMEOUT)
+			.header("Content-Type", "application/json")
+			.POST(HttpRequest.BodyPublishers.ofString(body))
+			.build();
+		client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+			.whenComplete((response, e) -> {
+				if (e != null) {
+					log.warn("Reminder webhook for todo {} failed: {}", event.todoId(), e.getMessage());
+				} else if (response.statusCode() >= 300) {
+					log.warn("Reminder webhook for todo {} answered {}", event.todoId(), response.statusCode());
+				}
+			});
+	}
+}
@@ -0,0 +1,156 @@
+package org.example.reminder;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical timer wheel holding {@code (id, deadline)} pairs.
+ * <p>
+ * {@value #LEVELS} levels of {@value #SLOTS} slots each; level {@code n} slots span
+ * {@code 64^n} ticks. A timer is placed on the lowest level whose range covers it and moves
+ * down a level each time the wheel below completes a turn, so adding is O(1) and each
+ * advance touches only the slots that come due. Timers never fire early: a deadline fires
+ * on the first tick at or after it, so at most one tick late.
+ * <p>
+ * Timers are stored as two longs in a per-slot array, about 16 bytes each plus
+ * growth slack, and there is no index by id: cancelled timers stay in place and are
+ * discarded by the caller when they fire. Not thread-safe.
+ */
+public class TimerWheel {
+
+	private static final int BITS = 6;
+	private static final int SLOTS = 1 << BITS;
+	private static final int MASK = SLOTS - 1;
+	private static final int LEVELS = 5;
+	private static final long MAX_DELTA = (1L << (BITS * LEVELS)) - 1;
+
+	private static final int BUCKET_OVERHEAD_BYTES = 32;
+
+	@FunctionalInterface
+	public interface ExpiryHandler {
+
+		void expired(long id, long deadline);
+	}
+
+	private final long tickMillis;
+	private final Bucket[][] levels = new Bucket[LEVELS][SLOTS];
+	// Next tick to process
+	private long currentTick;
+	private int size;
+
+	public TimerWheel(long tickMillis, long startMillis) {
+		if (tickMillis <= 0) {
+			throw new IllegalArgumentException("tickMillis must be positive");
+		}
+		this.tickMillis = tickMillis;
+		this.currentTick = Math.floorDiv(startMillis, tickMillis);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Adds a timer; deadlines in the past fire on the next {@link #advance}.
+	 */
+	public void add(long id, long deadline) {
+		place(id, deadline);
+		size++;
+	}
+
+	/**
+	 * Processes every tick up to {@code nowMillis}, handing expired timers to {@code handler}.
+	 */
+	public void advance(long nowMillis, ExpiryHandler handler) {
+		final var target = Math.floorDiv(nowMillis, tickMillis);
+		while (currentTick <= target) {
+			if (size == 0) {
+				currentTick = target + 1;
+				return;
+			}
+
+			final var index = (int) (currentTick & MASK);
+			if (index == 0) {
+				cascade();
+			}
+
+			final var bucket = levels[0][index];
+			if (bucket != null) {
+				levels[0][index] = null;
+				size -= bucket.size;
+				for (var i = 0; i < bucket.size; i++) {
+					handler.expired(bucket.entries[2 * i], bucket.entries[2 * i + 1]);
+				}
+			}
+			currentTick++;
+		}
+	}
+
+	/**
+	 * @return approximate heap retained by the wheel's slots
+	 */
+	public long footprintBytes() {
+		var bytes = (long) LEVELS * (16 + 4L * SLOTS);
+		for (final var level : levels) {
+			for (final var bucket : level) {
+				if (bucket != null) {
+					bytes += BUCKET_OVERHEAD_BYTES + 8L * bucket.entries.length;
+				}
+			}
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * Called when level 0 starts a new turn: moves the due slot of each level whose own turn
+	 * also completed one level down.
+	 */
+	private void cascade() {
+		for (var level = 1; level < LEVELS; level++) {
+			final var index = (int) ((currentTick >>> (BITS * level)) & MASK);
+			final var bucket = levels[level][index];
+			if (bucket != null) {
+				levels[level][index] = null;
+				for (var i = 0; i < bucket.size; i++) {
+					place(bucket.entries[2 * i], bucket.entries[2 * i + 1]);
+				}
+			}
+			if (index != 0) {
+				return;
+			}
+		}
+	}
+
+	private void place(long id, long deadline) {
+		final var tick = Math.max(Math.ceilDiv(deadline, tickMillis), currentTick);
+		final var delta = Math.min(tick - currentTick, MAX_DELTA);
+		var level = 0;
+		while (delta >= 1L << (BITS * (level + 1))) {
+			level++;
+		}
+
+		final var slot = (int) (((currentTick + delta) >>> (BITS * level)) & MASK);
+		var bucket = levels[level][slot];
+		if (bucket == null) {
+			bucket = new Bucket();
+			levels[level][slot] = bucket;
+		}
+		bucket.add(id, deadline);
+	}
+
+	private static final class Bucket {
+
+		private long[] entries = new long[8];
+		private int size;
+
+		void add(long id, long deadline) {
+			if (2 * size == entries.length) {
+				// Grow by half, rounded to keep pairs aligned
+				entries = Arrays.copyOf(entries, (entries.length + (entries.length >> 1) + 1) & ~1);
+			}
+			entries[2 * size] = id;
+			entries[2 * size + 1] = deadline;
+			size++;
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package org.example.replication;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Replicas are read-only: every request with a method other than GET, HEAD or OPTIONS is
+ * redirected to the primary with a method-preserving 307, or rejected with 503 when no
+ * primary URL is configured. Matching on the method rather than on paths covers every API
+ * ({@code /todos}, {@code /reactive/todos}, ...) without listing them. {@code POST /todos/query}
+ * only reads and is served locally.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.replication", name = "role", havingValue = "replica")
+public class ReplicaWriteFilter extends OncePerRequestFilter {
+
+	private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+	private static final String QUERY_PATH = "/todos/query";
+
+	@Value("${app.replication.primary-url:}")
+	private String primaryUrl;
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return READ_METHODS.contains(request.getMethod()) || request.getRequestURI().equals(QUERY_PATH);
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+		throws ServletException, IOException {
+		if (primaryUrl.isBlank()) {
+			response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Writes are not accepted by a replica");
+			return;
+		}
+
+		final var query = request.getQueryString();
+		response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+		response.setHeader(HttpHeaders.LOCATION, primaryUrl + request.getRequestURI() + (query == null ? "" : "?" + query));
+	}
+}
@@ -0,0 +1,10 @@
+package org.example.replication;
+
+/**
+ * Value of {@code app.replication.role}, bound case-insensitively.
+ */
+public enum ReplicationRole {
+	STANDALONE,
+	PRIMARY,
+	REPLICA
+}
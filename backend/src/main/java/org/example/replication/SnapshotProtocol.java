@@ -0,0 +1,102 @@
+package org.example.replication;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Wire format used between the primary and its replicas.
+ * <p>
+ * Request: {@code magic:int, knownVersion:long}.
+ * Response: {@code magic:int, version:long, length:long, bytes[length]}, where a length of
+ * zero means the replica already holds the latest snapshot. {@code version} is then the time
+ * the primary last confirmed that snapshot current.
+ */
+final class SnapshotProtocol {
+
+	static final int MAGIC = 0x54444f53;
+	static final long NO_VERSION = -1L;
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private SnapshotProtocol() {
+	}
+
+	/**
+	 * @param version  version of the received snapshot, or for an up-to-date reply the time the
+	 *                 primary last confirmed the replica's snapshot current
+	 * @param snapshot whether a snapshot was written to the target
+	 */
+	record Response(long version, boolean snapshot) {}
+
+	static void writeRequest(OutputStream stream, long knownVersion) throws IOException {
+		final var out = new DataOutputStream(stream);
+		out.writeInt(MAGIC);
+		out.writeLong(knownVersion);
+		out.flush();
+	}
+
+	static long readRequest(InputStream stream) throws IOException {
+		final var in = new DataInputStream(stream);
+		checkMagic(in.readInt());
+		return in.readLong();
+	}
+
+	static void writeUpToDate(OutputStream stream, long checkedAt) throws IOException {
+		final var out = new DataOutputStream(stream);
+		out.writeInt(MAGIC);
+		out.writeLong(checkedAt);
+		out.writeLong(0L);
+		out.flush();
+	}
+
+	static void writeSnapshot(OutputStream stream, long version, Path file) throws IOException {
+		final var out = new DataOutputStream(stream);
+		out.writeInt(MAGIC);
+		out.writeLong(version);
+		out.writeLong(Files.size(file));
+		Files.copy(file, out);
+		out.flush();
+	}
+
+	/**
+	 * Reads a response, writing any snapshot payload to {@code target}.
+	 */
+	static Response readSnapshot(InputStream stream, Path target) throws IOException {
+		final var in = new DataInputStream(stream);
+		checkMagic(in.readInt());
+		final var version = in.readLong();
+		final var length = in.readLong();
+		if (length == 0L) {
+			return new Response(version, false);
+		}
+
+		final var tmp = target.resolveSibling(target.getFileName() + ".part");
+		try (var out = Files.newOutputStream(tmp)) {
+			final var buffer = new byte[BUFFER_SIZE];
+			var remaining = length;
+			while (remaining > 0) {
+				final var read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+				if (read < 0) {
+					throw new IOException("Snapshot stream ended " + remaining + " bytes early");
+				}
+				out.write(buffer, 0, read);
+				remaining -= read;
+			}
+		}
+		Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		return new Response(version, true);
+	}
+
+	private static void checkMagic(int magic) throws IOException {
+		if (magic != MAGIC) {
+			throw new IOException("Unexpected snapshot protocol header: " + Integer.toHexString(magic));
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package org.example.replication;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Periodically writes a consistent page-level copy of the primary database with
+ * {@code VACUUM INTO}, which replicas then pull through {@link SnapshotServer}.
+ * <p>
+ * A new snapshot is only written when something was committed since the last one, as told by
+ * {@code PRAGMA data_version} on a connection held for that purpose: its value changes
+ * whenever another connection commits. Otherwise the current snapshot is confirmed, which
+ * replicas use for their lag.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.replication", name = "role", havingValue = "primary")
+public class SnapshotPublisher {
+
+	private final DataSource dataSource;
+
+	@Value("${app.replication.snapshot-dir:replication}")
+	private String snapshotDir;
+
+	private volatile Snapshot latest;
+	private volatile long checkedAt = SnapshotProtocol.NO_VERSION;
+
+	// Only used by the scheduler thread
+	private Connection watcher;
+	private long publishedDataVersion;
+
+	record Snapshot(long version, Path file) {}
+
+	Snapshot latest() {
+		return latest;
+	}
+
+	/**
+	 * When the latest snapshot was last found to hold every committed write.
+	 */
+	long checkedAt() {
+		return checkedAt;
+	}
+
+	@PreDestroy
+	public void stop() throws SQLException {
+		if (watcher != null) {
+			watcher.close();
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.replication.snapshot-interval-ms:5000}")
+	public void publish() {
+		final var version = System.currentTimeMillis();
+		final var file = Path.of(snapshotDir).resolve("snapshot-" + version + ".db").toAbsolutePath();
+
+		final long dataVersion;
+		try {
+			dataVersion = dataVersion();
+			if (latest != null && dataVersion == publishedDataVersion) {
+				checkedAt = version;
+				return;
+			}
+
+			Files.createDirectories(file.getParent());
+			try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+				statement.execute("VACUUM INTO '" + file.toString().replace("'", "''") + "'");
+			}
+		} catch (IOException | SQLException e) {
+			log.warn("Failed to publish replication snapshot", e);
+			return;
+		}
+
+		// A commit after reading the data version is either in the copy or seen next time
+		final var previous = latest;
+		publishedDataVersion = dataVersion;
+		latest = new Snapshot(version, file);
+		checkedAt = version;
+
+		// Replicas still streaming the previous file keep their open handle
+		if (previous != null) {
+			try {
+				Files.deleteIfExists(previous.file());
+			} catch (IOException e) {
+				log.warn("Failed to delete old snapshot {}", previous.file(), e);
+			}
+		}
+	}
+
+	private long dataVersion() throws SQLException {
+		if (watcher == null) {
+			watcher = dataSource.getConnection();
+			// A new connection counts from its own start, so the next check always publishes
+			publishedDataVersion = -1;
+		}
+		try (var statement = watcher.createStatement(); var rs = statement.executeQuery("PRAGMA data_version")) {
+			rs.next();
+			return rs.getLong(1);
+		} catch (SQLException e) {
+			watcher.close();
+			watcher = null;
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package org.example.replication;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.event.DatabaseRestoredEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+/**
+ * Pulls snapshots from the primary and restores them into the local database.
+ * <p>
+ * Replica lag is exported as the {@code todo.replication.lag} gauge: how long ago the primary
+ * last confirmed the snapshot being served as current, by taking it or by finding no write
+ * since.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.replication", name = "role", havingValue = "replica")
+public class SnapshotReplicator {
+
+	private static final int CONNECT_TIMEOUT_MS = 5_000;
+	private static final int SOCKET_TIMEOUT_MS = 30_000;
+
+	private final DataSource dataSource;
+	private final ApplicationEventPublisher eventPublisher;
+
+	@Value("${app.replication.host:127.0.0.1}")
+	private String host;
+
+	@Value("${app.replication.port:9090}")
+	private int port;
+
+	@Value("${app.replication.snapshot-dir:replication}")
+	private String snapshotDir;
+
+	private volatile long appliedVersion = SnapshotProtocol.NO_VERSION;
+	private volatile long currentAsOf = SnapshotProtocol.NO_VERSION;
+
+	public SnapshotReplicator(DataSource dataSource, ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+		this.dataSource = dataSource;
+		this.eventPublisher = eventPublisher;
+
+		Gauge.builder("todo.replication.lag", this, SnapshotReplicator::lagMillis)
+			.description("Age of the primary snapshot served by this replica")
+			.baseUnit("milliseconds")
+			.register(meterRegistry);
+	}
+
+	@Scheduled(fixedDelayString = "${app.replication.poll-interval-ms:2000}")
+	public void poll() {
+		final var target = Path.of(snapshotDir).resolve("replica-snapshot.db").toAbsolutePath();
+
+		try {
+			Files.createDirectories(target.getParent());
+
+			final SnapshotProtocol.Response response;
+			try (var socket = new Socket()) {
+				socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+				socket.setSoTimeout(SOCKET_TIMEOUT_MS);
+				SnapshotProtocol.writeRequest(socket.getOutputStream(), appliedVersion);
+				response = SnapshotProtocol.readSnapshot(new BufferedInputStream(socket.getInputStream()), target);
+			}
+
+			if (response.snapshot()) {
+				restore(target);
+				appliedVersion = response.version();
+				eventPublisher.publishEvent(new DatabaseRestoredEvent(response.version()));
+			}
+			if (response.version() != SnapshotProtocol.NO_VERSION && appliedVersion != SnapshotProtocol.NO_VERSION) {
+				currentAsOf = Math.max(currentAsOf, response.version());
+			}
+		} catch (IOException | SQLException e) {
+			log.warn("Replication poll against {}:{} failed: {}", host, port, e.getMessage());
+		}
+	}
+
+	public double lagMillis() {
+		final var asOf = currentAsOf;
+		return asOf == SnapshotProtocol.NO_VERSION ? Double.NaN : System.currentTimeMillis() - asOf;
+	}
+
+	private void restore(Path snapshot) throws SQLException {
+		try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+			statement.executeUpdate("restore from '" + snapshot.toString().replace("'", "''") + "'");
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package org.example.replication;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves the latest snapshot to replicas over a local TCP socket.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.replication", name = "role", havingValue = "primary")
+public class SnapshotServer {
+
+	private static final int SOCKET_TIMEOUT_MS = 30_000;
+	private static final int WORKER_THREADS = 4;
+
+	private final SnapshotPublisher publisher;
+
+	@Value("${app.replication.host:127.0.0.1}")
+	private String host;
+
+	@Value("${app.replication.port:9090}")
+	private int port;
+
+	private ServerSocket serverSocket;
+	private ExecutorService workers;
+
+	@PostConstruct
+	public void start() throws IOException {
+		serverSocket = new ServerSocket(port, 50, InetAddress.getByName(host));
+		workers = Executors.newFixedThreadPool(WORKER_THREADS,
+			Thread.ofPlatform().daemon().name("snapshot-server-", 0).factory());
+
+		Thread.ofPlatform().daemon().name("snapshot-acceptor").start(this::acceptLoop);
+		log.info("Serving replication snapshots on {}:{}", host, port);
+	}
+
+	@PreDestroy
+	public void stop() throws IOException {
+		serverSocket.close();
+		workers.shutdownNow();
+	}
+
+	private void acceptLoop() {
+		while (!serverSocket.isClosed()) {
+			try {
+				final var socket = serverSocket.accept();
+				workers.execute(() -> serve(socket));
+			} catch (IOException e) {
+				if (!serverSocket.isClosed()) {
+					log.warn("Failed to accept replica connection", e);
+				}
+			}
+		}
+	}
+
+	private void serve(Socket socket) {
+		try (socket) {
+			socket.setSoTimeout(SOCKET_TIMEOUT_MS);
+			final var knownVersion = SnapshotProtocol.readRequest(new BufferedInputStream(socket.getInputStream()));
+			final var out = new BufferedOutputStream(socket.getOutputStream());
+			final var snapshot = publisher.latest();
+
+			if (snapshot == null) {
+				SnapshotProtocol.writeUpToDate(out, SnapshotProtocol.NO_VERSION);
+			} else if (snapshot.version() <= knownVersion) {
+				SnapshotProtocol.writeUpToDate(out, publisher.checkedAt());
+			} else {
+				SnapshotProtocol.writeSnapshot(out, snapshot.version(), snapshot.file());
+			}
+		} catch (IOException e) {
+			log.warn("Failed to serve snapshot to {}", socket.getRemoteSocketAddress(), e);
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package org.example.repository;
+
+import org.example.model.AsyncOperation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface AsyncOperationRepository extends JpaRepository<AsyncOperation, String> {
+
+    Optional<AsyncOperation> findByIdAndTenantId(String id, String tenantId);
+
+}
@@ -0,0 +1,12 @@
+package org.example.repository;
+
+/**
+ * A todo's pending reminder.
+ */
+public interface ReminderView {
+
+    long getId();
+
+    long getRemindAt();
+
+}
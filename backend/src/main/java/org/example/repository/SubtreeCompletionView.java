@@ -0,0 +1,15 @@
+package org.example.repository;
+
+/**
+ * Todos of a subtree whose completion a cascade would change, and how many of them gain or
+ * lose a recorded completion time along with the sum of those times.
+ */
+public interface SubtreeCompletionView {
+
+    long getChanged();
+
+    long getCompletionCount();
+
+    long getCompletionTimeSum();
+
+}
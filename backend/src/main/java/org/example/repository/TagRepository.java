@@ -0,0 +1,23 @@
+package org.example.repository;
+
+import org.example.model.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    List<Tag> findByTenantIdAndNameIn(String tenantId, Collection<String> names);
+
+    // Concurrent writers may create the same tag; the unique key makes the loser a no-op
+    @Modifying
+    @Query(value = "INSERT OR IGNORE INTO tags (tenant_id, name) VALUES (:tenantId, :name)", nativeQuery = true)
+    int insertIfAbsent(@Param("tenantId") String tenantId, @Param("name") String name);
+
+}
@@ -0,0 +1,17 @@
+package org.example.repository;
+
+import org.example.model.TodoArchive;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TodoArchiveRepository extends JpaRepository<TodoArchive, Long> {
+
+    List<TodoArchive> findAllByTenantIdOrderByIdDesc(String tenantId, Pageable pageable);
+
+    long countByTenantId(String tenantId);
+
+}
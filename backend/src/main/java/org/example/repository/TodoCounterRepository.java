@@ -0,0 +1,70 @@
+package org.example.repository;
+
+import org.example.model.TodoCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TodoCounterRepository extends JpaRepository<TodoCounter, String> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO todo_counters (tenant_id, total, completed, completion_count, completion_time_sum_ms)
+            VALUES (:tenantId, :total, :completed, :completionCount, :completionTimeMs)
+            ON CONFLICT (tenant_id) DO UPDATE SET
+                total = total + excluded.total,
+                completed = completed + excluded.completed,
+                completion_count = completion_count + excluded.completion_count,
+                completion_time_sum_ms = completion_time_sum_ms + excluded.completion_time_sum_ms
+            """, nativeQuery = true)
+    void increment(@Param("tenantId") String tenantId,
+                   @Param("total") long total,
+                   @Param("completed") long completed,
+                   @Param("completionCount") long completionCount,
+                   @Param("completionTimeMs") long completionTimeMs);
+
+    /**
+     * Counts one more todo for the tenant unless its total has reached {@code maxRows}. The
+     * check and the increment are one statement, so concurrent creates cannot both pass.
+     *
+     * @return 0 when the quota is exhausted
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO todo_counters (tenant_id, total, completed, completion_count, completion_time_sum_ms)
+            VALUES (:tenantId, 1, 0, 0, 0)
+            ON CONFLICT (tenant_id) DO UPDATE SET total = total + 1 WHERE total < :maxRows
+            """, nativeQuery = true)
+    int incrementTotalBelow(@Param("tenantId") String tenantId, @Param("maxRows") long maxRows);
+
+    /**
+     * Recomputes a tenant's counter from the hot and archive tables in one statement, so the
+     * counts are read under the same write lock that stores them. Only completions with a
+     * recorded {@code completed_at} contribute to the completion time.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO todo_counters (tenant_id, total, completed, completion_count, completion_time_sum_ms)
+            SELECT :tenantId,
+                   count(*),
+                   coalesce(sum(completed), 0),
+                   coalesce(sum(completed = 1 AND completed_at > 0), 0),
+                   coalesce(sum(CASE WHEN completed = 1 AND completed_at > 0 THEN completed_at - created_at ELSE 0 END), 0)
+            FROM (
+                SELECT completed, created_at, completed_at FROM todos WHERE tenant_id = :tenantId
+                UNION ALL
+                SELECT completed, created_at, completed_at FROM todos_archive WHERE tenant_id = :tenantId
+            )
+            WHERE true
+            ON CONFLICT (tenant_id) DO UPDATE SET
+                total = excluded.total,
+                completed = excluded.completed,
+                completion_count = excluded.completion_count,
+                completion_time_sum_ms = excluded.completion_time_sum_ms
+            """, nativeQuery = true)
+    int recompute(@Param("tenantId") String tenantId);
+
+}
@@ -0,0 +1,30 @@
+package org.example.repository;
+
+import org.example.model.TodoDailyStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TodoDailyStatRepository extends JpaRepository<TodoDailyStat, TodoDailyStat.Key> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO todo_daily_stats (tenant_id, epoch_day, created, completed)
+            VALUES (:tenantId, :epochDay, :created, :completed)
+            ON CONFLICT (tenant_id, epoch_day) DO UPDATE SET
+                created = created + excluded.created,
+                completed = completed + excluded.completed
+            """, nativeQuery = true)
+    void increment(@Param("tenantId") String tenantId,
+                   @Param("epochDay") long epochDay,
+                   @Param("created") long created,
+                   @Param("completed") long completed);
+
+    List<TodoDailyStat> findByTenantIdAndEpochDayBetweenOrderByEpochDay(String tenantId, long fromDay, long toDay);
+
+}
@@ -1,10 +1,175 @@
 package org.example.repository;
 
 import org.example.model.Todo;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface TodoRepository extends JpaRepository<Todo, Long> {
 
+    List<Todo> findAllByTenantId(String tenantId);
+
+    List<Todo> findByTenantIdAndIdGreaterThanOrderById(String tenantId, Long afterId, Pageable pageable);
+
+    Optional<Todo> findByIdAndTenantId(Long id, String tenantId);
+
+    List<Todo> findByTenantIdAndIdIn(String tenantId, Collection<Long> ids);
+
+    long countByTenantId(String tenantId);
+
+    long countByTenantIdAndCompletedTrue(String tenantId);
+
+    @Query("select distinct t.tenantId from Todo t")
+    List<String> findDistinctTenantIds();
+
+    // Index order of idx_todos_completed_updated_at (id is the rowid), so no sort is needed
+    @Query("""
+            select t.id from Todo t
+            where t.completed = true and t.updatedAt < :cutoff and t.parentId is null and t.subtreeSize = 1
+            order by t.updatedAt, t.id
+            """)
+    List<Long> findArchivableIds(@Param("cutoff") long cutoff, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE todos SET reminded_at = 0 WHERE id = :id", nativeQuery = true)
+    int rearmReminder(@Param("id") Long id);
+
+    // Tree queries: subtrees are addressed as the path range [prefix, upper), see TodoPath
+
+    @Query("""
+            select t from Todo t
+            where t.tenantId = :tenantId and t.path >= :prefix and t.path < :upper and t.depth <= :maxDepth
+            order by t.path, t.id
+            """)
+    List<Todo> findDescendants(@Param("tenantId") String tenantId,
+                               @Param("prefix") String prefix,
+                               @Param("upper") String upper,
+                               @Param("maxDepth") int maxDepth,
+                               Pageable pageable);
+
+    @Query("""
+            select coalesce(max(t.depth), -1) from Todo t
+            where t.tenantId = :tenantId and t.path >= :prefix and t.path < :upper
+            """)
+    int findMaxDescendantDepth(@Param("tenantId") String tenantId,
+                               @Param("prefix") String prefix,
+                               @Param("upper") String upper);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE todos SET
+                subtree_size = subtree_size + :sizeDelta,
+                subtree_completed = subtree_completed + :completedDelta
+            WHERE tenant_id = :tenantId AND id IN (:ids)
+            """, nativeQuery = true)
+    int incrementRollups(@Param("tenantId") String tenantId,
+                         @Param("ids") Collection<Long> ids,
+                         @Param("sizeDelta") long sizeDelta,
+                         @Param("completedDelta") long completedDelta);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE todos SET
+                path = :newPath || substr(path, length(:oldPath) + 1),
+                depth = depth + :depthDelta,
+                parent_id = CASE WHEN id = :id THEN :newParentId ELSE parent_id END
+            WHERE tenant_id = :tenantId AND (id = :id OR (path >= :prefix AND path < :upper))
+            """, nativeQuery = true)
+    int moveSubtree(@Param("tenantId") String tenantId,
+                    @Param("id") Long id,
+                    @Param("newParentId") Long newParentId,
+                    @Param("oldPath") String oldPath,
+                    @Param("newPath") String newPath,
+                    @Param("depthDelta") int depthDelta,
+                    @Param("prefix") String prefix,
+                    @Param("upper") String upper);
+
+    /**
+     * Completing counts each changed todo as finishing at {@code now}. Reopening removes the
+     * recorded completion of each changed todo; those completed before {@code completed_at}
+     * existed have none. With {@code completed = false} the changed todos are exactly the
+     * subtree's completed ones, which is what a subtree delete needs to subtract.
+     */
+    @Query(value = """
+            SELECT count(*) AS changed,
+                   coalesce(sum(CASE WHEN :completed THEN 1 WHEN completed_at > 0 THEN 1 ELSE 0 END), 0) AS completionCount,
+                   coalesce(sum(CASE WHEN :completed THEN :now - created_at
+                                     WHEN completed_at > 0 THEN completed_at - created_at ELSE 0 END), 0) AS completionTimeSum
+            FROM todos
+            WHERE tenant_id = :tenantId AND (id = :id OR (path >= :prefix AND path < :upper)) AND completed <> :completed
+            """, nativeQuery = true)
+    SubtreeCompletionView findSubtreeCompletionChange(@Param("tenantId") String tenantId,
+                                                      @Param("id") Long id,
+                                                      @Param("prefix") String prefix,
+                                                      @Param("upper") String upper,
+                                                      @Param("completed") boolean completed,
+                                                      @Param("now") long now);
+
+    /**
+     * Unfired reminders of the subtree's completed todos, which the scheduler skipped and a
+     * reopen has to hand back to it.
+     */
+    @Query(value = """
+            SELECT id, remind_at AS remindAt
+            FROM todos
+            WHERE tenant_id = :tenantId AND (id = :id OR (path >= :prefix AND path < :upper))
+              AND completed = 1 AND reminded_at = 0 AND remind_at > 0
+            """, nativeQuery = true)
+    List<ReminderView> findSubtreeSkippedReminders(@Param("tenantId") String tenantId,
+                                                   @Param("id") Long id,
+                                                   @Param("prefix") String prefix,
+                                                   @Param("upper") String upper);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE todos SET
+                updated_at = CASE WHEN completed <> :completed THEN :now ELSE updated_at END,
+                completed_at = CASE WHEN completed = :completed THEN completed_at WHEN :completed THEN :now ELSE 0 END,
+                completed = :completed,
+                subtree_completed = CASE WHEN :completed THEN subtree_size ELSE 0 END
+            WHERE tenant_id = :tenantId AND (id = :id OR (path >= :prefix AND path < :upper))
+            """, nativeQuery = true)
+    int completeSubtree(@Param("tenantId") String tenantId,
+                        @Param("id") Long id,
+                        @Param("prefix") String prefix,
+                        @Param("upper") String upper,
+                        @Param("completed") boolean completed,
+                        @Param("now") long now);
+
+    // Bulk deletes bypass the entity mapping, so the todo_tags rows are removed explicitly first
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM todo_tags WHERE todo_id IN (:ids)", nativeQuery = true)
+    int deleteTagLinks(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            DELETE FROM todo_tags WHERE todo_id IN (
+                SELECT id FROM todos
+                WHERE tenant_id = :tenantId AND (id = :id OR (path >= :prefix AND path < :upper))
+            )
+            """, nativeQuery = true)
+    int deleteSubtreeTagLinks(@Param("tenantId") String tenantId,
+                              @Param("id") Long id,
+                              @Param("prefix") String prefix,
+                              @Param("upper") String upper);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            DELETE FROM todos
+            WHERE tenant_id = :tenantId AND (id = :id OR (path >= :prefix AND path < :upper))
+            """, nativeQuery = true)
+    int deleteSubtree(@Param("tenantId") String tenantId,
+                      @Param("id") Long id,
+                      @Param("prefix") String prefix,
+                      @Param("upper") String upper);
+
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.async.AsyncTodoQueue;
+import org.example.async.QueuedCreate;
+import org.example.dto.AsyncOperationDto;
+import org.example.dto.TodoCreateDto;
+import org.example.model.OperationStatus;
+import org.example.repository.AsyncOperationRepository;
+import org.example.tenant.TenantContext;
+import org.example.tenant.TenantLimiter;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class AsyncTodoService {
+
+	private final AsyncTodoQueue queue;
+	private final AsyncOperationRepository operationRepository;
+	private final TenantLimiter tenantLimiter;
+
+	/**
+	 * Queues a create for the background writer.
+	 *
+	 * @return the pending operation, or empty if the queue is full
+	 */
+	public Optional<AsyncOperationDto> accept(TodoCreateDto request) {
+		if (request.getParentId() != null) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Subtasks cannot be created asynchronously");
+		}
+		if (request.getTags() != null && !request.getTags().isEmpty()) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tagged todos cannot be created asynchronously");
+		}
+		if (request.getDueAt() != null || request.getRemindAt() != null) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Scheduled todos cannot be created asynchronously");
+		}
+
+		final var tenant = TenantContext.current();
+		tenantLimiter.acquire(tenant);
+
+		final var operationId = UUID.randomUUID().toString();
+		if (!queue.offer(new QueuedCreate(operationId, tenant, request.getTitle(), request.getDescription()))) {
+			return Optional.empty();
+		}
+
+		return Optional.of(new AsyncOperationDto(operationId, OperationStatus.PENDING, null, null));
+	}
+
+	@Transactional(readOnly = true)
+	public AsyncOperationDto getStatus(String operationId) {
+		final var tenant = TenantContext.current();
+
+		return operationRepository.findByIdAndTenantId(operationId, tenant)
+			.map(operation -> new AsyncOperationDto(
+				operation.getId(),
+				operation.getStatus(),
+				operation.getTodoId(),
+				operation.getError()
+			))
+			.or(() -> queue.isPending(operationId, tenant)
+				? Optional.of(new AsyncOperationDto(operationId, OperationStatus.PENDING, null, null))
+				: Optional.empty())
+			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Operation not found"));
+	}
+}
@@ -0,0 +1,226 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cache.ExpiringLruCache;
+import org.example.dto.TodoCreateDto;
+import org.example.dto.TodoResponseDto;
+import org.example.model.IdempotencyRecord;
+import org.example.repository.IdempotencyRecordRepository;
+import org.example.tag.TagNames;
+import org.example.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates retried creates carrying the same {@code Idempotency-Key}.
+ * <p>
+ * The first response for a key is kept in a bounded in-memory cache and in the
+ * {@code idempotency_keys} table for {@code app.idempotency.ttl-ms}; replays are answered from
+ * there without reaching the write path. Concurrent requests with the same key wait for the
+ * one already in flight.
+ * <p>
+ * The key is written in the same transaction as the create it guards, so a todo is never
+ * committed without its key. When another instance commits the same key first, the insert
+ * fails, the create rolls back and the winner's response is replayed.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+	public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+	private static final int MAX_KEY_LENGTH = 255;
+
+	private final IdempotencyRecordRepository repository;
+	private final ObjectMapper objectMapper;
+	private final TransactionTemplate transactionTemplate;
+	private final ExpiringLruCache<String, StoredResponse> cache;
+	private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+	private final long ttlMillis;
+
+	public record Result(TodoResponseDto response, boolean replayed) {}
+
+	record StoredResponse(String requestHash, TodoResponseDto response) {}
+
+	public IdempotencyService(
+		IdempotencyRecordRepository repository,
+		ObjectMapper objectMapper,
+		TransactionTemplate transactionTemplate,
+		@Value("${app.idempotency.ttl-ms:86400000}") long ttlMillis,
+		@Value("${app.idempotency.memory-entries:10000}") int memoryEntries
+	) {
+		this.repository = repository;
+		this.objectMapper = objectMapper;
+		this.transactionTemplate = transactionTemplate;
+		this.ttlMillis = ttlMillis;
+		this.cache = new ExpiringLruCache<>(memoryEntries, ttlMillis);
+	}
+
+	public Result execute(String key, TodoCreateDto request, Supplier<TodoResponseDto> action) {
+		if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Idempotency-Key");
+		}
+
+		final var storeKey = TenantContext.current() + ':' + key;
+		final var requestHash = hash(request);
+
+		final var stored = lookup(storeKey);
+		if (stored != null) {
+			return replay(stored, requestHash);
+		}
+
+		final var future = new CompletableFuture<StoredResponse>();
+		final var leader = inFlight.putIfAbsent(storeKey, future);
+		if (leader != null) {
+			return replay(await(leader), requestHash);
+		}
+
+		try {
+			// The previous leader may have finished between the lookup and putIfAbsent
+			final var completed = lookup(storeKey);
+			if (completed != null) {
+				future.complete(completed);
+				return replay(completed, requestHash);
+			}
+
+			final StoredResponse result;
+			try {
+				result = transactionTemplate.execute(status -> {
+					final var created = new StoredResponse(requestHash, action.get());
+					persist(storeKey, created);
+					return created;
+				});
+			} catch (DataIntegrityViolationException e) {
+				final var winner = lookup(storeKey);
+				if (winner == null) {
+					throw e;
+				}
+				future.complete(winner);
+				return replay(winner, requestHash);
+			}
+			cache.put(storeKey, result);
+			future.complete(result);
+
+			return new Result(result.response(), false);
+		} catch (RuntimeException e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(storeKey, future);
+		}
+	}
+
+	@Transactional
+	@Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:600000}")
+	public void purgeExpired() {
+		final var purged = repository.deleteCreatedBefore(System.currentTimeMillis() - ttlMillis);
+		if (purged > 0) {
+			log.debug("Purged {} expired idempotency keys", purged);
+		}
+	}
+
+	private StoredResponse lookup(String storeKey) {
+		final var cached = cache.get(storeKey);
+		if (cached != null) {
+			return cached;
+		}
+
+		final var entity = repository.findById(storeKey)
+			.filter(r -> r.getCreatedAt() > System.currentTimeMillis() - ttlMillis)
+			.orElse(null);
+		if (entity == null) {
+			return null;
+		}
+
+		try {
+			final var stored = new StoredResponse(
+				entity.getRequestHash(),
+				objectMapper.readValue(entity.getResponse(), TodoResponseDto.class)
+			);
+			cache.put(storeKey, stored);
+			return stored;
+		} catch (JsonProcessingException e) {
+			log.warn("Discarding unreadable idempotency record {}", storeKey, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Flushed immediately so a key committed concurrently elsewhere fails here, inside the
+	 * transaction, rather than at commit.
+	 */
+	private void persist(String storeKey, StoredResponse stored) {
+		final String response;
+		try {
+			response = objectMapper.writeValueAsString(stored.response());
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Failed to serialize idempotent response", e);
+		}
+		repository.saveAndFlush(new IdempotencyRecord(storeKey, stored.requestHash(), response, System.currentTimeMillis()));
+	}
+
+	private static Result replay(StoredResponse stored, String requestHash) {
+		if (!stored.requestHash().equals(requestHash)) {
+			throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+				"Idempotency-Key was already used with a different request");
+		}
+
+		return new Result(stored.response(), true);
+	}
+
+	private static StoredResponse await(CompletableFuture<StoredResponse> leader) {
+		try {
+			return leader.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	private static String hash(TodoCreateDto request) {
+		try {
+			final var digest = MessageDigest.getInstance("SHA-256");
+			digest.update(String.valueOf(request.getTitle()).getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			digest.update(String.valueOf(request.getDescription()).getBytes(StandardCharsets.UTF_8));
+			// Only hashed when set, so keys stored before subtasks, tags and reminders existed still match
+			if (request.getParentId() != null) {
+				digest.update((byte) 0);
+				digest.update(String.valueOf(request.getParentId()).getBytes(StandardCharsets.UTF_8));
+			}
+			if (request.getTags() != null && !request.getTags().isEmpty()) {
+				for (final var tag : TagNames.normalize(request.getTags())) {
+					digest.update((byte) 0);
+					digest.update(tag.getBytes(StandardCharsets.UTF_8));
+				}
+			}
+			if (request.getDueAt() != null || request.getRemindAt() != null) {
+				digest.update((byte) 0);
+				digest.update((request.getDueAt() + "/" + request.getRemindAt()).getBytes(StandardCharsets.UTF_8));
+			}
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
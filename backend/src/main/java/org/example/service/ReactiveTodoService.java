@@ -0,0 +1,137 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.audit.AuditContext;
+import org.example.dto.TodoCreateDto;
+import org.example.dto.TodoResponseDto;
+import org.example.dto.TodoUpdateDto;
+import org.example.mapper.TodoMapper;
+import org.example.repository.TodoRepository;
+import org.example.tenant.TenantContext;
+import org.example.tenant.TenantLimiter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Non-blocking facade over {@link TodoService} for the reactive endpoints.
+ * <p>
+ * SQLite has no reactive driver, so every call runs on the bounded {@code jdbcScheduler}
+ * and the request thread is released while it waits. The tenant is captured on the calling
+ * thread and re-bound on the worker. Lists are streamed in keyset-paged chunks that are only
+ * fetched when the subscriber requests more, so a slow client never buffers the whole table.
+ */
+@Slf4j
+@Service
+public class ReactiveTodoService {
+
+	private final TodoService todoService;
+	private final TodoRepository todoRepository;
+	private final TenantLimiter tenantLimiter;
+	private final TransactionTemplate readOnlyTransaction;
+	private final Scheduler jdbcScheduler;
+
+	@Value("${app.reactive.page-size:200}")
+	private int pageSize;
+
+	public ReactiveTodoService(
+		TodoService todoService,
+		TodoRepository todoRepository,
+		TenantLimiter tenantLimiter,
+		PlatformTransactionManager transactionManager,
+		@Qualifier("jdbcScheduler") Scheduler jdbcScheduler
+	) {
+		this.todoService = todoService;
+		this.todoRepository = todoRepository;
+		this.tenantLimiter = tenantLimiter;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+		this.jdbcScheduler = jdbcScheduler;
+	}
+
+	public Mono<TodoResponseDto> create(TodoCreateDto request) {
+		final var tenant = TenantContext.current();
+		return blocking(tenant, () -> todoService.create(request));
+	}
+
+	public Mono<TodoResponseDto> getById(Long id) {
+		final var tenant = TenantContext.current();
+		return blocking(tenant, () -> todoService.getById(id));
+	}
+
+	public Mono<TodoResponseDto> update(Long id, TodoUpdateDto request) {
+		final var tenant = TenantContext.current();
+		return blocking(tenant, () -> todoService.update(id, request));
+	}
+
+	public Mono<Void> delete(Long id) {
+		final var tenant = TenantContext.current();
+		return blocking(tenant, () -> {
+			todoService.delete(id);
+			return null;
+		}).then();
+	}
+
+	public Flux<TodoResponseDto> streamAll() {
+		final var tenant = TenantContext.current();
+
+		return Mono.fromRunnable(() -> tenantLimiter.acquire(tenant))
+			.thenMany(Flux.<List<TodoResponseDto>, Long>generate(() -> 0L, (afterId, sink) -> {
+				final var page = readPage(tenant, afterId);
+				if (page.isEmpty()) {
+					sink.complete();
+					return afterId;
+				}
+
+				sink.next(page);
+				return page.get(page.size() - 1).id();
+			}))
+			.flatMapIterable(page -> page, 1)
+			.subscribeOn(jdbcScheduler)
+			.onErrorMap(RejectedExecutionException.class, ReactiveTodoService::overloaded);
+	}
+
+	// Mapped inside the transaction so the lazily loaded tags can still be fetched
+	private List<TodoResponseDto> readPage(String tenant, long afterId) {
+		return readOnlyTransaction.execute(status ->
+			todoRepository.findByTenantIdAndIdGreaterThanOrderById(tenant, afterId, PageRequest.of(0, pageSize))
+				.stream()
+				.map(TodoMapper::toResponse)
+				.toList()
+		);
+	}
+
+	private <T> Mono<T> blocking(String tenant, Callable<T> action) {
+		// Called on the request thread, so the filter-bound actor is still visible here
+		final var actor = AuditContext.current();
+		return Mono.fromCallable(() -> {
+				TenantContext.set(tenant);
+				AuditContext.set(actor);
+				try {
+					return action.call();
+				} finally {
+					TenantContext.clear();
+					AuditContext.clear();
+				}
+			})
+			.subscribeOn(jdbcScheduler)
+			.onErrorMap(RejectedExecutionException.class, ReactiveTodoService::overloaded);
+	}
+
+	private static ResponseStatusException overloaded(RejectedExecutionException e) {
+		log.warn("Reactive JDBC scheduler is saturated: {}", e.getMessage());
+		return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many pending database operations");
+	}
+}
@@ -0,0 +1,210 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.cache.TodoListCache;
+import org.example.dto.TodoResponseDto;
+import org.example.mapper.TodoMapper;
+import org.example.model.Todo;
+import org.example.repository.TodoArchiveRepository;
+import org.example.repository.TodoRepository;
+import org.example.tag.TagIndex;
+import org.example.tenant.TenantContext;
+import org.example.tenant.TenantTodoCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Moves completed todos older than {@code app.retention.days} from {@code todos} into
+ * {@code todos_archive} and returns the freed pages to the file system.
+ * <p>
+ * Each batch is its own short transaction followed by a pause, so foreground writers are
+ * never locked out for longer than one batch. Runs happen on their own thread, so those
+ * pauses do not hold up the shared scheduler. Archived todos still count towards
+ * {@link TodoStatsService} totals.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TodoArchiveService {
+
+	private static final int AUTO_VACUUM_INCREMENTAL = 2;
+
+	private final TodoRepository todoRepository;
+	private final TodoArchiveRepository archiveRepository;
+	private final TenantTodoCache todoCache;
+	private final TodoListCache todoListCache;
+	private final TagIndex tagIndex;
+	private final TransactionTemplate transactionTemplate;
+	private final JdbcTemplate jdbcTemplate;
+	private final Clock clock;
+
+	@Value("${app.retention.enabled:false}")
+	private boolean enabled;
+
+	@Value("${app.retention.days:90}")
+	private int retentionDays;
+
+	@Value("${app.retention.batch-size:200}")
+	private int batchSize;
+
+	@Value("${app.retention.batch-pause-ms:200}")
+	private long batchPauseMs;
+
+	@Value("${app.retention.max-per-run:100000}")
+	private long maxPerRun;
+
+	@Value("${app.retention.vacuum-pages:1000}")
+	private int vacuumPages;
+
+	@Value("${app.retention.switch-to-incremental-vacuum:false}")
+	private boolean switchToIncrementalVacuum;
+
+	private final AtomicBoolean running = new AtomicBoolean();
+	private ExecutorService executor;
+
+	@Transactional(readOnly = true)
+	public List<TodoResponseDto> getArchived(int page, int size) {
+		final var tenant = TenantContext.current();
+
+		return archiveRepository.findAllByTenantIdOrderByIdDesc(tenant, PageRequest.of(page, size))
+			.stream()
+			.map(TodoMapper::toResponse)
+			.toList();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+
+		executor = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("todo-retention").daemon().factory());
+		if (switchToIncrementalVacuum) {
+			executor.execute(this::enableIncrementalVacuum);
+		}
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Hands a run to the retention thread, unless the previous one is still going.
+	 */
+	@Scheduled(cron = "${app.retention.cron:0 30 3 * * *}")
+	public void scheduleArchiving() {
+		if (executor == null || !running.compareAndSet(false, true)) {
+			return;
+		}
+
+		executor.execute(() -> {
+			try {
+				archiveExpired();
+			} finally {
+				running.set(false);
+			}
+		});
+	}
+
+	/**
+	 * {@code PRAGMA incremental_vacuum} only returns pages to the file system once the
+	 * database uses incremental auto-vacuum. Switching takes a full {@code VACUUM}, which
+	 * rewrites the file and holds the write lock until it is done, so it only runs when
+	 * {@code app.retention.switch-to-incremental-vacuum} is set; until then freed pages are
+	 * reused but the file does not shrink.
+	 */
+	void enableIncrementalVacuum() {
+		try {
+			final var mode = jdbcTemplate.queryForObject("PRAGMA auto_vacuum", Integer.class);
+			if (mode != null && mode == AUTO_VACUUM_INCREMENTAL) {
+				log.info("Database already uses incremental auto-vacuum; app.retention.switch-to-incremental-vacuum can be removed");
+				return;
+			}
+
+			log.info("Switching database to incremental auto-vacuum, writes wait until the VACUUM completes");
+			jdbcTemplate.execute("PRAGMA auto_vacuum = INCREMENTAL");
+			jdbcTemplate.execute("VACUUM");
+			log.info("Database switched to incremental auto-vacuum");
+		} catch (DataAccessException e) {
+			log.error("Failed to switch database to incremental auto-vacuum", e);
+		}
+	}
+
+	void archiveExpired() {
+		if (!enabled) {
+			return;
+		}
+
+		final var cutoff = clock.millis() - Duration.ofDays(retentionDays).toMillis();
+		var archived = 0L;
+
+		while (archived < maxPerRun) {
+			final var moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+			if (moved == null || moved == 0) {
+				break;
+			}
+			archived += moved;
+
+			if (!pause()) {
+				break;
+			}
+		}
+
+		if (archived > 0) {
+			jdbcTemplate.execute("PRAGMA incremental_vacuum(" + vacuumPages + ")");
+			log.info("Archived {} completed todos older than {}", archived, Instant.ofEpochMilli(cutoff));
+		}
+	}
+
+	int archiveBatch(long cutoff) {
+		final var ids = todoRepository.findArchivableIds(cutoff, PageRequest.of(0, batchSize));
+		if (ids.isEmpty()) {
+			return 0;
+		}
+
+		final var now = clock.millis();
+		final var todos = todoRepository.findAllById(ids);
+		archiveRepository.saveAll(todos.stream().map(todo -> TodoMapper.toArchive(todo, now)).toList());
+		todoRepository.deleteTagLinks(ids);
+		todoRepository.deleteAllByIdInBatch(ids);
+		todos.forEach(todo -> todoCache.evict(todo.getTenantId(), todo.getId()));
+		todos.stream().map(Todo::getTenantId).distinct().forEach(todoListCache::invalidate);
+		todos.stream()
+			.collect(Collectors.groupingBy(Todo::getTenantId, Collectors.mapping(Todo::getId, Collectors.toList())))
+			.forEach(tagIndex::onDeleted);
+
+		return ids.size();
+	}
+
+	private boolean pause() {
+		try {
+			Thread.sleep(batchPauseMs);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
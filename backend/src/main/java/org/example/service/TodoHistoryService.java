@@ -0,0 +1,63 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.audit.AuditEvent;
+import org.example.audit.AuditField;
+import org.example.audit.AuditLog;
+import org.example.dto.TodoHistoryEntryDto;
+import org.example.mapper.EpochMillis;
+import org.example.tenant.TenantContext;
+import org.example.tenant.TenantLimiter;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Change history of a todo, read from the {@link AuditLog}. Deleted todos keep their history.
+ */
+@Service
+@RequiredArgsConstructor
+public class TodoHistoryService {
+
+	private final AuditLog auditLog;
+	private final TenantLimiter tenantLimiter;
+
+	public List<TodoHistoryEntryDto> getHistory(Long id) {
+		final var tenant = TenantContext.current();
+		tenantLimiter.acquire(tenant);
+
+		final var events = auditLog.history(tenant, id);
+		if (events.isEmpty()) {
+			throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No history for todo " + id);
+		}
+
+		return events.stream().map(TodoHistoryService::toEntry).toList();
+	}
+
+	private static TodoHistoryEntryDto toEntry(AuditEvent event) {
+		final var changes = event.changes().stream()
+			.map(change -> new TodoHistoryEntryDto.FieldChange(fieldName(change.field()), change.before(), change.after()))
+			.toList();
+
+		return new TodoHistoryEntryDto(
+			event.operation().name(),
+			event.actor(),
+			EpochMillis.toLocalDateTime(event.timestamp()),
+			changes
+		);
+	}
+
+	private static String fieldName(AuditField field) {
+		return switch (field) {
+			case TITLE -> "title";
+			case DESCRIPTION -> "description";
+			case COMPLETED -> "completed";
+			case PARENT_ID -> "parentId";
+			case TAGS -> "tags";
+			case DUE_AT -> "dueAt";
+			case REMIND_AT -> "remindAt";
+		};
+	}
+}
@@ -0,0 +1,22 @@
+package org.example.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 404 for a todo id that does not exist in the caller's tenant.
+ * <p>
+ * Thrown for every id a client guesses wrong, so it skips capturing a stack trace; it is
+ * always answered as a problem response and never logged.
+ */
+public class TodoNotFoundException extends ResponseStatusException {
+
+	public TodoNotFoundException(Long id) {
+		super(HttpStatus.NOT_FOUND, "Todo " + id + " not found");
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+}
@@ -0,0 +1,72 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.TodoSearchResultDto;
+import org.example.mapper.TodoMapper;
+import org.example.model.Tag;
+import org.example.model.Todo;
+import org.example.repository.TodoRepository;
+import org.example.tag.TagIndex;
+import org.example.tag.TagNames;
+import org.example.tenant.TenantContext;
+import org.example.tenant.TenantLimiter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Tag filtering served from the in-memory {@link TagIndex}: the index resolves the matching
+ * ids, and only the requested page of rows is read, by primary key.
+ */
+@Service
+@RequiredArgsConstructor
+public class TodoSearchService {
+
+	private final TodoRepository todoRepository;
+	private final TenantLimiter tenantLimiter;
+	private final TagIndex tagIndex;
+
+	/**
+	 * @param tags      tags that must all be present
+	 * @param completed completion to filter on, or {@code null} for both
+	 */
+	@Transactional(readOnly = true)
+	public TodoSearchResultDto search(Collection<String> tags, Boolean completed, int limit) {
+		final var tenant = TenantContext.current();
+		tenantLimiter.acquire(tenant);
+
+		final var names = TagNames.normalize(tags);
+		final var hits = tagIndex.search(tenant, names, completed, limit);
+		if (hits.ids().isEmpty()) {
+			return new TodoSearchResultDto(hits.total(), List.of());
+		}
+
+		final var byId = todoRepository.findAllById(hits.ids()).stream()
+			.filter(todo -> tenant.equals(todo.getTenantId()))
+			.collect(Collectors.toMap(Todo::getId, Function.identity()));
+
+		// The index trails commits by a moment; rows changed since are re-checked here
+		final var todos = hits.ids().stream()
+			.map(byId::get)
+			.filter(Objects::nonNull)
+			.filter(todo -> matches(todo, names, completed))
+			.map(TodoMapper::toResponse)
+			.toList();
+
+		return new TodoSearchResultDto(hits.total(), todos);
+	}
+
+	private static boolean matches(Todo todo, Set<String> tags, Boolean completed) {
+		if (completed != null && todo.isCompleted() != completed) {
+			return false;
+		}
+
+		return todo.getTags().stream().map(Tag::getName).collect(Collectors.toSet()).containsAll(tags);
+	}
+}
@@ -1,5 +1,6 @@
 package org.example.service;
 
+import org.example.dto.TodoBatchDto;
 import org.example.dto.TodoCreateDto;
 import org.example.dto.TodoResponseDto;
 import org.example.dto.TodoUpdateDto;
@@ -11,6 +12,7 @@ public interface TodoService {
     TodoResponseDto create(TodoCreateDto request);
     List<TodoResponseDto> getAll();
     TodoResponseDto getById(Long id);
+    TodoBatchDto getByIds(List<Long> ids);
     TodoResponseDto update(Long id, TodoUpdateDto request);
     void delete(Long id);
 
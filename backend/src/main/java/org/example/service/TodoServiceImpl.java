@@ -1,30 +1,96 @@
 package org.example.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.audit.AuditLog;
+import org.example.audit.AuditOperation;
+import org.example.audit.AuditSnapshot;
+import org.example.cache.SingleFlight;
+import org.example.cache.TodoIdFilter;
+import org.example.cache.TodoListCache;
+import org.example.dto.TodoBatchDto;
 import org.example.dto.TodoCreateDto;
 import org.example.dto.TodoResponseDto;
 import org.example.dto.TodoUpdateDto;
+import org.example.mapper.EpochMillis;
 import org.example.mapper.TodoMapper;
+import org.example.model.Tag;
 import org.example.model.Todo;
+import org.example.model.TodoPath;
+import org.example.repository.TagRepository;
 import org.example.repository.TodoRepository;
+import org.example.reminder.ReminderScheduler;
+import org.example.tag.TagIndex;
+import org.example.tag.TagNames;
+import org.example.tenant.TenantContext;
+import org.example.tenant.TenantLimiter;
+import org.example.tenant.TenantTodoCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TodoServiceImpl implements TodoService {
 
 	private final TodoRepository todoRepository;
+	private final TenantLimiter tenantLimiter;
+	private final TenantTodoCache todoCache;
+	private final TodoStatsService statsService;
+	private final TagRepository tagRepository;
+	private final TagIndex tagIndex;
+	private final ReminderScheduler reminderScheduler;
+	private final AuditLog auditLog;
+	private final TodoIdFilter todoIdFilter;
+	private final TodoListCache todoListCache;
+	private final TransactionTemplate transactionTemplate;
+	private final Clock clock;
+	private final SingleFlight<TodoKey, TodoResponseDto> getByIdFlights = new SingleFlight<>();
+
+	@Value("${app.tree.max-depth:32}")
+	private int maxDepth;
+
+	@Value("${app.batch.chunk-size:500}")
+	private int batchChunkSize;
 
 	@Override
 	@Transactional
 	public TodoResponseDto create(TodoCreateDto request) {
+		final var tenant = TenantContext.current();
+		tenantLimiter.acquire(tenant);
+		tenantLimiter.reserveRow(tenant);
+
 		final var entity = TodoMapper.toEntity(request);
+		entity.setTenantId(tenant);
+		if (request.getParentId() != null) {
+			entity.attachTo(findParent(tenant, request.getParentId()));
+		}
+		entity.getTags().addAll(resolveTags(tenant, request.getTags()));
+
 		final var result = todoRepository.save(entity);
+		if (!result.getTags().isEmpty()) {
+			tagIndex.onSaved(tenant, result.getId(), Set.of(), tagNames(result), false);
+		}
+		reminderScheduler.schedule(result.getId(), result.getRemindAt());
+		auditLog.record(tenant, result.getId(), AuditOperation.CREATE, Map.of(), AuditSnapshot.of(result));
+		if (result.getParentId() != null) {
+			todoRepository.incrementRollups(tenant, TodoPath.ancestorIds(result.getPath()), 1, 0);
+		}
+		statsService.onCreated(tenant, result.getCreatedAt());
+		todoListCache.invalidate(tenant);
 
 		return TodoMapper.toResponse(result);
 	}
@@ -32,30 +98,126 @@ public class TodoServiceImpl implements TodoService {
 	@Override
 	@Transactional(readOnly = true)
 	public List<TodoResponseDto> getAll() {
-		final var entities = todoRepository.findAll();
+		final var tenant = TenantContext.current();
+		tenantLimiter.acquire(tenant);
+
+		final var entities = todoRepository.findAllByTenantId(tenant);
 
 		return entities.stream().map(TodoMapper::toResponse).toList();
 	}
 
 
+	/**
+	 * Concurrent cache misses for the same todo share one lookup. The transaction is opened
+	 * inside the flight, so callers waiting on another's lookup do not hold a connection.
+	 */
 	@Override
-	@Transactional(readOnly = true)
 	public TodoResponseDto getById(Long id) {
-		final var entity = findEntityById(id);
+		final var tenant = TenantContext.current();
+		tenantLimiter.acquire(tenant);
+
+		final var cached = todoCache.get(tenant, id);
+		if (cached != null) {
+			return cached;
+		}
+
+		return getByIdFlights.execute(new TodoKey(tenant, id), () -> {
+			final var version = todoCache.version(tenant);
+			final var result = transactionTemplate.execute(status -> TodoMapper.toResponse(findEntityById(tenant, id)));
+			todoCache.put(tenant, result, version);
+			return result;
+		});
+	}
+
+	/**
+	 * Serves cached todos first and reads the rest with one {@code IN} query per
+	 * {@code app.batch.chunk-size} ids; tags are then loaded in batches, not per todo.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public TodoBatchDto getByIds(List<Long> ids) {
+		final var tenant = TenantContext.current();
+		tenantLimiter.acquire(tenant);
 
-		return TodoMapper.toResponse(entity);
+		final var found = new HashMap<Long, TodoResponseDto>();
+		final var toLoad = new ArrayList<Long>();
+		for (final var id : new LinkedHashSet<>(ids)) {
+			final var cached = todoCache.get(tenant, id);
+			if (cached != null) {
+				found.put(id, cached);
+			} else if (todoIdFilter.mightExist(id)) {
+				toLoad.add(id);
+			}
+		}
+
+		final var version = todoCache.version(tenant);
+		for (var start = 0; start < toLoad.size(); start += batchChunkSize) {
+			final var chunk = toLoad.subList(start, Math.min(start + batchChunkSize, toLoad.size()));
+			for (final var todo : todoRepository.findByTenantIdAndIdIn(tenant, chunk)) {
+				final var dto = TodoMapper.toResponse(todo);
+				found.put(dto.id(), dto);
+				todoCache.put(tenant, dto, version);
+			}
+		}
+
+		final var todos = ids.stream().map(found::get).toList();
+		final var missing = ids.stream().distinct().filter(id -> !found.containsKey(id)).toList();
+
+		return new TodoBatchDto(todos, missing);
 	}
 
 	@Override
 	@Transactional
 	public TodoResponseDto update(Long id, TodoUpdateDto request) {
-		final var entity = findEntityById(id);
+		final var tenant = TenantContext.current();
+		tenantLimiter.acquire(tenant);
+
+		final var entity = findEntityById(tenant, id);
+		final var wasCompleted = entity.isCompleted();
+		final var previousCompletedAt = entity.getCompletedAt();
+		// Also initializes the lazy tags before the rollup update below clears the persistence context
+		final var previousTags = tagNames(entity);
+		final var before = AuditSnapshot.of(entity);
 
 		entity.setTitle(request.getTitle());
 		entity.setDescription(request.getDescription());
 		entity.setCompleted(request.isCompleted());
+		if (wasCompleted != request.isCompleted()) {
+			entity.setCompletedAt(request.isCompleted() ? clock.millis() : 0);
+		}
+		if (request.getTags() != null) {
+			entity.getTags().clear();
+			entity.getTags().addAll(resolveTags(tenant, request.getTags()));
+		}
+		if (request.hasDueAt()) {
+			entity.setDueAt(EpochMillis.toEpochMillis(request.getDueAt()));
+		}
+		final var previousRemindAt = entity.getRemindAt();
+		if (request.hasRemindAt()) {
+			entity.setRemindAt(EpochMillis.toEpochMillis(request.getRemindAt()));
+		}
 
 		final var result = todoRepository.save(entity);
+		todoCache.evict(tenant, id);
+		todoListCache.invalidate(tenant);
+		auditLog.record(tenant, id, AuditOperation.UPDATE, before, AuditSnapshot.of(result));
+		if (result.getRemindAt() != previousRemindAt) {
+			// A new reminder time fires again even if the old one already did
+			todoRepository.rearmReminder(id);
+			reminderScheduler.schedule(id, result.getRemindAt());
+		} else if (wasCompleted && !request.isCompleted() && result.getRemindedAt() == 0) {
+			// Skipped while completed; an overdue one fires right away
+			reminderScheduler.schedule(id, result.getRemindAt());
+		}
+		final var currentTags = tagNames(result);
+		if (!currentTags.equals(previousTags) || wasCompleted != request.isCompleted()) {
+			tagIndex.onSaved(tenant, id, difference(previousTags, currentTags), difference(currentTags, previousTags), request.isCompleted());
+		}
+		if (wasCompleted != request.isCompleted()) {
+			todoRepository.incrementRollups(tenant, TodoPath.selfAndAncestorIds(entity), 0, request.isCompleted() ? 1 : -1);
+			statsService.onCompletionChanged(tenant, request.isCompleted(), entity.getCreatedAt(),
+				request.isCompleted() ? result.getCompletedAt() : previousCompletedAt);
+		}
 
 		return TodoMapper.toResponse(result);
 	}
@@ -63,12 +225,91 @@ public class TodoServiceImpl implements TodoService {
 	@Override
 	@Transactional
 	public void delete(Long id) {
-		final var entity = findEntityById(id);
-		todoRepository.delete(entity);
+		final var tenant = TenantContext.current();
+		tenantLimiter.acquire(tenant);
+
+		final var entity = findEntityById(tenant, id);
+		// Descendants removed with the subtree are recorded only through this entry
+		auditLog.record(tenant, id, AuditOperation.DELETE, AuditSnapshot.of(entity), Map.of());
+		final long completionCount;
+		final long completionTimeSum;
+		if (entity.getSubtreeSize() > 1) {
+			final var prefix = TodoPath.subtreePrefix(entity);
+			final var upper = TodoPath.upperBound(prefix);
+			// The todos a reopen would change are the subtree's completed ones
+			final var completions = todoRepository.findSubtreeCompletionChange(tenant, id, prefix, upper, false, 0);
+			completionCount = completions.getCompletionCount();
+			completionTimeSum = completions.getCompletionTimeSum();
+			todoRepository.deleteSubtreeTagLinks(tenant, id, prefix, upper);
+			todoRepository.deleteSubtree(tenant, id, prefix, upper);
+			todoCache.evictTenant(tenant);
+			tagIndex.invalidate(tenant);
+		} else {
+			final var completedAt = entity.isCompleted() ? entity.getCompletedAt() : 0;
+			completionCount = completedAt > 0 ? 1 : 0;
+			completionTimeSum = completedAt > 0 ? completedAt - entity.getCreatedAt() : 0;
+			todoRepository.delete(entity);
+			todoCache.evict(tenant, id);
+			tagIndex.onDeleted(tenant, List.of(id));
+		}
+
+		if (entity.getParentId() != null) {
+			todoRepository.incrementRollups(tenant, TodoPath.ancestorIds(entity.getPath()),
+				-entity.getSubtreeSize(), -entity.getSubtreeCompleted());
+		}
+		statsService.onDeleted(tenant, entity.getSubtreeSize(), entity.getSubtreeCompleted(), completionCount, completionTimeSum);
+		todoListCache.invalidate(tenant);
+	}
+
+	/**
+	 * Looks up the tenant's tags by normalized name, creating the missing ones.
+	 */
+	private Set<Tag> resolveTags(String tenant, Collection<String> names) {
+		if (names == null || names.isEmpty()) {
+			return Set.of();
+		}
+
+		final var normalized = TagNames.normalize(names);
+		var tags = tagRepository.findByTenantIdAndNameIn(tenant, normalized);
+		if (tags.size() < normalized.size()) {
+			final var existing = tags.stream().map(Tag::getName).collect(Collectors.toSet());
+			normalized.stream()
+				.filter(name -> !existing.contains(name))
+				.forEach(name -> tagRepository.insertIfAbsent(tenant, name));
+			tags = tagRepository.findByTenantIdAndNameIn(tenant, normalized);
+		}
+
+		return new HashSet<>(tags);
+	}
+
+	private static Set<String> tagNames(Todo todo) {
+		return todo.getTags().stream().map(Tag::getName).collect(Collectors.toSet());
 	}
 
-	private Todo findEntityById(Long id) {
-		return todoRepository.findById(id)
-			.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Entity not found"));
+	private static Set<String> difference(Set<String> left, Set<String> right) {
+		final var result = new HashSet<>(left);
+		result.removeAll(right);
+		return result;
 	}
+
+	private Todo findParent(String tenant, Long parentId) {
+		final var parent = todoRepository.findByIdAndTenantId(parentId, tenant)
+			.orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parent todo not found"));
+		if (parent.getDepth() + 1 > maxDepth) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Todo tree is limited to depth " + maxDepth);
+		}
+
+		return parent;
+	}
+
+	private Todo findEntityById(String tenant, Long id) {
+		if (!todoIdFilter.mightExist(id)) {
+			throw new TodoNotFoundException(id);
+		}
+
+		return todoRepository.findByIdAndTenantId(id, tenant)
+			.orElseThrow(() -> new TodoNotFoundException(id));
+	}
+
+	private record TodoKey(String tenant, Long id) {}
 }
@@ -0,0 +1,133 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.DailyCountDto;
+import org.example.dto.TodoStatsDto;
+import org.example.mapper.EpochMillis;
+import org.example.model.TodoCounter;
+import org.example.repository.TodoCounterRepository;
+import org.example.repository.TodoDailyStatRepository;
+import org.example.repository.TodoRepository;
+import org.example.tenant.TenantContext;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+
+/**
+ * Aggregate statistics served from counters instead of table scans.
+ * <p>
+ * The {@code on*} methods are called from inside the mutating transaction, so counters and
+ * rows commit together. {@link #reconcile()} periodically recomputes the counters from the
+ * hot and archive tables to repair any drift (e.g. rows written outside the service), one
+ * tenant per transaction so the write lock is never held for more than one tenant's rows.
+ * <p>
+ * A todo leaving the completed set, by reopening or deletion, takes its completion time back
+ * out of the average. The daily rollup is exempt: it records what was created and completed
+ * on each day, and a later reopen or delete does not undo that activity.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TodoStatsService {
+
+	private final TodoCounterRepository counterRepository;
+	private final TodoDailyStatRepository dailyStatRepository;
+	private final TodoRepository todoRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final Clock clock;
+
+	/**
+	 * The total was already incremented by {@link org.example.tenant.TenantLimiter#reserveRow}.
+	 */
+	public void onCreated(String tenant, long createdAt) {
+		dailyStatRepository.increment(tenant, EpochMillis.toEpochDay(createdAt), 1, 0);
+	}
+
+	/**
+	 * @param completedAt when completing, the new completion time; when reopening, the one
+	 *                    being cleared, or 0 if none was recorded
+	 */
+	public void onCompletionChanged(String tenant, boolean completed, long createdAt, long completedAt) {
+		if (completed) {
+			counterRepository.increment(tenant, 0, 1, 1, completedAt - createdAt);
+			dailyStatRepository.increment(tenant, EpochMillis.toEpochDay(completedAt), 0, 1);
+		} else if (completedAt > 0) {
+			counterRepository.increment(tenant, 0, -1, -1, createdAt - completedAt);
+		} else {
+			counterRepository.increment(tenant, 0, -1, 0, 0);
+		}
+	}
+
+	/**
+	 * Cascaded completion of a subtree.
+	 *
+	 * @param changed            todos whose completion flipped
+	 * @param completionCount    todos among them that gain or lose a recorded completion time
+	 * @param completionTimeSum  summed completion time gained or lost
+	 */
+	public void onCompletionChanged(String tenant, boolean completed, long changed, long completionCount,
+									long completionTimeSum, long changedAt) {
+		if (changed == 0) {
+			return;
+		}
+
+		if (completed) {
+			counterRepository.increment(tenant, 0, changed, completionCount, completionTimeSum);
+			dailyStatRepository.increment(tenant, EpochMillis.toEpochDay(changedAt), 0, changed);
+		} else {
+			counterRepository.increment(tenant, 0, -changed, -completionCount, -completionTimeSum);
+		}
+	}
+
+	/**
+	 * @param completionCount    deleted todos with a recorded completion time
+	 * @param completionTimeSum  summed completion time of those todos
+	 */
+	public void onDeleted(String tenant, long deleted, long completed, long completionCount, long completionTimeSum) {
+		counterRepository.increment(tenant, -deleted, -completed, -completionCount, -completionTimeSum);
+	}
+
+	@Transactional(readOnly = true)
+	public TodoStatsDto getStats(int days) {
+		final var tenant = TenantContext.current();
+		final var counter = counterRepository.findById(tenant)
+			.orElseGet(() -> new TodoCounter(tenant, 0, 0, 0, 0));
+
+		final var today = EpochMillis.toEpochDay(clock.millis());
+		final var histogram = dailyStatRepository
+			.findByTenantIdAndEpochDayBetweenOrderByEpochDay(tenant, today - days + 1, today)
+			.stream()
+			.map(stat -> new DailyCountDto(LocalDate.ofEpochDay(stat.getEpochDay()), stat.getCreated(), stat.getCompleted()))
+			.toList();
+
+		final var averageCompletionSeconds = counter.getCompletionCount() == 0
+			? null
+			: counter.getCompletionTimeSumMs() / 1000d / counter.getCompletionCount();
+
+		return new TodoStatsDto(
+			counter.getTotal(),
+			counter.getCompleted(),
+			counter.getTotal() - counter.getCompleted(),
+			averageCompletionSeconds,
+			histogram
+		);
+	}
+
+	@Scheduled(cron = "${app.stats.reconcile-cron:0 0 3 * * *}")
+	public void reconcile() {
+		final var tenants = new LinkedHashSet<>(todoRepository.findDistinctTenantIds());
+		counterRepository.findAll().forEach(counter -> tenants.add(counter.getTenantId()));
+
+		for (final var tenant : tenants) {
+			transactionTemplate.executeWithoutResult(status -> counterRepository.recompute(tenant));
+		}
+
+		log.info("Reconciled todo counters for {} tenants", tenants.size());
+	}
+}
@@ -0,0 +1,186 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.audit.AuditField;
+import org.example.audit.AuditLog;
+import org.example.audit.AuditOperation;
+import org.example.cache.TodoListCache;
+import org.example.dto.TodoNodeDto;
+import org.example.dto.TodoSubtreeDto;
+import org.example.mapper.TodoMapper;
+import org.example.model.Todo;
+import org.example.model.TodoPath;
+import org.example.reminder.ReminderScheduler;
+import org.example.repository.ReminderView;
+import org.example.repository.TodoRepository;
+import org.example.tag.TagIndex;
+import org.example.tenant.TenantContext;
+import org.example.tenant.TenantLimiter;
+import org.example.tenant.TenantTodoCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Subtree reads, moves and cascaded completion over the materialized paths described in
+ * {@link TodoPath}.
+ * <p>
+ * Each operation is a fixed number of set-based statements regardless of subtree size:
+ * one range query to read, and one range update plus one update of the ancestors' rollups
+ * ({@code subtree_size}, {@code subtree_completed}) to write.
+ */
+@Service
+@RequiredArgsConstructor
+public class TodoTreeService {
+
+	private final TodoRepository todoRepository;
+	private final TenantLimiter tenantLimiter;
+	private final TenantTodoCache todoCache;
+	private final TodoListCache todoListCache;
+	private final TodoStatsService statsService;
+	private final TagIndex tagIndex;
+	private final AuditLog auditLog;
+	private final ReminderScheduler reminderScheduler;
+	private final Clock clock;
+
+	@Value("${app.tree.max-depth:32}")
+	private int maxDepth;
+
+	@Transactional(readOnly = true)
+	public TodoSubtreeDto getSubtree(Long id, int depth, int limit) {
+		final var tenant = TenantContext.current();
+		tenantLimiter.acquire(tenant);
+
+		final var root = findEntityById(tenant, id);
+		final var prefix = TodoPath.subtreePrefix(root);
+		final var descendants = todoRepository.findDescendants(
+			tenant,
+			prefix,
+			TodoPath.upperBound(prefix),
+			root.getDepth() + depth,
+			PageRequest.of(0, limit + 1)
+		);
+
+		final var truncated = descendants.size() > limit;
+		final var nodes = descendants.stream()
+			.limit(limit)
+			.map(TodoMapper::toNode)
+			.toList();
+
+		return new TodoSubtreeDto(TodoMapper.toNode(root), nodes, truncated);
+	}
+
+	/**
+	 * Re-parents {@code id} and its whole subtree under {@code newParentId}, or makes it a
+	 * root when {@code newParentId} is {@code null}.
+	 */
+	@Transactional
+	public TodoNodeDto move(Long id, Long newParentId) {
+		final var tenant = TenantContext.current();
+		tenantLimiter.acquire(tenant);
+
+		final var todo = findEntityById(tenant, id);
+		final var prefix = TodoPath.subtreePrefix(todo);
+		final var upper = TodoPath.upperBound(prefix);
+
+		final String newPath;
+		final int newDepth;
+		if (newParentId == null) {
+			newPath = TodoPath.ROOT;
+			newDepth = 0;
+		} else {
+			final var parent = todoRepository.findByIdAndTenantId(newParentId, tenant)
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Parent todo not found"));
+			if (parent.getId().equals(id) || parent.getPath().startsWith(prefix)) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot move a todo into its own subtree");
+			}
+			newPath = TodoPath.subtreePrefix(parent);
+			newDepth = parent.getDepth() + 1;
+		}
+
+		final var depthDelta = newDepth - todo.getDepth();
+		final var deepest = Math.max(todo.getDepth(), todoRepository.findMaxDescendantDepth(tenant, prefix, upper));
+		if (deepest + depthDelta > maxDepth) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Todo tree is limited to depth " + maxDepth);
+		}
+
+		final var oldAncestors = TodoPath.ancestorIds(todo.getPath());
+		final var newAncestors = TodoPath.ancestorIds(newPath);
+		if (!oldAncestors.isEmpty()) {
+			todoRepository.incrementRollups(tenant, oldAncestors, -todo.getSubtreeSize(), -todo.getSubtreeCompleted());
+		}
+		todoRepository.moveSubtree(tenant, id, newParentId, todo.getPath(), newPath, depthDelta, prefix, upper);
+		if (!newAncestors.isEmpty()) {
+			todoRepository.incrementRollups(tenant, newAncestors, todo.getSubtreeSize(), todo.getSubtreeCompleted());
+		}
+
+		// Descendant paths changed, but the cached DTOs only carry parentId
+		todoCache.evict(tenant, id);
+		todoListCache.invalidate(tenant);
+		auditLog.record(tenant, id, AuditOperation.MOVE,
+			field(AuditField.PARENT_ID, todo.getParentId()), field(AuditField.PARENT_ID, newParentId));
+
+		return TodoMapper.toNode(findEntityById(tenant, id));
+	}
+
+	/**
+	 * Sets the completion of {@code id} and every descendant.
+	 */
+	@Transactional
+	public TodoNodeDto complete(Long id, boolean completed) {
+		final var tenant = TenantContext.current();
+		tenantLimiter.acquire(tenant);
+
+		final var todo = findEntityById(tenant, id);
+		final var prefix = TodoPath.subtreePrefix(todo);
+		final var upper = TodoPath.upperBound(prefix);
+		final var now = clock.millis();
+
+		final var change = todoRepository.findSubtreeCompletionChange(tenant, id, prefix, upper, completed, now);
+		if (change.getChanged() == 0) {
+			return TodoMapper.toNode(todo);
+		}
+
+		// Read before the update, which makes them indistinguishable from open todos
+		final var reminders = completed ? List.<ReminderView>of()
+			: todoRepository.findSubtreeSkippedReminders(tenant, id, prefix, upper);
+		todoRepository.completeSubtree(tenant, id, prefix, upper, completed, now);
+		// Skipped while completed; overdue ones fire right away
+		reminders.forEach(reminder -> reminderScheduler.schedule(reminder.getId(), reminder.getRemindAt()));
+		final var ancestors = TodoPath.ancestorIds(todo.getPath());
+		if (!ancestors.isEmpty()) {
+			final var completedDelta = (completed ? todo.getSubtreeSize() : 0) - todo.getSubtreeCompleted();
+			todoRepository.incrementRollups(tenant, ancestors, 0, completedDelta);
+		}
+
+		todoCache.evictTenant(tenant);
+		todoListCache.invalidate(tenant);
+		tagIndex.invalidate(tenant);
+		// Recorded on the todo the cascade was applied to, not on each descendant
+		auditLog.record(tenant, id, AuditOperation.COMPLETE_SUBTREE,
+			field(AuditField.COMPLETED, todo.isCompleted()), field(AuditField.COMPLETED, completed));
+		statsService.onCompletionChanged(tenant, completed, change.getChanged(), change.getCompletionCount(),
+			change.getCompletionTimeSum(), now);
+
+		return TodoMapper.toNode(findEntityById(tenant, id));
+	}
+
+	private static Map<AuditField, String> field(AuditField field, Object value) {
+		final var values = new HashMap<AuditField, String>();
+		values.put(field, value == null ? null : value.toString());
+		return values;
+	}
+
+	private Todo findEntityById(String tenant, Long id) {
+		return todoRepository.findByIdAndTenantId(id, tenant)
+			.orElseThrow(() -> new TodoNotFoundException(id));
+	}
+}
@@ -0,0 +1,202 @@
+package org.example.tag;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Inverted index of one tenant's tags: for every tag the ids of the todos carrying it, plus
+ * the ids of all completed todos, each as a compressed {@link RoaringBitmap}.
+ * <p>
+ * A multi-tag filter is an intersection of bitmaps, smallest first, so its cost follows the
+ * rarest tag rather than the number of rows in {@code todo_tags}. Ids are held as unsigned
+ * 32-bit values, which covers every SQLite rowid this service hands out by several orders
+ * of magnitude. Reads share a lock; writes and reloads are exclusive.
+ */
+public class TagBitmapIndex {
+
+	private static final long MAX_ID = 0xFFFF_FFFFL;
+
+	private final Map<String, RoaringBitmap> byTag = new HashMap<>();
+	private final RoaringBitmap completed = new RoaringBitmap();
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private volatile boolean loaded;
+
+	/**
+	 * @param total number of matching todos
+	 * @param ids   the highest (newest) matching ids, descending, up to the requested limit
+	 */
+	public record Hits(long total, List<Long> ids) {
+
+		public static final Hits NONE = new Hits(0, List.of());
+	}
+
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * Replaces the contents with what {@code loader} adds through {@link #add} and
+	 * {@link #markCompleted}, unless already loaded and {@code force} is false. The write
+	 * lock is held throughout, so changes committed while loading queue up behind it and are
+	 * applied on top; they are idempotent, so applying one the loader already saw is harmless.
+	 */
+	public void load(Consumer<TagBitmapIndex> loader, boolean force) {
+		lock.writeLock().lock();
+		try {
+			if (loaded && !force) {
+				return;
+			}
+			byTag.clear();
+			completed.clear();
+			loader.accept(this);
+			byTag.values().forEach(RoaringBitmap::runOptimize);
+			completed.runOptimize();
+			loaded = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void add(long id, String tag) {
+		lock.writeLock().lock();
+		try {
+			byTag.computeIfAbsent(tag, key -> new RoaringBitmap()).add(toInt(id));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void markCompleted(long id) {
+		lock.writeLock().lock();
+		try {
+			completed.add(toInt(id));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Applies a saved todo: drops {@code id} from {@code removed}, adds it to {@code added}
+	 * and records its completion.
+	 */
+	public void update(long id, Collection<String> removed, Collection<String> added, boolean isCompleted) {
+		final var value = toInt(id);
+		lock.writeLock().lock();
+		try {
+			for (final var tag : removed) {
+				final var bitmap = byTag.get(tag);
+				if (bitmap != null) {
+					bitmap.remove(value);
+					if (bitmap.isEmpty()) {
+						byTag.remove(tag);
+					}
+				}
+			}
+			for (final var tag : added) {
+				byTag.computeIfAbsent(tag, key -> new RoaringBitmap()).add(value);
+			}
+			if (isCompleted) {
+				completed.add(value);
+			} else {
+				completed.remove(value);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Drops deleted todos. Their tags are not known here, so every tag bitmap is visited;
+	 * that is one binary search per tag and id, cheap next to the delete itself.
+	 */
+	public void remove(Collection<Long> ids) {
+		final var removed = new RoaringBitmap();
+		ids.forEach(id -> removed.add(toInt(id)));
+
+		lock.writeLock().lock();
+		try {
+			byTag.values().removeIf(bitmap -> {
+				bitmap.andNot(removed);
+				return bitmap.isEmpty();
+			});
+			completed.andNot(removed);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @param tags      normalized tag names that must all be present; at least one
+	 * @param completed completion to filter on, or {@code null} for both
+	 * @param limit     maximum number of ids to return
+	 */
+	public Hits search(Collection<String> tags, Boolean completed, int limit) {
+		lock.readLock().lock();
+		try {
+			final var bitmaps = new ArrayList<RoaringBitmap>(tags.size());
+			for (final var tag : tags) {
+				final var bitmap = byTag.get(tag);
+				if (bitmap == null) {
+					return Hits.NONE;
+				}
+				bitmaps.add(bitmap);
+			}
+			if (bitmaps.isEmpty()) {
+				return Hits.NONE;
+			}
+			bitmaps.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+
+			var result = bitmaps.get(0);
+			for (var i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+				result = RoaringBitmap.and(result, bitmaps.get(i));
+			}
+			if (completed != null) {
+				result = completed ? RoaringBitmap.and(result, this.completed) : RoaringBitmap.andNot(result, this.completed);
+			}
+
+			final var ids = new ArrayList<Long>(Math.min(limit, result.getCardinality()));
+			final var iterator = result.getReverseIntIterator();
+			while (iterator.hasNext() && ids.size() < limit) {
+				ids.add(Integer.toUnsignedLong(iterator.next()));
+			}
+
+			return new Hits(result.getLongCardinality(), ids);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int tagCount() {
+		lock.readLock().lock();
+		try {
+			return byTag.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public long sizeInBytes() {
+		lock.readLock().lock();
+		try {
+			return byTag.values().stream().mapToLong(RoaringBitmap::getLongSizeInBytes).sum()
+				+ completed.getLongSizeInBytes();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private static int toInt(long id) {
+		if (id < 0 || id > MAX_ID) {
+			throw new IllegalArgumentException("Todo id out of range for the tag index: " + id);
+		}
+		return (int) id;
+	}
+}
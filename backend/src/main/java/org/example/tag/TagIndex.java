@@ -0,0 +1,110 @@
+package org.example.tag;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.event.DatabaseRestoredEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory tag index of all tenants, one {@link TagBitmapIndex} each.
+ * <p>
+ * Built from {@code todo_tags} at startup, and again lazily per tenant after the database is
+ * restored. Writers report their changes here; they are applied only after the transaction
+ * commits, so a search never sees an id whose row could still be rolled back. Set-based
+ * writes that touch an unknown set of rows invalidate the tenant instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TagIndex {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ConcurrentMap<String, TagBitmapIndex> tenants = new ConcurrentHashMap<>();
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		final var started = System.nanoTime();
+		final var tenantIds = jdbcTemplate.queryForList("SELECT DISTINCT tenant_id FROM tags", String.class);
+		var bytes = 0L;
+		for (final var tenant : tenantIds) {
+			final var index = tenants.computeIfAbsent(tenant, key -> new TagBitmapIndex());
+			index.load(target -> loadTenant(tenant, target), true);
+			bytes += index.sizeInBytes();
+		}
+
+		log.info("Built tag index for {} tenants ({} KiB) in {} ms",
+			tenantIds.size(), bytes / 1024, (System.nanoTime() - started) / 1_000_000);
+	}
+
+	@EventListener(DatabaseRestoredEvent.class)
+	public void clear() {
+		tenants.clear();
+	}
+
+	public TagBitmapIndex.Hits search(String tenant, Collection<String> tags, Boolean completed, int limit) {
+		return index(tenant).search(tags, completed, limit);
+	}
+
+	public void onSaved(String tenant, long id, Collection<String> removed, Collection<String> added, boolean completed) {
+		afterCommit(() -> index(tenant).update(id, removed, added, completed));
+	}
+
+	public void onDeleted(String tenant, Collection<Long> ids) {
+		final var copy = List.copyOf(ids);
+		afterCommit(() -> index(tenant).remove(copy));
+	}
+
+	/**
+	 * Drops the tenant's index; the next access reloads it from the database.
+	 */
+	public void invalidate(String tenant) {
+		afterCommit(() -> tenants.remove(tenant));
+	}
+
+	private TagBitmapIndex index(String tenant) {
+		final var index = tenants.computeIfAbsent(tenant, key -> new TagBitmapIndex());
+		if (!index.isLoaded()) {
+			index.load(target -> loadTenant(tenant, target), false);
+		}
+
+		return index;
+	}
+
+	private void loadTenant(String tenant, TagBitmapIndex target) {
+		jdbcTemplate.query(
+			"SELECT tt.todo_id, t.name FROM todo_tags tt JOIN tags t ON t.id = tt.tag_id WHERE t.tenant_id = ?",
+			(RowCallbackHandler) rs -> target.add(rs.getLong(1), rs.getString(2)),
+			tenant
+		);
+		jdbcTemplate.query(
+			"SELECT id FROM todos WHERE tenant_id = ? AND completed = 1",
+			(RowCallbackHandler) rs -> target.markCompleted(rs.getLong(1)),
+			tenant
+		);
+	}
+
+	private static void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+}
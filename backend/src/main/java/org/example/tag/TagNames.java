@@ -0,0 +1,43 @@
+package org.example.tag;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Normalization of tag names: trimmed and lower-cased, so {@code "Home"} and {@code " home"}
+ * are the same tag.
+ */
+public final class TagNames {
+
+	public static final int MAX_LENGTH = 50;
+	public static final int MAX_PER_TODO = 20;
+
+	private TagNames() {
+	}
+
+	/**
+	 * @return the distinct normalized names in sorted order
+	 * @throws ResponseStatusException 400 for blank or over-long names, or too many tags
+	 */
+	public static SortedSet<String> normalize(Collection<String> names) {
+		final var normalized = new TreeSet<String>();
+		for (final var name : names) {
+			final var tag = name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+			if (tag.isEmpty() || tag.length() > MAX_LENGTH || tag.indexOf(',') >= 0) {
+				throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+					"Tags must be 1 to " + MAX_LENGTH + " characters without commas");
+			}
+			normalized.add(tag);
+		}
+		if (normalized.size() > MAX_PER_TODO) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A todo can have at most " + MAX_PER_TODO + " tags");
+		}
+
+		return normalized;
+	}
+}
@@ -0,0 +1,27 @@
+package org.example.tenant;
+
+/**
+ * Holds the tenant of the request being served on the current thread.
+ */
+public final class TenantContext {
+
+	public static final String DEFAULT_TENANT = "default";
+
+	private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+	private TenantContext() {
+	}
+
+	public static String current() {
+		final var tenant = CURRENT.get();
+		return tenant == null ? DEFAULT_TENANT : tenant;
+	}
+
+	public static void set(String tenant) {
+		CURRENT.set(tenant);
+	}
+
+	public static void clear() {
+		CURRENT.remove();
+	}
+}
@@ -0,0 +1,44 @@
+package org.example.tenant;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Binds the {@code X-Tenant-Id} request header to {@link TenantContext} for the duration
+ * of the request. Requests without the header belong to {@link TenantContext#DEFAULT_TENANT}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class TenantFilter extends OncePerRequestFilter {
+
+	public static final String TENANT_HEADER = "X-Tenant-Id";
+
+	private static final Pattern TENANT_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+		throws ServletException, IOException {
+		final var tenant = request.getHeader(TENANT_HEADER);
+		if (tenant != null && !TENANT_PATTERN.matcher(tenant).matches()) {
+			response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid tenant id");
+			return;
+		}
+
+		TenantContext.set(tenant);
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			TenantContext.clear();
+		}
+	}
+}
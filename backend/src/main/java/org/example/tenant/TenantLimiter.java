@@ -0,0 +1,79 @@
+package org.example.tenant;
+
+import lombok.RequiredArgsConstructor;
+import org.example.limit.TokenBucket;
+import org.example.repository.TodoCounterRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enforces per-tenant request rates and row quotas.
+ * <p>
+ * The row quota is checked against {@code todo_counters.total}, which counts archived todos
+ * too, rather than by counting the tenant's rows on every create.
+ * <p>
+ * Requests without a tenant header share {@link TenantContext#DEFAULT_TENANT}, which is the
+ * whole deployment for clients that predate tenants (such as the frontend). It is only
+ * limited with {@code app.tenant.limit-default-tenant=true}.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantLimiter {
+
+	private final TodoCounterRepository counterRepository;
+
+	@Value("${app.tenant.requests-per-second:50}")
+	private double requestsPerSecond;
+
+	@Value("${app.tenant.burst:100}")
+	private double burst;
+
+	@Value("${app.tenant.max-rows:10000}")
+	private long maxRows;
+
+	@Value("${app.tenant.limit-default-tenant:false}")
+	private boolean limitDefaultTenant;
+
+	private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+	public void acquire(String tenant) {
+		if (isExempt(tenant)) {
+			return;
+		}
+
+		final var bucket = buckets.computeIfAbsent(tenant, key -> new TokenBucket(burst, requestsPerSecond));
+		if (!bucket.tryConsume()) {
+			throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Tenant rate limit exceeded");
+		}
+	}
+
+	/**
+	 * Counts a new todo against the tenant's quota. Called inside the creating transaction,
+	 * so a rollback also returns the reserved row.
+	 */
+	public void reserveRow(String tenant) {
+		final var limit = isExempt(tenant) ? Long.MAX_VALUE : maxRows;
+		if (counterRepository.incrementTotalBelow(tenant, limit) == 0) {
+			throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Tenant row quota exceeded");
+		}
+	}
+
+	/**
+	 * Drops buckets that have refilled completely, so tenant ids seen once (the header is set
+	 * by clients) do not accumulate.
+	 */
+	@Scheduled(fixedDelayString = "${app.tenant.cleanup-interval-ms:60000}")
+	public void evictIdleTenants() {
+		buckets.values().removeIf(TokenBucket::isFull);
+	}
+
+	private boolean isExempt(String tenant) {
+		return !limitDefaultTenant && TenantContext.DEFAULT_TENANT.equals(tenant);
+	}
+}
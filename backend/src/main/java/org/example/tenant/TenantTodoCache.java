@@ -0,0 +1,160 @@
+package org.example.tenant;
+
+import org.example.dto.TodoResponseDto;
+import org.example.event.DatabaseRestoredEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read cache of todos partitioned by tenant. Each tenant gets its own bounded LRU, so a
+ * tenant with a large working set only evicts its own entries.
+ * <p>
+ * Entries never expire, so a load must not store a row that an eviction already replaced.
+ * Loaders read the partition {@link #version(String)} before querying and pass it to
+ * {@link #put}; any eviction in between (including the one repeated after a writer commits)
+ * changes the version and the put is dropped.
+ */
+@Component
+public class TenantTodoCache {
+
+	@Value("${app.tenant.cache-entries-per-tenant:1000}")
+	private int entriesPerTenant;
+
+	@Value("${app.tenant.cache-max-tenants:1000}")
+	private int maxTenants;
+
+	// Versions come from one counter, so a partition created after an eviction never reuses one
+	private final AtomicLong versions = new AtomicLong();
+
+	private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+	public TodoResponseDto get(String tenant, Long id) {
+		final var partition = partition(tenant);
+		synchronized (partition) {
+			return partition.get(id);
+		}
+	}
+
+	/**
+	 * @return the version to pass to {@link #put} for a row read after this call
+	 */
+	public long version(String tenant) {
+		final var partition = partition(tenant);
+		synchronized (partition) {
+			return partition.version;
+		}
+	}
+
+	/**
+	 * Caches a loaded todo unless the tenant's entries were evicted since {@code version}
+	 * was read, in which case the row may predate a committed write.
+	 */
+	public void put(String tenant, TodoResponseDto todo, long version) {
+		final var partition = partition(tenant);
+		synchronized (partition) {
+			if (partition.version == version) {
+				partition.put(todo.id(), todo);
+			}
+		}
+	}
+
+	/**
+	 * Evicts the entry now and, when a transaction is active, again after it commits so a
+	 * concurrent reader cannot re-populate the cache with the pre-commit row.
+	 */
+	public void evict(String tenant, Long id) {
+		evictNow(tenant, id);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					evictNow(tenant, id);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Drops all entries of a tenant, for set-based changes that touch an unknown number of
+	 * rows. Like {@link #evict}, repeated after commit.
+	 */
+	public void evictTenant(String tenant) {
+		evictTenantNow(tenant);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					evictTenantNow(tenant);
+				}
+			});
+		}
+	}
+
+	@EventListener(DatabaseRestoredEvent.class)
+	public void clear() {
+		partitions.clear();
+	}
+
+	private void evictNow(String tenant, Long id) {
+		final var partition = partition(tenant);
+		synchronized (partition) {
+			partition.remove(id);
+			partition.version = versions.incrementAndGet();
+		}
+	}
+
+	private void evictTenantNow(String tenant) {
+		partitions.remove(tenant);
+	}
+
+	private Partition partition(String tenant) {
+		var partition = partitions.get(tenant);
+		if (partition == null) {
+			partition = partitions.computeIfAbsent(tenant, key -> new Partition(versions.incrementAndGet()));
+			if (partitions.size() > maxTenants) {
+				evictLeastRecentlyUsedTenant();
+			}
+		}
+		partition.lastUsed = System.nanoTime();
+		return partition;
+	}
+
+	/**
+	 * Only runs when a new tenant pushes the cache over its bound, so the scan stays off the
+	 * get/put path. A dropped partition that is still referenced just becomes unreachable.
+	 */
+	private void evictLeastRecentlyUsedTenant() {
+		partitions.entrySet().stream()
+			.min(Comparator.comparingLong(entry -> entry.getValue().lastUsed))
+			.ifPresent(eldest -> partitions.remove(eldest.getKey(), eldest.getValue()));
+	}
+
+	/**
+	 * One tenant's LRU; guarded by its own monitor.
+	 */
+	private final class Partition extends LinkedHashMap<Long, TodoResponseDto> {
+
+		private long version;
+
+		private volatile long lastUsed = System.nanoTime();
+
+		Partition(long version) {
+			super(16, 0.75f, true);
+			this.version = version;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, TodoResponseDto> eldest) {
+			return size() > entriesPerTenant;
+		}
+	}
+}
@@ -0,0 +1,33 @@
+package org.example.validation;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * 400 for a request body that breaks its DTO's constraints. The violations are listed in
+ * the {@code errors} property of the problem response. Like
+ * {@link org.example.service.TodoNotFoundException} it carries no stack trace.
+ */
+public class RequestValidationException extends ResponseStatusException {
+
+	private final List<FieldViolation> violations;
+
+	public record FieldViolation(String field, String message) {}
+
+	public RequestValidationException(List<FieldViolation> violations) {
+		super(HttpStatus.BAD_REQUEST, "Request validation failed");
+		this.violations = List.copyOf(violations);
+		getBody().setProperty("errors", this.violations);
+	}
+
+	public List<FieldViolation> getViolations() {
+		return violations;
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return this;
+	}
+}
@@ -0,0 +1,92 @@
+package org.example.validation;
+
+import org.example.dto.TodoCreateDto;
+import org.example.dto.TodoUpdateDto;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Hand-written checks of the constraints declared on {@link TodoCreateDto} and
+ * {@link TodoUpdateDto}, used instead of {@code @Valid} on the write endpoints.
+ * <p>
+ * Bean Validation walks the DTO's metadata reflectively on every request; these are plain
+ * field checks with the same rules and messages. The annotations stay on the DTOs as the
+ * reference, and {@code TodoRequestValidatorTest} keeps both in agreement.
+ */
+public final class TodoRequestValidator {
+
+	static final int TITLE_MAX = 255;
+	static final int DESCRIPTION_MAX = 1000;
+	static final int TAGS_MAX = 20;
+	static final int TAG_MAX = 50;
+
+	private TodoRequestValidator() {
+	}
+
+	/**
+	 * @throws RequestValidationException listing every violated constraint
+	 */
+	public static void validate(TodoCreateDto request) {
+		final var violations = check(request.getTitle(), request.getDescription(), request.getTags());
+		if (violations != null) {
+			throw new RequestValidationException(violations);
+		}
+	}
+
+	/**
+	 * @throws RequestValidationException listing every violated constraint
+	 */
+	public static void validate(TodoUpdateDto request) {
+		final var violations = check(request.getTitle(), request.getDescription(), request.getTags());
+		if (violations != null) {
+			throw new RequestValidationException(violations);
+		}
+	}
+
+	/**
+	 * @return the violations, or {@code null} for a valid request so the common case
+	 * allocates nothing
+	 */
+	private static List<RequestValidationException.FieldViolation> check(String title, String description, Collection<String> tags) {
+		List<RequestValidationException.FieldViolation> violations = null;
+
+		if (isBlank(title)) {
+			violations = add(violations, "title", "Title cannot be blank");
+		}
+		if (title != null && title.length() > TITLE_MAX) {
+			violations = add(violations, "title", "Title must be less than 255 characters");
+		}
+		if (description != null && description.length() > DESCRIPTION_MAX) {
+			violations = add(violations, "description", "Description must be less than 1000 characters");
+		}
+		if (tags != null) {
+			if (tags.size() > TAGS_MAX) {
+				violations = add(violations, "tags", "A todo can have at most 20 tags");
+			}
+			for (final var tag : tags) {
+				if (isBlank(tag)) {
+					violations = add(violations, "tags", "Tags cannot be blank");
+				}
+				if (tag != null && tag.length() > TAG_MAX) {
+					violations = add(violations, "tags", "Tags must be less than 50 characters");
+				}
+			}
+		}
+
+		return violations;
+	}
+
+	// Same rule as @NotBlank: null, or nothing left after trimming
+	private static boolean isBlank(String value) {
+		return value == null || value.trim().isEmpty();
+	}
+
+	private static List<RequestValidationException.FieldViolation> add(
+		List<RequestValidationException.FieldViolation> violations, String field, String message) {
+		final var result = violations == null ? new ArrayList<RequestValidationException.FieldViolation>(2) : violations;
+		result.add(new RequestValidationException.FieldViolation(field, message));
+		return result;
+	}
+}
@@ -1,6 +1,8 @@
 package org.example;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.async.AsyncTodoWriter;
+import org.example.dto.AsyncOperationDto;
 import org.example.dto.TodoCreateDto;
 import org.example.dto.TodoResponseDto;
 import org.example.dto.TodoUpdateDto;
@@ -18,15 +20,20 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+// Fails any request issuing more statements than the budget, to catch N+1 regressions
+@SpringBootTest(properties = {"app.jdbc.statement-budget=20", "app.jdbc.budget-mode=fail"})
 @AutoConfigureMockMvc
 public class TodoIntegrationTest {
 
@@ -38,6 +45,8 @@ public class TodoIntegrationTest {
 	private TodoService service;
 	@Autowired
 	private TodoRepository repository;
+	@Autowired
+	private AsyncTodoWriter asyncTodoWriter;
 
 	private TodoResponseDto sampleResponseDto;
 	private TodoCreateDto createDto;
@@ -84,6 +93,252 @@ public class TodoIntegrationTest {
 			.andExpect(jsonPath("$.completed").value(sampleResponseDto.completed()));
 	}
 
+	@Test
+	public void given_sameIdempotencyKey_when_createTodoTwice_then_onlyOneTodoIsCreated() throws Exception {
+		// Given
+		final var idempotencyKey = "integration-retry-" + UUID.randomUUID();
+		final var body = objectMapper.writeValueAsString(createDto);
+		final var first = mockMvc.perform(post("/todos")
+				.header("Idempotency-Key", idempotencyKey)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body))
+			.andExpect(status().isCreated())
+			.andReturn();
+		final var created = objectMapper.readValue(first.getResponse().getContentAsString(), TodoResponseDto.class);
+
+		// When
+		final var result = mockMvc.perform(post("/todos")
+			.header("Idempotency-Key", idempotencyKey)
+			.contentType(MediaType.APPLICATION_JSON)
+			.content(body));
+
+		// Then
+		result.andExpect(status().isCreated())
+			.andExpect(header().string("Idempotent-Replayed", "true"))
+			.andExpect(jsonPath("$.id").value(created.id()));
+		assertThat(repository.count()).isEqualTo(1L);
+	}
+
+	@Test
+	public void given_asyncCreate_when_queueIsDrained_then_operationReportsCreatedTodo() throws Exception {
+		// Given
+		final var accepted = mockMvc.perform(post("/todos/async")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(createDto)))
+			.andExpect(status().isAccepted())
+			.andExpect(jsonPath("$.status").value("PENDING"))
+			.andReturn();
+		final var operation = objectMapper.readValue(accepted.getResponse().getContentAsString(), AsyncOperationDto.class);
+
+		// When
+		asyncTodoWriter.drain();
+		final var result = mockMvc.perform(get("/todos/operations/{id}", operation.id()));
+
+		// Then
+		result.andExpect(status().isOk())
+			.andExpect(jsonPath("$.status").value("COMPLETED"))
+			.andExpect(jsonPath("$.todoId").isNumber());
+		assertThat(repository.count()).isEqualTo(1L);
+	}
+
+	@Test
+	public void given_createdAndCompletedTodos_when_getStats_then_countersReflectMutations() throws Exception {
+		// Given
+		final var tenant = "stats-" + UUID.randomUUID().toString().substring(0, 8);
+		final var body = objectMapper.writeValueAsString(createDto);
+		mockMvc.perform(post("/todos").header("X-Tenant-Id", tenant)
+			.contentType(MediaType.APPLICATION_JSON).content(body));
+		final var second = mockMvc.perform(post("/todos").header("X-Tenant-Id", tenant)
+				.contentType(MediaType.APPLICATION_JSON).content(body))
+			.andReturn();
+		final var completed = objectMapper.readValue(second.getResponse().getContentAsString(), TodoResponseDto.class);
+		mockMvc.perform(put("/todos/{id}", completed.id()).header("X-Tenant-Id", tenant)
+			.contentType(MediaType.APPLICATION_JSON)
+			.content(objectMapper.writeValueAsString(updateDto)));
+
+		// When
+		final var result = mockMvc.perform(get("/todos/stats").header("X-Tenant-Id", tenant));
+
+		// Then
+		result.andExpect(status().isOk())
+			.andExpect(jsonPath("$.total").value(2))
+			.andExpect(jsonPath("$.completed").value(1))
+			.andExpect(jsonPath("$.open").value(1))
+			.andExpect(jsonPath("$.days[0].created").value(2))
+			.andExpect(jsonPath("$.days[0].completed").value(1));
+	}
+
+	@Test
+	public void given_todoTree_when_cascadeCompleteAndMove_then_rollupsFollowSetBasedUpdates() throws Exception {
+		// Given
+		final var tenant = "tree-" + UUID.randomUUID().toString().substring(0, 8);
+		final var project = createInTenant(tenant, null);
+		final var task = createInTenant(tenant, project.id());
+		final var subtask = createInTenant(tenant, task.id());
+		final var other = createInTenant(tenant, null);
+
+		// When
+		mockMvc.perform(post("/todos/{id}/complete", task.id()).header("X-Tenant-Id", tenant))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.subtreeCompleted").value(2));
+		mockMvc.perform(post("/todos/{id}/move", task.id()).header("X-Tenant-Id", tenant)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"parentId\": " + other.id() + "}"))
+			.andExpect(status().isOk());
+
+		// Then
+		mockMvc.perform(get("/todos/{id}/subtree", project.id()).param("depth", "5").header("X-Tenant-Id", tenant))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.root.subtreeSize").value(1))
+			.andExpect(jsonPath("$.root.subtreeCompleted").value(0))
+			.andExpect(jsonPath("$.descendants").isEmpty());
+		mockMvc.perform(get("/todos/{id}/subtree", other.id()).param("depth", "5").header("X-Tenant-Id", tenant))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.root.subtreeSize").value(3))
+			.andExpect(jsonPath("$.root.subtreeCompleted").value(2))
+			.andExpect(jsonPath("$.descendants.length()").value(2))
+			.andExpect(jsonPath("$.descendants[1].id").value(subtask.id()))
+			.andExpect(jsonPath("$.descendants[1].depth").value(2));
+		mockMvc.perform(get("/todos/stats").header("X-Tenant-Id", tenant))
+			.andExpect(jsonPath("$.total").value(4))
+			.andExpect(jsonPath("$.completed").value(2));
+	}
+
+	@Test
+	public void given_taggedTodos_when_searchByTags_then_returnsIntersectionFromIndex() throws Exception {
+		// Given
+		final var tenant = "tags-" + UUID.randomUUID().toString().substring(0, 8);
+		final var both = createTaggedInTenant(tenant, "[\"Home\", \"urgent\"]");
+		final var homeOnly = createTaggedInTenant(tenant, "[\"home\"]");
+		final var done = createTaggedInTenant(tenant, "[\"home\", \"urgent\"]");
+		mockMvc.perform(put("/todos/{id}", done.id()).header("X-Tenant-Id", tenant)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\": \"Done\", \"completed\": true}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.tags.length()").value(2));
+
+		// When
+		final var result = mockMvc.perform(get("/todos/search").header("X-Tenant-Id", tenant)
+			.param("tags", "urgent,HOME")
+			.param("completed", "false"));
+
+		// Then
+		result.andExpect(status().isOk())
+			.andExpect(jsonPath("$.total").value(1))
+			.andExpect(jsonPath("$.todos[0].id").value(both.id()))
+			.andExpect(jsonPath("$.todos[0].tags[0]").value("home"));
+		mockMvc.perform(get("/todos/search").header("X-Tenant-Id", tenant).param("tags", "home"))
+			.andExpect(jsonPath("$.total").value(3))
+			.andExpect(jsonPath("$.todos[1].id").value(homeOnly.id()));
+		mockMvc.perform(get("/todos/search").header("X-Tenant-Id", "other-" + tenant).param("tags", "home"))
+			.andExpect(jsonPath("$.total").value(0));
+	}
+
+	@Test
+	public void given_reminders_when_oneIsRescheduled_then_onlyTheOtherFiresAtItsTime() throws Exception {
+		// Given
+		final var remindAt = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS).plusNanos(500_000_000);
+		final var kept = createWithReminder(remindAt);
+		final var moved = createWithReminder(remindAt);
+
+		// When
+		mockMvc.perform(put("/todos/{id}", moved.id())
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\": \"Later\", \"remindAt\": \"" + remindAt.plusHours(1) + "\"}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.remindAt").isNotEmpty());
+
+		// Then
+		final var deadline = System.currentTimeMillis() + 5_000;
+		while (repository.findById(kept.id()).orElseThrow().getRemindedAt() == 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+		}
+		assertThat(repository.findById(kept.id()).orElseThrow().getRemindedAt())
+			.isGreaterThanOrEqualTo(remindAt.toInstant(ZoneOffset.UTC).toEpochMilli());
+		assertThat(repository.findById(moved.id()).orElseThrow().getRemindedAt()).isZero();
+	}
+
+	@Test
+	public void given_createUpdateAndDeleteByDifferentUsers_when_getHistory_then_returnsAuditedChanges() throws Exception {
+		// Given
+		final var tenant = "audit-" + UUID.randomUUID().toString().substring(0, 8);
+		final var created = mockMvc.perform(post("/todos").header("X-Tenant-Id", tenant).header("X-User-Id", "alice")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\": \"Draft\"}"))
+			.andExpect(status().isCreated())
+			.andReturn();
+		final var todo = objectMapper.readValue(created.getResponse().getContentAsString(), TodoResponseDto.class);
+		mockMvc.perform(put("/todos/{id}", todo.id()).header("X-Tenant-Id", tenant).header("X-User-Id", "bob")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\": \"Final\", \"completed\": true}"))
+			.andExpect(status().isOk());
+		mockMvc.perform(delete("/todos/{id}", todo.id()).header("X-Tenant-Id", tenant).header("X-User-Id", "alice"))
+			.andExpect(status().isNoContent());
+
+		// When
+		final var deadline = System.currentTimeMillis() + 5_000;
+		var history = mockMvc.perform(get("/todos/{id}/history", todo.id()).header("X-Tenant-Id", tenant)).andReturn();
+		while (!history.getResponse().getContentAsString().contains("DELETE") && System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+			history = mockMvc.perform(get("/todos/{id}/history", todo.id()).header("X-Tenant-Id", tenant)).andReturn();
+		}
+
+		// Then
+		final var body = objectMapper.readTree(history.getResponse().getContentAsString());
+		assertThat(body).hasSize(3);
+		assertThat(body.get(0).get("operation").asText()).isEqualTo("CREATE");
+		assertThat(body.get(1).get("actor").asText()).isEqualTo("bob");
+		assertThat(body.get(1).get("changes")).hasSize(2);
+		assertThat(body.get(1).get("changes").get(0).get("field").asText()).isEqualTo("title");
+		assertThat(body.get(1).get("changes").get(0).get("before").asText()).isEqualTo("Draft");
+		assertThat(body.get(2).get("operation").asText()).isEqualTo("DELETE");
+		mockMvc.perform(get("/todos/{id}/history", todo.id()).header("X-Tenant-Id", "other-" + tenant))
+			.andExpect(status().isNotFound());
+	}
+
+	@Test
+	public void given_cachedAndStoredTodos_when_queryByIds_then_returnsRequestOrderWithMisses() throws Exception {
+		// Given
+		final var tenant = "batch-" + UUID.randomUUID().toString().substring(0, 8);
+		final var first = createTaggedInTenant(tenant, "[\"home\"]");
+		final var second = createTaggedInTenant(tenant, "[\"work\", \"urgent\"]");
+		final var third = createInTenant(tenant, null);
+		mockMvc.perform(get("/todos/{id}", second.id()).header("X-Tenant-Id", tenant)).andExpect(status().isOk());
+
+		// When
+		final var result = mockMvc.perform(post("/todos/query").header("X-Tenant-Id", tenant)
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"ids\": [" + third.id() + ", 999999999, " + second.id() + ", " + first.id() + "]}"));
+
+		// Then
+		result.andExpect(status().isOk())
+			.andExpect(jsonPath("$.todos[0].id").value(third.id()))
+			.andExpect(jsonPath("$.todos[1]").doesNotExist())
+			.andExpect(jsonPath("$.todos[2].id").value(second.id()))
+			.andExpect(jsonPath("$.todos[3].tags[0]").value("home"))
+			.andExpect(jsonPath("$.missing[0]").value(999999999));
+
+		mockMvc.perform(get("/todos").param("ids", first.id() + "," + second.id()).header("X-Tenant-Id", "other-" + tenant))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.missing.length()").value(2));
+	}
+
+	@Test
+	public void given_todoIsItsOwnAncestor_when_move_then_returnsBadRequest() throws Exception {
+		// Given
+		final var tenant = "tree-" + UUID.randomUUID().toString().substring(0, 8);
+		final var parent = createInTenant(tenant, null);
+		final var child = createInTenant(tenant, parent.id());
+
+		// When
+		final var result = mockMvc.perform(post("/todos/{id}/move", parent.id()).header("X-Tenant-Id", tenant)
+			.contentType(MediaType.APPLICATION_JSON)
+			.content("{\"parentId\": " + child.id() + "}"));
+
+		// Then
+		result.andExpect(status().isBadRequest());
+	}
+
 	@Test
 	public void given_todosExist_when_getAllTodos_then_returnsAllTodos() throws Exception {
 		// Given
@@ -100,6 +355,20 @@ public class TodoIntegrationTest {
 			.andExpect(jsonPath("$[0].completed").value(sampleResponseDto.completed()));
 	}
 
+	@Test
+	public void given_todoOfDefaultTenant_when_getAllTodosAsOtherTenant_then_returnsEmptyList() throws Exception {
+		// Given
+		final var todo = TodoMapper.toEntity(createDto);
+		repository.save(todo);
+
+		// When
+		final var result = mockMvc.perform(get("/todos").header("X-Tenant-Id", "other-team"));
+
+		// Then
+		result.andExpect(status().isOk())
+			.andExpect(jsonPath("$").isEmpty());
+	}
+
 	@Test
 	public void given_todoExists_when_getTodoById_then_returnsTodo() throws Exception {
 		// Given
@@ -114,7 +383,7 @@ public class TodoIntegrationTest {
 			.andExpect(jsonPath("$.id").value(savedDto.getId()))
 			.andExpect(jsonPath("$.title").value(todo.getTitle()))
 			.andExpect(jsonPath("$.description").value(todo.getDescription()))
-			.andExpect(jsonPath("$.completed").value(todo.getCompleted()));
+			.andExpect(jsonPath("$.completed").value(todo.isCompleted()));
 	}
 
 	@Test
@@ -220,4 +489,36 @@ public class TodoIntegrationTest {
 		// Then
 		result.andExpect(status().isNotFound());
 	}
+
+	private TodoResponseDto createWithReminder(LocalDateTime remindAt) throws Exception {
+		final var request = new TodoCreateDto("Reminder", null, null, null, null, remindAt);
+		final var result = mockMvc.perform(post("/todos")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(request)))
+			.andExpect(status().isCreated())
+			.andReturn();
+
+		return objectMapper.readValue(result.getResponse().getContentAsString(), TodoResponseDto.class);
+	}
+
+	private TodoResponseDto createTaggedInTenant(String tenant, String tagsJson) throws Exception {
+		final var result = mockMvc.perform(post("/todos").header("X-Tenant-Id", tenant)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"title\": \"Tagged\", \"tags\": " + tagsJson + "}"))
+			.andExpect(status().isCreated())
+			.andReturn();
+
+		return objectMapper.readValue(result.getResponse().getContentAsString(), TodoResponseDto.class);
+	}
+
+	private TodoResponseDto createInTenant(String tenant, Long parentId) throws Exception {
+		final var request = new TodoCreateDto("Tree node", null, parentId, null, null, null);
+		final var result = mockMvc.perform(post("/todos").header("X-Tenant-Id", tenant)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(request)))
+			.andExpect(status().isCreated())
+			.andReturn();
+
+		return objectMapper.readValue(result.getResponse().getContentAsString(), TodoResponseDto.class);
+	}
 }
@@ -0,0 +1,138 @@
+package org.example.async;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileRingBufferTest {
+
+	@TempDir
+	private Path tempDir;
+
+	@Test
+	public void given_offeredRecords_when_peek_then_returnsThemInOrder() throws IOException {
+		// Given
+		try (var buffer = new FileRingBuffer(tempDir.resolve("queue.dat"), 1024, false)) {
+			buffer.offer(bytes("first"));
+			buffer.offer(bytes("second"));
+
+			// When
+			final var batch = buffer.peek(10);
+
+			// Then
+			assertThat(batch.records()).extracting(FileRingBufferTest::string).containsExactly("first", "second");
+		}
+	}
+
+	@Test
+	public void given_committedBatch_when_peek_then_onlyLaterRecordsRemain() throws IOException {
+		// Given
+		try (var buffer = new FileRingBuffer(tempDir.resolve("queue.dat"), 1024, false)) {
+			buffer.offer(bytes("first"));
+			buffer.offer(bytes("second"));
+			buffer.commit(buffer.peek(1));
+
+			// When
+			final var batch = buffer.peek(10);
+
+			// Then
+			assertThat(batch.records()).extracting(FileRingBufferTest::string).containsExactly("second");
+		}
+	}
+
+	@Test
+	public void given_fullBuffer_when_offer_then_rejectsUntilSpaceIsCommitted() throws IOException {
+		// Given
+		try (var buffer = new FileRingBuffer(tempDir.resolve("queue.dat"), 40, false)) {
+			assertThat(buffer.offer(new byte[24])).isTrue();
+
+			// When
+			final var rejected = buffer.offer(new byte[24]);
+			buffer.commit(buffer.peek(1));
+			final var accepted = buffer.offer(new byte[24]);
+
+			// Then
+			assertThat(rejected).isFalse();
+			assertThat(accepted).isTrue();
+		}
+	}
+
+	@Test
+	public void given_recordsWrappingAroundTheEnd_when_peek_then_recordsAreIntact() throws IOException {
+		// Given
+		try (var buffer = new FileRingBuffer(tempDir.resolve("queue.dat"), 64, false)) {
+			for (var i = 0; i < 20; i++) {
+				buffer.offer(bytes("record-" + i));
+				buffer.offer(bytes("record-" + i + "-b"));
+				final var batch = buffer.peek(2);
+
+				// When & Then
+				assertThat(batch.records()).extracting(FileRingBufferTest::string)
+					.containsExactly("record-" + i, "record-" + i + "-b");
+				buffer.commit(batch);
+			}
+		}
+	}
+
+	@Test
+	public void given_reopenedFile_when_peek_then_uncommittedRecordsSurvive() throws IOException {
+		// Given
+		final var file = tempDir.resolve("queue.dat");
+		try (var buffer = new FileRingBuffer(file, 1024, true)) {
+			buffer.offer(bytes("committed"));
+			buffer.offer(bytes("pending"));
+			buffer.commit(buffer.peek(1));
+		}
+
+		// When
+		try (var reopened = new FileRingBuffer(file, 4096, true)) {
+			final var batch = reopened.peek(10);
+
+			// Then
+			assertThat(batch.records()).extracting(FileRingBufferTest::string).containsExactly("pending");
+			assertThat(reopened.capacity()).isEqualTo(1024);
+		}
+	}
+
+	@Test
+	public void given_concurrentProducersWithFsync_when_offer_then_everyRecordIsStored() throws Exception {
+		// Given
+		final var file = tempDir.resolve("queue.dat");
+		try (var buffer = new FileRingBuffer(file, 64 * 1024, true);
+			 var executor = Executors.newFixedThreadPool(8)) {
+			final var offers = new ArrayList<Future<Boolean>>();
+
+			// When
+			for (var i = 0; i < 200; i++) {
+				final var record = bytes("record-" + i);
+				offers.add(executor.submit(() -> buffer.offer(record)));
+			}
+			for (final var offer : offers) {
+				assertThat(offer.get()).isTrue();
+			}
+		}
+
+		// Then
+		try (var reopened = new FileRingBuffer(file, 64 * 1024, true)) {
+			assertThat(reopened.peek(Integer.MAX_VALUE).records()).extracting(FileRingBufferTest::string)
+				.hasSize(200)
+				.doesNotHaveDuplicates();
+		}
+	}
+
+	private static byte[] bytes(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String string(byte[] value) {
+		return new String(value, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,120 @@
+package org.example.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AuditSegmentStoreTest {
+
+	@TempDir
+	private Path tempDir;
+
+	@Test
+	public void given_mixedEvents_when_encodeAndDecode_then_blockRoundTrips() throws IOException {
+		// Given
+		final var events = List.of(
+			event(42, 1_700_000_000_000L, AuditOperation.CREATE, new AuditEvent.Change(AuditField.TITLE, null, "Buy milk")),
+			event(7, 1_700_000_000_005L, AuditOperation.UPDATE, new AuditEvent.Change(AuditField.COMPLETED, "false", "true"),
+				new AuditEvent.Change(AuditField.TAGS, "home", "home,urgent")),
+			event(42, 1_699_999_999_000L, AuditOperation.DELETE, new AuditEvent.Change(AuditField.TITLE, "Buy milk", null))
+		);
+
+		// When
+		final var decoded = AuditBlockCodec.decode(AuditBlockCodec.encode(events));
+
+		// Then
+		assertThat(decoded).isEqualTo(events);
+	}
+
+	@Test
+	public void given_repeatedTitles_when_encode_then_dictionaryKeepsBlockSmall() {
+		// Given
+		final var events = new ArrayList<AuditEvent>();
+		for (var i = 0; i < 1000; i++) {
+			events.add(event(i, 1_700_000_000_000L + i, AuditOperation.UPDATE,
+				new AuditEvent.Change(AuditField.COMPLETED, "false", "true")));
+		}
+
+		// When
+		final var encoded = AuditBlockCodec.encode(events);
+
+		// Then
+		assertThat(encoded.length).isLessThan(8 * 1000);
+	}
+
+	@Test
+	public void given_eventsAcrossSegments_when_history_then_returnsTodoEventsInOrder() throws IOException {
+		// Given
+		try (var store = new AuditSegmentStore(tempDir, 256, false)) {
+			for (var round = 0; round < 20; round++) {
+				store.append(List.of(
+					event(1, round, AuditOperation.UPDATE, new AuditEvent.Change(AuditField.TITLE, "v" + round, "v" + (round + 1))),
+					event(100 + round, round, AuditOperation.CREATE, new AuditEvent.Change(AuditField.TITLE, null, "other"))
+				));
+			}
+
+			// When
+			final var history = store.history(1);
+
+			// Then
+			assertThat(store.segmentCount()).isGreaterThan(1);
+			assertThat(history).hasSize(20);
+			assertThat(history).extracting(AuditEvent::timestamp).isSorted();
+			assertThat(store.history(105)).hasSize(1);
+			assertThat(store.history(999)).isEmpty();
+		}
+	}
+
+	@Test
+	public void given_reopenedStore_when_history_then_sealedAndActiveSegmentsAreRead() throws IOException {
+		// Given
+		try (var store = new AuditSegmentStore(tempDir, 256, false)) {
+			for (var round = 0; round < 20; round++) {
+				store.append(List.of(event(1, round, AuditOperation.UPDATE, new AuditEvent.Change(AuditField.TITLE, "a", "b"))));
+			}
+		}
+
+		// When
+		try (var store = new AuditSegmentStore(tempDir, 256, false)) {
+			store.append(List.of(event(1, 20, AuditOperation.DELETE)));
+
+			// Then
+			assertThat(store.history(1)).hasSize(21);
+			assertThat(store.history(1).get(20).operation()).isEqualTo(AuditOperation.DELETE);
+		}
+	}
+
+	@Test
+	public void given_tornTrailingBlock_when_reopen_then_tailIsTruncatedAndAppendsContinue() throws IOException {
+		// Given
+		try (var store = new AuditSegmentStore(tempDir, 1 << 20, false)) {
+			store.append(List.of(event(1, 1, AuditOperation.CREATE, new AuditEvent.Change(AuditField.TITLE, null, "kept"))));
+			store.append(List.of(event(1, 2, AuditOperation.UPDATE, new AuditEvent.Change(AuditField.TITLE, "kept", "torn"))));
+		}
+		final var segment = tempDir.resolve("audit-000000000001.seg");
+		try (var channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+			channel.truncate(Files.size(segment) - 3);
+		}
+
+		// When
+		try (var store = new AuditSegmentStore(tempDir, 1 << 20, false)) {
+			store.append(List.of(event(1, 3, AuditOperation.DELETE)));
+
+			// Then
+			assertThat(store.history(1)).extracting(AuditEvent::timestamp).containsExactly(1L, 3L);
+		}
+	}
+
+	private static AuditEvent event(long todoId, long timestamp, AuditOperation operation, AuditEvent.Change... changes) {
+		return new AuditEvent(todoId, "tenant-a", "alice", timestamp, operation, List.of(changes));
+	}
+}
@@ -0,0 +1,230 @@
+package org.example.backup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.dto.TodoResponseDto;
+import org.example.event.DatabaseRestoredEvent;
+import org.example.replication.ReplicationRole;
+import org.example.tenant.TenantTodoCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.web.server.ResponseStatusException;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BackupServiceTest {
+
+	@TempDir
+	private Path tempDir;
+
+	private final AtomicLong now = new AtomicLong();
+	private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+	private Path databaseFile;
+	private SQLiteDataSource dataSource;
+	private Clock clock;
+	// Held open so SQLite never checkpoints and removes the WAL on its own
+	private Connection connection;
+	private WalArchiver archiver;
+	private BackupService backupService;
+
+	@BeforeEach
+	public void setup() throws Exception {
+		databaseFile = tempDir.resolve("todo.db");
+		dataSource = new SQLiteDataSource();
+		dataSource.setUrl("jdbc:sqlite:" + databaseFile);
+		dataSource.setJournalMode("WAL");
+		connection = dataSource.getConnection();
+		try (var statement = connection.createStatement()) {
+			statement.execute("PRAGMA wal_autocheckpoint=0");
+			statement.execute("CREATE TABLE todos (id INTEGER PRIMARY KEY, title VARCHAR(255) NOT NULL)");
+		}
+
+		clock = mock(Clock.class);
+		when(clock.millis()).thenAnswer(invocation -> now.get());
+		final var directory = tempDir.resolve("backups").toString();
+		archiver = new WalArchiver(dataSource, clock, new SimpleMeterRegistry(), true, ReplicationRole.STANDALONE,
+			directory, 1_000, Long.MAX_VALUE, false);
+		archiver.open();
+		backupService = new BackupService(archiver, dataSource, eventPublisher, clock, new SimpleMeterRegistry(),
+			directory, 3_600_000, 256, 0, 24);
+	}
+
+	@AfterEach
+	public void tearDown() throws SQLException {
+		connection.close();
+	}
+
+	@Test
+	public void given_backupId_when_restore_then_restoresBackupAsTakenAndNotifiesListeners() throws Exception {
+		// Given
+		insert(0, 100);
+		now.set(2_000);
+		final var backup = backupService.backup();
+		insert(100, 200);
+		archiveAt(3_000);
+
+		// When
+		now.set(9_000);
+		final var result = backupService.restore(backup.id(), now.get());
+
+		// Then
+		assertThat(result.backupId()).isEqualTo(2_000);
+		assertThat(result.segments()).isEqualTo(1);
+		assertThat(result.restoredTo()).isEqualTo(2_000);
+		assertThat(count(databaseFile)).isEqualTo(100);
+		verify(eventPublisher).publishEvent(new DatabaseRestoredEvent(9_000));
+	}
+
+	@Test
+	public void given_cachedTodos_when_restore_then_listenersDropWhatTheyLoadedBeforeIt() throws Exception {
+		// Given
+		insert(0, 100);
+		now.set(2_000);
+		final var backup = backupService.backup();
+		try (var context = new AnnotationConfigApplicationContext(TenantTodoCache.class)) {
+			final var cache = context.getBean(TenantTodoCache.class);
+			final var cachedAt = LocalDateTime.now();
+			cache.put("acme", new TodoResponseDto(150L, "Written after the backup", null, false, cachedAt, cachedAt),
+				cache.version("acme"));
+			final var restoringService = new BackupService(archiver, dataSource, context, clock,
+				new SimpleMeterRegistry(), tempDir.resolve("backups").toString(), 3_600_000, 256, 0, 24);
+
+			// When
+			restoringService.restore(backup.id(), now.get());
+
+			// Then
+			assertThat(cache.get("acme", 150L)).isNull();
+		}
+	}
+
+	@Test
+	public void given_pointInTime_when_restore_then_rollsNewestEarlierBackupForwardUntilThatTime() throws Exception {
+		// Given
+		insert(0, 100);
+		now.set(2_000);
+		backupService.backup();
+		insert(100, 200);
+		now.set(5_000);
+		backupService.backup();
+		insert(200, 300);
+		archiveAt(6_000);
+		insert(300, 400);
+		archiveAt(8_000);
+
+		// When
+		now.set(9_000);
+		final var result = backupService.restore(null, 7_000);
+
+		// Then
+		assertThat(result.backupId()).isEqualTo(5_000);
+		assertThat(result.segments()).isEqualTo(3);
+		assertThat(result.restoredTo()).isEqualTo(6_000);
+		assertThat(count(databaseFile)).isEqualTo(300);
+	}
+
+	@Test
+	public void given_gapInLaterSegments_when_restore_then_stopsBeforeTheGap() throws Exception {
+		// Given
+		insert(0, 100);
+		now.set(2_000);
+		backupService.backup();
+		insert(100, 200);
+		archiveAt(3_000);
+		insert(200, 300);
+		archiveAt(4_000);
+		insert(300, 400);
+		archiveAt(5_000);
+		archiver.archive().delete(archiver.archive().list().get(2));
+
+		// When
+		now.set(9_000);
+		final var result = backupService.restore(null, now.get());
+
+		// Then
+		assertThat(result.segments()).isEqualTo(2);
+		assertThat(result.restoredTo()).isEqualTo(3_000);
+		assertThat(count(databaseFile)).isEqualTo(200);
+	}
+
+	@Test
+	public void given_missingSegmentOfBackup_when_restore_then_failsAndKeepsLiveDatabase() throws Exception {
+		// Given
+		insert(0, 100);
+		now.set(2_000);
+		final var backup = backupService.backup();
+		insert(100, 200);
+		archiveAt(3_000);
+		archiver.archive().delete(archiver.archive().list().get(0));
+
+		// When & Then
+		assertThatThrownBy(() -> backupService.restore(backup.id(), now.get()))
+			.isInstanceOf(ResponseStatusException.class)
+			.hasMessageContaining("WAL segment 1 of backup 2000 is missing");
+		assertThat(count(databaseFile)).isEqualTo(200);
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	public void given_corruptBackup_when_restore_then_failsVerificationAndKeepsLiveDatabase() throws Exception {
+		// Given
+		insert(0, 100);
+		archiveAt(1_000);
+		// A base that needs no segments, so only the check stands between it and the live database
+		Files.write(tempDir.resolve("backups").resolve("base-500-1-0.db"), new byte[8192]);
+
+		// When & Then
+		assertThatThrownBy(() -> backupService.restore(500L, now.get()))
+			.isInstanceOf(ResponseStatusException.class)
+			.hasMessageContaining("Restore of backup 500 failed");
+		assertThat(count(databaseFile)).isEqualTo(100);
+		verify(eventPublisher, never()).publishEvent(any(Object.class));
+	}
+
+	private void archiveAt(long millis) {
+		now.set(millis);
+		archiver.run();
+	}
+
+	private void insert(int from, int to) throws SQLException {
+		connection.setAutoCommit(false);
+		try (var insert = connection.prepareStatement("INSERT INTO todos (id, title) VALUES (?, ?)")) {
+			for (var id = from; id < to; id++) {
+				insert.setLong(1, id);
+				insert.setString(2, "Todo " + id);
+				insert.addBatch();
+			}
+			insert.executeBatch();
+		}
+		connection.commit();
+		connection.setAutoCommit(true);
+	}
+
+	private static long count(Path database) throws SQLException {
+		try (var restored = DriverManager.getConnection("jdbc:sqlite:" + database);
+			 var statement = restored.createStatement();
+			 var rs = statement.executeQuery("SELECT count(*) FROM todos")) {
+			rs.next();
+			return rs.getLong(1);
+		}
+	}
+}
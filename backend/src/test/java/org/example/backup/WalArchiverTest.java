@@ -0,0 +1,134 @@
+package org.example.backup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.replication.ReplicationRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sqlite.SQLiteDataSource;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WalArchiverTest {
+
+	@TempDir
+	private Path tempDir;
+
+	private Path databaseFile;
+	private SQLiteDataSource dataSource;
+	// Held open so SQLite never checkpoints and removes the WAL on its own
+	private Connection connection;
+
+	@BeforeEach
+	public void setup() throws SQLException {
+		databaseFile = tempDir.resolve("todo.db");
+		dataSource = new SQLiteDataSource();
+		dataSource.setUrl("jdbc:sqlite:" + databaseFile);
+		dataSource.setJournalMode("WAL");
+		connection = dataSource.getConnection();
+		try (var statement = connection.createStatement()) {
+			statement.execute("PRAGMA wal_autocheckpoint=0");
+			statement.execute("CREATE TABLE todos (id INTEGER PRIMARY KEY, title VARCHAR(255) NOT NULL)");
+		}
+	}
+
+	@AfterEach
+	public void tearDown() throws SQLException {
+		connection.close();
+	}
+
+	@Test
+	public void given_baseCopyAndWritesAcrossCheckpoints_when_replayArchive_then_reconstructsDatabase() throws Exception {
+		// Given
+		final var archiver = archiver(1);
+		archiver.open();
+		insert(0, 100);
+
+		final var base = tempDir.resolve("base.db");
+		final var position = archiver.pin();
+		Files.copy(databaseFile, base);
+		archiver.unpin();
+
+		insert(100, 200);
+		archiver.run();
+		insert(200, 300);
+		archiver.run();
+
+		// When
+		try (var channel = FileChannel.open(base, StandardOpenOption.WRITE)) {
+			var pages = 0;
+			for (final var segment : archiver.archive().list()) {
+				if (segment.sequence() >= position.firstSequence()) {
+					pages = archiver.archive().applyTo(segment, channel);
+				}
+			}
+			channel.truncate(pages * 4096L);
+		}
+
+		// Then
+		final var segments = archiver.archive().list();
+		assertThat(segments).hasSize(3);
+		assertThat(segments.get(2).startOffset()).isEqualTo(WalFormat.HEADER_BYTES);
+		assertThat(segments.get(2).chained()).isTrue();
+		assertThat(count(base)).isEqualTo(300);
+	}
+
+	@Test
+	public void given_restartedArchiver_when_run_then_continuesAfterLastSegment() throws Exception {
+		// Given
+		final var first = archiver(Long.MAX_VALUE);
+		first.open();
+		insert(0, 10);
+		first.run();
+
+		// When
+		final var second = archiver(Long.MAX_VALUE);
+		second.open();
+		insert(10, 20);
+		second.run();
+
+		// Then
+		final var segments = second.archive().list();
+		assertThat(segments).hasSize(2);
+		assertThat(segments.get(1).startOffset()).isEqualTo(segments.get(0).endOffset());
+		assertThat(segments.get(1).chained()).isTrue();
+	}
+
+	private WalArchiver archiver(long checkpointBytes) {
+		return new WalArchiver(dataSource, Clock.systemUTC(), new SimpleMeterRegistry(), true, ReplicationRole.STANDALONE,
+			tempDir.resolve("backups").toString(), 1_000, checkpointBytes, false);
+	}
+
+	private void insert(int from, int to) throws SQLException {
+		connection.setAutoCommit(false);
+		try (var insert = connection.prepareStatement("INSERT INTO todos (id, title) VALUES (?, ?)")) {
+			for (var id = from; id < to; id++) {
+				insert.setLong(1, id);
+				insert.setString(2, "Todo " + id);
+				insert.addBatch();
+			}
+			insert.executeBatch();
+		}
+		connection.commit();
+		connection.setAutoCommit(true);
+	}
+
+	private static long count(Path database) throws SQLException {
+		try (var restored = DriverManager.getConnection("jdbc:sqlite:" + database);
+			 var statement = restored.createStatement();
+			 var rs = statement.executeQuery("SELECT count(*) FROM todos")) {
+			rs.next();
+			return rs.getLong(1);
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package org.example.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BloomFilterTest {
+
+	@Test
+	public void given_addedKeys_when_mightContain_then_everyKeyIsFound() {
+		// Given
+		final var filter = BloomFilter.create(100_000, 0.01);
+		for (long id = 1; id <= 100_000; id++) {
+			filter.add(id);
+		}
+
+		// When & Then
+		for (long id = 1; id <= 100_000; id++) {
+			assertThat(filter.mightContain(id)).isTrue();
+		}
+	}
+
+	@Test
+	public void given_filledFilter_when_mightContainAbsentKeys_then_falsePositivesStayNearTheTarget() {
+		// Given
+		final var filter = BloomFilter.create(100_000, 0.01);
+		for (long id = 1; id <= 100_000; id++) {
+			filter.add(id);
+		}
+
+		// When
+		var falsePositives = 0;
+		for (long id = 1_000_001; id <= 1_100_000; id++) {
+			if (filter.mightContain(id)) {
+				falsePositives++;
+			}
+		}
+
+		// Then
+		assertThat(falsePositives).isLessThan(1_500);
+		assertThat(filter.sizeInBytes()).isLessThan(130_000);
+	}
+}
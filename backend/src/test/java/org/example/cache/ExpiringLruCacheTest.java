@@ -0,0 +1,53 @@
+package org.example.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExpiringLruCacheTest {
+
+	private final AtomicLong now = new AtomicLong();
+
+	@Test
+	public void given_entry_when_getBeforeTtl_then_returnsValue() {
+		// Given
+		final var cache = new ExpiringLruCache<String, String>(100, 1_000, now::get);
+		cache.put("key", "value");
+
+		// When
+		now.addAndGet(999);
+
+		// Then
+		assertThat(cache.get("key")).isEqualTo("value");
+	}
+
+	@Test
+	public void given_entry_when_getAfterTtl_then_entryIsExpiredAndRemoved() {
+		// Given
+		final var cache = new ExpiringLruCache<String, String>(100, 1_000, now::get);
+		cache.put("key", "value");
+
+		// When
+		now.addAndGet(1_000);
+
+		// Then
+		assertThat(cache.get("key")).isNull();
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	public void given_moreEntriesThanCapacity_when_put_then_sizeStaysBounded() {
+		// Given
+		final var cache = new ExpiringLruCache<Integer, Integer>(160, 1_000, now::get);
+
+		// When
+		for (var i = 0; i < 10_000; i++) {
+			cache.put(i, i);
+		}
+
+		// Then
+		assertThat(cache.size()).isLessThanOrEqualTo(160);
+	}
+}
@@ -0,0 +1,93 @@
+package org.example.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTest {
+
+	private final SingleFlight<String, String> flights = new SingleFlight<>();
+
+	@Test
+	public void given_loadInProgress_when_executeSameKey_then_callersShareOneLoad() throws Exception {
+		// Given
+		final var loads = new AtomicInteger();
+		final var started = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+		final var leader = CompletableFuture.supplyAsync(() -> flights.execute("key", () -> {
+			loads.incrementAndGet();
+			started.countDown();
+			await(release);
+			return "value";
+		}));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// When
+		final var follower = CompletableFuture.supplyAsync(() -> flights.execute("key", () -> {
+			loads.incrementAndGet();
+			return "other";
+		}));
+		while (flights.coalesced() == 0) {
+			Thread.onSpinWait();
+		}
+		release.countDown();
+
+		// Then
+		assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+		assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	public void given_failingLoad_when_callersWait_then_allReceiveTheException() throws Exception {
+		// Given
+		final var started = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+		final var failure = new IllegalStateException("boom");
+		final var leader = CompletableFuture.runAsync(() -> flights.execute("key", () -> {
+			started.countDown();
+			await(release);
+			throw failure;
+		}));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		// When
+		final var follower = CompletableFuture.runAsync(() -> flights.execute("key", () -> "unused"));
+		while (flights.coalesced() == 0) {
+			Thread.onSpinWait();
+		}
+		release.countDown();
+
+		// Then
+		assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCause(failure);
+		assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCause(failure);
+	}
+
+	@Test
+	public void given_finishedLoad_when_executeAgain_then_loadsAgain() {
+		// Given
+		final var loads = new AtomicInteger();
+		flights.execute("key", () -> "v" + loads.incrementAndGet());
+
+		// When
+		final var result = flights.execute("key", () -> "v" + loads.incrementAndGet());
+
+		// Then
+		assertThat(result).isEqualTo("v2");
+		assertThat(flights.coalesced()).isZero();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package org.example.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.mother.TodoMother;
+import org.example.repository.TodoRepository;
+import org.example.tenant.TenantContext;
+import org.example.tenant.TenantLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class TodoListCacheTest {
+
+	private static final String TENANT = TenantContext.DEFAULT_TENANT;
+
+	private final TodoRepository todoRepository = mock(TodoRepository.class);
+	private final ExecutorService refresher = mock(ExecutorService.class);
+	private final Clock clock = mock(Clock.class);
+	private TodoListCache cache;
+
+	@BeforeEach
+	public void setup() {
+		when(clock.millis()).thenReturn(10_000L);
+		when(todoRepository.findAllByTenantId(TENANT)).thenReturn(List.of(new TodoMother().withTitle("First").build()));
+		cache = new TodoListCache(todoRepository, mock(PlatformTransactionManager.class), mock(TenantLimiter.class),
+			new ObjectMapper().findAndRegisterModules(), clock, new SimpleMeterRegistry(), true, true, 1_000, 100, refresher);
+	}
+
+	@Test
+	public void given_unchangedList_when_getTwice_then_queriesOnce() {
+		// Given
+		final var first = cache.get();
+
+		// When
+		final var second = cache.get();
+
+		// Then
+		assertThat(second).isSameAs(first);
+		assertThat(new String(first.json())).contains("\"title\":\"First\"");
+		verify(todoRepository, times(1)).findAllByTenantId(TENANT);
+	}
+
+	@Test
+	public void given_writeWithinStaleWindow_when_get_then_servesStaleBodyAndRebuildsInBackground() {
+		// Given
+		final var stale = cache.get();
+		when(todoRepository.findAllByTenantId(TENANT)).thenReturn(List.of(new TodoMother().withTitle("Second").build()));
+		cache.invalidate(TENANT);
+
+		// When
+		final var served = cache.get();
+		cache.get();
+
+		// Then
+		assertThat(served).isSameAs(stale);
+		final var refresh = ArgumentCaptor.forClass(Runnable.class);
+		verify(refresher, times(1)).execute(refresh.capture());
+
+		refresh.getValue().run();
+		final var fresh = cache.get();
+		assertThat(new String(fresh.json())).contains("\"title\":\"Second\"");
+		assertThat(fresh.etag()).isNotEqualTo(stale.etag());
+	}
+
+	@Test
+	public void given_writeOlderThanStaleWindow_when_get_then_rebuildsBeforeAnswering() {
+		// Given
+		cache.get();
+		when(todoRepository.findAllByTenantId(TENANT)).thenReturn(List.of(new TodoMother().withTitle("Second").build()));
+		cache.invalidate(TENANT);
+		when(clock.millis()).thenReturn(11_001L);
+
+		// When
+		final var result = cache.get();
+
+		// Then
+		assertThat(new String(result.json())).contains("\"title\":\"Second\"");
+		verifyNoInteractions(refresher);
+	}
+
+	@Test
+	public void given_largeList_when_get_then_gzipHoldsTheSameJson() throws IOException {
+		// Given
+		final var todos = IntStream.range(0, 100)
+			.mapToObj(i -> new TodoMother().withTitle("Todo " + i).build())
+			.toList();
+		when(todoRepository.findAllByTenantId(TENANT)).thenReturn(todos);
+
+		// When
+		final var result = cache.get();
+
+		// Then
+		assertThat(result.gzip()).isNotNull();
+		assertThat(result.gzip().length).isLessThan(result.json().length);
+		try (var in = new GZIPInputStream(new ByteArrayInputStream(result.gzip()))) {
+			assertThat(in.readAllBytes()).isEqualTo(result.json());
+		}
+	}
+}
@@ -1,11 +1,14 @@
 package org.example.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.cache.TodoListCache;
 import org.example.dto.TodoCreateDto;
 import org.example.dto.TodoResponseDto;
 import org.example.dto.TodoUpdateDto;
 import org.example.mapper.TodoMapper;
 import org.example.repository.TodoRepository;
+import org.example.service.IdempotencyService;
+import org.example.service.TodoNotFoundException;
 import org.example.service.TodoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,6 +41,10 @@ public class TodoControllerTest {
     private ObjectMapper objectMapper;
     @MockBean
     private TodoService todoService;
+    @MockBean
+    private IdempotencyService idempotencyService;
+    @MockBean
+    private TodoListCache todoListCache;
 
     private TodoResponseDto sampleResponseDto;
     private TodoCreateDto createDto;
@@ -84,6 +91,26 @@ public class TodoControllerTest {
         verify(todoService, times(1)).create(any(TodoCreateDto.class));
     }
 
+    @Test
+    public void given_replayedIdempotencyKey_when_createTodo_then_returnsStoredResponseWithoutCreating() throws Exception {
+        // Given
+        when(idempotencyService.execute(eq("retry-1"), any(TodoCreateDto.class), any()))
+                .thenReturn(new IdempotencyService.Result(sampleResponseDto, true));
+
+        // When
+        final var result = mockMvc.perform(post("/todos")
+                .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createDto)));
+
+        // Then
+        result.andExpect(status().isCreated())
+              .andExpect(header().string("Idempotent-Replayed", "true"))
+              .andExpect(jsonPath("$.id").value(sampleResponseDto.id()));
+
+        verify(todoService, never()).create(any(TodoCreateDto.class));
+    }
+
     @Test
     public void given_todosExist_when_getAllTodos_then_returnsAllTodos() throws Exception {
         // Given
@@ -102,6 +129,39 @@ public class TodoControllerTest {
         verify(todoService, times(1)).getAll();
     }
 
+    @Test
+    public void given_listCacheEnabled_when_getAllTodosAcceptingGzip_then_returnsCachedGzipBytes() throws Exception {
+        // Given
+        final var gzip = new byte[]{31, -117, 8, 0};
+        when(todoListCache.isEnabled()).thenReturn(true);
+        when(todoListCache.get()).thenReturn(new TodoListCache.Body(3, "W/\"a-3\"", "[]".getBytes(), gzip));
+
+        // When
+        final var result = mockMvc.perform(get("/todos").header("Accept-Encoding", "gzip, deflate"));
+
+        // Then
+        result.andExpect(status().isOk())
+              .andExpect(header().string("Content-Encoding", "gzip"))
+              .andExpect(header().string("ETag", "W/\"a-3\""))
+              .andExpect(content().bytes(gzip));
+
+        verify(todoService, never()).getAll();
+    }
+
+    @Test
+    public void given_listCacheEnabled_when_getAllTodosWithMatchingETag_then_returnsNotModified() throws Exception {
+        // Given
+        when(todoListCache.isEnabled()).thenReturn(true);
+        when(todoListCache.get()).thenReturn(new TodoListCache.Body(3, "W/\"a-3\"", "[]".getBytes(), null));
+
+        // When
+        final var result = mockMvc.perform(get("/todos").header("If-None-Match", "W/\"a-3\""));
+
+        // Then
+        result.andExpect(status().isNotModified())
+              .andExpect(content().bytes(new byte[0]));
+    }
+
     @Test
     public void given_todoExists_when_getTodoById_then_returnsTodo() throws Exception {
         // Given
@@ -178,7 +238,11 @@ public class TodoControllerTest {
                 .content(objectMapper.writeValueAsString(invalidDto)));
 
         // Then
-        result.andExpect(status().isBadRequest());
+        result.andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.errors[0].field").value("title"))
+                .andExpect(jsonPath("$.errors[0].message").value("Title cannot be blank"));
         verify(todoService, never()).create(any(TodoCreateDto.class));
     }
 
@@ -205,13 +269,16 @@ public class TodoControllerTest {
     public void given_nonExistentTodoId_when_getTodoById_then_returnsNotFound() throws Exception {
         // Given
         final var todoId = 999L;
-        when(todoService.getById(todoId)).thenThrow(new ResponseStatusException(HttpStatus.NOT_FOUND, "Todo not found"));
+        when(todoService.getById(todoId)).thenThrow(new TodoNotFoundException(todoId));
 
         // When
         final var result = mockMvc.perform(get("/todos/{id}", todoId));
 
         // Then
-        result.andExpect(status().isNotFound());
+        result.andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.detail").value("Todo 999 not found"))
+                .andExpect(jsonPath("$.instance").value("/todos/999"));
         verify(todoService, times(1)).getById(todoId);
     }
 
@@ -0,0 +1,79 @@
+package org.example.jdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sqlite.SQLiteDataSource;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ObservedDataSourceTest {
+
+	private final List<StatementExecution> executions = new ArrayList<>();
+	private final List<String> started = new ArrayList<>();
+
+	private ObservedDataSource dataSource;
+
+	@BeforeEach
+	public void setup() {
+		final var target = new SQLiteDataSource();
+		target.setUrl("jdbc:sqlite::memory:");
+
+		final StatementListener listener = new StatementListener() {
+			@Override
+			public void beforeExecute(String sql) {
+				started.add(sql);
+			}
+
+			@Override
+			public void afterExecute(StatementExecution execution) {
+				executions.add(execution);
+			}
+		};
+		dataSource = new ObservedDataSource(target, () -> List.of(listener));
+	}
+
+	@Test
+	public void given_preparedStatement_when_executed_then_listenerSeesSqlAndParameters() throws SQLException {
+		// Given
+		try (var connection = dataSource.getConnection()) {
+			connection.createStatement().execute("create table t (id integer, name text)");
+
+			// When
+			try (var statement = connection.prepareStatement("insert into t values (?, ?)")) {
+				statement.setLong(1, 7L);
+				statement.setNull(2, Types.VARCHAR);
+				statement.executeUpdate();
+			}
+		}
+
+		// Then
+		assertThat(started).containsExactly("create table t (id integer, name text)", "insert into t values (?, ?)");
+		assertThat(executions).hasSize(2);
+		final var insert = executions.get(1);
+		assertThat(insert.parameters()).containsExactly(7L, null);
+		assertThat(insert.elapsedNanos()).isPositive();
+		assertThat(insert.failed()).isFalse();
+	}
+
+	@Test
+	public void given_invalidSql_when_executed_then_failureIsReportedAndRethrown() throws SQLException {
+		// Given
+		try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+
+			// When & Then
+			assertThatThrownBy(() -> statement.executeQuery("select * from missing"))
+				.isInstanceOf(SQLException.class);
+		}
+
+		assertThat(executions).singleElement().satisfies(execution -> {
+			assertThat(execution.sql()).isEqualTo("select * from missing");
+			assertThat(execution.failed()).isTrue();
+		});
+	}
+}
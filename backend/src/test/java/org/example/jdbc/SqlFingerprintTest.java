@@ -0,0 +1,38 @@
+package org.example.jdbc;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SqlFingerprintTest {
+
+	@Test
+	public void given_statementsDifferingInLiterals_when_fingerprinted_then_fingerprintsMatch() {
+		// When
+		final var first = SqlFingerprint.of("select * from todos where id in (1, 2, 3) and title = 'a'");
+		final var second = SqlFingerprint.of("SELECT *  FROM todos\n WHERE id IN (42) AND title = 'it''s'");
+
+		// Then
+		assertThat(first).isEqualTo(second).isEqualTo("select * from todos where id in (?) and title = ?");
+		assertThat(SqlFingerprint.operation(first)).isEqualTo("select");
+		assertThat(SqlFingerprint.table(first)).isEqualTo("todos");
+	}
+
+	@Test
+	public void given_hibernateAliasedScan_when_fullScanTable_then_resolvesAliasToTable() {
+		// Given
+		final var sql = "select t1_0.id from todos t1_0 where t1_0.title=?";
+
+		// When
+		final var scanned = SlowQueryListener.fullScanTable(sql, List.of("SCAN t1_0"));
+		final var indexed = SlowQueryListener.fullScanTable(sql, List.of("SEARCH t1_0 USING INTEGER PRIMARY KEY (rowid=?)"));
+		final var indexScan = SlowQueryListener.fullScanTable(sql, List.of("SCAN t1_0 USING INDEX idx_todos_tenant_id"));
+
+		// Then
+		assertThat(scanned).isEqualTo("todos");
+		assertThat(indexed).isNull();
+		assertThat(indexScan).isNull();
+	}
+}
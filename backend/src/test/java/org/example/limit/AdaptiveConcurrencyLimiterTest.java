@@ -0,0 +1,111 @@
+package org.example.limit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+	private static final long FAST = 1_000_000L;
+	private static final long SLOW = 50_000_000L;
+
+	@Test
+	public void given_limitReached_when_tryAcquire_then_rejects() {
+		// Given
+		final var limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0, 0.5);
+		limiter.tryAcquire();
+		limiter.tryAcquire();
+
+		// When
+		final var acquired = limiter.tryAcquire();
+
+		// Then
+		assertThat(acquired).isFalse();
+		assertThat(limiter.getInFlight()).isEqualTo(2);
+	}
+
+	@Test
+	public void given_fastSamplesAtLimit_when_release_then_limitGrowsAdditively() {
+		// Given
+		final var limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0, 0.5);
+
+		// When
+		limiter.tryAcquire();
+		limiter.tryAcquire();
+		limiter.release(FAST);
+		limiter.release(FAST);
+
+		// Then
+		assertThat(limiter.getLimit()).isEqualTo(3);
+	}
+
+	@Test
+	public void given_oneUnusuallyFastSample_when_steadyLatencyFollows_then_limitIsNotPinnedAtMinimum() {
+		// Given
+		final var limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 2.0, 0.9);
+		limiter.tryAcquire();
+		limiter.release(FAST / 10);
+
+		// When
+		for (var round = 0; round < 200; round++) {
+			final var permits = limiter.getLimit();
+			for (var i = 0; i < permits; i++) {
+				limiter.tryAcquire();
+			}
+			for (var i = 0; i < permits; i++) {
+				limiter.release(FAST * 5);
+			}
+		}
+
+		// Then
+		assertThat(limiter.getLimit()).isEqualTo(10);
+	}
+
+	@Test
+	public void given_releaseWithoutSample_when_release_then_permitIsFreedAndLimitUnchanged() {
+		// Given
+		final var limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0, 0.5);
+		limiter.tryAcquire();
+		limiter.tryAcquire();
+
+		// When
+		limiter.release();
+
+		// Then
+		assertThat(limiter.getInFlight()).isEqualTo(1);
+		assertThat(limiter.getLimit()).isEqualTo(2);
+	}
+
+	@Test
+	public void given_latencyAboveTolerance_when_release_then_limitBacksOffMultiplicatively() {
+		// Given
+		final var limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, 2.0, 0.5);
+		limiter.tryAcquire();
+		limiter.release(FAST);
+		final var limitBeforeOverload = limiter.getLimit();
+
+		// When
+		limiter.tryAcquire();
+		limiter.release(SLOW);
+
+		// Then
+		assertThat(limiter.getLimit()).isEqualTo(limitBeforeOverload / 2);
+	}
+
+	@Test
+	public void given_sustainedOverload_when_release_then_limitNeverDropsBelowMinimum() {
+		// Given
+		final var limiter = new AdaptiveConcurrencyLimiter(8, 2, 10, 2.0, 0.5);
+		limiter.tryAcquire();
+		limiter.release(FAST);
+
+		// When
+		for (var i = 0; i < 10; i++) {
+			limiter.tryAcquire();
+			limiter.release(SLOW);
+		}
+
+		// Then
+		assertThat(limiter.getLimit()).isEqualTo(2);
+	}
+}
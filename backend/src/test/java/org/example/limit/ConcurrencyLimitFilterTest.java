@@ -0,0 +1,214 @@
+package org.example.limit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ConcurrencyLimitFilterTest {
+
+	private ConcurrencyLimitFilter filter;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		filter = new ConcurrencyLimitFilter(1, 1, 1, 1, 1, 1, 2.0, 0.9, mock(ObjectProvider.class));
+		ReflectionTestUtils.setField(filter, "enabled", true);
+		ReflectionTestUtils.setField(filter, "clientHeader", "X-Client-Id");
+		ReflectionTestUtils.setField(filter, "trustedProxies", Set.of());
+		ReflectionTestUtils.setField(filter, "clientRequestsPerSecond", 1d);
+		ReflectionTestUtils.setField(filter, "clientBurst", 2d);
+		ReflectionTestUtils.setField(filter, "maxClients", 100);
+	}
+
+	@Test
+	public void given_clientWithinBudget_when_doFilter_then_requestIsServed() throws Exception {
+		// Given
+		final var request = new MockHttpServletRequest("GET", "/todos");
+		request.addHeader("X-Client-Id", "importer");
+		final var response = new MockHttpServletResponse();
+
+		// When
+		filter.doFilter(request, response, new MockFilterChain());
+
+		// Then
+		assertThat(response.getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	public void given_clientOverBudget_when_doFilter_then_returnsTooManyRequestsWithRetryAfter() throws Exception {
+		// Given
+		for (var i = 0; i < 2; i++) {
+			final var request = new MockHttpServletRequest("GET", "/todos");
+			request.addHeader("X-Client-Id", "importer");
+			filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		}
+
+		final var request = new MockHttpServletRequest("GET", "/todos");
+		request.addHeader("X-Client-Id", "importer");
+		final var response = new MockHttpServletResponse();
+
+		// When
+		filter.doFilter(request, response, new MockFilterChain());
+
+		// Then
+		assertThat(response.getStatus()).isEqualTo(429);
+		assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNotNull();
+	}
+
+	@Test
+	public void given_untrustedClientRotatingHeader_when_doFilter_then_sharesRemoteAddressBucket() throws Exception {
+		// Given
+		for (var i = 0; i < 2; i++) {
+			final var request = new MockHttpServletRequest("GET", "/todos");
+			request.addHeader("X-Client-Id", "importer-" + i);
+			filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		}
+
+		final var request = new MockHttpServletRequest("GET", "/todos");
+		request.addHeader("X-Client-Id", "importer-2");
+		final var response = new MockHttpServletResponse();
+
+		// When
+		filter.doFilter(request, response, new MockFilterChain());
+
+		// Then
+		assertThat(response.getStatus()).isEqualTo(429);
+	}
+
+	@Test
+	public void given_trustedProxy_when_doFilter_then_clientHeaderSelectsBucket() throws Exception {
+		// Given
+		ReflectionTestUtils.setField(filter, "trustedProxies", Set.of("10.0.0.1"));
+		for (var i = 0; i < 2; i++) {
+			final var request = new MockHttpServletRequest("GET", "/todos");
+			request.setRemoteAddr("10.0.0.1");
+			request.addHeader("X-Client-Id", "importer");
+			filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		}
+
+		final var request = new MockHttpServletRequest("GET", "/todos");
+		request.setRemoteAddr("10.0.0.1");
+		request.addHeader("X-Client-Id", "other-client");
+		final var response = new MockHttpServletResponse();
+
+		// When
+		filter.doFilter(request, response, new MockFilterChain());
+
+		// Then
+		assertThat(response.getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	public void given_clientMapFull_when_doFilter_then_newClientsShareOverflowBucket() throws Exception {
+		// Given
+		ReflectionTestUtils.setField(filter, "maxClients", 1);
+		ReflectionTestUtils.setField(filter, "clientBurst", 1d);
+		final var first = new MockHttpServletRequest("GET", "/todos");
+		first.setRemoteAddr("10.0.0.1");
+		filter.doFilter(first, new MockHttpServletResponse(), new MockFilterChain());
+		final var second = new MockHttpServletRequest("GET", "/todos");
+		second.setRemoteAddr("10.0.0.2");
+		filter.doFilter(second, new MockHttpServletResponse(), new MockFilterChain());
+
+		final var third = new MockHttpServletRequest("GET", "/todos");
+		third.setRemoteAddr("10.0.0.3");
+		final var response = new MockHttpServletResponse();
+
+		// When
+		filter.doFilter(third, response, new MockFilterChain());
+
+		// Then
+		assertThat(response.getStatus()).isEqualTo(429);
+	}
+
+	@Test
+	public void given_writeBudgetExhausted_when_doFilter_then_returnsServiceUnavailable() throws Exception {
+		// Given
+		final var inFlight = new MockHttpServletRequest("POST", "/todos");
+		final var rejected = new MockHttpServletRequest("POST", "/todos");
+		rejected.addHeader("X-Client-Id", "other-client");
+		final var response = new MockHttpServletResponse();
+
+		// When
+		filter.doFilter(inFlight, new MockHttpServletResponse(), (req, res) ->
+			filter.doFilter(rejected, response, new MockFilterChain()));
+
+		// Then
+		assertThat(response.getStatus()).isEqualTo(503);
+		assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+	}
+
+	@Test
+	public void given_asyncRequestInFlight_when_doFilterReturns_then_permitIsHeldUntilComplete() throws Exception {
+		// Given
+		ReflectionTestUtils.setField(filter, "clientBurst", 10d);
+		final var pending = new MockHttpServletRequest("POST", "/reactive/todos");
+		pending.setAsyncSupported(true);
+		filter.doFilter(pending, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+		final var whilePending = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("POST", "/reactive/todos"), whilePending, new MockFilterChain());
+
+		// When
+		pending.getAsyncContext().complete();
+		final var afterComplete = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("POST", "/reactive/todos"), afterComplete, new MockFilterChain());
+
+		// Then
+		assertThat(whilePending.getStatus()).isEqualTo(503);
+		assertThat(afterComplete.getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	public void given_reactiveClientOverBudget_when_doFilter_then_returnsTooManyRequests() throws Exception {
+		// Given
+		ReflectionTestUtils.setField(filter, "clientBurst", 0d);
+		final var request = new MockHttpServletRequest("GET", "/reactive/todos");
+		final var response = new MockHttpServletResponse();
+
+		// When
+		filter.doFilter(request, response, new MockFilterChain());
+
+		// Then
+		assertThat(response.getStatus()).isEqualTo(429);
+	}
+
+	@Test
+	public void given_nonTodoPath_when_doFilter_then_requestIsNotLimited() throws Exception {
+		// Given
+		ReflectionTestUtils.setField(filter, "clientBurst", 0d);
+		final var request = new MockHttpServletRequest("GET", "/actuator/health");
+		final var response = new MockHttpServletResponse();
+
+		// When
+		filter.doFilter(request, response, new MockFilterChain());
+
+		// Then
+		assertThat(response.getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	public void given_pathSharingPrefix_when_doFilter_then_requestIsNotLimited() throws Exception {
+		// Given
+		ReflectionTestUtils.setField(filter, "clientBurst", 0d);
+		final var request = new MockHttpServletRequest("GET", "/todosX");
+		final var response = new MockHttpServletResponse();
+
+		// When
+		filter.doFilter(request, response, new MockFilterChain());
+
+		// Then
+		assertThat(response.getStatus()).isEqualTo(200);
+	}
+}
@@ -0,0 +1,53 @@
+package org.example.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketTest {
+
+	private final AtomicLong now = new AtomicLong();
+
+	@Test
+	public void given_fullBucket_when_tryConsume_then_allowsBurstThenRejects() {
+		// Given
+		final var bucket = new TokenBucket(3, 1, now::get);
+
+		// When & Then
+		assertThat(bucket.tryConsume()).isTrue();
+		assertThat(bucket.tryConsume()).isTrue();
+		assertThat(bucket.tryConsume()).isTrue();
+		assertThat(bucket.tryConsume()).isFalse();
+	}
+
+	@Test
+	public void given_emptyBucket_when_timePasses_then_tokensAreRefilled() {
+		// Given
+		final var bucket = new TokenBucket(1, 2, now::get);
+		bucket.tryConsume();
+
+		// When
+		final var wait = bucket.nanosUntilAvailable();
+		now.addAndGet(wait);
+
+		// Then
+		assertThat(wait).isBetween(499_999_999L, 500_000_001L);
+		assertThat(bucket.tryConsume()).isTrue();
+	}
+
+	@Test
+	public void given_longIdlePeriod_when_refilled_then_tokensAreCappedAtCapacity() {
+		// Given
+		final var bucket = new TokenBucket(2, 10, now::get);
+
+		// When
+		now.addAndGet(60_000_000_000L);
+
+		// Then
+		assertThat(bucket.tryConsume()).isTrue();
+		assertThat(bucket.tryConsume()).isTrue();
+		assertThat(bucket.tryConsume()).isFalse();
+	}
+}
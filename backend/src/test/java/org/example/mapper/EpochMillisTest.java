@@ -0,0 +1,41 @@
+package org.example.mapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EpochMillisTest {
+
+	@Test
+	public void given_epochMillis_when_toLocalDateTime_then_returnsUtcDateTime() {
+		// Given
+		final var millis = 1_767_268_800_123L; // 2026-01-01T12:00:00.123Z
+
+		// When
+		final var result = EpochMillis.toLocalDateTime(millis);
+
+		// Then
+		assertThat(result).isEqualTo(LocalDateTime.of(2026, 1, 1, 12, 0, 0, 123_000_000));
+	}
+
+	@Test
+	public void given_unsetTimestamp_when_toLocalDateTime_then_returnsNull() {
+		// When
+		final var result = EpochMillis.toLocalDateTime(0L);
+
+		// Then
+		assertThat(result).isNull();
+	}
+
+	@Test
+	public void given_millisBeforeEpoch_when_toEpochDay_then_roundsDown() {
+		// When
+		final var result = EpochMillis.toEpochDay(-1L);
+
+		// Then
+		assertThat(result).isEqualTo(LocalDate.of(1969, 12, 31).toEpochDay());
+	}
+}
@@ -0,0 +1,37 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TodoPathTest {
+
+	@Test
+	public void given_nestedTodo_when_subtreePrefix_then_rangeCoversOnlyDescendants() {
+		// Given
+		final var root = new Todo("Root", null, false);
+		root.setId(5L);
+		final var child = new Todo("Child", null, false);
+		child.setId(12L);
+		child.attachTo(root);
+
+		// When
+		final var prefix = TodoPath.subtreePrefix(child);
+		final var upper = TodoPath.upperBound(prefix);
+
+		// Then
+		assertThat(child.getPath()).isEqualTo("/5/");
+		assertThat(child.getDepth()).isEqualTo(1);
+		assertThat(prefix).isEqualTo("/5/12/");
+		assertThat("/5/12/40/7/").isBetween(prefix, upper);
+		assertThat("/5/120/").isGreaterThanOrEqualTo(upper);
+		assertThat("/5/").isLessThan(prefix);
+	}
+
+	@Test
+	public void given_path_when_ancestorIds_then_returnsIdsFromRoot() {
+		// When & Then
+		assertThat(TodoPath.ancestorIds("/1/5/12/")).containsExactly(1L, 5L, 12L);
+		assertThat(TodoPath.ancestorIds(TodoPath.ROOT)).isEmpty();
+	}
+}
@@ -0,0 +1,106 @@
+package org.example.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimerWheelTest {
+
+	private static final long TICK = 100;
+	private static final long START = 1_767_225_600_000L;
+
+	@Test
+	public void given_deadlinesAcrossAllLevels_when_advancing_then_eachFiresOnceWithinOneTickAfterItsDeadline() {
+		// Given
+		final var wheel = new TimerWheel(TICK, START);
+		final var random = new Random(7);
+		final var deadlines = new HashMap<Long, Long>();
+		for (long id = 0; id < 20_000; id++) {
+			// From overdue to ~12 days ahead, so level 3 and 4 slots cascade too
+			final var deadline = START - 1_000 + (long) (Math.pow(random.nextDouble(), 4) * 1_000_000_000L);
+			deadlines.put(id, deadline);
+			wheel.add(id, deadline);
+		}
+
+		// When
+		final var fired = new HashMap<Long, Long>();
+		var now = START;
+		while (fired.size() < deadlines.size() && now < START + 1_100_000_000L) {
+			now += 1 + random.nextInt((int) TICK * 50);
+			final var firedAt = now;
+			wheel.advance(now, (id, deadline) -> assertThat(fired.put(id, firedAt)).isNull());
+		}
+
+		// Then
+		assertThat(fired).hasSameSizeAs(deadlines);
+		assertThat(wheel.size()).isZero();
+		fired.forEach((id, firedAt) -> assertThat(firedAt)
+			.isGreaterThanOrEqualTo(deadlines.get(id))
+			.isLessThan(Math.max(deadlines.get(id), START) + TICK + TICK * 50));
+	}
+
+	@Test
+	public void given_tickByTickAdvance_when_deadlineReached_then_firesOnTheFirstTickAtOrAfterIt() {
+		// Given
+		final var wheel = new TimerWheel(TICK, START);
+		wheel.add(1, START + 250);
+		wheel.add(2, START + 64 * TICK * 64 + 1);
+
+		// When
+		final var fired = new ArrayList<long[]>();
+		for (var now = START; now <= START + 64 * TICK * 64 + TICK; now += TICK) {
+			final var firedAt = now;
+			wheel.advance(now, (id, deadline) -> fired.add(new long[]{id, firedAt}));
+		}
+
+		// Then
+		assertThat(fired).hasSize(2);
+		assertThat(fired.get(0)).containsExactly(1, START + 300);
+		assertThat(fired.get(1)).containsExactly(2, START + 64 * TICK * 64 + TICK);
+	}
+
+	@Test
+	public void given_millionPendingReminders_when_added_then_footprintStaysUnder32BytesEach() {
+		// Given
+		final var wheel = new TimerWheel(TICK, START);
+		final var random = new Random(11);
+		final var reminders = 1_000_000;
+
+		// When
+		for (long id = 0; id < reminders; id++) {
+			wheel.add(id, START + random.nextLong(120_000));
+		}
+
+		// Then
+		assertThat(wheel.size()).isEqualTo(reminders);
+		assertThat((double) wheel.footprintBytes() / reminders).isLessThan(32);
+	}
+
+	@Test
+	public void given_rescheduledTimer_when_advancing_then_bothEntriesFireAndCallerDiscardsTheStaleOne() {
+		// Given
+		final var wheel = new TimerWheel(TICK, START);
+		final Map<Long, Long> current = new HashMap<>(Map.of(1L, START + 5_000));
+		wheel.add(1, START + 1_000);
+		wheel.add(1, START + 5_000);
+
+		// When
+		final List<Long> delivered = new ArrayList<>();
+		for (var now = START; now <= START + 6_000; now += TICK) {
+			wheel.advance(now, (id, deadline) -> {
+				if (current.get(id) == deadline) {
+					delivered.add(deadline);
+				}
+			});
+		}
+
+		// Then
+		assertThat(delivered).containsExactly(START + 5_000);
+	}
+}
@@ -0,0 +1,55 @@
+package org.example.replication;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReplicaWriteFilterTest {
+
+	private ReplicaWriteFilter filter;
+
+	@BeforeEach
+	public void setup() {
+		filter = new ReplicaWriteFilter();
+		ReflectionTestUtils.setField(filter, "primaryUrl", "http://primary:8080");
+	}
+
+	@Test
+	public void given_reactiveWrite_when_doFilter_then_redirectsToPrimary() throws Exception {
+		// Given
+		final var request = new MockHttpServletRequest("PUT", "/reactive/todos/7");
+		final var response = new MockHttpServletResponse();
+		final var chain = new MockFilterChain();
+
+		// When
+		filter.doFilter(request, response, chain);
+
+		// Then
+		assertThat(response.getStatus()).isEqualTo(307);
+		assertThat(response.getHeader(HttpHeaders.LOCATION)).isEqualTo("http://primary:8080/reactive/todos/7");
+		assertThat(chain.getRequest()).isNull();
+	}
+
+	@Test
+	public void given_queryOrRead_when_doFilter_then_servedLocally() throws Exception {
+		// Given
+		final var query = new MockHttpServletRequest("POST", "/todos/query");
+		final var read = new MockHttpServletRequest("GET", "/reactive/todos/7");
+		final var queryChain = new MockFilterChain();
+		final var readChain = new MockFilterChain();
+
+		// When
+		filter.doFilter(query, new MockHttpServletResponse(), queryChain);
+		filter.doFilter(read, new MockHttpServletResponse(), readChain);
+
+		// Then
+		assertThat(queryChain.getRequest()).isSameAs(query);
+		assertThat(readChain.getRequest()).isSameAs(read);
+	}
+}
@@ -0,0 +1,87 @@
+package org.example.replication;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SnapshotProtocolTest {
+
+	@TempDir
+	private Path tempDir;
+
+	@Test
+	public void given_request_when_readRequest_then_returnsKnownVersion() throws IOException {
+		// Given
+		final var buffer = new ByteArrayOutputStream();
+		SnapshotProtocol.writeRequest(buffer, 42L);
+
+		// When
+		final var knownVersion = SnapshotProtocol.readRequest(new ByteArrayInputStream(buffer.toByteArray()));
+
+		// Then
+		assertThat(knownVersion).isEqualTo(42L);
+	}
+
+	@Test
+	public void given_snapshot_when_readSnapshot_then_payloadIsWrittenToTarget() throws IOException {
+		// Given
+		final var source = tempDir.resolve("source.db");
+		final var payload = new byte[200_000];
+		for (var i = 0; i < payload.length; i++) {
+			payload[i] = (byte) i;
+		}
+		Files.write(source, payload);
+
+		final var buffer = new ByteArrayOutputStream();
+		SnapshotProtocol.writeSnapshot(buffer, 7L, source);
+
+		// When
+		final var target = tempDir.resolve("target.db");
+		final var response = SnapshotProtocol.readSnapshot(new ByteArrayInputStream(buffer.toByteArray()), target);
+
+		// Then
+		assertThat(response).isEqualTo(new SnapshotProtocol.Response(7L, true));
+		assertThat(Files.readAllBytes(target)).isEqualTo(payload);
+	}
+
+	@Test
+	public void given_upToDateResponse_when_readSnapshot_then_returnsCheckTimeWithoutSnapshot() throws IOException {
+		// Given
+		final var buffer = new ByteArrayOutputStream();
+		SnapshotProtocol.writeUpToDate(buffer, 9L);
+
+		// When
+		final var target = tempDir.resolve("target.db");
+		final var response = SnapshotProtocol.readSnapshot(new ByteArrayInputStream(buffer.toByteArray()), target);
+
+		// Then
+		assertThat(response).isEqualTo(new SnapshotProtocol.Response(9L, false));
+		assertThat(target).doesNotExist();
+	}
+
+	@Test
+	public void given_truncatedSnapshot_when_readSnapshot_then_throwsAndKeepsTarget() throws IOException {
+		// Given
+		final var source = tempDir.resolve("source.db");
+		Files.write(source, new byte[1024]);
+
+		final var buffer = new ByteArrayOutputStream();
+		SnapshotProtocol.writeSnapshot(buffer, 7L, source);
+		final var truncated = Arrays.copyOf(buffer.toByteArray(), buffer.size() - 100);
+
+		// When & Then
+		final var target = tempDir.resolve("target.db");
+		assertThatThrownBy(() -> SnapshotProtocol.readSnapshot(new ByteArrayInputStream(truncated), target))
+			.isInstanceOf(IOException.class);
+		assertThat(target).doesNotExist();
+	}
+}
@@ -7,8 +7,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
@@ -36,9 +39,9 @@ public class TodoRepositoryTest {
 		assertThat(savedTodo).isNotNull();
 		assertThat(savedTodo.getTitle()).isEqualTo("Bake cookies");
 		assertThat(savedTodo.getDescription()).isEqualTo("We need to bake cookies for the party tonight");
-		assertThat(savedTodo.getCompleted()).isEqualTo(false);
-		assertThat(savedTodo.getCreatedAt()).isNotNull();
-		assertThat(savedTodo.getUpdatedAt()).isNotNull();
+		assertThat(savedTodo.isCompleted()).isFalse();
+		assertThat(savedTodo.getCreatedAt()).isPositive();
+		assertThat(savedTodo.getUpdatedAt()).isEqualTo(savedTodo.getCreatedAt());
 	}
 
 	@Test
@@ -79,6 +82,43 @@ public class TodoRepositoryTest {
 		assertThat(todos).hasSize(2);
 	}
 
+	@Test
+	public void given_todosOfTwoTenants_when_findAllByTenantId_then_returnsOnlyThatTenantsTodos() {
+		// Given
+		final var ownTodo = new TodoMother().withTitle("Own Todo").build();
+		ownTodo.setTenantId("team-a");
+		todoRepository.save(ownTodo);
+
+		final var otherTodo = new TodoMother().withTitle("Other Todo").build();
+		otherTodo.setTenantId("team-b");
+		final var savedOther = todoRepository.save(otherTodo);
+
+		// When
+		final var todos = todoRepository.findAllByTenantId("team-a");
+		final var crossTenantLookup = todoRepository.findByIdAndTenantId(savedOther.getId(), "team-a");
+
+		// Then
+		assertThat(todos).extracting("title").containsExactly("Own Todo");
+		assertThat(crossTenantLookup).isEmpty();
+		assertThat(todoRepository.countByTenantId("team-b")).isEqualTo(1L);
+	}
+
+	@Test
+	public void given_completedAndOpenTodos_when_findArchivableIds_then_returnsOnlyCompletedBeforeCutoff() {
+		// Given
+		final var completed = todoRepository.save(new TodoMother().withCompleted(true).build());
+		todoRepository.save(new TodoMother().withCompleted(false).build());
+
+		final var day = Duration.ofDays(1).toMillis();
+
+		// When
+		final var futureCutoff = todoRepository.findArchivableIds(System.currentTimeMillis() + day, PageRequest.of(0, 10));
+		final var pastCutoff = todoRepository.findArchivableIds(System.currentTimeMillis() - day, PageRequest.of(0, 10));
+
+		// Then
+		assertThat(futureCutoff).containsExactly(completed.getId());
+		assertThat(pastCutoff).isEmpty();
+	}
 
 	@Test
 	public void given_savedTodo_when_update_then_todoIsUpdatedAsExpected() {
@@ -99,7 +139,7 @@ public class TodoRepositoryTest {
 		assertThat(updatedTodo.getId()).isEqualTo(savedTodo.getId());
 		assertThat(updatedTodo.getTitle()).isEqualTo("Updated Title");
 		assertThat(updatedTodo.getDescription()).isEqualTo("Original Description");
-		assertThat(updatedTodo.getCompleted()).isTrue();
+		assertThat(updatedTodo.isCompleted()).isTrue();
 	}
 
 
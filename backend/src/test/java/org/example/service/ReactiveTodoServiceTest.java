@@ -0,0 +1,96 @@
+package org.example.service;
+
+import org.example.dto.TodoResponseDto;
+import org.example.model.Todo;
+import org.example.repository.TodoRepository;
+import org.example.tenant.TenantContext;
+import org.example.tenant.TenantLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveTodoServiceTest {
+
+	@Mock
+	private TodoService todoService;
+	@Mock
+	private TodoRepository todoRepository;
+	@Mock
+	private TenantLimiter tenantLimiter;
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private ReactiveTodoService reactiveTodoService;
+
+	@BeforeEach
+	public void setup() {
+		reactiveTodoService = new ReactiveTodoService(todoService, todoRepository, tenantLimiter, transactionManager, Schedulers.boundedElastic());
+		ReflectionTestUtils.setField(reactiveTodoService, "pageSize", 2);
+		TenantContext.set("team-a");
+	}
+
+	@AfterEach
+	public void tearDown() {
+		TenantContext.clear();
+	}
+
+	@Test
+	public void given_threeTodos_when_streamAll_then_pagesAreFetchedByKeyset() {
+		// Given
+		when(todoRepository.findByTenantIdAndIdGreaterThanOrderById(eq("team-a"), eq(0L), any(Pageable.class)))
+			.thenReturn(List.of(todo(1L), todo(2L)));
+		when(todoRepository.findByTenantIdAndIdGreaterThanOrderById(eq("team-a"), eq(2L), any(Pageable.class)))
+			.thenReturn(List.of(todo(3L)));
+		when(todoRepository.findByTenantIdAndIdGreaterThanOrderById(eq("team-a"), eq(3L), any(Pageable.class)))
+			.thenReturn(List.of());
+
+		// When & Then
+		StepVerifier.create(reactiveTodoService.streamAll().map(TodoResponseDto::id))
+			.expectNext(1L, 2L, 3L)
+			.verifyComplete();
+		verify(tenantLimiter).acquire("team-a");
+	}
+
+	@Test
+	public void given_request_when_getById_then_tenantIsBoundOnWorkerThread() {
+		// Given
+		final var seenTenant = new AtomicReference<String>();
+		final var response = new TodoResponseDto(5L, "Title", null, false, LocalDateTime.now(), LocalDateTime.now());
+		when(todoService.getById(5L)).thenAnswer(invocation -> {
+			seenTenant.set(TenantContext.current());
+			return response;
+		});
+
+		// When
+		final var mono = reactiveTodoService.getById(5L);
+		TenantContext.clear();
+
+		// Then
+		StepVerifier.create(mono).expectNext(response).verifyComplete();
+		assertThat(seenTenant.get()).isEqualTo("team-a");
+	}
+
+	private static Todo todo(long id) {
+		final var todo = new Todo("Todo " + id, null, false);
+		todo.setId(id);
+		return todo;
+	}
+}
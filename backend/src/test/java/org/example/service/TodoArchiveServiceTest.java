@@ -0,0 +1,108 @@
+package org.example.service;
+
+import org.example.cache.TodoListCache;
+import org.example.model.Todo;
+import org.example.model.TodoArchive;
+import org.example.repository.TodoArchiveRepository;
+import org.example.repository.TodoRepository;
+import org.example.tag.TagIndex;
+import org.example.tenant.TenantTodoCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TodoArchiveServiceTest {
+
+	@Mock
+	private TodoRepository todoRepository;
+	@Mock
+	private TodoArchiveRepository archiveRepository;
+	@Mock
+	private TenantTodoCache todoCache;
+	@Mock
+	private TodoListCache todoListCache;
+	@Mock
+	private TagIndex tagIndex;
+	@Mock
+	private TransactionTemplate transactionTemplate;
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+	@Spy
+	private Clock clock = Clock.fixed(Instant.parse("2026-06-01T00:00:00Z"), ZoneOffset.UTC);
+
+	@InjectMocks
+	private TodoArchiveService archiveService;
+
+	@BeforeEach
+	public void setup() {
+		ReflectionTestUtils.setField(archiveService, "batchSize", 100);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void given_archivableTodos_when_archiveBatch_then_todosAreMovedToArchive() {
+		// Given
+		final var cutoff = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+		final var todo = new Todo("Done", "Long ago", true);
+		todo.setId(7L);
+		todo.setTenantId("team-a");
+
+		when(todoRepository.findArchivableIds(eq(cutoff), any(Pageable.class))).thenReturn(List.of(7L));
+		when(todoRepository.findAllById(List.of(7L))).thenReturn(List.of(todo));
+
+		// When
+		final var moved = archiveService.archiveBatch(cutoff);
+
+		// Then
+		final var captor = ArgumentCaptor.forClass(List.class);
+		verify(archiveRepository).saveAll(captor.capture());
+		final var archived = (List<TodoArchive>) captor.getValue();
+
+		assertThat(moved).isEqualTo(1);
+		assertThat(archived).singleElement().satisfies(archive -> {
+			assertThat(archive.getId()).isEqualTo(7L);
+			assertThat(archive.getTenantId()).isEqualTo("team-a");
+			assertThat(archive.getArchivedAt()).isEqualTo(clock.millis());
+			assertThat(archive.isNew()).isTrue();
+		});
+		verify(todoRepository).deleteTagLinks(List.of(7L));
+		verify(todoRepository).deleteAllByIdInBatch(List.of(7L));
+		verify(todoCache).evict("team-a", 7L);
+		verify(tagIndex).onDeleted("team-a", List.of(7L));
+	}
+
+	@Test
+	public void given_nothingToArchive_when_archiveBatch_then_nothingIsDeleted() {
+		// Given
+		when(todoRepository.findArchivableIds(anyLong(), any(Pageable.class))).thenReturn(List.of());
+
+		// When
+		final var moved = archiveService.archiveBatch(clock.millis());
+
+		// Then
+		assertThat(moved).isZero();
+		verify(archiveRepository, never()).saveAll(anyList());
+		verify(todoRepository, never()).deleteAllByIdInBatch(any());
+	}
+}
@@ -1,28 +1,54 @@
 package org.example.service;
 
+import org.example.audit.AuditField;
+import org.example.audit.AuditLog;
+import org.example.audit.AuditOperation;
+import org.example.audit.AuditSnapshot;
+import org.example.cache.TodoIdFilter;
+import org.example.cache.TodoListCache;
 import org.example.dto.TodoCreateDto;
 import org.example.dto.TodoResponseDto;
 import org.example.dto.TodoUpdateDto;
+import org.example.model.Tag;
 import org.example.model.Todo;
 import org.example.mother.TodoMother;
+import org.example.repository.TagRepository;
 import org.example.repository.TodoRepository;
+import org.example.reminder.ReminderScheduler;
+import org.example.tag.TagIndex;
+import org.example.tenant.TenantContext;
+import org.example.tenant.TenantLimiter;
+import org.example.tenant.TenantTodoCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -33,6 +59,28 @@ public class TodoServiceImplTest {
 
 	@Mock
 	private TodoRepository todoRepository;
+	@Mock
+	private TenantLimiter tenantLimiter;
+	@Mock
+	private TenantTodoCache todoCache;
+	@Mock
+	private TodoStatsService statsService;
+	@Mock
+	private TagRepository tagRepository;
+	@Mock
+	private TagIndex tagIndex;
+	@Mock
+	private ReminderScheduler reminderScheduler;
+	@Mock
+	private AuditLog auditLog;
+	@Mock
+	private TodoIdFilter todoIdFilter;
+	@Mock
+	private TodoListCache todoListCache;
+	@Mock
+	private TransactionTemplate transactionTemplate;
+	@Spy
+	private Clock clock = Clock.fixed(Instant.parse("2026-01-01T12:00:00Z"), ZoneOffset.UTC);
 
 	@InjectMocks
 	private TodoServiceImpl todoService;
@@ -42,6 +90,10 @@ public class TodoServiceImplTest {
 
 	@BeforeEach
 	public void setup() {
+		lenient().when(todoIdFilter.mightExist(anyLong())).thenReturn(true);
+		lenient().when(transactionTemplate.execute(any()))
+			.thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
 		todo1 = new Todo();
 		todo1.setId(1L);
 		todo1.setTitle("Test Todo 1");
@@ -81,7 +133,7 @@ public class TodoServiceImplTest {
 	public void given_todos_when_getAll_then_returnsAllTodos() {
 		// Given
 		final var todos = Arrays.asList(todo1, todo2);
-		when(todoRepository.findAll()).thenReturn(todos);
+		when(todoRepository.findAllByTenantId(TenantContext.DEFAULT_TENANT)).thenReturn(todos);
 
 		// When
 		final var result = todoService.getAll();
@@ -92,13 +144,13 @@ public class TodoServiceImplTest {
 		assertThat(result.get(0).title()).isEqualTo("Test Todo 1");
 		assertThat(result.get(1).id()).isEqualTo(2L);
 		assertThat(result.get(1).title()).isEqualTo("Test Todo 2");
-		verify(todoRepository, times(1)).findAll();
+		verify(todoRepository, times(1)).findAllByTenantId(TenantContext.DEFAULT_TENANT);
 	}
 
 	@Test
 	public void given_existingTodoId_when_getById_then_returnsTodo() {
 		// Given
-		when(todoRepository.findById(1L)).thenReturn(Optional.of(todo1));
+		when(todoRepository.findByIdAndTenantId(1L, TenantContext.DEFAULT_TENANT)).thenReturn(Optional.of(todo1));
 
 		// When
 		final var result = todoService.getById(1L);
@@ -109,20 +161,118 @@ public class TodoServiceImplTest {
 		assertThat(result.title()).isEqualTo("Test Todo 1");
 		assertThat(result.description()).isEqualTo("Test Description 1");
 		assertThat(result.completed()).isFalse();
-		verify(todoRepository, times(1)).findById(1L);
+		verify(todoRepository, times(1)).findByIdAndTenantId(1L, TenantContext.DEFAULT_TENANT);
 	}
 
 	@Test
 	public void given_nonExistentTodoId_when_getById_then_throwsNotFoundException() {
 		// Given
-		when(todoRepository.findById(999L)).thenReturn(Optional.empty());
+		when(todoRepository.findByIdAndTenantId(999L, TenantContext.DEFAULT_TENANT)).thenReturn(Optional.empty());
 
 		// When & Then
 		assertThatThrownBy(() -> todoService.getById(999L))
 			.isInstanceOf(ResponseStatusException.class)
 			.hasFieldOrPropertyWithValue("status", HttpStatus.NOT_FOUND);
 
-		verify(todoRepository, times(1)).findById(999L);
+		verify(todoRepository, times(1)).findByIdAndTenantId(999L, TenantContext.DEFAULT_TENANT);
+	}
+
+	@Test
+	public void given_idRuledOutByFilter_when_getById_then_throwsNotFoundWithoutQuery() {
+		// Given
+		when(todoIdFilter.mightExist(999L)).thenReturn(false);
+
+		// When & Then
+		assertThatThrownBy(() -> todoService.getById(999L))
+			.isInstanceOf(TodoNotFoundException.class)
+			.hasFieldOrPropertyWithValue("status", HttpStatus.NOT_FOUND);
+
+		assertThat(new TodoNotFoundException(999L).getStackTrace()).isEmpty();
+		verify(todoRepository, never()).findByIdAndTenantId(anyLong(), any());
+	}
+
+	@Test
+	public void given_cachedTodo_when_getById_then_repositoryIsNotQueried() {
+		// Given
+		final var cached = new TodoResponseDto(1L, "Cached", null, false, LocalDateTime.now(), LocalDateTime.now());
+		when(todoCache.get(TenantContext.DEFAULT_TENANT, 1L)).thenReturn(cached);
+
+		// When
+		final var result = todoService.getById(1L);
+
+		// Then
+		assertThat(result).isSameAs(cached);
+		verify(todoRepository, never()).findByIdAndTenantId(any(), any());
+	}
+
+	@Test
+	public void given_cachedStoredAndUnknownIds_when_getByIds_then_returnsRequestOrderWithMisses() {
+		// Given
+		ReflectionTestUtils.setField(todoService, "batchChunkSize", 2);
+		final var cached = new TodoResponseDto(2L, "Cached", null, false, LocalDateTime.now(), LocalDateTime.now());
+		when(todoCache.get(TenantContext.DEFAULT_TENANT, 2L)).thenReturn(cached);
+		when(todoIdFilter.mightExist(4L)).thenReturn(false);
+		when(todoRepository.findByTenantIdAndIdIn(TenantContext.DEFAULT_TENANT, List.of(3L, 1L))).thenReturn(List.of(todo1));
+		when(todoRepository.findByTenantIdAndIdIn(TenantContext.DEFAULT_TENANT, List.of(5L))).thenReturn(List.of());
+
+		// When
+		final var result = todoService.getByIds(List.of(3L, 1L, 2L, 4L, 1L, 5L));
+
+		// Then
+		assertThat(result.todos()).hasSize(6);
+		assertThat(result.todos().get(0)).isNull();
+		assertThat(result.todos().get(1).title()).isEqualTo("Test Todo 1");
+		assertThat(result.todos().get(2)).isSameAs(cached);
+		assertThat(result.todos().get(3)).isNull();
+		assertThat(result.todos().get(4).title()).isEqualTo("Test Todo 1");
+		assertThat(result.todos().get(5)).isNull();
+		assertThat(result.missing()).containsExactly(3L, 4L, 5L);
+		verify(todoCache).put(eq(TenantContext.DEFAULT_TENANT), any(TodoResponseDto.class), anyLong());
+		verify(todoRepository, times(2)).findByTenantIdAndIdIn(any(), any());
+	}
+
+	@Test
+	public void given_parentId_when_create_then_childIsAttachedAndAncestorRollupsIncremented() {
+		// Given
+		ReflectionTestUtils.setField(todoService, "maxDepth", 32);
+		final var createDto = new TodoCreateDto();
+		createDto.setTitle("Subtask");
+		createDto.setParentId(1L);
+
+		when(todoRepository.findByIdAndTenantId(1L, TenantContext.DEFAULT_TENANT)).thenReturn(Optional.of(todo1));
+		when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> {
+			final Todo saved = invocation.getArgument(0);
+			saved.setId(3L);
+			return saved;
+		});
+
+		// When
+		final var result = todoService.create(createDto);
+
+		// Then
+		final var captor = ArgumentCaptor.forClass(Todo.class);
+		verify(todoRepository).save(captor.capture());
+		assertThat(captor.getValue().getPath()).isEqualTo("/1/");
+		assertThat(captor.getValue().getDepth()).isEqualTo(1);
+		assertThat(result.parentId()).isEqualTo(1L);
+		verify(todoRepository).incrementRollups(TenantContext.DEFAULT_TENANT, List.of(1L), 1, 0);
+	}
+
+	@Test
+	public void given_tenantOverRowQuota_when_create_then_throwsAndDoesNotSave() {
+		// Given
+		final var createDto = new TodoCreateDto();
+		createDto.setTitle("New Todo");
+
+		doThrow(new ResponseStatusException(HttpStatus.FORBIDDEN, "Tenant row quota exceeded"))
+			.when(tenantLimiter).reserveRow(TenantContext.DEFAULT_TENANT);
+
+		// When & Then
+		assertThatThrownBy(() -> todoService.create(createDto))
+			.isInstanceOf(ResponseStatusException.class)
+			.hasFieldOrPropertyWithValue("status", HttpStatus.FORBIDDEN);
+
+		verify(todoRepository, never()).save(any(Todo.class));
 	}
 
 	@Test
@@ -133,7 +283,7 @@ public class TodoServiceImplTest {
 		updateDto.setDescription("Updated Description");
 		updateDto.setCompleted(true);
 
-		when(todoRepository.findById(1L)).thenReturn(Optional.of(todo1));
+		when(todoRepository.findByIdAndTenantId(1L, TenantContext.DEFAULT_TENANT)).thenReturn(Optional.of(todo1));
 		when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
 		// When
@@ -145,8 +295,97 @@ public class TodoServiceImplTest {
 		assertThat(result.title()).isEqualTo("Updated Title");
 		assertThat(result.description()).isEqualTo("Updated Description");
 		assertThat(result.completed()).isTrue();
-		verify(todoRepository, times(1)).findById(1L);
+		verify(todoRepository, times(1)).findByIdAndTenantId(1L, TenantContext.DEFAULT_TENANT);
 		verify(todoRepository, times(1)).save(any(Todo.class));
+		verify(todoCache, times(1)).evict(TenantContext.DEFAULT_TENANT, 1L);
+		verify(statsService, times(1)).onCompletionChanged(eq(TenantContext.DEFAULT_TENANT), eq(true), anyLong(), eq(clock.millis()));
+	}
+
+	@Test
+	public void given_newTags_when_update_then_missingTagsAreCreatedAndIndexIsUpdatedAfterCommit() {
+		// Given
+		final var updateDto = new TodoUpdateDto();
+		updateDto.setTitle("Tagged");
+		updateDto.setTags(Set.of(" Home ", "urgent"));
+		todo1.getTags().add(new Tag(TenantContext.DEFAULT_TENANT, "work"));
+
+		when(todoRepository.findByIdAndTenantId(1L, TenantContext.DEFAULT_TENANT)).thenReturn(Optional.of(todo1));
+		when(tagRepository.findByTenantIdAndNameIn(TenantContext.DEFAULT_TENANT, Set.of("home", "urgent")))
+			.thenReturn(List.of(new Tag(TenantContext.DEFAULT_TENANT, "urgent")))
+			.thenReturn(List.of(new Tag(TenantContext.DEFAULT_TENANT, "home"), new Tag(TenantContext.DEFAULT_TENANT, "urgent")));
+		when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		// When
+		final var result = todoService.update(1L, updateDto);
+
+		// Then
+		assertThat(result.tags()).containsExactly("home", "urgent");
+		verify(tagRepository).insertIfAbsent(TenantContext.DEFAULT_TENANT, "home");
+		verify(tagRepository, never()).insertIfAbsent(TenantContext.DEFAULT_TENANT, "urgent");
+		verify(tagIndex).onSaved(TenantContext.DEFAULT_TENANT, 1L, Set.of("work"), Set.of("home", "urgent"), false);
+	}
+
+	@Test
+	public void given_newRemindAt_when_update_then_reminderIsRearmedAndRescheduled() {
+		// Given
+		final var remindAt = LocalDateTime.of(2026, 1, 2, 9, 30);
+		final var updateDto = new TodoUpdateDto();
+		updateDto.setTitle("Call back");
+		updateDto.setRemindAt(remindAt);
+
+		when(todoRepository.findByIdAndTenantId(1L, TenantContext.DEFAULT_TENANT)).thenReturn(Optional.of(todo1));
+		when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		// When
+		final var result = todoService.update(1L, updateDto);
+
+		// Then
+		final var remindAtMillis = remindAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+		assertThat(result.remindAt()).isEqualTo(remindAt);
+		assertThat(result.dueAt()).isNull();
+		verify(todoRepository).rearmReminder(1L);
+		verify(reminderScheduler).schedule(1L, remindAtMillis);
+	}
+
+	@Test
+	public void given_unchangedCompletion_when_update_then_statsAreNotTouched() {
+		// Given
+		final var updateDto = new TodoUpdateDto();
+		updateDto.setTitle("Renamed");
+		updateDto.setCompleted(false);
+
+		when(todoRepository.findByIdAndTenantId(1L, TenantContext.DEFAULT_TENANT)).thenReturn(Optional.of(todo1));
+		when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		// When
+		todoService.update(1L, updateDto);
+
+		// Then
+		verifyNoInteractions(statsService);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void given_renamedTodo_when_update_then_auditRecordsBeforeAndAfterOfChangedFields() {
+		// Given
+		final var updateDto = new TodoUpdateDto();
+		updateDto.setTitle("Renamed");
+		updateDto.setDescription("Test Description 1");
+		updateDto.setCompleted(false);
+
+		when(todoRepository.findByIdAndTenantId(1L, TenantContext.DEFAULT_TENANT)).thenReturn(Optional.of(todo1));
+		when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		// When
+		todoService.update(1L, updateDto);
+
+		// Then
+		final ArgumentCaptor<Map<AuditField, String>> before = ArgumentCaptor.forClass(Map.class);
+		final ArgumentCaptor<Map<AuditField, String>> after = ArgumentCaptor.forClass(Map.class);
+		verify(auditLog).record(eq(TenantContext.DEFAULT_TENANT), eq(1L), eq(AuditOperation.UPDATE), before.capture(), after.capture());
+		assertThat(AuditSnapshot.diff(before.getValue(), after.getValue()))
+			.extracting("field", "before", "after")
+			.containsExactly(tuple(AuditField.TITLE, "Test Todo 1", "Renamed"));
 	}
 
 	@Test
@@ -157,42 +396,43 @@ public class TodoServiceImplTest {
 		updateDto.setDescription("Updated Description");
 		updateDto.setCompleted(true);
 
-		when(todoRepository.findById(999L)).thenReturn(Optional.empty());
+		when(todoRepository.findByIdAndTenantId(999L, TenantContext.DEFAULT_TENANT)).thenReturn(Optional.empty());
 
 		// When & Then
 		assertThatThrownBy(() -> todoService.update(999L, updateDto))
 			.isInstanceOf(ResponseStatusException.class)
 			.hasFieldOrPropertyWithValue("status", HttpStatus.NOT_FOUND);
 
-		verify(todoRepository, times(1)).findById(999L);
+		verify(todoRepository, times(1)).findByIdAndTenantId(999L, TenantContext.DEFAULT_TENANT);
 		verify(todoRepository, never()).save(any(Todo.class));
 	}
 
 	@Test
 	public void given_existingTodoId_when_delete_then_deletesTodo() {
 		// Given
-		when(todoRepository.findById(1L)).thenReturn(Optional.of(todo1));
+		when(todoRepository.findByIdAndTenantId(1L, TenantContext.DEFAULT_TENANT)).thenReturn(Optional.of(todo1));
 		doNothing().when(todoRepository).delete(any(Todo.class));
 
 		// When
 		todoService.delete(1L);
 
 		// Then
-		verify(todoRepository, times(1)).findById(1L);
+		verify(todoRepository, times(1)).findByIdAndTenantId(1L, TenantContext.DEFAULT_TENANT);
 		verify(todoRepository, times(1)).delete(any(Todo.class));
+		verify(statsService, times(1)).onDeleted(TenantContext.DEFAULT_TENANT, 1L, 0L, 0L, 0L);
 	}
 
 	@Test
 	public void given_nonExistentTodoId_when_delete_then_throwsNotFoundException() {
 		// Given
-		when(todoRepository.findById(999L)).thenReturn(Optional.empty());
+		when(todoRepository.findByIdAndTenantId(999L, TenantContext.DEFAULT_TENANT)).thenReturn(Optional.empty());
 
 		// When & Then
 		assertThatThrownBy(() -> todoService.delete(999L))
 			.isInstanceOf(ResponseStatusException.class)
 			.hasFieldOrPropertyWithValue("status", HttpStatus.NOT_FOUND);
 
-		verify(todoRepository, times(1)).findById(999L);
+		verify(todoRepository, times(1)).findByIdAndTenantId(999L, TenantContext.DEFAULT_TENANT);
 		verify(todoRepository, never()).delete(any(Todo.class));
 	}
 }
@@ -0,0 +1,133 @@
+package org.example.service;
+
+import org.example.model.TodoCounter;
+import org.example.model.TodoDailyStat;
+import org.example.repository.TodoCounterRepository;
+import org.example.repository.TodoDailyStatRepository;
+import org.example.repository.TodoRepository;
+import org.example.tenant.TenantContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TodoStatsServiceTest {
+
+	private static final String TENANT = TenantContext.DEFAULT_TENANT;
+	private static final Instant NOW = Instant.parse("2026-01-01T10:00:00Z");
+
+	@Mock
+	private TodoCounterRepository counterRepository;
+	@Mock
+	private TodoDailyStatRepository dailyStatRepository;
+	@Mock
+	private TodoRepository todoRepository;
+	@Mock
+	private TransactionTemplate transactionTemplate;
+	@Spy
+	private Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+	@InjectMocks
+	private TodoStatsService statsService;
+
+	@Test
+	public void given_completion_when_onCompletionChanged_then_countersAndRollupAreIncremented() {
+		// Given
+		final var createdAt = NOW.toEpochMilli();
+		final var completedAt = createdAt + 7_200_000L;
+
+		// When
+		statsService.onCompletionChanged(TENANT, true, createdAt, completedAt);
+
+		// Then
+		verify(counterRepository).increment(TENANT, 0, 1, 1, 7_200_000L);
+		verify(dailyStatRepository).increment(TENANT, LocalDate.of(2026, 1, 1).toEpochDay(), 0, 1);
+	}
+
+	@Test
+	public void given_reopen_when_onCompletionChanged_then_completionTimeIsSubtracted() {
+		// Given
+		final var createdAt = NOW.toEpochMilli();
+		final var completedAt = createdAt + 7_200_000L;
+
+		// When
+		statsService.onCompletionChanged(TENANT, false, createdAt, completedAt);
+
+		// Then
+		verify(counterRepository).increment(TENANT, 0, -1, -1, -7_200_000L);
+		verifyNoInteractions(dailyStatRepository);
+	}
+
+	@Test
+	public void given_completedSubtreeDeleted_when_onDeleted_then_completionStatsAreSubtracted() {
+		// When
+		statsService.onDeleted(TENANT, 3, 2, 1, 5_000L);
+
+		// Then
+		verify(counterRepository).increment(TENANT, -3, -2, -1, -5_000L);
+	}
+
+	@Test
+	public void given_counters_when_getStats_then_returnsTotalsWithoutScanningTodos() {
+		// Given
+		final var today = LocalDate.of(2026, 1, 1).toEpochDay();
+		when(counterRepository.findById(TENANT)).thenReturn(Optional.of(new TodoCounter(TENANT, 10, 4, 4, 8_000)));
+		when(dailyStatRepository.findByTenantIdAndEpochDayBetweenOrderByEpochDay(TENANT, today - 6, today))
+			.thenReturn(List.of(new TodoDailyStat(TENANT, today, 3, 1)));
+
+		// When
+		final var stats = statsService.getStats(7);
+
+		// Then
+		assertThat(stats.total()).isEqualTo(10);
+		assertThat(stats.completed()).isEqualTo(4);
+		assertThat(stats.open()).isEqualTo(6);
+		assertThat(stats.averageCompletionSeconds()).isEqualTo(2.0);
+		assertThat(stats.days()).hasSize(1);
+		assertThat(stats.days().get(0).created()).isEqualTo(3);
+		verifyNoInteractions(todoRepository);
+	}
+
+	@Test
+	public void given_tenantsWithRowsOrCounters_when_reconcile_then_eachCounterIsRecomputedInItsOwnTransaction() {
+		// Given
+		when(todoRepository.findDistinctTenantIds()).thenReturn(List.of(TENANT));
+		when(counterRepository.findAll()).thenReturn(List.of(
+			new TodoCounter(TENANT, 99, 99, 99, 99),
+			new TodoCounter("archived-only", 2, 2, 2, 2_000)
+		));
+		doAnswer(invocation -> {
+			invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+
+		// When
+		statsService.reconcile();
+
+		// Then
+		verify(transactionTemplate, times(2)).executeWithoutResult(any());
+		verify(counterRepository).recompute(TENANT);
+		verify(counterRepository).recompute("archived-only");
+		verify(counterRepository, never()).increment(eq(TENANT), anyLong(), anyLong(), anyLong(), anyLong());
+	}
+}
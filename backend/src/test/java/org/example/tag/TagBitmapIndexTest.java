@@ -0,0 +1,63 @@
+package org.example.tag;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TagBitmapIndexTest {
+
+	private TagBitmapIndex index;
+
+	@BeforeEach
+	public void setup() {
+		index = new TagBitmapIndex();
+		index.load(target -> {
+			for (long id = 1; id <= 10; id++) {
+				target.add(id, "home");
+				if (id % 2 == 0) {
+					target.add(id, "urgent");
+				}
+				if (id % 3 == 0) {
+					target.markCompleted(id);
+				}
+			}
+		}, false);
+	}
+
+	@Test
+	public void given_twoTags_when_search_then_returnsIntersectionNewestFirst() {
+		// When
+		final var hits = index.search(Set.of("home", "urgent"), null, 3);
+
+		// Then
+		assertThat(hits.total()).isEqualTo(5);
+		assertThat(hits.ids()).containsExactly(10L, 8L, 6L);
+	}
+
+	@Test
+	public void given_completedFilter_when_search_then_completedBitmapIsApplied() {
+		// When & Then
+		assertThat(index.search(Set.of("urgent"), true, 10).ids()).containsExactly(6L);
+		assertThat(index.search(Set.of("urgent"), false, 10).ids()).containsExactly(10L, 8L, 4L, 2L);
+		assertThat(index.search(Set.of("urgent", "missing"), null, 10)).isEqualTo(TagBitmapIndex.Hits.NONE);
+	}
+
+	@Test
+	public void given_updatesAndDeletes_when_search_then_changesAreReflected() {
+		// Given
+		index.update(2L, Set.of("urgent"), Set.of("later"), true);
+		index.remove(List.of(4L, 6L));
+
+		// When
+		final var urgent = index.search(Set.of("urgent"), null, 10);
+		final var later = index.search(Set.of("later", "home"), true, 10);
+
+		// Then
+		assertThat(urgent.ids()).containsExactly(10L, 8L);
+		assertThat(later.ids()).containsExactly(2L);
+	}
+}
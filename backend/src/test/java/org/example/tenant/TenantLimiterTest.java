@@ -0,0 +1,66 @@
+package org.example.tenant;
+
+import org.example.repository.TodoCounterRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TenantLimiterTest {
+
+	private TodoCounterRepository counterRepository;
+	private TenantLimiter limiter;
+
+	@BeforeEach
+	public void setup() {
+		counterRepository = mock(TodoCounterRepository.class);
+		when(counterRepository.incrementTotalBelow(eq(TenantContext.DEFAULT_TENANT), anyLong())).thenReturn(1);
+		limiter = new TenantLimiter(counterRepository);
+		ReflectionTestUtils.setField(limiter, "requestsPerSecond", 1d);
+		ReflectionTestUtils.setField(limiter, "burst", 2d);
+		ReflectionTestUtils.setField(limiter, "maxRows", 10L);
+	}
+
+	@Test
+	public void given_namedTenantOverBurst_when_acquire_then_throwsTooManyRequests() {
+		// Given
+		limiter.acquire("acme");
+		limiter.acquire("acme");
+
+		// When & Then
+		assertThatThrownBy(() -> limiter.acquire("acme"))
+			.isInstanceOf(ResponseStatusException.class)
+			.hasMessageContaining("Tenant rate limit exceeded");
+	}
+
+	@Test
+	public void given_defaultTenant_when_acquireOverBurstAndQuota_then_isNotLimited() {
+		// When & Then
+		assertThatCode(() -> {
+			for (var i = 0; i < 10; i++) {
+				limiter.acquire(TenantContext.DEFAULT_TENANT);
+			}
+			limiter.reserveRow(TenantContext.DEFAULT_TENANT);
+		}).doesNotThrowAnyException();
+		verify(counterRepository).incrementTotalBelow(TenantContext.DEFAULT_TENANT, Long.MAX_VALUE);
+	}
+
+	@Test
+	public void given_namedTenantAtQuota_when_reserveRow_then_throwsForbidden() {
+		// Given
+		when(counterRepository.incrementTotalBelow("acme", 10L)).thenReturn(0);
+
+		// When & Then
+		assertThatThrownBy(() -> limiter.reserveRow("acme"))
+			.isInstanceOf(ResponseStatusException.class)
+			.hasMessageContaining("Tenant row quota exceeded");
+	}
+}
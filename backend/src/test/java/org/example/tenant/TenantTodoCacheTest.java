@@ -0,0 +1,64 @@
+package org.example.tenant;
+
+import org.example.dto.TodoResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TenantTodoCacheTest {
+
+	private TenantTodoCache cache;
+
+	@BeforeEach
+	public void setup() {
+		cache = new TenantTodoCache();
+		ReflectionTestUtils.setField(cache, "entriesPerTenant", 10);
+		ReflectionTestUtils.setField(cache, "maxTenants", 10);
+	}
+
+	@Test
+	public void given_noEvictionDuringLoad_when_put_then_todoIsCached() {
+		// Given
+		final var version = cache.version("acme");
+
+		// When
+		cache.put("acme", todo(1L, "Loaded"), version);
+
+		// Then
+		assertThat(cache.get("acme", 1L).title()).isEqualTo("Loaded");
+	}
+
+	@Test
+	public void given_evictionDuringLoad_when_put_then_staleTodoIsDropped() {
+		// Given
+		final var version = cache.version("acme");
+		cache.evict("acme", 1L);
+
+		// When
+		cache.put("acme", todo(1L, "Before the update"), version);
+
+		// Then
+		assertThat(cache.get("acme", 1L)).isNull();
+	}
+
+	@Test
+	public void given_tenantEvictedDuringLoad_when_put_then_staleTodoIsDropped() {
+		// Given
+		final var version = cache.version("acme");
+		cache.evictTenant("acme");
+
+		// When
+		cache.put("acme", todo(1L, "Before the move"), version);
+
+		// Then
+		assertThat(cache.get("acme", 1L)).isNull();
+	}
+
+	private static TodoResponseDto todo(Long id, String title) {
+		return new TodoResponseDto(id, title, null, false, LocalDateTime.now(), LocalDateTime.now());
+	}
+}
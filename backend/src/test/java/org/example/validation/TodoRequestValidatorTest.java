@@ -0,0 +1,94 @@
+package org.example.validation;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.example.dto.TodoCreateDto;
+import org.example.dto.TodoUpdateDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the hand-written validator against Bean Validation on the DTO annotations.
+ */
+public class TodoRequestValidatorTest {
+
+	private final Validator beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+
+	@Test
+	public void given_validRequests_when_validate_then_passes() {
+		// Given
+		final var create = new TodoCreateDto("Title", "x".repeat(1000), null, Set.of("home", "t".repeat(50)), null, null);
+		final var update = new TodoUpdateDto();
+		update.setTitle("t".repeat(255));
+
+		// When & Then
+		assertThatCode(() -> TodoRequestValidator.validate(create)).doesNotThrowAnyException();
+		assertThatCode(() -> TodoRequestValidator.validate(update)).doesNotThrowAnyException();
+		assertThat(beanValidator.validate(create)).isEmpty();
+		assertThat(beanValidator.validate(update)).isEmpty();
+	}
+
+	@Test
+	public void given_invalidCreateRequests_when_validate_then_reportsTheSameViolationsAsBeanValidation() {
+		// Given
+		final var requests = List.of(
+			create(null, null, null),
+			create("   ", null, null),
+			create("t".repeat(256), "d".repeat(1001), null),
+			create("Title", null, new HashSet<>(Arrays.asList("", " ", "t".repeat(51)))),
+			create("Title", null, new HashSet<>(IntStream.range(0, 21).mapToObj(i -> "tag" + i).toList())),
+			create(" ".repeat(300), null, new HashSet<>(Arrays.asList((String) null)))
+		);
+
+		for (final var request : requests) {
+			// When
+			final var expected = messages(beanValidator.validate(request));
+
+			// Then
+			assertThat(expected).isNotEmpty();
+			assertThatThrownBy(() -> TodoRequestValidator.validate(request))
+				.isInstanceOfSatisfying(RequestValidationException.class, e ->
+					assertThat(e.getViolations()).extracting(RequestValidationException.FieldViolation::message)
+						.containsExactlyInAnyOrderElementsOf(expected));
+		}
+	}
+
+	@Test
+	public void given_invalidUpdateRequest_when_validate_then_listsEveryViolationWithoutStackTrace() {
+		// Given
+		final var update = new TodoUpdateDto();
+		update.setTitle("");
+		update.setDescription("d".repeat(1001));
+
+		// When & Then
+		assertThatThrownBy(() -> TodoRequestValidator.validate(update))
+			.isInstanceOfSatisfying(RequestValidationException.class, e -> {
+				assertThat(e.getViolations()).extracting(RequestValidationException.FieldViolation::field)
+					.containsExactly("title", "description");
+				assertThat(e.getViolations()).extracting(RequestValidationException.FieldViolation::message)
+					.containsExactlyInAnyOrderElementsOf(messages(beanValidator.validate(update)));
+				assertThat(e.getStackTrace()).isEmpty();
+			});
+	}
+
+	private static TodoCreateDto create(String title, String description, Set<String> tags) {
+		return new TodoCreateDto(title, description, null, tags, null, null);
+	}
+
+	private static List<String> messages(Set<? extends ConstraintViolation<?>> violations) {
+		final var messages = new ArrayList<String>();
+		violations.forEach(violation -> messages.add(violation.getMessage()));
+		return messages;
+	}
+}
@@ -1,8 +1,38 @@
 CREATE TABLE IF NOT EXISTS todos (
     id INTEGER PRIMARY KEY AUTOINCREMENT,
+    tenant_id VARCHAR(64) NOT NULL DEFAULT 'default',
     title VARCHAR(255) NOT NULL,
     description VARCHAR(1000),
     completed BOOLEAN NOT NULL DEFAULT 0,
-    created_at TIMESTAMP NOT NULL,
-    updated_at TIMESTAMP
-);
\ No newline at end of file
+    created_at INTEGER NOT NULL,
+    updated_at INTEGER,
+    parent_id INTEGER,
+    path VARCHAR(1024) NOT NULL DEFAULT '/',
+    depth INTEGER NOT NULL DEFAULT 0,
+    subtree_size INTEGER NOT NULL DEFAULT 1,
+    subtree_completed INTEGER NOT NULL DEFAULT 0,
+    due_at INTEGER NOT NULL DEFAULT 0,
+    remind_at INTEGER NOT NULL DEFAULT 0,
+    reminded_at INTEGER NOT NULL DEFAULT 0,
+    completed_at INTEGER NOT NULL DEFAULT 0
+);
+
+CREATE INDEX IF NOT EXISTS idx_todos_tenant_id ON todos (tenant_id, id);
+CREATE INDEX IF NOT EXISTS idx_todos_completed_updated_at ON todos (completed, updated_at);
+CREATE INDEX IF NOT EXISTS idx_todos_tenant_path ON todos (tenant_id, path);
+CREATE INDEX IF NOT EXISTS idx_todos_reminder ON todos (reminded_at, remind_at);
+
+CREATE TABLE IF NOT EXISTS tags (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    tenant_id VARCHAR(64) NOT NULL,
+    name VARCHAR(50) NOT NULL,
+    CONSTRAINT uk_tags_tenant_name UNIQUE (tenant_id, name)
+);
+
+CREATE TABLE IF NOT EXISTS todo_tags (
+    todo_id INTEGER NOT NULL,
+    tag_id INTEGER NOT NULL,
+    PRIMARY KEY (todo_id, tag_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_todo_tags_tag_todo ON todo_tags (tag_id, todo_id);
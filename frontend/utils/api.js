@@ -14,6 +14,19 @@ const API_BASE_URL = process.client
   ? window.location.origin.replace(/:\d+$/, ':8080') // Default to port 8080 in browser
   : (process.env.NUXT_PUBLIC_API_BASE_URL || 'http://localhost:8080');
 
+/**
+ * Generates a key that lets the backend recognise retries of the same create request
+ * @returns {string} - A random idempotency key
+ */
+function generateIdempotencyKey() {
+  if (typeof crypto !== 'undefined' && typeof crypto.randomUUID === 'function') {
+    return crypto.randomUUID();
+  }
+
+  // crypto.randomUUID is only available in secure contexts
+  return `${Date.now().toString(36)}-${Math.random().toString(36).slice(2)}${Math.random().toString(36).slice(2)}`;
+}
+
 /**
  * Makes an API request with retry capability
  * @param {string} url - The URL to fetch
@@ -94,10 +107,12 @@ export const apiService = {
    */
   async createTodo(todo) {
     try {
+      // The same key is sent on every retry so a timed-out create is not duplicated
       return await fetchWithRetry(`${API_BASE_URL}/todos`, {
         method: 'POST',
         headers: {
-          'Content-Type': 'application/json'
+          'Content-Type': 'application/json',
+          'Idempotency-Key': generateIdempotencyKey()
         },
         body: JSON.stringify(todo)
       });